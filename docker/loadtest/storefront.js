@@ -0,0 +1,49 @@
+// Storefront load profile for comparing platform and virtual threads.
+//
+//   docker run --rm -i --network host -e VUS=10   grafana/k6 run - < docker/loadtest/storefront.js
+//   docker run --rm -i --network host -e VUS=1000 grafana/k6 run - < docker/loadtest/storefront.js
+//
+// Each virtual user browses the catalogue, opens a product, adds it to an anonymous cart
+// and views the cart, with no think time, for DURATION (default 2m).
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        storefront: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 10),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const productLink = /href="\/products\/([0-9a-f-]{36})"/g;
+
+export default function () {
+    const list = http.get(`${BASE_URL}/products`, { tags: { name: 'products' } });
+    check(list, { 'product list 200': (r) => r.status === 200 });
+
+    const ids = [...String(list.body).matchAll(productLink)].map((m) => m[1]);
+    if (ids.length === 0) {
+        return;
+    }
+    const productId = ids[Math.floor(Math.random() * ids.length)];
+
+    const product = http.get(`${BASE_URL}/products/${productId}`, { tags: { name: 'product' } });
+    check(product, { 'product page 200': (r) => r.status === 200 });
+
+    const xsrf = http.cookieJar().cookiesForURL(BASE_URL)['XSRF-TOKEN'];
+    const add = http.post(
+        `${BASE_URL}/cart/add`,
+        { productId: productId, quantity: '1' },
+        { headers: xsrf ? { 'X-XSRF-TOKEN': xsrf[0] } : {}, redirects: 0, tags: { name: 'cart-add' } },
+    );
+    check(add, { 'cart add redirects': (r) => r.status === 302 });
+
+    const cart = http.get(`${BASE_URL}/cart`, { tags: { name: 'cart' } });
+    check(cart, { 'cart 200': (r) => r.status === 200 });
+}
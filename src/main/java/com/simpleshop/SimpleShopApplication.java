@@ -3,9 +3,11 @@ package com.simpleshop;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.modulith.Modulith;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Modulith
 @SpringBootApplication
+@EnableScheduling
 public class SimpleShopApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,16 @@
+package com.simpleshop.cart.application.command;
+
+import com.simpleshop.cart.application.query.AbandonedCartCursor;
+import java.time.Instant;
+
+public record PurgeAbandonedCartsCommand(
+    Instant idleSince,
+    AbandonedCartCursor after,
+    int batchSize
+) {
+    public PurgeAbandonedCartsCommand {
+        if (idleSince == null) throw new IllegalArgumentException("Cutoff is required");
+        if (after == null) throw new IllegalArgumentException("Cursor is required");
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+    }
+}
@@ -0,0 +1,8 @@
+package com.simpleshop.cart.application.port.in;
+
+import com.simpleshop.cart.application.query.CartSummaryView;
+import com.simpleshop.cart.application.query.GetCartSummaryQuery;
+
+public interface GetCartSummaryUseCase {
+    CartSummaryView execute(GetCartSummaryQuery query);
+}
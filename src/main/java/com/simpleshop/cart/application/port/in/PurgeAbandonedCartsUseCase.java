@@ -0,0 +1,14 @@
+package com.simpleshop.cart.application.port.in;
+
+import com.simpleshop.cart.application.command.PurgeAbandonedCartsCommand;
+import com.simpleshop.cart.application.query.PurgedCartsResult;
+import java.time.Instant;
+
+/**
+ * Deletes anonymous carts that have not changed since the cutoff, one keyset page at a
+ * time, with their items removed in the same statement.
+ */
+public interface PurgeAbandonedCartsUseCase {
+    PurgedCartsResult execute(PurgeAbandonedCartsCommand command);
+    long countAbandonedCarts(Instant idleSince, int cap);
+}
@@ -0,0 +1,10 @@
+package com.simpleshop.cart.application.port.out;
+
+import com.simpleshop.cart.application.query.AbandonedCartCursor;
+import com.simpleshop.cart.application.query.PurgedCartsResult;
+import java.time.Instant;
+
+public interface AbandonedCartPurger {
+    PurgedCartsResult purgeAnonymousCartsIdleSince(Instant idleSince, AbandonedCartCursor after, int limit);
+    long countAnonymousCartsIdleSince(Instant idleSince, int cap);
+}
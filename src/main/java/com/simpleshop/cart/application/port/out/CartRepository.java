@@ -1,5 +1,6 @@
 package com.simpleshop.cart.application.port.out;
 
+import com.simpleshop.cart.application.query.CartSummaryView;
 import com.simpleshop.cart.domain.model.Cart;
 import com.simpleshop.cart.domain.model.vo.CartId;
 import com.simpleshop.cart.domain.model.vo.SessionId;
@@ -12,4 +13,7 @@ public interface CartRepository {
     Optional<Cart> findBySessionId(SessionId sessionId);
     Optional<Cart> findByUserId(UUID userId);
     void deleteById(CartId id);
+    void delete(Cart cart);
+    CartSummaryView summarizeBySessionId(SessionId sessionId);
+    CartSummaryView summarizeByUserId(UUID userId);
 }
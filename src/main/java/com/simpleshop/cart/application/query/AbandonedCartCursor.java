@@ -0,0 +1,19 @@
+package com.simpleshop.cart.application.query;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Position in the {@code (updated_at, id)} order of anonymous carts; a sweep resumes
+ * strictly after it.
+ */
+public record AbandonedCartCursor(
+    Instant updatedAt,
+    UUID id
+) {
+    private static final AbandonedCartCursor START = new AbandonedCartCursor(Instant.EPOCH, new UUID(0L, 0L));
+
+    public static AbandonedCartCursor start() {
+        return START;
+    }
+}
@@ -6,4 +6,8 @@ public record CartSummaryView(
     int itemCount,
     BigDecimal total,
     String currency
-) {}
+) {
+    public static CartSummaryView empty() {
+        return new CartSummaryView(0, BigDecimal.ZERO, "USD");
+    }
+}
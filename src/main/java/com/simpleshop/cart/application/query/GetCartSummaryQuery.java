@@ -0,0 +1,14 @@
+package com.simpleshop.cart.application.query;
+
+import java.util.UUID;
+
+public record GetCartSummaryQuery(
+    String sessionId,
+    UUID userId
+) {
+    public GetCartSummaryQuery {
+        if (sessionId == null && userId == null) {
+            throw new IllegalArgumentException("Either sessionId or userId is required");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.simpleshop.cart.application.query;
+
+public record PurgedCartsResult(
+    int purgedCarts,
+    int purgedItems,
+    AbandonedCartCursor next
+) {
+    public static PurgedCartsResult none(AbandonedCartCursor after) {
+        return new PurgedCartsResult(0, 0, after);
+    }
+}
@@ -0,0 +1,44 @@
+package com.simpleshop.cart.application.service;
+
+import com.simpleshop.cart.application.command.PurgeAbandonedCartsCommand;
+import com.simpleshop.cart.application.port.in.PurgeAbandonedCartsUseCase;
+import com.simpleshop.cart.application.port.out.AbandonedCartPurger;
+import com.simpleshop.cart.application.query.PurgedCartsResult;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+
+@Service
+@Transactional
+public class CartRetentionService implements PurgeAbandonedCartsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(CartRetentionService.class);
+
+    private final AbandonedCartPurger abandonedCartPurger;
+
+    public CartRetentionService(AbandonedCartPurger abandonedCartPurger) {
+        this.abandonedCartPurger = abandonedCartPurger;
+    }
+
+    @Override
+    @WithSpan("cart.purgeAbandonedCarts")
+    public PurgedCartsResult execute(PurgeAbandonedCartsCommand command) {
+        PurgedCartsResult result = abandonedCartPurger.purgeAnonymousCartsIdleSince(
+            command.idleSince(), command.after(), command.batchSize()
+        );
+        if (result.purgedCarts() > 0) {
+            log.debug("Purged {} anonymous carts ({} items) idle since {}",
+                result.purgedCarts(), result.purgedItems(), command.idleSince());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAbandonedCarts(Instant idleSince, int cap) {
+        return abandonedCartPurger.countAnonymousCartsIdleSince(idleSince, cap);
+    }
+}
@@ -11,6 +11,7 @@ import com.simpleshop.catalog.application.port.out.ProductRepository;
 import com.simpleshop.catalog.domain.model.Product;
 import com.simpleshop.catalog.domain.model.vo.Money;
 import com.simpleshop.catalog.domain.model.vo.ProductId;
+import com.simpleshop.shared.retry.RetryOnOptimisticLock;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,7 +26,7 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseCase,
-        UpdateItemQuantityUseCase, GetCartUseCase, ClearCartUseCase, MergeCartUseCase {
+        UpdateItemQuantityUseCase, GetCartUseCase, GetCartSummaryUseCase, ClearCartUseCase, MergeCartUseCase {
     
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
@@ -36,6 +37,7 @@ public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseC
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("cart.addItem")
     public CartView execute(AddItemToCartCommand command) {
         Cart cart = getOrCreateCart(command.sessionId(), command.userId());
@@ -50,6 +52,7 @@ public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseC
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("cart.removeItem")
     public CartView execute(RemoveItemFromCartCommand command) {
         Cart cart = findCart(command.sessionId(), command.userId())
@@ -62,6 +65,7 @@ public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseC
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("cart.updateItemQuantity")
     public CartView execute(UpdateItemQuantityCommand command) {
         Cart cart = findCart(command.sessionId(), command.userId())
@@ -81,6 +85,17 @@ public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseC
     }
     
     @Override
+    @Transactional(readOnly = true)
+    @WithSpan("cart.getCartSummary")
+    public CartSummaryView execute(GetCartSummaryQuery query) {
+        if (query.userId() != null) {
+            return cartRepository.summarizeByUserId(query.userId());
+        }
+        return cartRepository.summarizeBySessionId(SessionId.of(query.sessionId()));
+    }
+    
+    @Override
+    @RetryOnOptimisticLock
     @WithSpan("cart.clearCart")
     public void execute(ClearCartCommand command) {
         Optional<Cart> cartOpt = findCart(command.sessionId(), command.userId());
@@ -93,6 +108,7 @@ public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseC
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("cart.mergeCart")
     public CartView execute(MergeCartCommand command) {
         Optional<Cart> sessionCartOpt = cartRepository.findBySessionId(SessionId.of(command.sessionId()));
@@ -107,7 +123,7 @@ public class CartService implements AddItemToCartUseCase, RemoveItemFromCartUseC
         userCart.mergeFrom(sessionCart);
         userCart = cartRepository.save(userCart);
         
-        cartRepository.deleteById(sessionCart.getCartId());
+        cartRepository.delete(sessionCart);
         
         return toCartView(userCart);
     }
@@ -6,7 +6,9 @@ import com.simpleshop.cart.domain.model.vo.CartId;
 import com.simpleshop.cart.domain.model.vo.SessionId;
 import com.simpleshop.catalog.domain.model.vo.Money;
 import com.simpleshop.shared.domain.model.AggregateRoot;
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
@@ -18,6 +20,11 @@ public class Cart extends AggregateRoot<Cart> {
     @Id
     private UUID id;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+    
     @Embedded
     @AttributeOverride(name = "value", column = @Column(name = "session_id"))
     private SessionId sessionId;
@@ -35,10 +42,29 @@ public class Cart extends AggregateRoot<Cart> {
     @Column(nullable = false)
     private Instant updatedAt;
     
+    // Derived state, rebuilt lazily after loading and then kept up to date by every change.
+    @Transient
+    private Map<UUID, CartItem> itemIndex;
+    
+    @Transient
+    private boolean totalsKnown;
+    
+    @Transient
+    private boolean totalInMinorUnits;
+    
+    @Transient
+    private long totalMinor;
+    
+    @Transient
+    private String totalCurrency;
+    
+    @Transient
+    private int itemCount;
+    
     protected Cart() {}
     
     private Cart(SessionId sessionId, UUID userId) {
-        this.id = UUID.randomUUID();
+        this.id = TimeOrderedUuid.generate();
         this.sessionId = sessionId;
         this.userId = userId;
         this.createdAt = Instant.now();
@@ -55,39 +81,52 @@ public class Cart extends AggregateRoot<Cart> {
         return new Cart(null, userId);
     }
     
+    /**
+     * Rebuilds a session cart from a store that keeps its state outside JPA.
+     */
+    public static Cart restore(UUID id, SessionId sessionId, Instant createdAt, Instant updatedAt, List<CartItem> items) {
+        if (id == null) throw new IllegalArgumentException("Cart ID cannot be null");
+        if (sessionId == null) throw new IllegalArgumentException("SessionId cannot be null");
+        Cart cart = new Cart();
+        cart.id = id;
+        cart.sessionId = sessionId;
+        cart.createdAt = createdAt;
+        cart.updatedAt = updatedAt;
+        cart.items.addAll(items);
+        return cart;
+    }
+    
     public void addItem(UUID productId, Money price, int quantity) {
-        Optional<CartItem> existingItem = findItem(productId);
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
+        CartItem item = index().get(productId);
+        if (item != null) {
             int oldQuantity = item.getQuantity().getValue();
             int newQuantity = oldQuantity + quantity;
-            item.updateQuantity(newQuantity);
+            changeQuantity(item, newQuantity);
             registerEvent(new ItemQuantityUpdated(this.id, productId, oldQuantity, newQuantity));
         } else {
-            CartItem newItem = CartItem.create(productId, price, quantity);
-            items.add(newItem);
+            append(CartItem.create(productId, price, quantity));
             registerEvent(new ItemAddedToCart(this.id, productId, quantity));
         }
         this.updatedAt = Instant.now();
     }
     
     public void removeItem(UUID productId) {
-        CartItem item = findItem(productId)
-            .orElseThrow(() -> new CartItemNotFoundException(productId));
-        items.remove(item);
+        CartItem item = index().get(productId);
+        if (item == null) throw new CartItemNotFoundException(productId);
+        detach(item);
         registerEvent(new ItemRemovedFromCart(this.id, productId));
         this.updatedAt = Instant.now();
     }
     
     public void updateItemQuantity(UUID productId, int quantity) {
-        CartItem item = findItem(productId)
-            .orElseThrow(() -> new CartItemNotFoundException(productId));
+        CartItem item = index().get(productId);
+        if (item == null) throw new CartItemNotFoundException(productId);
         int oldQuantity = item.getQuantity().getValue();
         if (quantity == 0) {
-            items.remove(item);
+            detach(item);
             registerEvent(new ItemRemovedFromCart(this.id, productId));
         } else {
-            item.updateQuantity(quantity);
+            changeQuantity(item, quantity);
             registerEvent(new ItemQuantityUpdated(this.id, productId, oldQuantity, quantity));
         }
         this.updatedAt = Instant.now();
@@ -96,6 +135,8 @@ public class Cart extends AggregateRoot<Cart> {
     public void clear() {
         int itemCount = items.size();
         items.clear();
+        index().clear();
+        resetTotals();
         registerEvent(new CartCleared(this.id, itemCount));
         this.updatedAt = Instant.now();
     }
@@ -111,18 +152,15 @@ public class Cart extends AggregateRoot<Cart> {
         if (anonymousCart == null) throw new IllegalArgumentException("Source cart cannot be null");
         int itemsMerged = 0;
         for (CartItem sourceItem : anonymousCart.getItems()) {
-            Optional<CartItem> existingItem = findItem(sourceItem.getProductId());
-            if (existingItem.isPresent()) {
-                CartItem item = existingItem.get();
-                int newQuantity = item.getQuantity().getValue() + sourceItem.getQuantity().getValue();
-                item.updateQuantity(newQuantity);
+            CartItem item = index().get(sourceItem.getProductId());
+            if (item != null) {
+                changeQuantity(item, item.getQuantity().getValue() + sourceItem.getQuantity().getValue());
             } else {
-                CartItem newItem = CartItem.create(
+                append(CartItem.create(
                     sourceItem.getProductId(),
                     sourceItem.getPriceAtAddition(),
                     sourceItem.getQuantity().getValue()
-                );
-                items.add(newItem);
+                ));
             }
             itemsMerged++;
         }
@@ -130,16 +168,102 @@ public class Cart extends AggregateRoot<Cart> {
         this.updatedAt = Instant.now();
     }
     
+    /**
+     * The total in the currency of the cart's lines, or zero USD for an empty cart.
+     *
+     * @throws IllegalArgumentException if the lines mix currencies
+     */
     public Money getTotal() {
-        return items.stream()
-            .map(CartItem::getSubtotal)
-            .reduce(Money.usd(BigDecimal.ZERO), Money::add);
+        ensureTotals();
+        if (!totalInMinorUnits) {
+            return items.stream()
+                .map(CartItem::getSubtotal)
+                .reduce(Money::add)
+                .orElseGet(() -> Money.usd(BigDecimal.ZERO));
+        }
+        return totalCurrency == null ? Money.usd(BigDecimal.ZERO) : Money.ofMinorUnits(totalMinor, totalCurrency);
     }
     
     public Optional<CartItem> findItem(UUID productId) {
-        return items.stream()
-            .filter(item -> item.getProductId().equals(productId))
-            .findFirst();
+        return Optional.ofNullable(index().get(productId));
+    }
+    
+    private Map<UUID, CartItem> index() {
+        if (itemIndex == null) {
+            itemIndex = new HashMap<>(Math.max(16, items.size() * 2));
+            for (CartItem item : items) {
+                itemIndex.put(item.getProductId(), item);
+            }
+        }
+        return itemIndex;
+    }
+    
+    private void append(CartItem item) {
+        items.add(item);
+        index().put(item.getProductId(), item);
+        if (totalsKnown) {
+            itemCount += item.getQuantity().getValue();
+            addToTotal(item, item.getQuantity().getValue());
+        }
+    }
+    
+    private void detach(CartItem item) {
+        items.remove(item);
+        index().remove(item.getProductId());
+        if (totalsKnown) {
+            itemCount -= item.getQuantity().getValue();
+            addToTotal(item, -item.getQuantity().getValue());
+            if (!totalInMinorUnits || items.isEmpty()) {
+                // The fallback may no longer be needed, and an empty cart has no currency.
+                totalsKnown = false;
+            }
+        }
+    }
+    
+    private void changeQuantity(CartItem item, int newQuantity) {
+        int delta = newQuantity - item.getQuantity().getValue();
+        item.updateQuantity(newQuantity);
+        if (totalsKnown) {
+            itemCount += delta;
+            addToTotal(item, delta);
+        }
+    }
+    
+    private void addToTotal(CartItem item, int quantityDelta) {
+        if (!totalInMinorUnits) {
+            return;
+        }
+        long unitPrice = item.unitPriceMinor();
+        String currency = item.getPriceAtAddition().getCurrency();
+        if (unitPrice == CartItem.NOT_IN_MINOR_UNITS || (totalCurrency != null && !totalCurrency.equals(currency))) {
+            totalInMinorUnits = false;
+            return;
+        }
+        try {
+            totalMinor = Math.addExact(totalMinor, Math.multiplyExact(unitPrice, (long) quantityDelta));
+            totalCurrency = currency;
+        } catch (ArithmeticException e) {
+            totalInMinorUnits = false;
+        }
+    }
+    
+    private void ensureTotals() {
+        if (totalsKnown) {
+            return;
+        }
+        resetTotals();
+        for (CartItem item : items) {
+            itemCount += item.getQuantity().getValue();
+            addToTotal(item, item.getQuantity().getValue());
+        }
+    }
+    
+    private void resetTotals() {
+        totalsKnown = true;
+        totalInMinorUnits = true;
+        totalMinor = 0;
+        totalCurrency = null;
+        itemCount = 0;
     }
     
     public UUID getId() {
@@ -171,8 +295,7 @@ public class Cart extends AggregateRoot<Cart> {
     }
     
     public int getItemCount() {
-        return items.stream()
-            .mapToInt(item -> item.getQuantity().getValue())
-            .sum();
+        ensureTotals();
+        return itemCount;
     }
 }
@@ -10,6 +10,9 @@ import java.util.UUID;
 @Table(name = "cart_items")
 public class CartItem {
     
+    static final long NOT_IN_MINOR_UNITS = Long.MIN_VALUE;
+    private static final long UNRESOLVED = Long.MIN_VALUE + 1;
+    
     @Id
     private UUID id;
     
@@ -27,6 +30,9 @@ public class CartItem {
     })
     private Money priceAtAddition;
     
+    @Transient
+    private long unitPriceMinor = UNRESOLVED;
+    
     protected CartItem() {}
     
     private CartItem(CartItemId id, UUID productId, Quantity quantity, Money priceAtAddition) {
@@ -44,6 +50,14 @@ public class CartItem {
         return new CartItem(CartItemId.generate(), productId, Quantity.of(quantity), priceAtAddition);
     }
     
+    public static CartItem restore(UUID id, UUID productId, Money priceAtAddition, int quantity) {
+        if (productId == null) throw new IllegalArgumentException("Product ID cannot be null");
+        if (priceAtAddition == null) throw new IllegalArgumentException("Price cannot be null");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+        
+        return new CartItem(CartItemId.of(id), productId, Quantity.of(quantity), priceAtAddition);
+    }
+    
     public void updateQuantity(int newQuantity) {
         if (newQuantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
         this.quantity = Quantity.of(newQuantity);
@@ -53,6 +67,21 @@ public class CartItem {
         return priceAtAddition.multiply(quantity.getValue());
     }
     
+    /**
+     * Unit price in minor units, or {@link #NOT_IN_MINOR_UNITS} when the price has more
+     * decimals than its currency or the currency is unknown.
+     */
+    long unitPriceMinor() {
+        if (unitPriceMinor == UNRESOLVED) {
+            try {
+                unitPriceMinor = priceAtAddition.toMinorUnits();
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                unitPriceMinor = NOT_IN_MINOR_UNITS;
+            }
+        }
+        return unitPriceMinor;
+    }
+    
     public CartItemId getCartItemId() {
         return CartItemId.of(id);
     }
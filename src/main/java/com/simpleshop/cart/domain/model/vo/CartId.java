@@ -1,5 +1,6 @@
 package com.simpleshop.cart.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -21,7 +22,7 @@ public final class CartId extends ValueObject {
     }
     
     public static CartId generate() {
-        return new CartId(UUID.randomUUID());
+        return new CartId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
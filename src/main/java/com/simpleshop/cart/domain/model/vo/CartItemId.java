@@ -1,5 +1,6 @@
 package com.simpleshop.cart.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -21,7 +22,7 @@ public final class CartItemId extends ValueObject {
     }
     
     public static CartItemId generate() {
-        return new CartItemId(UUID.randomUUID());
+        return new CartItemId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
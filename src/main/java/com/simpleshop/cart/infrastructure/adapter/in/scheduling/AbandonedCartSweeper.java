@@ -0,0 +1,100 @@
+package com.simpleshop.cart.infrastructure.adapter.in.scheduling;
+
+import com.simpleshop.cart.application.command.PurgeAbandonedCartsCommand;
+import com.simpleshop.cart.application.port.in.PurgeAbandonedCartsUseCase;
+import com.simpleshop.cart.application.query.AbandonedCartCursor;
+import com.simpleshop.cart.application.query.PurgedCartsResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically deletes anonymous carts that have been idle longer than the configured TTL.
+ *
+ * Each sweep walks the partial index on {@code carts(updated_at, id) WHERE user_id IS NULL}
+ * in keyset order, one short transaction per batch, until a batch comes back short or the
+ * per-run limit is reached. The backlog gauge is a capped count of idle carts left behind.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AbandonedCartSweeper.class);
+
+    private final PurgeAbandonedCartsUseCase purgeAbandonedCartsUseCase;
+    private final Duration idleTtl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int backlogCountCap;
+    private final Timer batchTimer;
+    private final Counter purgedCarts;
+    private final Counter purgedItems;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public AbandonedCartSweeper(
+        PurgeAbandonedCartsUseCase purgeAbandonedCartsUseCase,
+        MeterRegistry meterRegistry,
+        @Value("${cart.retention.idle-ttl-days:30}") long idleTtlDays,
+        @Value("${cart.retention.batch-size:500}") int batchSize,
+        @Value("${cart.retention.max-batches-per-run:100}") int maxBatchesPerRun,
+        @Value("${cart.retention.backlog-count-cap:100000}") int backlogCountCap
+    ) {
+        this.purgeAbandonedCartsUseCase = purgeAbandonedCartsUseCase;
+        this.idleTtl = Duration.ofDays(Math.max(1, idleTtlDays));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.backlogCountCap = Math.max(1, backlogCountCap);
+        this.batchTimer = Timer.builder("simpleshop.carts.retention.batch")
+            .description("Time to purge one batch of abandoned anonymous carts")
+            .register(meterRegistry);
+        this.purgedCarts = Counter.builder("simpleshop.carts.retention.purged")
+            .description("Rows deleted by the abandoned cart sweeper")
+            .tag("table", "carts")
+            .register(meterRegistry);
+        this.purgedItems = Counter.builder("simpleshop.carts.retention.purged")
+            .description("Rows deleted by the abandoned cart sweeper")
+            .tag("table", "cart_items")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.carts.retention.backlog", backlog, AtomicLong::get)
+            .description("Abandoned anonymous carts still waiting to be purged, capped")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${cart.retention.sweep-interval-ms:3600000}",
+        fixedDelayString = "${cart.retention.sweep-interval-ms:3600000}"
+    )
+    public void purgeAbandonedCarts() {
+        Instant cutoff = Instant.now().minus(idleTtl);
+        AbandonedCartCursor cursor = AbandonedCartCursor.start();
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                AbandonedCartCursor after = cursor;
+                PurgedCartsResult result = batchTimer.record(() ->
+                    purgeAbandonedCartsUseCase.execute(new PurgeAbandonedCartsCommand(cutoff, after, batchSize))
+                );
+                purgedCarts.increment(result.purgedCarts());
+                purgedItems.increment(result.purgedItems());
+                cursor = result.next();
+                if (result.purgedCarts() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Abandoned cart sweep failed", e);
+        } finally {
+            backlog.set(purgeAbandonedCartsUseCase.countAbandonedCarts(cutoff, backlogCountCap));
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.simpleshop.cart.application.port.in.UpdateItemQuantityUseCase;
 import com.simpleshop.cart.application.query.CartView;
 import com.simpleshop.cart.application.query.GetCartQuery;
 import com.simpleshop.identity.infrastructure.security.ShopUserDetails;
+import com.simpleshop.shared.web.StorefrontView;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -26,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.UUID;
 
 @Controller
+@StorefrontView
 @RequestMapping("/cart")
 public class CartController {
     
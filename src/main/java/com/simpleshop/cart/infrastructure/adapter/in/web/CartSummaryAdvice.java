@@ -0,0 +1,48 @@
+package com.simpleshop.cart.infrastructure.adapter.in.web;
+
+import com.simpleshop.cart.application.port.in.GetCartSummaryUseCase;
+import com.simpleshop.cart.application.query.CartSummaryView;
+import com.simpleshop.cart.application.query.GetCartSummaryQuery;
+import com.simpleshop.identity.infrastructure.security.ShopUserDetails;
+import com.simpleshop.shared.web.StorefrontView;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+/**
+ * Supplies the storefront layout's cart badge to {@link StorefrontView} controllers only;
+ * admin pages, auth pages and downloads never look the cart up. It reads the session
+ * without creating one and never creates a cart, so visitors who have not added anything
+ * cost no cart lookups at all.
+ */
+@ControllerAdvice(annotations = StorefrontView.class)
+public class CartSummaryAdvice {
+    
+    private static final String CART_SESSION_ID = "CART_SESSION_ID";
+    
+    private final GetCartSummaryUseCase getCartSummaryUseCase;
+    
+    public CartSummaryAdvice(GetCartSummaryUseCase getCartSummaryUseCase) {
+        this.getCartSummaryUseCase = getCartSummaryUseCase;
+    }
+    
+    @ModelAttribute("cartSummary")
+    public CartSummaryView cartSummary(HttpServletRequest request,
+                                       @AuthenticationPrincipal ShopUserDetails user) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+        if (user != null) {
+            return getCartSummaryUseCase.execute(new GetCartSummaryQuery(null, user.getUserId().getValue()));
+        }
+        HttpSession session = request.getSession(false);
+        String sessionId = session != null ? (String) session.getAttribute(CART_SESSION_ID) : null;
+        if (sessionId == null) {
+            return CartSummaryView.empty();
+        }
+        return getCartSummaryUseCase.execute(new GetCartSummaryQuery(sessionId, null));
+    }
+}
@@ -18,4 +18,16 @@ public interface CartJpaRepository extends JpaRepository<Cart, UUID> {
     
     @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.items WHERE c.id = :id")
     Optional<Cart> findByIdWithItems(@Param("id") UUID id);
+    
+    @Query("SELECT SUM(i.quantity.value) AS itemCount, " +
+           "SUM(i.priceAtAddition.amount * i.quantity.value) AS total, " +
+           "MIN(i.priceAtAddition.currency) AS currency " +
+           "FROM Cart c JOIN c.items i WHERE c.sessionId.value = :sessionId")
+    CartTotals summarizeBySessionIdValue(@Param("sessionId") String sessionId);
+    
+    @Query("SELECT SUM(i.quantity.value) AS itemCount, " +
+           "SUM(i.priceAtAddition.amount * i.quantity.value) AS total, " +
+           "MIN(i.priceAtAddition.currency) AS currency " +
+           "FROM Cart c JOIN c.items i WHERE c.userId = :userId")
+    CartTotals summarizeByUserId(@Param("userId") UUID userId);
 }
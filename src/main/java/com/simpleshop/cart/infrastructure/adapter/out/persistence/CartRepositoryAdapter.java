@@ -1,6 +1,7 @@
 package com.simpleshop.cart.infrastructure.adapter.out.persistence;
 
 import com.simpleshop.cart.application.port.out.CartRepository;
+import com.simpleshop.cart.application.query.CartSummaryView;
 import com.simpleshop.cart.domain.model.Cart;
 import com.simpleshop.cart.domain.model.vo.CartId;
 import com.simpleshop.cart.domain.model.vo.SessionId;
@@ -43,4 +44,27 @@ public class CartRepositoryAdapter implements CartRepository {
     public void deleteById(CartId id) {
         jpaRepository.deleteById(id.getValue());
     }
+
+    @Override
+    public void delete(Cart cart) {
+        jpaRepository.delete(cart);
+    }
+
+    @Override
+    public CartSummaryView summarizeBySessionId(SessionId sessionId) {
+        return toSummary(jpaRepository.summarizeBySessionIdValue(sessionId.getValue()));
+    }
+
+    @Override
+    public CartSummaryView summarizeByUserId(UUID userId) {
+        return toSummary(jpaRepository.summarizeByUserId(userId));
+    }
+
+    private CartSummaryView toSummary(CartTotals totals) {
+        // The aggregate always yields one row; it is all nulls when the cart is missing or empty.
+        if (totals == null || totals.getItemCount() == null) {
+            return CartSummaryView.empty();
+        }
+        return new CartSummaryView(totals.getItemCount().intValue(), totals.getTotal(), totals.getCurrency());
+    }
 }
@@ -0,0 +1,9 @@
+package com.simpleshop.cart.infrastructure.adapter.out.persistence;
+
+import java.math.BigDecimal;
+
+public interface CartTotals {
+    Long getItemCount();
+    BigDecimal getTotal();
+    String getCurrency();
+}
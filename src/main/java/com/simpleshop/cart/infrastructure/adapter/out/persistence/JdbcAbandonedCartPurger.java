@@ -0,0 +1,90 @@
+package com.simpleshop.cart.infrastructure.adapter.out.persistence;
+
+import com.simpleshop.cart.application.port.out.AbandonedCartPurger;
+import com.simpleshop.cart.application.query.AbandonedCartCursor;
+import com.simpleshop.cart.application.query.PurgedCartsResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Purges anonymous carts with plain SQL: one statement per batch deletes a keyset page
+ * of idle carts together with their items, so nothing is loaded into the persistence
+ * context. Rows locked by a concurrent cart update are skipped and retried next sweep.
+ * The keyset walks {@code idx_carts_anonymous_updated_at}, created by the V5 migration.
+ */
+@Repository
+public class JdbcAbandonedCartPurger implements AbandonedCartPurger {
+
+    private static final String PURGE_SQL = """
+        WITH batch AS (
+            SELECT id
+            FROM carts
+            WHERE user_id IS NULL
+              AND updated_at < ?
+              AND (updated_at, id) > (?, ?)
+            ORDER BY updated_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        ), purged_items AS (
+            DELETE FROM cart_items i
+            USING batch b
+            WHERE i.cart_id = b.id
+            RETURNING 1
+        ), purged_carts AS (
+            DELETE FROM carts c
+            USING batch b
+            WHERE c.id = b.id
+            RETURNING c.id, c.updated_at
+        )
+        SELECT (SELECT count(*) FROM purged_carts) AS carts,
+               (SELECT count(*) FROM purged_items) AS items,
+               last.id AS last_id,
+               last.updated_at AS last_updated_at
+        FROM (SELECT 1) one
+        LEFT JOIN LATERAL (
+            SELECT id, updated_at FROM purged_carts ORDER BY updated_at DESC, id DESC LIMIT 1
+        ) last ON true
+        """;
+
+    private static final String COUNT_SQL = """
+        SELECT count(*) FROM (
+            SELECT 1 FROM carts WHERE user_id IS NULL AND updated_at < ? LIMIT ?
+        ) idle
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAbandonedCartPurger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public PurgedCartsResult purgeAnonymousCartsIdleSince(Instant idleSince, AbandonedCartCursor after, int limit) {
+        return jdbcTemplate.query(PURGE_SQL, (PreparedStatement ps) -> {
+            ps.setTimestamp(1, Timestamp.from(idleSince));
+            ps.setTimestamp(2, Timestamp.from(after.updatedAt()));
+            ps.setObject(3, after.id());
+            ps.setInt(4, limit);
+        }, rs -> {
+            if (!rs.next() || rs.getInt("carts") == 0) {
+                return PurgedCartsResult.none(after);
+            }
+            AbandonedCartCursor next = new AbandonedCartCursor(
+                rs.getTimestamp("last_updated_at").toInstant(),
+                rs.getObject("last_id", UUID.class)
+            );
+            return new PurgedCartsResult(rs.getInt("carts"), rs.getInt("items"), next);
+        });
+    }
+
+    @Override
+    public long countAnonymousCartsIdleSince(Instant idleSince, int cap) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, Timestamp.from(idleSince), cap);
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,227 @@
+package com.simpleshop.cart.infrastructure.adapter.out.redis;
+
+import com.simpleshop.cart.application.query.CartSummaryView;
+import com.simpleshop.cart.domain.event.CartCleared;
+import com.simpleshop.cart.domain.event.ItemAddedToCart;
+import com.simpleshop.cart.domain.event.ItemQuantityUpdated;
+import com.simpleshop.cart.domain.event.ItemRemovedFromCart;
+import com.simpleshop.cart.domain.model.Cart;
+import com.simpleshop.cart.domain.model.CartItem;
+import com.simpleshop.cart.domain.model.vo.SessionId;
+import com.simpleshop.catalog.domain.model.vo.Money;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Hash layout of a session cart: {@code id}, {@code created} and {@code updated} hold the
+ * cart itself, and every line is a {@code q:<productId>} quantity next to a
+ * {@code p:<productId>} field holding {@code <itemId>|<amount>|<currency>}.
+ *
+ * Changes are derived from the cart's pending domain events and expressed as
+ * {@link #APPLY_SCRIPT} arguments, so that a repeated add becomes a {@code HINCRBY} on
+ * one field rather than a rewrite of the cart.
+ */
+final class RedisCartLayout {
+
+    static final String APPLY_SCRIPT = """
+        local key = KEYS[1]
+        local i = 5
+        while i <= #ARGV do
+          local op = ARGV[i]
+          if op == 'clear' then
+            redis.call('DEL', key)
+            i = i + 1
+          elseif op == 'del' then
+            redis.call('HDEL', key, 'q:' .. ARGV[i + 1], 'p:' .. ARGV[i + 1])
+            i = i + 2
+          else
+            local product = ARGV[i + 1]
+            redis.call('HSETNX', key, 'p:' .. product, ARGV[i + 3])
+            if redis.call('HINCRBY', key, 'q:' .. product, ARGV[i + 2]) <= 0 then
+              redis.call('HDEL', key, 'q:' .. product, 'p:' .. product)
+            end
+            i = i + 4
+          end
+        end
+        redis.call('HSETNX', key, 'id', ARGV[2])
+        redis.call('HSETNX', key, 'created', ARGV[3])
+        redis.call('HSET', key, 'updated', ARGV[4])
+        redis.call('EXPIRE', key, ARGV[1])
+        return 1
+        """;
+
+    /**
+     * Writes a full snapshot unless the cart already exists, then returns the stored hash.
+     * Used to move a cart into Redis without overwriting one another request just created.
+     */
+    static final String PROMOTE_SCRIPT = """
+        local key = KEYS[1]
+        if redis.call('EXISTS', key) == 0 then
+          redis.call('HSET', key, unpack(ARGV, 2))
+        end
+        redis.call('EXPIRE', key, ARGV[1])
+        return redis.call('HGETALL', key)
+        """;
+
+    static final String ID = "id";
+    static final String CREATED = "created";
+    static final String UPDATED = "updated";
+    static final String QUANTITY_PREFIX = "q:";
+    static final String PRICE_PREFIX = "p:";
+
+    private static final String OP_CLEAR = "clear";
+    private static final String OP_DELETE = "del";
+    private static final String OP_INCREMENT = "incr";
+
+    private RedisCartLayout() {
+    }
+
+    /**
+     * Script arguments after the TTL: the cart header followed by one operation per change.
+     */
+    static List<String> changeArguments(Cart cart) {
+        List<String> args = new ArrayList<>();
+        args.add(cart.getId().toString());
+        args.add(Long.toString(cart.getCreatedAt().toEpochMilli()));
+        args.add(Long.toString(cart.getUpdatedAt().toEpochMilli()));
+
+        List<String> ops = new ArrayList<>();
+        for (Object event : cart.getDomainEvents()) {
+            if (event instanceof ItemAddedToCart added) {
+                increment(ops, cart, added.getProductId(), added.getQuantity());
+            } else if (event instanceof ItemQuantityUpdated updated) {
+                increment(ops, cart, updated.getProductId(), updated.getNewQuantity() - updated.getOldQuantity());
+            } else if (event instanceof ItemRemovedFromCart removed) {
+                ops.add(OP_DELETE);
+                ops.add(removed.getProductId().toString());
+            } else if (event instanceof CartCleared) {
+                ops.add(OP_CLEAR);
+            } else {
+                // Not expressible as a field delta: replace the whole cart.
+                ops = rewrite(cart);
+                break;
+            }
+        }
+        args.addAll(ops);
+        return args;
+    }
+
+    /**
+     * The whole cart as alternating hash fields and values, in the layout described above.
+     */
+    static List<String> snapshotFields(Cart cart) {
+        List<String> fields = new ArrayList<>(6 + cart.getItems().size() * 4);
+        fields.add(ID);
+        fields.add(cart.getId().toString());
+        fields.add(CREATED);
+        fields.add(Long.toString(cart.getCreatedAt().toEpochMilli()));
+        fields.add(UPDATED);
+        fields.add(Long.toString(cart.getUpdatedAt().toEpochMilli()));
+        for (CartItem item : cart.getItems()) {
+            fields.add(QUANTITY_PREFIX + item.getProductId());
+            fields.add(Integer.toString(item.getQuantity().getValue()));
+            fields.add(PRICE_PREFIX + item.getProductId());
+            fields.add(priceField(item));
+        }
+        return fields;
+    }
+
+    static Optional<Cart> read(SessionId sessionId, Map<String, String> hash) {
+        String id = hash.get(ID);
+        if (id == null) {
+            return Optional.empty();
+        }
+        List<CartItem> items = new ArrayList<>();
+        for (Map.Entry<String, String> field : hash.entrySet()) {
+            if (!field.getKey().startsWith(QUANTITY_PREFIX)) {
+                continue;
+            }
+            String productId = field.getKey().substring(QUANTITY_PREFIX.length());
+            String price = hash.get(PRICE_PREFIX + productId);
+            int quantity = Integer.parseInt(field.getValue());
+            if (price == null || quantity <= 0) {
+                continue;
+            }
+            String[] parts = price.split("\\|", 3);
+            items.add(CartItem.restore(
+                UUID.fromString(parts[0]),
+                UUID.fromString(productId),
+                Money.of(new BigDecimal(parts[1]), parts[2]),
+                quantity
+            ));
+        }
+        // Item IDs are time-ordered, so this restores the order in which lines were added.
+        items.sort(Comparator.comparing(CartItem::getId));
+        return Optional.of(Cart.restore(
+            UUID.fromString(id),
+            sessionId,
+            instant(hash.get(CREATED)),
+            instant(hash.get(UPDATED)),
+            items
+        ));
+    }
+
+    static CartSummaryView summarize(Map<String, String> hash) {
+        int itemCount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        String currency = null;
+        for (Map.Entry<String, String> field : hash.entrySet()) {
+            if (!field.getKey().startsWith(QUANTITY_PREFIX)) {
+                continue;
+            }
+            String price = hash.get(PRICE_PREFIX + field.getKey().substring(QUANTITY_PREFIX.length()));
+            int quantity = Integer.parseInt(field.getValue());
+            if (price == null || quantity <= 0) {
+                continue;
+            }
+            String[] parts = price.split("\\|", 3);
+            itemCount += quantity;
+            total = total.add(new BigDecimal(parts[1]).multiply(BigDecimal.valueOf(quantity)));
+            currency = parts[2];
+        }
+        return itemCount == 0 ? CartSummaryView.empty() : new CartSummaryView(itemCount, total, currency);
+    }
+
+    private static List<String> rewrite(Cart cart) {
+        List<String> ops = new ArrayList<>();
+        ops.add(OP_CLEAR);
+        for (CartItem item : cart.getItems()) {
+            addIncrement(ops, item, item.getQuantity().getValue());
+        }
+        return ops;
+    }
+
+    private static void increment(List<String> ops, Cart cart, UUID productId, int delta) {
+        Optional<CartItem> item = cart.findItem(productId);
+        if (item.isEmpty()) {
+            // Removed again later in the same unit of work.
+            ops.add(OP_DELETE);
+            ops.add(productId.toString());
+            return;
+        }
+        addIncrement(ops, item.get(), delta);
+    }
+
+    private static void addIncrement(List<String> ops, CartItem item, int delta) {
+        ops.add(OP_INCREMENT);
+        ops.add(item.getProductId().toString());
+        ops.add(Integer.toString(delta));
+        ops.add(priceField(item));
+    }
+
+    private static String priceField(CartItem item) {
+        Money price = item.getPriceAtAddition();
+        return item.getId() + "|" + price.getAmount().toPlainString() + "|" + price.getCurrency();
+    }
+
+    private static Instant instant(String epochMillis) {
+        return epochMillis != null ? Instant.ofEpochMilli(Long.parseLong(epochMillis)) : Instant.now();
+    }
+}
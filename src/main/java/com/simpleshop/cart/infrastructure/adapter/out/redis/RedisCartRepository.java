@@ -0,0 +1,195 @@
+package com.simpleshop.cart.infrastructure.adapter.out.redis;
+
+import com.simpleshop.cart.application.port.out.CartRepository;
+import com.simpleshop.cart.application.query.CartSummaryView;
+import com.simpleshop.cart.domain.model.Cart;
+import com.simpleshop.cart.domain.model.vo.CartId;
+import com.simpleshop.cart.domain.model.vo.SessionId;
+import com.simpleshop.cart.infrastructure.adapter.out.persistence.CartRepositoryAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps anonymous session carts in Redis, one hash per cart with a sliding TTL, and
+ * user carts in Postgres.
+ *
+ * A session cart reaches Postgres only when it is bound to a user: the login merge copies
+ * its lines into the user's cart and then drops the hash. Checkout of a session cart
+ * clears it, the order itself holding the lines. Session carts never go through
+ * Hibernate, so their domain events are published here instead of by Spring Data.
+ *
+ * Session carts written to Postgres before Redis was enabled are still found: a lookup
+ * that misses in Redis falls back to Postgres and moves the cart over. Writes reach Redis
+ * only once the surrounding transaction commits, and every read of a session cart slides
+ * its TTL.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "cart.redis.enabled", havingValue = "true")
+public class RedisCartRepository implements CartRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCartRepository.class);
+    private static final String KEY_PREFIX = "cart:session:";
+
+    private static final RedisScript<Long> APPLY_SCRIPT = RedisScript.of(RedisCartLayout.APPLY_SCRIPT, Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PROMOTE_SCRIPT = RedisScript.of(RedisCartLayout.PROMOTE_SCRIPT, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CartRepositoryAdapter userCarts;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlSeconds;
+
+    public RedisCartRepository(
+        StringRedisTemplate redisTemplate,
+        CartRepositoryAdapter userCarts,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${cart.redis.session-ttl-hours:168}") long ttlHours
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.userCarts = userCarts;
+        this.eventPublisher = eventPublisher;
+        this.ttlSeconds = ttlHours * 3600L;
+    }
+
+    @Override
+    public Cart save(Cart cart) {
+        if (!isSessionCart(cart)) {
+            return userCarts.save(cart);
+        }
+        List<String> args = new ArrayList<>();
+        args.add(Long.toString(ttlSeconds));
+        args.addAll(RedisCartLayout.changeArguments(cart));
+        List<String> keys = List.of(key(cart.getSessionId()));
+        afterCommit(() -> redisTemplate.execute(APPLY_SCRIPT, keys, args.toArray()));
+
+        cart.getDomainEvents().forEach(eventPublisher::publishEvent);
+        cart.clearEvents();
+        return cart;
+    }
+
+    @Override
+    public Optional<Cart> findById(CartId id) {
+        // Session carts are addressed by session only; IDs resolve to user carts.
+        return userCarts.findById(id);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Cart> findBySessionId(SessionId sessionId) {
+        byte[] rawKey = key(sessionId).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hGetAll(rawKey);
+            connection.keyCommands().expire(rawKey, ttlSeconds);
+            return null;
+        });
+        Map<String, String> hash = (Map<String, String>) results.get(0);
+        if (hash == null || hash.isEmpty()) {
+            return userCarts.findBySessionId(sessionId).flatMap(this::promote);
+        }
+        return RedisCartLayout.read(sessionId, hash);
+    }
+
+    @Override
+    public Optional<Cart> findByUserId(UUID userId) {
+        return userCarts.findByUserId(userId);
+    }
+
+    @Override
+    public void deleteById(CartId id) {
+        userCarts.deleteById(id);
+    }
+
+    @Override
+    public void delete(Cart cart) {
+        if (!isSessionCart(cart)) {
+            userCarts.delete(cart);
+            return;
+        }
+        // Keep the session cart until the merged user cart is committed, so a rolled back
+        // or retried merge still finds it.
+        String key = key(cart.getSessionId());
+        afterCommit(() -> redisTemplate.delete(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CartSummaryView summarizeBySessionId(SessionId sessionId) {
+        byte[] rawKey = key(sessionId).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hGetAll(rawKey);
+            connection.keyCommands().expire(rawKey, ttlSeconds);
+            return null;
+        });
+        Map<String, String> hash = (Map<String, String>) results.get(0);
+        if (hash == null || hash.isEmpty()) {
+            return userCarts.summarizeBySessionId(sessionId);
+        }
+        return RedisCartLayout.summarize(hash);
+    }
+
+    @Override
+    public CartSummaryView summarizeByUserId(UUID userId) {
+        return userCarts.summarizeByUserId(userId);
+    }
+
+    /**
+     * Copies a session cart found in Postgres into Redis and deletes the row, returning the
+     * cart as stored in Redis. The row is deleted with the caller's transaction; if that
+     * rolls back, the row stays behind until the abandoned cart purge removes it.
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<Cart> promote(Cart stored) {
+        List<String> args = new ArrayList<>();
+        args.add(Long.toString(ttlSeconds));
+        args.addAll(RedisCartLayout.snapshotFields(stored));
+        List<String> fields = redisTemplate.execute(PROMOTE_SCRIPT, List.of(key(stored.getSessionId())), args.toArray());
+
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            hash.put(fields.get(i), fields.get(i + 1));
+        }
+        userCarts.delete(stored);
+        log.debug("Moved session cart {} from Postgres to Redis", stored.getId());
+        return RedisCartLayout.read(stored.getSessionId(), hash);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static boolean isSessionCart(Cart cart) {
+        return cart.getUserId() == null && cart.getSessionId() != null;
+    }
+
+    private static String key(SessionId sessionId) {
+        return KEY_PREFIX + sessionId.getValue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.simpleshop.catalog.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -22,7 +23,7 @@ public final class CategoryId extends ValueObject {
     }
     
     public static CategoryId generate() {
-        return new CategoryId(UUID.randomUUID());
+        return new CategoryId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
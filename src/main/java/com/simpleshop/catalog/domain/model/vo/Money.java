@@ -8,6 +8,9 @@ import java.util.Objects;
 @Embeddable
 public final class Money extends ValueObject {
     
+    /** Scale of the NUMERIC(38, 2) columns prices are stored in. */
+    private static final int STORED_SCALE = 2;
+    
     private BigDecimal amount;
     private String currency;
     
@@ -30,6 +33,17 @@ public final class Money extends ValueObject {
         return new Money(amount, "USD");
     }
     
+    /**
+     * The amount for a count of the currency's smallest unit, at the scale prices are
+     * stored with (or the currency's own, if finer), so it equals the same amount read
+     * back from the database: 100 JPY is {@code 100.00}, not {@code 100}.
+     */
+    public static Money ofMinorUnits(long minorUnits, String currency) {
+        int fractionDigits = fractionDigits(currency);
+        BigDecimal amount = BigDecimal.valueOf(minorUnits, fractionDigits).setScale(Math.max(fractionDigits, STORED_SCALE));
+        return new Money(amount, currency);
+    }
+    
     public BigDecimal getAmount() {
         return amount;
     }
@@ -49,6 +63,19 @@ public final class Money extends ValueObject {
         return new Money(this.amount.multiply(BigDecimal.valueOf(quantity)), this.currency);
     }
     
+    /**
+     * The amount in the currency's smallest unit, e.g. cents.
+     *
+     * @throws ArithmeticException if the amount is more precise than the currency allows
+     */
+    public long toMinorUnits() {
+        return amount.movePointRight(fractionDigits(currency)).longValueExact();
+    }
+    
+    private static int fractionDigits(String currency) {
+        return Math.max(0, java.util.Currency.getInstance(currency.toUpperCase()).getDefaultFractionDigits());
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,5 +1,6 @@
 package com.simpleshop.catalog.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -22,7 +23,7 @@ public final class ProductId extends ValueObject {
     }
     
     public static ProductId generate() {
-        return new ProductId(UUID.randomUUID());
+        return new ProductId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
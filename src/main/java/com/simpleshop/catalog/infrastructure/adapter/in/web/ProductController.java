@@ -11,6 +11,7 @@ import com.simpleshop.catalog.application.query.ProductView;
 import com.simpleshop.inventory.application.port.in.CheckStockAvailabilityUseCase;
 import com.simpleshop.inventory.application.query.CheckStockAvailabilityQuery;
 import com.simpleshop.inventory.application.query.ProductAvailabilityView;
+import com.simpleshop.shared.web.StorefrontView;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import java.util.UUID;
 
 @Controller
+@StorefrontView
 @RequestMapping("/products")
 public class ProductController {
     
@@ -17,12 +17,9 @@ public interface ProductJpaRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Product p WHERE p.sku.value = :skuValue")
     boolean existsBySkuValue(@Param("skuValue") String skuValue);
     
-    @Query("SELECT p FROM Product p WHERE " +
-           "(:categoryId IS NULL OR p.categoryId = :categoryId) AND " +
-           "(:activeOnly IS NULL OR :activeOnly = false OR p.active = true)")
-    Page<Product> findAllWithFilters(
-        @Param("categoryId") UUID categoryId,
-        @Param("activeOnly") Boolean activeOnly,
-        Pageable pageable
-    );
+    Page<Product> findByCategoryId(UUID categoryId, Pageable pageable);
+
+    Page<Product> findByCategoryIdAndActiveTrue(UUID categoryId, Pageable pageable);
+
+    Page<Product> findByActiveTrue(Pageable pageable);
 }
@@ -51,6 +51,14 @@ public class ProductRepositoryAdapter implements ProductRepository {
 
     @Override
     public Page<Product> findAll(UUID categoryId, Boolean activeOnly, Pageable pageable) {
-        return jpaRepository.findAllWithFilters(categoryId, activeOnly, pageable);
+        // One query per filter combination, so each can use idx_products_category_active
+        // instead of an "IS NULL OR" predicate that no index serves.
+        boolean onlyActive = Boolean.TRUE.equals(activeOnly);
+        if (categoryId != null) {
+            return onlyActive
+                ? jpaRepository.findByCategoryIdAndActiveTrue(categoryId, pageable)
+                : jpaRepository.findByCategoryId(categoryId, pageable);
+        }
+        return onlyActive ? jpaRepository.findByActiveTrue(pageable) : jpaRepository.findAll(pageable);
     }
 }
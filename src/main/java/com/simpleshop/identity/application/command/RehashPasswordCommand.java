@@ -0,0 +1,18 @@
+package com.simpleshop.identity.application.command;
+
+import com.simpleshop.identity.domain.model.vo.UserId;
+
+public record RehashPasswordCommand(
+    UserId userId,
+    String currentPasswordHash,
+    String newPasswordHash
+) {
+    public RehashPasswordCommand {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (currentPasswordHash == null || newPasswordHash == null) {
+            throw new IllegalArgumentException("Password hashes are required");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.simpleshop.identity.application.port.in;
 
 import com.simpleshop.identity.application.query.GetUserByEmailQuery;
 import com.simpleshop.identity.application.query.GetUserQuery;
+import com.simpleshop.identity.application.readmodel.UserAccount;
+import com.simpleshop.identity.application.readmodel.UserView;
 import com.simpleshop.identity.domain.model.User;
 
 import java.util.Optional;
@@ -9,4 +11,7 @@ import java.util.Optional;
 public interface GetUserUseCase {
     Optional<User> getUser(GetUserQuery query);
     Optional<User> getUserByEmail(GetUserByEmailQuery query);
+    Optional<UserView> getUserView(GetUserQuery query);
+    Optional<UserView> getUserViewByEmail(GetUserByEmailQuery query);
+    Optional<UserAccount> getAccountByEmail(GetUserByEmailQuery query);
 }
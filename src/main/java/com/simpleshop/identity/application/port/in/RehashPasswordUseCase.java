@@ -0,0 +1,7 @@
+package com.simpleshop.identity.application.port.in;
+
+import com.simpleshop.identity.application.command.RehashPasswordCommand;
+
+public interface RehashPasswordUseCase {
+    boolean rehash(RehashPasswordCommand command);
+}
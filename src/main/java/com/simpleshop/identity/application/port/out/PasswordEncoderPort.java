@@ -3,4 +3,5 @@ package com.simpleshop.identity.application.port.out;
 public interface PasswordEncoderPort {
     String encode(String rawPassword);
     boolean matches(String rawPassword, String encodedPassword);
+    boolean needsRehash(String encodedPassword);
 }
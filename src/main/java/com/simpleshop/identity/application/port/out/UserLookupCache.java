@@ -0,0 +1,20 @@
+package com.simpleshop.identity.application.port.out;
+
+import com.simpleshop.identity.application.readmodel.UserView;
+import com.simpleshop.identity.domain.model.vo.UserId;
+import com.simpleshop.shared.domain.model.vo.Email;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link UserView} snapshots addressable by ID and by email.
+ * Implementations are bounded and expire entries, so a missed invalidation, including
+ * one made on another node, is only visible until the TTL runs out. Credentials are
+ * never cached.
+ */
+public interface UserLookupCache {
+    Optional<UserView> getById(UserId id);
+    Optional<UserView> getByEmail(Email email);
+    void put(UserView view);
+    void evict(UserId id);
+}
@@ -0,0 +1,27 @@
+package com.simpleshop.identity.application.readmodel;
+
+import com.simpleshop.identity.domain.model.User;
+import com.simpleshop.identity.domain.model.vo.UserRole;
+import com.simpleshop.identity.domain.model.vo.UserStatus;
+
+/**
+ * Immutable snapshot of a user with the credentials needed to authenticate, safe to
+ * share between threads unlike the {@link User} aggregate. Never cached, so a password
+ * change or deactivation is seen by the next login on every node.
+ */
+public record UserAccount(
+    UserView view,
+    String passwordHash
+) {
+    public static UserAccount fromUser(User user) {
+        return new UserAccount(UserView.fromUser(user), user.getPasswordHash());
+    }
+    
+    public boolean isActive() {
+        return view.status() == UserStatus.ACTIVE;
+    }
+    
+    public boolean isAdmin() {
+        return view.role() == UserRole.ADMIN;
+    }
+}
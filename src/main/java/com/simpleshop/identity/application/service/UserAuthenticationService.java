@@ -40,6 +40,10 @@ public class UserAuthenticationService implements AuthenticateUserUseCase {
             throw new UserInactiveException();
         }
         
+        if (passwordEncoder.needsRehash(user.getPasswordHash())) {
+            user.rehashPassword(user.getPasswordHash(), passwordEncoder.encode(command.password()));
+        }
+        
         user.recordLogin();
         userRepository.save(user);
         
@@ -1,6 +1,8 @@
 package com.simpleshop.identity.application.service;
 
+import com.simpleshop.identity.application.command.RehashPasswordCommand;
 import com.simpleshop.identity.application.port.in.DeactivateUserUseCase;
+import com.simpleshop.identity.application.port.in.RehashPasswordUseCase;
 import com.simpleshop.identity.application.port.out.UserRepository;
 import com.simpleshop.identity.domain.exception.UserNotFoundException;
 import com.simpleshop.identity.domain.model.User;
@@ -11,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
-public class UserManagementService implements DeactivateUserUseCase {
+public class UserManagementService implements DeactivateUserUseCase, RehashPasswordUseCase {
     
     private final UserRepository userRepository;
     
@@ -28,4 +30,17 @@ public class UserManagementService implements DeactivateUserUseCase {
         user.deactivate();
         userRepository.save(user);
     }
+    
+    @Override
+    @WithSpan("identity.rehashPassword")
+    public boolean rehash(RehashPasswordCommand command) {
+        User user = userRepository.findById(command.userId())
+            .orElseThrow(() -> new UserNotFoundException(command.userId()));
+        
+        if (!user.rehashPassword(command.currentPasswordHash(), command.newPasswordHash())) {
+            return false;
+        }
+        userRepository.save(user);
+        return true;
+    }
 }
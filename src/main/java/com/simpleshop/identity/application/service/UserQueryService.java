@@ -1,12 +1,16 @@
 package com.simpleshop.identity.application.service;
 
 import com.simpleshop.identity.application.port.in.GetUserUseCase;
+import com.simpleshop.identity.application.port.out.UserLookupCache;
 import com.simpleshop.identity.application.port.out.UserRepository;
 import com.simpleshop.identity.application.query.GetUserByEmailQuery;
 import com.simpleshop.identity.application.query.GetUserQuery;
+import com.simpleshop.identity.application.readmodel.UserAccount;
+import com.simpleshop.identity.application.readmodel.UserView;
 import com.simpleshop.identity.domain.model.User;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -16,9 +20,11 @@ import java.util.Optional;
 public class UserQueryService implements GetUserUseCase {
     
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
     
-    public UserQueryService(UserRepository userRepository) {
+    public UserQueryService(UserRepository userRepository, UserLookupCache userLookupCache) {
         this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
     }
     
     @Override
@@ -32,4 +38,50 @@ public class UserQueryService implements GetUserUseCase {
     public Optional<User> getUserByEmail(GetUserByEmailQuery query) {
         return userRepository.findByEmail(query.email());
     }
+    
+    // Snapshot lookups join a caller's transaction but do not start one, so a cache hit
+    // does not check out a connection.
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @WithSpan("identity.getUserView")
+    public Optional<UserView> getUserView(GetUserQuery query) {
+        Optional<UserView> cached = userLookupCache.getById(query.userId());
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return userRepository.findById(query.userId()).map(this::cache);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @WithSpan("identity.getUserViewByEmail")
+    public Optional<UserView> getUserViewByEmail(GetUserByEmailQuery query) {
+        Optional<UserView> cached = userLookupCache.getByEmail(query.email());
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return userRepository.findByEmail(query.email()).map(this::cache);
+    }
+    
+    /**
+     * Always reads the database, so authentication sees the current password hash and
+     * status on every node; the view is refreshed in the cache on the way.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @WithSpan("identity.getAccountByEmail")
+    public Optional<UserAccount> getAccountByEmail(GetUserByEmailQuery query) {
+        return userRepository.findByEmail(query.email()).map(user -> {
+            UserAccount account = UserAccount.fromUser(user);
+            userLookupCache.put(account.view());
+            return account;
+        });
+    }
+    
+    private UserView cache(User user) {
+        UserView view = UserView.fromUser(user);
+        userLookupCache.put(view);
+        return view;
+    }
 }
@@ -12,6 +12,7 @@ import com.simpleshop.shared.domain.model.vo.Email;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.opentelemetry.instrumentation.annotations.SpanAttribute;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -26,7 +27,10 @@ public class UserRegistrationService implements RegisterUserUseCase {
         this.passwordEncoder = passwordEncoder;
     }
     
+    // Runs outside a transaction so no connection is held while the password is hashed;
+    // the existence check and the save each run in their own.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @WithSpan("identity.registerUser")
     public UserId register(RegisterUserCommand command) {
         Email email = Email.of(command.email());
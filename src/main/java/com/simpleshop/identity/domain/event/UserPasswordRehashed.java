@@ -0,0 +1,17 @@
+package com.simpleshop.identity.domain.event;
+
+import com.simpleshop.identity.domain.model.vo.UserId;
+import com.simpleshop.shared.domain.model.DomainEvent;
+
+public final class UserPasswordRehashed extends DomainEvent {
+    private final UserId userId;
+    
+    public UserPasswordRehashed(UserId userId) {
+        super();
+        this.userId = userId;
+    }
+    
+    public UserId getUserId() {
+        return userId;
+    }
+}
@@ -1,7 +1,9 @@
 package com.simpleshop.identity.domain.model;
 
+import com.simpleshop.identity.domain.event.UserActivated;
 import com.simpleshop.identity.domain.event.UserDeactivated;
 import com.simpleshop.identity.domain.event.UserLoggedIn;
+import com.simpleshop.identity.domain.event.UserPasswordRehashed;
 import com.simpleshop.identity.domain.event.UserRegistered;
 import com.simpleshop.identity.domain.model.vo.PersonName;
 import com.simpleshop.identity.domain.model.vo.UserId;
@@ -77,6 +79,20 @@ public class User extends AggregateRoot<User> {
         registerEvent(new UserLoggedIn(getUserId()));
     }
     
+    /**
+     * Replaces the stored hash of the same password, e.g. with one of a different cost.
+     * Returns {@code false} when the stored hash is no longer {@code expectedPasswordHash},
+     * so a password changed in the meantime is never overwritten.
+     */
+    public boolean rehashPassword(String expectedPasswordHash, String newPasswordHash) {
+        if (!this.passwordHash.equals(expectedPasswordHash)) {
+            return false;
+        }
+        this.passwordHash = newPasswordHash;
+        registerEvent(new UserPasswordRehashed(getUserId()));
+        return true;
+    }
+    
     public void deactivate() {
         if (this.status == UserStatus.INACTIVE) {
             return;
@@ -86,7 +102,11 @@ public class User extends AggregateRoot<User> {
     }
     
     public void activate() {
+        if (this.status == UserStatus.ACTIVE) {
+            return;
+        }
         this.status = UserStatus.ACTIVE;
+        registerEvent(new UserActivated(getUserId()));
     }
     
     public boolean isActive() {
@@ -97,6 +117,10 @@ public class User extends AggregateRoot<User> {
         return this.role == UserRole.ADMIN;
     }
     
+    public UUID getId() {
+        return id;
+    }
+    
     public UserId getUserId() {
         return UserId.of(id);
     }
@@ -1,5 +1,6 @@
 package com.simpleshop.identity.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -21,7 +22,7 @@ public final class UserId extends ValueObject {
     }
     
     public static UserId generate() {
-        return new UserId(UUID.randomUUID());
+        return new UserId(TimeOrderedUuid.generate());
     }
     
     public static UserId fromString(String value) {
@@ -0,0 +1,56 @@
+package com.simpleshop.identity.infrastructure.adapter.in.event;
+
+import com.simpleshop.identity.application.port.out.UserLookupCache;
+import com.simpleshop.identity.domain.event.UserActivated;
+import com.simpleshop.identity.domain.event.UserDeactivated;
+import com.simpleshop.identity.domain.event.UserLoggedIn;
+import com.simpleshop.identity.domain.model.vo.UserId;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a user's cached view once a change to it has committed, so this node shows a
+ * status change right away instead of after the TTL.
+ *
+ * Plain listeners registering a transaction synchronization, so that no event
+ * publication row is written for what is only a local cache eviction.
+ */
+@Component
+public class UserLookupCacheListener {
+
+    private final UserLookupCache userLookupCache;
+
+    public UserLookupCacheListener(UserLookupCache userLookupCache) {
+        this.userLookupCache = userLookupCache;
+    }
+
+    @EventListener
+    public void onUserActivated(UserActivated event) {
+        evictAfterCommit(event.getUserId());
+    }
+
+    @EventListener
+    public void onUserDeactivated(UserDeactivated event) {
+        evictAfterCommit(event.getUserId());
+    }
+
+    @EventListener
+    public void onUserLoggedIn(UserLoggedIn event) {
+        evictAfterCommit(event.getUserId());
+    }
+
+    private void evictAfterCommit(UserId userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userLookupCache.evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userLookupCache.evict(userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,157 @@
+package com.simpleshop.identity.infrastructure.adapter.out.cache;
+
+import com.simpleshop.identity.application.port.out.UserLookupCache;
+import com.simpleshop.identity.application.readmodel.UserView;
+import com.simpleshop.identity.domain.model.vo.UserId;
+import com.simpleshop.shared.domain.model.vo.Email;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node user cache. Entries are held by user ID with a secondary email index that
+ * points at the ID, so one eviction by ID removes the user under both keys. Evictions
+ * reach this node only; other nodes catch up when their entries expire.
+ */
+@Component
+@ConditionalOnProperty(name = "identity.user-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class InMemoryUserLookupCache implements UserLookupCache {
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, UUID> idByEmail = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Counter idHits;
+    private final Counter idMisses;
+    private final Counter emailHits;
+    private final Counter emailMisses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    private final Counter invalidations;
+
+    public InMemoryUserLookupCache(
+        MeterRegistry meterRegistry,
+        @Value("${identity.user-cache.ttl-seconds:300}") long ttlSeconds,
+        @Value("${identity.user-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+        this.idHits = lookupCounter(meterRegistry, "id", "hit");
+        this.idMisses = lookupCounter(meterRegistry, "id", "miss");
+        this.emailHits = lookupCounter(meterRegistry, "email", "hit");
+        this.emailMisses = lookupCounter(meterRegistry, "email", "miss");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.invalidations = evictionCounter(meterRegistry, "invalidated");
+        Gauge.builder("simpleshop.identity.user-cache.size", byId, Map::size)
+            .description("User accounts held in the lookup cache")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<UserView> getById(UserId id) {
+        UserView view = get(id.getValue());
+        (view != null ? idHits : idMisses).increment();
+        return Optional.ofNullable(view);
+    }
+
+    @Override
+    public Optional<UserView> getByEmail(Email email) {
+        UUID id = idByEmail.get(email.getValue());
+        UserView view = id != null ? get(id) : null;
+        if (view != null && !view.email().equals(email.getValue())) {
+            view = null;
+        }
+        (view != null ? emailHits : emailMisses).increment();
+        return Optional.ofNullable(view);
+    }
+
+    @Override
+    public void put(UserView view) {
+        if (ttlNanos <= 0 || maxEntries <= 0) {
+            return;
+        }
+        if (byId.size() >= maxEntries) {
+            evictExpiredOrAny();
+        }
+        UUID id = view.id();
+        Entry previous = byId.put(id, new Entry(view, System.nanoTime() + ttlNanos));
+        if (previous != null && !previous.view.email().equals(view.email())) {
+            idByEmail.remove(previous.view.email(), id);
+        }
+        idByEmail.put(view.email(), id);
+    }
+
+    @Override
+    public void evict(UserId id) {
+        if (remove(id.getValue())) {
+            invalidations.increment();
+        }
+    }
+
+    private UserView get(UUID id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+            if (remove(id)) {
+                expiredEvictions.increment();
+            }
+            return null;
+        }
+        return entry.view;
+    }
+
+    private boolean remove(UUID id) {
+        Entry removed = byId.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        idByEmail.remove(removed.view.email(), id);
+        return true;
+    }
+
+    private void evictExpiredOrAny() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<UUID, Entry>> entries = byId.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<UUID, Entry> entry = entries.next();
+            if (entry.getValue().expiresAtNanos - now <= 0 && remove(entry.getKey())) {
+                expiredEvictions.increment();
+            }
+        }
+        Iterator<UUID> ids = byId.keySet().iterator();
+        while (byId.size() >= maxEntries && ids.hasNext()) {
+            if (remove(ids.next())) {
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("simpleshop.identity.user-cache.lookups")
+            .description("User lookups answered by the cache (hit) or loaded from the database (miss)")
+            .tag("key", key)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("simpleshop.identity.user-cache.evictions")
+            .description("User accounts dropped from the lookup cache")
+            .tag("cause", cause)
+            .register(meterRegistry);
+    }
+
+    private record Entry(UserView view, long expiresAtNanos) {}
+}
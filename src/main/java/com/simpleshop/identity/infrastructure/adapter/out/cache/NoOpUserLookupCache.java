@@ -0,0 +1,33 @@
+package com.simpleshop.identity.infrastructure.adapter.out.cache;
+
+import com.simpleshop.identity.application.port.out.UserLookupCache;
+import com.simpleshop.identity.application.readmodel.UserView;
+import com.simpleshop.identity.domain.model.vo.UserId;
+import com.simpleshop.shared.domain.model.vo.Email;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "identity.user-cache.enabled", havingValue = "false")
+public class NoOpUserLookupCache implements UserLookupCache {
+
+    @Override
+    public Optional<UserView> getById(UserId id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<UserView> getByEmail(Email email) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(UserView view) {
+    }
+
+    @Override
+    public void evict(UserId id) {
+    }
+}
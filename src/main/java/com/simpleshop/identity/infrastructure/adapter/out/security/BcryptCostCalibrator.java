@@ -0,0 +1,45 @@
+package com.simpleshop.identity.infrastructure.adapter.out.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose hash fits a latency target on this machine. Each
+ * cost step doubles the work, so one measurement at the minimum cost is enough to
+ * extrapolate; the best of a few runs is used to keep JIT warm-up out of the estimate.
+ */
+final class BcryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String PROBE = "calibration-probe-password";
+
+    private BcryptCostCalibrator() {
+    }
+
+    static int calibrate(Duration target, int minCost, int maxCost) {
+        long nanos = fastestHashNanos(minCost);
+        return costFor(target.toNanos(), nanos, minCost, maxCost);
+    }
+
+    static int costFor(long targetNanos, long nanosAtMinCost, int minCost, int maxCost) {
+        int cost = minCost;
+        long nanos = Math.max(1, nanosAtMinCost);
+        while (cost < maxCost && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            cost++;
+        }
+        return cost;
+    }
+
+    private static long fastestHashNanos(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(PROBE, salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
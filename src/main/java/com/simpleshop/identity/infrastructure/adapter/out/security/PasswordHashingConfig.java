@@ -0,0 +1,60 @@
+package com.simpleshop.identity.infrastructure.adapter.out.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+    private static final int BCRYPT_MIN_COST = 4;
+    private static final int BCRYPT_MAX_COST = 31;
+
+    /**
+     * A {@code cost} of 0 calibrates at startup. Either way the cost never drops below
+     * {@code min-cost}. Calibration is per node, so a fleet on mixed hardware should pin the
+     * cost; otherwise hashes drift up to the fastest node's cost as users log in there.
+     */
+    @Bean
+    PooledPasswordEncoder passwordEncoder(
+        MeterRegistry meterRegistry,
+        @Value("${identity.password-hashing.cost:0}") int cost,
+        @Value("${identity.password-hashing.target-millis:100}") long targetMillis,
+        @Value("${identity.password-hashing.min-cost:10}") int minCost,
+        @Value("${identity.password-hashing.max-cost:14}") int maxCost,
+        @Value("${identity.password-hashing.pool-size:0}") int poolSize,
+        @Value("${identity.password-hashing.queue-capacity:256}") int queueCapacity,
+        @Value("${identity.password-hashing.timeout-ms:5000}") long timeoutMs
+    ) {
+        int floor = clamp(minCost, BCRYPT_MIN_COST, BCRYPT_MAX_COST);
+        int effectiveCost;
+        if (cost > 0) {
+            effectiveCost = clamp(cost, floor, BCRYPT_MAX_COST);
+            if (effectiveCost != cost) {
+                log.warn("BCrypt cost {} is outside {}-{}, using {}", cost, floor, BCRYPT_MAX_COST, effectiveCost);
+            }
+        } else {
+            int ceiling = clamp(maxCost, floor, BCRYPT_MAX_COST);
+            effectiveCost = Math.max(floor, BcryptCostCalibrator.calibrate(Duration.ofMillis(targetMillis), floor, ceiling));
+            log.info("Calibrated BCrypt cost {} for a {}ms target (allowed {}-{})", effectiveCost, targetMillis, floor, ceiling);
+        }
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PooledPasswordEncoder(
+            effectiveCost,
+            threads,
+            Math.max(1, queueCapacity),
+            Duration.ofMillis(Math.max(1, timeoutMs)),
+            meterRegistry
+        );
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
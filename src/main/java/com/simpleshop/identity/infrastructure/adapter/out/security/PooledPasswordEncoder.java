@@ -0,0 +1,163 @@
+package com.simpleshop.identity.infrastructure.adapter.out.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt encoder that runs every hash on a small dedicated pool instead of the calling
+ * thread. The pool is sized to the CPUs that may be spent on hashing and its queue is
+ * bounded, so a burst of logins or registrations queues up (or is turned away) rather
+ * than spreading across every servlet thread and starving the rest of the traffic.
+ *
+ * {@link #upgradeEncoding} reports hashes whose cost is below the configured one, which
+ * makes Spring Security rehash the password after a successful login. A stronger stored
+ * hash is kept, so a node calibrated to a lower cost never weakens it.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final BCryptPasswordEncoder delegate;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public PooledPasswordEncoder(int cost, int poolSize, int queueCapacity, Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+        this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            daemonThreads(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutNanos = timeout.toNanos();
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejections = Counter.builder("simpleshop.identity.password-hashing.rejections")
+            .description("Password hashes refused because the hashing queue was full or the wait timed out")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.identity.password-hashing.queue", executor, e -> e.getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.identity.password-hashing.cost", () -> cost)
+            .description("BCrypt cost used for new password hashes")
+            .register(meterRegistry);
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(encodeAsync(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(matchesAsync(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedCost = costOf(encodedPassword);
+        return storedCost > 0 && storedCost < cost;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Cost of a {@code $2a$NN$...} style hash, or {@code -1} when the value is not a
+     * BCrypt hash.
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+            || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+            || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> hash) {
+        try {
+            return CompletableFuture.supplyAsync(hash, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingUnavailableException("Password hashing queue is full", e);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future, Timer timer) {
+        long start = System.nanoTime();
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejections.increment();
+            throw new PasswordHashingUnavailableException("Timed out waiting for password hashing", e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("simpleshop.identity.password-hashing")
+            .description("Password hashing latency seen by the caller, including time queued for a hashing thread")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.simpleshop.identity.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-node store: every key owns a ring with one bucket per minute of the window. A
+ * bucket packs its minute and its count into one {@code long}, so recording a failure is
+ * a single CAS and a stale bucket is recycled by the same CAS.
+ *
+ * At most {@code maxKeys} keys are tracked. When the cap is exceeded, one thread drops
+ * expired keys and then the least recently seen tenth, judged from a random sample of
+ * last-seen times; other threads carry on without waiting for it. Blocked keys stop being
+ * seen, so they are exempt from that pass and only the blocks ending soonest are dropped
+ * if the cap cannot be met otherwise; flooding new keys cannot lift a block.
+ */
+class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int EVICTION_SAMPLE_SIZE = 1024;
+
+    private final ConcurrentHashMap<LoginAttemptKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxAttempts;
+    private final int windowMinutes;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final Counter evictions;
+
+    InMemoryLoginAttemptStore(int maxAttempts, int windowMinutes, int maxKeys, MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.windowMinutes = windowMinutes;
+        this.windowMillis = windowMinutes * MINUTE_MILLIS;
+        this.maxKeys = Math.max(16, maxKeys);
+        this.evictions = Counter.builder("simpleshop.security.login-rate-limit.evictions")
+            .description("Tracked login keys dropped because the key cap was reached")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.security.login-rate-limit.keys", entries, ConcurrentHashMap::size)
+            .description("Client/username keys currently tracked by the login rate limiter")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isBlocked(LoginAttemptKey key, long nowMillis) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.blockedUntil > nowMillis;
+    }
+
+    @Override
+    public void recordFailure(LoginAttemptKey key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, ignored -> new Entry(windowMinutes, nowMillis));
+            if (entries.size() > maxKeys) {
+                evict(nowMillis, entry);
+            }
+        }
+        entry.lastSeen = nowMillis;
+
+        long minute = nowMillis / MINUTE_MILLIS;
+        if (entry.increment(minute) + entry.countBefore(minute, windowMinutes) >= maxAttempts) {
+            entry.blockedUntil = nowMillis + windowMillis;
+            entry.reset();
+        }
+    }
+
+    @Override
+    public void clear(LoginAttemptKey key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void clearAll() {
+        entries.clear();
+    }
+
+    @Override
+    public void purgeExpired(long nowMillis) {
+        long windowStart = nowMillis - windowMillis;
+        entries.values().removeIf(entry -> entry.blockedUntil <= nowMillis && entry.lastSeen <= windowStart);
+    }
+
+    int trackedKeys() {
+        return entries.size();
+    }
+
+    /**
+     * Never drops {@code added}, the key whose arrival exceeded the cap.
+     */
+    private void evict(long nowMillis, Entry added) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            purgeExpired(nowMillis);
+            int target = maxKeys - maxKeys / 10;
+            int before = entries.size();
+            Predicate<Entry> others = entry -> entry != added;
+            Predicate<Entry> unblocked = entry -> entry.blockedUntil <= nowMillis;
+            evictOldest(others.and(unblocked), entry -> entry.lastSeen, before - target);
+            evictOldest(others.and(unblocked.negate()), entry -> entry.blockedUntil, entries.size() - target);
+            evictions.increment(Math.max(0, before - entries.size()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Drops roughly {@code excess} of the matching entries, those with the lowest {@code age}.
+     */
+    private void evictOldest(Predicate<Entry> candidates, ToLongFunction<Entry> age, int excess) {
+        if (excess <= 0) {
+            return;
+        }
+        // Reservoir sample, so the threshold does not depend on the table's iteration order.
+        long[] sample = new long[EVICTION_SAMPLE_SIZE];
+        int seen = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (!candidates.test(entry)) {
+                continue;
+            }
+            long value = age.applyAsLong(entry);
+            if (seen < sample.length) {
+                sample[seen] = value;
+            } else {
+                int slot = random.nextInt(seen + 1);
+                if (slot < sample.length) {
+                    sample[slot] = value;
+                }
+            }
+            seen++;
+        }
+        if (seen == 0) {
+            return;
+        }
+        int size = Math.min(seen, sample.length);
+        Arrays.sort(sample, 0, size);
+        double fraction = Math.min(1.0, (double) excess / seen);
+        int index = Math.max(0, (int) Math.ceil(fraction * size) - 1);
+        long threshold = sample[Math.min(size - 1, index)];
+        entries.values().removeIf(entry -> candidates.test(entry) && age.applyAsLong(entry) <= threshold);
+    }
+
+    private static final class Entry {
+
+        private final AtomicLongArray buckets;
+        private volatile long blockedUntil;
+        private volatile long lastSeen;
+
+        private Entry(int windowMinutes, long nowMillis) {
+            this.buckets = new AtomicLongArray(windowMinutes);
+            this.lastSeen = nowMillis;
+        }
+
+        /**
+         * Adds one failure to the current minute's bucket and returns its new count.
+         */
+        private int increment(long minute) {
+            int slot = (int) (minute % buckets.length());
+            while (true) {
+                long current = buckets.get(slot);
+                long count = (current >>> COUNT_BITS) == minute ? current & COUNT_MASK : 0;
+                long next = (minute << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+                if (buckets.compareAndSet(slot, current, next)) {
+                    return (int) (next & COUNT_MASK);
+                }
+            }
+        }
+
+        /**
+         * Failures in the other buckets still inside the window ending at {@code minute}.
+         */
+        private int countBefore(long minute, int windowMinutes) {
+            int total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                long bucket = buckets.get(i);
+                long bucketMinute = bucket >>> COUNT_BITS;
+                if (bucketMinute != minute && bucketMinute > minute - windowMinutes) {
+                    total += (int) (bucket & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+
+        private void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0L);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.simpleshop.identity.infrastructure.security;
+
+/**
+ * Client IP and normalized username that failed logins are counted under. A
+ * {@code null} username stands for every username tried from that IP.
+ */
+record LoginAttemptKey(String clientIp, String username) {
+}
@@ -2,34 +2,31 @@ package com.simpleshop.identity.infrastructure.security;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Locale;
 
+/**
+ * Counts failed logins per client IP and username, and per client IP across all
+ * usernames, blocking either once it reaches the attempt limit within the window.
+ * Counting happens in a {@link LoginAttemptStore}: in memory by default, or in Redis
+ * with {@code security.login-rate-limit.backend=redis} to share limits between nodes.
+ */
 @Service
 public class LoginAttemptService {
 
-    private static final String UNKNOWN_USER = "<unknown>";
+    private static final String UNKNOWN_IP = "unknown-ip";
 
     private final boolean enabled;
-    private final int maxAttempts;
-    private final Duration window;
-    private final Map<String, Deque<Instant>> failedAttempts = new ConcurrentHashMap<>();
-    private final Map<String, Instant> blockedUntil = new ConcurrentHashMap<>();
+    private final LoginAttemptStore store;
 
     public LoginAttemptService(
         @Value("${security.login-rate-limit.enabled:true}") boolean enabled,
-        @Value("${security.login-rate-limit.max-attempts:5}") int maxAttempts,
-        @Value("${security.login-rate-limit.window-minutes:15}") long windowMinutes
+        LoginAttemptStore store
     ) {
         this.enabled = enabled;
-        this.maxAttempts = Math.max(1, maxAttempts);
-        this.window = Duration.ofMinutes(Math.max(1, windowMinutes));
+        this.store = store;
     }
 
     public boolean isEnabled() {
@@ -49,16 +46,13 @@ public class LoginAttemptService {
             return false;
         }
 
-        String key = key(clientIp, username);
-        String unknownUserKey = key(clientIp, UNKNOWN_USER);
-        Instant now = Instant.now();
-        if (isKeyBlocked(key, now)) {
+        String ip = normalizeIp(clientIp);
+        String user = normalizeUsername(username);
+        long now = System.currentTimeMillis();
+        if (user != null && store.isBlocked(new LoginAttemptKey(ip, user), now)) {
             return true;
         }
-        if (!unknownUserKey.equals(key) && isKeyBlocked(unknownUserKey, now)) {
-            return true;
-        }
-        return false;
+        return store.isBlocked(new LoginAttemptKey(ip, null), now);
     }
 
     public void recordFailure(HttpServletRequest request) {
@@ -66,13 +60,13 @@ public class LoginAttemptService {
             return;
         }
 
-        String key = key(request);
-        String unknownUserKey = key(clientIp(request), UNKNOWN_USER);
-        Instant now = Instant.now();
-        recordFailureForKey(key, now);
-        if (!unknownUserKey.equals(key)) {
-            recordFailureForKey(unknownUserKey, now);
+        String ip = normalizeIp(clientIp(request));
+        String user = normalizeUsername(request.getParameter("username"));
+        long now = System.currentTimeMillis();
+        if (user != null) {
+            store.recordFailure(new LoginAttemptKey(ip, user), now);
         }
+        store.recordFailure(new LoginAttemptKey(ip, null), now);
     }
 
     public void clearFailures(HttpServletRequest request) {
@@ -88,64 +82,38 @@ public class LoginAttemptService {
             return;
         }
 
-        String userKey = key(clientIp, username);
-        String unknownUserKey = key(clientIp, UNKNOWN_USER);
-        failedAttempts.remove(userKey);
-        blockedUntil.remove(userKey);
-        failedAttempts.remove(unknownUserKey);
-        blockedUntil.remove(unknownUserKey);
+        String ip = normalizeIp(clientIp);
+        String user = normalizeUsername(username);
+        if (user != null) {
+            store.clear(new LoginAttemptKey(ip, user));
+        }
+        store.clear(new LoginAttemptKey(ip, null));
     }
 
     public void clearAll() {
-        failedAttempts.clear();
-        blockedUntil.clear();
-    }
-
-    private String key(HttpServletRequest request) {
-        return key(clientIp(request), request.getParameter("username"));
-    }
-
-    private String key(String clientIp, String username) {
-        String normalizedIp = (clientIp == null || clientIp.isBlank()) ? "unknown-ip" : clientIp.trim();
-        String normalizedUsername = (username == null || username.isBlank())
-            ? UNKNOWN_USER
-            : username.trim().toLowerCase();
-        return normalizedIp + ":" + normalizedUsername;
+        store.clearAll();
     }
 
-    private void pruneOldAttempts(Deque<Instant> attempts, Instant now) {
-        Instant threshold = now.minus(window);
-        while (!attempts.isEmpty() && attempts.peekFirst().isBefore(threshold)) {
-            attempts.removeFirst();
+    @Scheduled(fixedDelayString = "${security.login-rate-limit.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        if (enabled) {
+            store.purgeExpired(System.currentTimeMillis());
         }
     }
 
-    private void recordFailureForKey(String key, Instant now) {
-        Deque<Instant> attempts = failedAttempts.computeIfAbsent(key, ignored -> new ArrayDeque<>());
-        pruneOldAttempts(attempts, now);
-        attempts.addLast(now);
-        if (attempts.size() >= maxAttempts) {
-            blockedUntil.put(key, now.plus(window));
-            failedAttempts.remove(key);
-        }
+    private String normalizeIp(String clientIp) {
+        return (clientIp == null || clientIp.isBlank()) ? UNKNOWN_IP : clientIp.trim();
     }
 
-    private boolean isKeyBlocked(String key, Instant now) {
-        Instant until = blockedUntil.get(key);
-        if (until == null) {
-            return false;
-        }
-        if (until.isAfter(now)) {
-            return true;
-        }
-        blockedUntil.remove(key);
-        return false;
+    private String normalizeUsername(String username) {
+        return (username == null || username.isBlank()) ? null : username.trim().toLowerCase(Locale.ROOT);
     }
 
     private String clientIp(HttpServletRequest request) {
         String forwardedFor = request.getHeader("X-Forwarded-For");
         if (forwardedFor != null && !forwardedFor.isBlank()) {
-            return forwardedFor.split(",")[0].trim();
+            int comma = forwardedFor.indexOf(',');
+            return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
         }
         return request.getRemoteAddr();
     }
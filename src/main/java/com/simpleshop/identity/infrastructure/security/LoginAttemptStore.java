@@ -0,0 +1,21 @@
+package com.simpleshop.identity.infrastructure.security;
+
+/**
+ * Sliding-window failure counts per {@link LoginAttemptKey}. A key that reaches the
+ * attempt limit within the window stays blocked for one window length.
+ */
+interface LoginAttemptStore {
+
+    boolean isBlocked(LoginAttemptKey key, long nowMillis);
+
+    void recordFailure(LoginAttemptKey key, long nowMillis);
+
+    void clear(LoginAttemptKey key);
+
+    void clearAll();
+
+    /**
+     * Drops keys with neither failures inside the window nor an active block.
+     */
+    void purgeExpired(long nowMillis);
+}
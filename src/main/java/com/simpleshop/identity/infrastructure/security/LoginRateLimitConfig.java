@@ -0,0 +1,29 @@
+package com.simpleshop.identity.infrastructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+class LoginRateLimitConfig {
+
+    @Bean
+    LoginAttemptStore loginAttemptStore(
+        ObjectProvider<StringRedisTemplate> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${security.login-rate-limit.backend:memory}") String backend,
+        @Value("${security.login-rate-limit.max-attempts:5}") int maxAttempts,
+        @Value("${security.login-rate-limit.window-minutes:15}") int windowMinutes,
+        @Value("${security.login-rate-limit.max-tracked-keys:100000}") int maxTrackedKeys
+    ) {
+        int attempts = Math.max(1, maxAttempts);
+        int window = Math.max(1, windowMinutes);
+        if ("redis".equalsIgnoreCase(backend)) {
+            return new RedisLoginAttemptStore(redisTemplate.getObject(), attempts, window);
+        }
+        return new InMemoryLoginAttemptStore(attempts, window, maxTrackedKeys, meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.simpleshop.identity.infrastructure.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Shared store for several nodes behind a load balancer. Each key is a Redis hash with a
+ * field per minute bucket plus a {@code blocked} deadline, updated by one Lua script so
+ * the count and the block decision are atomic across nodes. Keys expire one window after
+ * their last failure, which bounds memory without a cap of our own.
+ *
+ * Redis errors fail open: logins are not blocked while the limiter cannot be reached.
+ */
+class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisLoginAttemptStore.class);
+    private static final String KEY_PREFIX = "security:login-attempts:";
+    private static final String ANY_USER = "*";
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private static final RedisScript<Long> RECORD_FAILURE_SCRIPT = RedisScript.of("""
+        local key = KEYS[1]
+        local now = tonumber(ARGV[1])
+        local minute = tonumber(ARGV[2])
+        local windowMinutes = tonumber(ARGV[3])
+        local windowMillis = tonumber(ARGV[5])
+        redis.call('HINCRBY', key, ARGV[2], 1)
+        local fields = redis.call('HGETALL', key)
+        local total = 0
+        for i = 1, #fields, 2 do
+          if fields[i] ~= 'blocked' then
+            if tonumber(fields[i]) <= minute - windowMinutes then
+              redis.call('HDEL', key, fields[i])
+            else
+              total = total + tonumber(fields[i + 1])
+            end
+          end
+        end
+        if total >= tonumber(ARGV[4]) then
+          redis.call('DEL', key)
+          redis.call('HSET', key, 'blocked', now + windowMillis)
+        end
+        redis.call('PEXPIRE', key, windowMillis)
+        return total
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int maxAttempts;
+    private final int windowMinutes;
+    private final long windowMillis;
+
+    RedisLoginAttemptStore(StringRedisTemplate redisTemplate, int maxAttempts, int windowMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.maxAttempts = maxAttempts;
+        this.windowMinutes = windowMinutes;
+        this.windowMillis = windowMinutes * MINUTE_MILLIS;
+    }
+
+    @Override
+    public boolean isBlocked(LoginAttemptKey key, long nowMillis) {
+        try {
+            Object blockedUntil = redisTemplate.opsForHash().get(redisKey(key), "blocked");
+            return blockedUntil != null && Long.parseLong(blockedUntil.toString()) > nowMillis;
+        } catch (RuntimeException e) {
+            log.warn("Login rate limit lookup failed, allowing attempt: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void recordFailure(LoginAttemptKey key, long nowMillis) {
+        try {
+            redisTemplate.execute(
+                RECORD_FAILURE_SCRIPT,
+                List.of(redisKey(key)),
+                Long.toString(nowMillis),
+                Long.toString(nowMillis / MINUTE_MILLIS),
+                Integer.toString(windowMinutes),
+                Integer.toString(maxAttempts),
+                Long.toString(windowMillis)
+            );
+        } catch (RuntimeException e) {
+            log.warn("Login rate limit update failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear(LoginAttemptKey key) {
+        try {
+            redisTemplate.delete(redisKey(key));
+        } catch (RuntimeException e) {
+            log.warn("Login rate limit reset failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        // Only used by tests against the in-memory store; keys expire on their own here.
+    }
+
+    @Override
+    public void purgeExpired(long nowMillis) {
+        // Redis expires keys itself.
+    }
+
+    private static String redisKey(LoginAttemptKey key) {
+        return KEY_PREFIX + key.clientIp() + ":" + (key.username() != null ? key.username() : ANY_USER);
+    }
+}
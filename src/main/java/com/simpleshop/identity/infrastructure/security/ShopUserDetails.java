@@ -1,5 +1,6 @@
 package com.simpleshop.identity.infrastructure.security;
 
+import com.simpleshop.identity.application.readmodel.UserAccount;
 import com.simpleshop.identity.domain.model.User;
 import com.simpleshop.identity.domain.model.vo.UserId;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,25 +12,29 @@ import java.util.List;
 
 public class ShopUserDetails implements UserDetails {
     
-    private final User user;
+    private final UserAccount account;
+    
+    public ShopUserDetails(UserAccount account) {
+        this.account = account;
+    }
     
     public ShopUserDetails(User user) {
-        this.user = user;
+        this(UserAccount.fromUser(user));
     }
     
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + account.view().role().name()));
     }
     
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return account.passwordHash();
     }
     
     @Override
     public String getUsername() {
-        return user.getEmail().getValue();
+        return account.view().email();
     }
     
     @Override
@@ -39,7 +44,7 @@ public class ShopUserDetails implements UserDetails {
     
     @Override
     public boolean isAccountNonLocked() {
-        return user.isActive();
+        return account.isActive();
     }
     
     @Override
@@ -49,18 +54,18 @@ public class ShopUserDetails implements UserDetails {
     
     @Override
     public boolean isEnabled() {
-        return user.isActive();
+        return account.isActive();
     }
     
     public UserId getUserId() {
-        return user.getUserId();
+        return UserId.of(account.view().id());
     }
     
-    public User getUser() {
-        return user;
+    public UserAccount getAccount() {
+        return account;
     }
     
     public boolean isAdmin() {
-        return user.isAdmin();
+        return account.isAdmin();
     }
 }
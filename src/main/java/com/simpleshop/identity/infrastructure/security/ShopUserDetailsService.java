@@ -1,30 +1,51 @@
 package com.simpleshop.identity.infrastructure.security;
 
-import com.simpleshop.identity.application.port.out.UserRepository;
-import com.simpleshop.identity.domain.model.User;
+import com.simpleshop.identity.application.command.RehashPasswordCommand;
+import com.simpleshop.identity.application.port.in.GetUserUseCase;
+import com.simpleshop.identity.application.port.in.RehashPasswordUseCase;
+import com.simpleshop.identity.application.query.GetUserByEmailQuery;
+import com.simpleshop.identity.application.readmodel.UserAccount;
 import com.simpleshop.shared.domain.model.vo.Email;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class ShopUserDetailsService implements UserDetailsService {
+public class ShopUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
-    private final UserRepository userRepository;
+    private final GetUserUseCase getUserUseCase;
+    private final RehashPasswordUseCase rehashPasswordUseCase;
     
-    public ShopUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public ShopUserDetailsService(GetUserUseCase getUserUseCase, RehashPasswordUseCase rehashPasswordUseCase) {
+        this.getUserUseCase = getUserUseCase;
+        this.rehashPasswordUseCase = rehashPasswordUseCase;
     }
     
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Email email = Email.of(username);
-        User user = userRepository.findByEmail(email)
+        UserAccount account = getUserUseCase.getAccountByEmail(new GetUserByEmailQuery(email))
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        return new ShopUserDetails(user);
+        return new ShopUserDetails(account);
+    }
+    
+    /**
+     * Called by Spring Security after a successful login whose stored hash the encoder
+     * wants upgraded, e.g. because the configured BCrypt cost changed.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        ShopUserDetails details = (ShopUserDetails) user;
+        boolean rehashed = rehashPasswordUseCase.rehash(
+            new RehashPasswordCommand(details.getUserId(), details.getPassword(), newPassword)
+        );
+        if (!rehashed) {
+            return details;
+        }
+        UserAccount account = details.getAccount();
+        return new ShopUserDetails(new UserAccount(account.view(), newPassword));
     }
 }
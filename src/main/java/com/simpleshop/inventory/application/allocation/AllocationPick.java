@@ -0,0 +1,16 @@
+package com.simpleshop.inventory.application.allocation;
+
+import java.util.UUID;
+
+public record AllocationPick(
+    int line,
+    UUID stockId,
+    UUID warehouseId,
+    int quantity
+) {
+    public AllocationPick {
+        if (stockId == null) throw new IllegalArgumentException("Stock ID is required");
+        if (warehouseId == null) throw new IllegalArgumentException("Warehouse ID is required");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+    }
+}
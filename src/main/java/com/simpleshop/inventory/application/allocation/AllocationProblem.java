@@ -0,0 +1,34 @@
+package com.simpleshop.inventory.application.allocation;
+
+import com.simpleshop.shared.domain.model.vo.Address;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot handed to an {@link AllocationStrategy}: the lines still to be allocated and
+ * the stock rows with positive availability for their products.
+ *
+ * @param destination shipping address of the order, or {@code null} if unknown
+ * @param warehouseAddresses populated only for strategies that ask for it
+ */
+public record AllocationProblem(
+    List<Line> lines,
+    Map<UUID, List<WarehouseStock>> stockByProduct,
+    Address destination,
+    Map<UUID, Address> warehouseAddresses
+) {
+    public AllocationProblem {
+        lines = List.copyOf(lines);
+        stockByProduct = Map.copyOf(stockByProduct);
+        warehouseAddresses = warehouseAddresses == null ? Map.of() : Map.copyOf(warehouseAddresses);
+    }
+
+    public List<WarehouseStock> stockFor(UUID productId) {
+        return stockByProduct.getOrDefault(productId, List.of());
+    }
+
+    public record Line(int index, UUID productId, int quantity) {}
+
+    public record WarehouseStock(UUID stockId, UUID warehouseId, int available) {}
+}
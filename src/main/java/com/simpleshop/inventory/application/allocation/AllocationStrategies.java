@@ -0,0 +1,42 @@
+package com.simpleshop.inventory.application.allocation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the available {@link AllocationStrategy} beans. Additional strategies are
+ * picked up by declaring them as beans with a unique {@link AllocationStrategy#name()}.
+ */
+@Component
+public class AllocationStrategies {
+
+    private final Map<String, AllocationStrategy> strategiesByName;
+    private final AllocationStrategy defaultStrategy;
+
+    public AllocationStrategies(
+        List<AllocationStrategy> strategies,
+        @Value("${inventory.allocation.strategy:" + MaxAvailableAllocationStrategy.NAME + "}") String defaultStrategy
+    ) {
+        this.strategiesByName = strategies.stream()
+            .collect(Collectors.toUnmodifiableMap(AllocationStrategy::name, Function.identity()));
+        this.defaultStrategy = get(defaultStrategy);
+    }
+
+    public AllocationStrategy defaultStrategy() {
+        return defaultStrategy;
+    }
+
+    public AllocationStrategy get(String name) {
+        AllocationStrategy strategy = strategiesByName.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException(
+                "Unknown allocation strategy '" + name + "', available: " + strategiesByName.keySet()
+            );
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,28 @@
+package com.simpleshop.inventory.application.allocation;
+
+import java.util.List;
+
+/**
+ * Decides which warehouse stock rows fulfil the lines of an order.
+ *
+ * Implementations only plan: they receive a snapshot of availability and return picks
+ * that never exceed it. The caller reserves the picks with guarded updates and asks for
+ * a new plan for whatever a concurrent checkout took in the meantime.
+ * Throws InsufficientStockException if a line cannot be covered.
+ */
+public interface AllocationStrategy {
+
+    /**
+     * Name used to select the strategy via {@code inventory.allocation.strategy}.
+     */
+    String name();
+
+    /**
+     * Whether {@link AllocationProblem#warehouseAddresses()} must be populated.
+     */
+    default boolean usesWarehouseAddresses() {
+        return false;
+    }
+
+    List<AllocationPick> allocate(AllocationProblem problem);
+}
@@ -0,0 +1,102 @@
+package com.simpleshop.inventory.application.allocation;
+
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Minimises the number of distinct warehouses, and therefore shipments, per order.
+ *
+ * Greedy set cover: repeatedly opens the warehouse that can fully serve the most of the
+ * still-uncovered lines (ties broken by units served) and assigns those lines to it.
+ * Lines no single warehouse can serve are then split, preferring warehouses already
+ * opened for the order. Runs in O(rounds x warehouses x lines).
+ */
+@Component
+public class FewestShipmentsAllocationStrategy implements AllocationStrategy {
+
+    public static final String NAME = "fewest-shipments";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<AllocationPick> allocate(AllocationProblem problem) {
+        WorkingStock stock = new WorkingStock(problem);
+        List<AllocationPick> picks = new ArrayList<>(problem.lines().size());
+        List<AllocationProblem.Line> uncovered = new ArrayList<>(problem.lines());
+        Set<UUID> opened = new LinkedHashSet<>();
+
+        Set<UUID> warehouses = new LinkedHashSet<>();
+        for (AllocationProblem.Line line : uncovered) {
+            for (WorkingStock.Slot slot : stock.slots(line.productId())) {
+                warehouses.add(slot.warehouseId);
+            }
+        }
+
+        while (!uncovered.isEmpty()) {
+            UUID bestWarehouse = null;
+            List<AllocationProblem.Line> bestLines = List.of();
+            long bestUnits = 0;
+            for (UUID warehouseId : warehouses) {
+                List<AllocationProblem.Line> served = servableLines(stock, warehouseId, uncovered);
+                long units = served.stream().mapToLong(AllocationProblem.Line::quantity).sum();
+                if (served.size() > bestLines.size() || (served.size() == bestLines.size() && units > bestUnits)) {
+                    bestWarehouse = warehouseId;
+                    bestLines = served;
+                    bestUnits = units;
+                }
+            }
+            if (bestWarehouse == null) {
+                break;
+            }
+
+            for (AllocationProblem.Line line : bestLines) {
+                picks.add(stock.take(line, stock.slotAt(line.productId(), bestWarehouse), line.quantity()));
+            }
+            uncovered.removeAll(bestLines);
+            opened.add(bestWarehouse);
+            warehouses.remove(bestWarehouse);
+        }
+
+        for (AllocationProblem.Line line : uncovered) {
+            List<WorkingStock.Slot> slots = new ArrayList<>(stock.slots(line.productId()));
+            slots.sort(Comparator.comparing((WorkingStock.Slot slot) -> !opened.contains(slot.warehouseId))
+                .thenComparing(WorkingStock.byAvailableDescending()));
+            int before = picks.size();
+            stock.split(line, slots, picks);
+            for (int i = before; i < picks.size(); i++) {
+                opened.add(picks.get(i).warehouseId());
+            }
+        }
+        return picks;
+    }
+
+    /**
+     * Lines the warehouse can serve in full, accounting for several lines drawing on the same product.
+     */
+    private List<AllocationProblem.Line> servableLines(WorkingStock stock, UUID warehouseId,
+                                                       List<AllocationProblem.Line> lines) {
+        Map<UUID, Integer> remaining = new HashMap<>();
+        List<AllocationProblem.Line> served = new ArrayList<>();
+        for (AllocationProblem.Line line : lines) {
+            int available = remaining.computeIfAbsent(line.productId(), productId -> {
+                WorkingStock.Slot slot = stock.slotAt(productId, warehouseId);
+                return slot == null ? 0 : slot.available;
+            });
+            if (available >= line.quantity()) {
+                remaining.put(line.productId(), available - line.quantity());
+                served.add(line);
+            }
+        }
+        return served;
+    }
+}
@@ -0,0 +1,41 @@
+package com.simpleshop.inventory.application.allocation;
+
+import com.simpleshop.inventory.domain.exception.InsufficientStockException;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ships each line from the single warehouse holding the most of its product.
+ * Never splits a line, so a line larger than any one warehouse's stock is rejected.
+ */
+@Component
+public class MaxAvailableAllocationStrategy implements AllocationStrategy {
+
+    public static final String NAME = "max-available";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<AllocationPick> allocate(AllocationProblem problem) {
+        WorkingStock stock = new WorkingStock(problem);
+        List<AllocationPick> picks = new ArrayList<>(problem.lines().size());
+
+        for (AllocationProblem.Line line : problem.lines()) {
+            WorkingStock.Slot best = null;
+            for (WorkingStock.Slot slot : stock.slots(line.productId())) {
+                if (slot.available >= line.quantity() && (best == null || slot.available > best.available)) {
+                    best = slot;
+                }
+            }
+            if (best == null) {
+                throw new InsufficientStockException(line.productId(), stock.totalAvailable(line.productId()), line.quantity());
+            }
+            picks.add(stock.take(line, best, line.quantity()));
+        }
+        return picks;
+    }
+}
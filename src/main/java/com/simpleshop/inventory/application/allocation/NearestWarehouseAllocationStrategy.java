@@ -0,0 +1,82 @@
+package com.simpleshop.inventory.application.allocation;
+
+import com.simpleshop.shared.domain.model.vo.Address;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serves each line from the closest warehouse that can cover it in full, splitting it
+ * nearest-first only when no single warehouse can.
+ *
+ * Addresses carry no coordinates, so closeness is a score: same country first, then the
+ * length of the shared postal code prefix, then same city. Without a destination every
+ * warehouse scores the same and the strategy behaves like {@link SplitLineAllocationStrategy}.
+ */
+@Component
+public class NearestWarehouseAllocationStrategy implements AllocationStrategy {
+
+    public static final String NAME = "nearest-to-destination";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean usesWarehouseAddresses() {
+        return true;
+    }
+
+    @Override
+    public List<AllocationPick> allocate(AllocationProblem problem) {
+        WorkingStock stock = new WorkingStock(problem);
+        List<AllocationPick> picks = new ArrayList<>(problem.lines().size());
+        Map<UUID, Integer> scores = new HashMap<>();
+        Comparator<WorkingStock.Slot> nearestFirst = Comparator
+            .comparingInt((WorkingStock.Slot slot) -> scores.computeIfAbsent(slot.warehouseId,
+                warehouseId -> proximity(problem.destination(), problem.warehouseAddresses().get(warehouseId))))
+            .reversed()
+            .thenComparing(WorkingStock.byAvailableDescending());
+
+        for (AllocationProblem.Line line : problem.lines()) {
+            List<WorkingStock.Slot> slots = new ArrayList<>(stock.slots(line.productId()));
+            slots.sort(nearestFirst);
+            WorkingStock.Slot nearestCovering = slots.stream()
+                .filter(slot -> slot.available >= line.quantity())
+                .findFirst()
+                .orElse(null);
+            if (nearestCovering != null) {
+                picks.add(stock.take(line, nearestCovering, line.quantity()));
+            } else {
+                stock.split(line, slots, picks);
+            }
+        }
+        return picks;
+    }
+
+    /**
+     * Higher is closer. Country dominates, then shared postal prefix, then city.
+     */
+    static int proximity(Address destination, Address warehouse) {
+        if (destination == null || warehouse == null) {
+            return 0;
+        }
+        if (!destination.getCountry().equalsIgnoreCase(warehouse.getCountry())) {
+            return 0;
+        }
+        String a = destination.getPostalCode().replace(" ", "");
+        String b = warehouse.getPostalCode().replace(" ", "");
+        int prefix = 0;
+        while (prefix < a.length() && prefix < b.length()
+                && Character.toUpperCase(a.charAt(prefix)) == Character.toUpperCase(b.charAt(prefix))) {
+            prefix++;
+        }
+        int sameCity = destination.getCity().equalsIgnoreCase(warehouse.getCity()) ? 1 : 0;
+        return 1_000 + prefix * 10 + sameCity;
+    }
+}
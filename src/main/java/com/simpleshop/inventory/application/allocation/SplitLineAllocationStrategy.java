@@ -0,0 +1,38 @@
+package com.simpleshop.inventory.application.allocation;
+
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Like {@link MaxAvailableAllocationStrategy}, but splits a line across warehouses,
+ * largest first, when no single warehouse can cover it.
+ * Only fails when the product's total stock is insufficient.
+ */
+@Component
+public class SplitLineAllocationStrategy implements AllocationStrategy {
+
+    public static final String NAME = "split-line";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<AllocationPick> allocate(AllocationProblem problem) {
+        WorkingStock stock = new WorkingStock(problem);
+        List<AllocationPick> picks = new ArrayList<>(problem.lines().size());
+
+        for (AllocationProblem.Line line : problem.lines()) {
+            List<WorkingStock.Slot> slots = new ArrayList<>(stock.slots(line.productId()));
+            slots.sort(WorkingStock.byAvailableDescending());
+            if (!slots.isEmpty() && slots.getFirst().available >= line.quantity()) {
+                picks.add(stock.take(line, slots.getFirst(), line.quantity()));
+            } else {
+                stock.split(line, slots, picks);
+            }
+        }
+        return picks;
+    }
+}
@@ -0,0 +1,92 @@
+package com.simpleshop.inventory.application.allocation;
+
+import com.simpleshop.inventory.domain.exception.InsufficientStockException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mutable copy of the problem's availability that strategies consume while planning,
+ * so that two lines for the same product never plan the same units twice.
+ */
+final class WorkingStock {
+
+    private final Map<UUID, List<Slot>> slotsByProduct = new HashMap<>();
+
+    WorkingStock(AllocationProblem problem) {
+        problem.stockByProduct().forEach((productId, stocks) -> {
+            List<Slot> slots = new ArrayList<>(stocks.size());
+            for (AllocationProblem.WarehouseStock stock : stocks) {
+                if (stock.available() > 0) {
+                    slots.add(new Slot(stock.stockId(), stock.warehouseId(), stock.available()));
+                }
+            }
+            slotsByProduct.put(productId, slots);
+        });
+    }
+
+    List<Slot> slots(UUID productId) {
+        return slotsByProduct.getOrDefault(productId, List.of());
+    }
+
+    Slot slotAt(UUID productId, UUID warehouseId) {
+        for (Slot slot : slots(productId)) {
+            if (slot.warehouseId.equals(warehouseId)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    int totalAvailable(UUID productId) {
+        int total = 0;
+        for (Slot slot : slots(productId)) {
+            total += slot.available;
+        }
+        return total;
+    }
+
+    AllocationPick take(AllocationProblem.Line line, Slot slot, int quantity) {
+        slot.available -= quantity;
+        return new AllocationPick(line.index(), slot.stockId, slot.warehouseId, quantity);
+    }
+
+    /**
+     * Covers the line from the given slots in order, splitting it where one slot is not enough.
+     */
+    void split(AllocationProblem.Line line, List<Slot> orderedSlots, List<AllocationPick> picks) {
+        int remaining = line.quantity();
+        if (totalAvailable(line.productId()) < remaining) {
+            throw new InsufficientStockException(line.productId(), totalAvailable(line.productId()), remaining);
+        }
+        for (Slot slot : orderedSlots) {
+            if (remaining == 0) {
+                break;
+            }
+            int quantity = Math.min(remaining, slot.available);
+            if (quantity > 0) {
+                picks.add(take(line, slot, quantity));
+                remaining -= quantity;
+            }
+        }
+    }
+
+    static Comparator<Slot> byAvailableDescending() {
+        return Comparator.comparingInt((Slot slot) -> slot.available).reversed();
+    }
+
+    static final class Slot {
+        final UUID stockId;
+        final UUID warehouseId;
+        int available;
+
+        private Slot(UUID stockId, UUID warehouseId, int available) {
+            this.stockId = stockId;
+            this.warehouseId = warehouseId;
+            this.available = available;
+        }
+    }
+}
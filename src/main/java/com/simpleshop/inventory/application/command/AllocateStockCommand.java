@@ -4,7 +4,9 @@ import java.util.List;
 import java.util.UUID;
 
 public record AllocateStockCommand(
-    List<AllocationRequest> items
+    List<AllocationRequest> items,
+    Destination destination,
+    String strategy
 ) {
     public AllocateStockCommand {
         if (items == null || items.isEmpty()) {
@@ -12,6 +14,14 @@ public record AllocateStockCommand(
         }
     }
     
+    public AllocateStockCommand(List<AllocationRequest> items) {
+        this(items, null, null);
+    }
+    
+    public AllocateStockCommand(List<AllocationRequest> items, Destination destination) {
+        this(items, destination, null);
+    }
+    
     public record AllocationRequest(
         UUID productId,
         int quantity
@@ -21,4 +31,11 @@ public record AllocateStockCommand(
             if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
         }
     }
+    
+    public record Destination(
+        String street,
+        String city,
+        String postalCode,
+        String country
+    ) {}
 }
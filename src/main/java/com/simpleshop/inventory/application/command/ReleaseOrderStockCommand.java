@@ -0,0 +1,15 @@
+package com.simpleshop.inventory.application.command;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ReleaseOrderStockCommand(
+    UUID orderId,
+    List<ReleaseStockCommand> lines
+) {
+    public ReleaseOrderStockCommand {
+        if (orderId == null) throw new IllegalArgumentException("Order ID is required");
+        if (lines == null) throw new IllegalArgumentException("Lines are required");
+        lines = List.copyOf(lines);
+    }
+}
@@ -5,7 +5,9 @@ import com.simpleshop.inventory.application.query.StockAllocationResult;
 
 /**
  * Allocates and reserves stock for order items.
- * Finds the best warehouse for each product and reserves the stock atomically.
+ * Warehouses are chosen by the configured AllocationStrategy (or the one named in the
+ * command) and the stock is reserved atomically; picks lost to a concurrent checkout are
+ * re-planned against the remaining warehouses.
  * Throws InsufficientStockException if any product cannot be fulfilled.
  */
 public interface AllocateStockUseCase {
@@ -1,6 +1,8 @@
 package com.simpleshop.inventory.application.port.in;
 
+import com.simpleshop.inventory.application.command.ConfirmOrderStockCommand;
 import com.simpleshop.inventory.application.command.ConfirmStockReservationCommand;
+import com.simpleshop.inventory.application.query.OrderStockBatchResult;
 
 /**
  * Confirms a stock reservation by permanently removing the quantity from inventory.
@@ -8,4 +10,10 @@ import com.simpleshop.inventory.application.command.ConfirmStockReservationComma
  */
 public interface ConfirmStockReservationUseCase {
     void confirm(ConfirmStockReservationCommand command);
+
+    /**
+     * Confirms every reserved line of an order with a single set-based update.
+     * Applied at most once per order, so redelivered events are reported as already applied.
+     */
+    OrderStockBatchResult confirmAll(ConfirmOrderStockCommand command);
 }
@@ -1,7 +1,35 @@
 package com.simpleshop.inventory.application.port.in;
 
+import com.simpleshop.inventory.application.command.ReleaseOrderStockCommand;
 import com.simpleshop.inventory.application.command.ReleaseStockCommand;
+import com.simpleshop.inventory.application.query.OrderStockBatchResult;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 public interface ReleaseStockUseCase {
     void release(ReleaseStockCommand command);
+
+    /**
+     * Releases many reservations with a single set-based update.
+     * Lines for the same product and warehouse are combined before they are applied.
+     *
+     * @return the commands that could not be released
+     */
+    List<ReleaseStockCommand> releaseAll(List<ReleaseStockCommand> commands);
+
+    /**
+     * Releases every reserved line of an order in one transaction.
+     * Applied at most once per order, so redelivered events are reported as already applied.
+     */
+    OrderStockBatchResult releaseAll(ReleaseOrderStockCommand command);
+
+    /**
+     * Releases the combined lines of several orders with a single set-based update and
+     * records each order as released, so a later event for one of them is reported as
+     * already applied.
+     *
+     * @return the commands that could not be released
+     */
+    List<ReleaseStockCommand> releaseAllForOrders(Collection<UUID> orderIds, List<ReleaseStockCommand> commands);
 }
@@ -0,0 +1,29 @@
+package com.simpleshop.inventory.application.port.out;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Records which order-level stock operations were already applied, so that
+ * redelivered order events cannot apply the same deltas twice.
+ */
+public interface OrderStockOperationLog {
+
+    enum Operation {
+        RELEASE,
+        CONFIRM
+    }
+
+    /**
+     * Records the operation within the current transaction.
+     *
+     * @return {@code false} if the operation was already recorded for this order
+     */
+    boolean recordIfAbsent(UUID orderId, Operation operation);
+
+    /**
+     * Records the operation for every order within the current transaction, ignoring
+     * orders for which it was already recorded.
+     */
+    void recordAll(Collection<UUID> orderIds, Operation operation);
+}
@@ -0,0 +1,48 @@
+package com.simpleshop.inventory.application.port.out;
+
+import com.simpleshop.inventory.application.query.ProductAvailabilityView;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of product-wide availability totals.
+ * Entries are kept current by applying stock deltas after commit rather than by expiry alone.
+ */
+public interface ProductAvailabilityCache {
+
+    Optional<ProductAvailabilityView> get(UUID productId);
+
+    /**
+     * @return the cached entries; products without an entry are absent from the map
+     */
+    Map<UUID, ProductAvailabilityView> getAll(Collection<UUID> productIds);
+
+    /**
+     * Returns the current change generation of each product, to be read before loading
+     * totals from the database. Products whose generation cannot be read are absent.
+     */
+    Map<UUID, Long> generations(Collection<UUID> productIds);
+
+    /**
+     * Stores freshly loaded totals. Existing entries are left untouched, since they
+     * may already include deltas newer than the load, and a view is dropped when its
+     * product's generation moved past the one read before the load.
+     */
+    void putAll(Collection<ProductAvailabilityView> views, Map<UUID, Long> generations);
+
+    /**
+     * Applies deltas to cached entries and advances each product's generation.
+     * Products without an entry are skipped.
+     */
+    void adjust(List<AvailabilityDelta> deltas);
+
+    /**
+     * Drops the entries and advances each product's generation.
+     */
+    void evict(Collection<UUID> productIds);
+
+    record AvailabilityDelta(UUID productId, int availableDelta, int reservedDelta) {}
+}
@@ -0,0 +1,14 @@
+package com.simpleshop.inventory.application.port.out;
+
+/**
+ * Available and reserved quantity of one product, summed over its warehouses.
+ */
+public record ProductStockTotals(int available, int reserved) {
+
+    /** Totals of a product without stock rows. */
+    public static final ProductStockTotals ZERO = new ProductStockTotals(0, 0);
+
+    public ProductStockTotals plus(ProductStockTotals other) {
+        return new ProductStockTotals(available + other.available, reserved + other.reserved);
+    }
+}
@@ -0,0 +1,10 @@
+package com.simpleshop.inventory.application.port.out;
+
+import java.util.UUID;
+
+public record StockLevelProjection(
+    UUID stockId,
+    UUID productId,
+    UUID warehouseId,
+    int available
+) {}
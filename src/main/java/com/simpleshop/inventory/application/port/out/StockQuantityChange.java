@@ -0,0 +1,15 @@
+package com.simpleshop.inventory.application.port.out;
+
+import java.util.UUID;
+
+public record StockQuantityChange(
+    UUID productId,
+    UUID warehouseId,
+    int quantity
+) {
+    public StockQuantityChange {
+        if (productId == null) throw new IllegalArgumentException("Product ID is required");
+        if (warehouseId == null) throw new IllegalArgumentException("Warehouse ID is required");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+    }
+}
@@ -17,8 +17,42 @@ public interface StockRepository {
     List<Stock> findByProductIds(Collection<UUID> productIds);
     Page<Stock> findByWarehouseId(UUID warehouseId, Pageable pageable);
     Stock save(Stock stock);
-    int sumAvailableByProductId(UUID productId);
-    int sumReservedByProductId(UUID productId);
-    Map<UUID, Integer> sumAvailableByProductIds(Collection<UUID> productIds);
-    Map<UUID, Integer> sumReservedByProductIds(Collection<UUID> productIds);
+
+    /**
+     * Sums available and reserved quantity per product in a single scan. Products without
+     * stock rows are absent from the result.
+     * Large ID sets are split into bounded chunks by the implementation.
+     */
+    Map<UUID, ProductStockTotals> sumTotalsByProductIds(Collection<UUID> productIds);
+
+    /**
+     * Returns stock rows with positive availability for the given products,
+     * ordered by available quantity descending, without loading the aggregates.
+     */
+    List<StockLevelProjection> findStockLevelsByProductIds(Collection<UUID> productIds);
+
+    /**
+     * Reserves each line with a guarded conditional update in a single batch.
+     * A line is only applied when the row still has enough available quantity.
+     *
+     * @return per-line flags, {@code false} where the guard rejected the reservation
+     */
+    boolean[] reserveAll(List<StockReservation> reservations);
+
+    /**
+     * Releases reserved quantities for many stock rows with one set-based update.
+     * Changes must be unique per product and warehouse.
+     *
+     * @return the changes that were applied; rows that are missing or hold less
+     *         reserved quantity than requested are left untouched
+     */
+    List<StockQuantityChange> releaseAll(List<StockQuantityChange> changes);
+
+    /**
+     * Removes confirmed reservations from both on-hand and reserved quantity with one
+     * set-based update. Changes must be unique per product and warehouse.
+     *
+     * @return the changes that were applied
+     */
+    List<StockQuantityChange> confirmAll(List<StockQuantityChange> changes);
 }
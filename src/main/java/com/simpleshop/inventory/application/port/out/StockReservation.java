@@ -0,0 +1,13 @@
+package com.simpleshop.inventory.application.port.out;
+
+import java.util.UUID;
+
+public record StockReservation(
+    UUID stockId,
+    int quantity
+) {
+    public StockReservation {
+        if (stockId == null) throw new IllegalArgumentException("Stock ID is required");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be positive");
+    }
+}
@@ -0,0 +1,25 @@
+package com.simpleshop.inventory.application.query;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OrderStockBatchResult(
+    UUID orderId,
+    boolean alreadyApplied,
+    int appliedLines,
+    List<FailedLine> failedLines
+) {
+    public record FailedLine(
+        UUID productId,
+        UUID warehouseId,
+        int quantity
+    ) {}
+
+    public static OrderStockBatchResult duplicate(UUID orderId) {
+        return new OrderStockBatchResult(orderId, true, 0, List.of());
+    }
+
+    public boolean hasFailures() {
+        return !failedLines.isEmpty();
+    }
+}
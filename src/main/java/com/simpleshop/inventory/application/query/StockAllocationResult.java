@@ -6,12 +6,23 @@ import java.util.UUID;
 public record StockAllocationResult(
     List<Allocation> allocations
 ) {
+    /**
+     * Part of a requested line served from one warehouse. A line split across
+     * warehouses has several allocations with the same {@code line} index.
+     */
     public record Allocation(
+        int line,
         UUID productId,
         UUID warehouseId,
         int quantity
     ) {}
     
+    public List<Allocation> allocationsForLine(int line) {
+        return allocations.stream()
+            .filter(a -> a.line() == line)
+            .toList();
+    }
+    
     public UUID getWarehouseIdForProduct(UUID productId) {
         return allocations.stream()
             .filter(a -> a.productId().equals(productId))
@@ -1,11 +1,21 @@
 package com.simpleshop.inventory.application.service;
 
+import com.simpleshop.inventory.application.allocation.AllocationPick;
+import com.simpleshop.inventory.application.allocation.AllocationProblem;
+import com.simpleshop.inventory.application.allocation.AllocationStrategies;
+import com.simpleshop.inventory.application.allocation.AllocationStrategy;
 import com.simpleshop.inventory.application.command.*;
 import com.simpleshop.inventory.application.port.in.*;
+import com.simpleshop.inventory.application.port.out.OrderStockOperationLog;
+import com.simpleshop.inventory.application.port.out.ProductAvailabilityCache;
+import com.simpleshop.inventory.application.port.out.ProductStockTotals;
+import com.simpleshop.inventory.application.port.out.StockLevelProjection;
+import com.simpleshop.inventory.application.port.out.StockQuantityChange;
 import com.simpleshop.inventory.application.port.out.StockRepository;
+import com.simpleshop.inventory.application.port.out.StockReservation;
 import com.simpleshop.inventory.application.port.out.WarehouseRepository;
 import com.simpleshop.inventory.application.query.*;
-import com.simpleshop.inventory.domain.exception.InsufficientStockException;
+import com.simpleshop.inventory.domain.event.StockLevelsAdjusted;
 import com.simpleshop.inventory.domain.exception.StockNotFoundException;
 import com.simpleshop.inventory.domain.exception.WarehouseNotFoundException;
 import com.simpleshop.inventory.domain.model.Stock;
@@ -14,7 +24,9 @@ import com.simpleshop.inventory.domain.model.vo.StockId;
 import com.simpleshop.inventory.domain.model.vo.WarehouseId;
 import com.simpleshop.shared.domain.model.vo.Address;
 import com.simpleshop.shared.domain.model.vo.Quantity;
+import com.simpleshop.shared.retry.RetryOnOptimisticLock;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -26,7 +38,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,10 +52,20 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
 
     private final StockRepository stockRepository;
     private final WarehouseRepository warehouseRepository;
+    private final OrderStockOperationLog operationLog;
+    private final ProductAvailabilityCache availabilityCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AllocationStrategies allocationStrategies;
 
-    public InventoryService(StockRepository stockRepository, WarehouseRepository warehouseRepository) {
+    public InventoryService(StockRepository stockRepository, WarehouseRepository warehouseRepository,
+                            OrderStockOperationLog operationLog, ProductAvailabilityCache availabilityCache,
+                            ApplicationEventPublisher eventPublisher, AllocationStrategies allocationStrategies) {
         this.stockRepository = stockRepository;
         this.warehouseRepository = warehouseRepository;
+        this.operationLog = operationLog;
+        this.availabilityCache = availabilityCache;
+        this.eventPublisher = eventPublisher;
+        this.allocationStrategies = allocationStrategies;
     }
 
     @Override
@@ -59,6 +83,7 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
     }
 
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("inventory.replenishStock")
     public StockView replenish(ReplenishStockCommand command) {
         if (!warehouseRepository.existsById(WarehouseId.of(command.warehouseId()))) {
@@ -74,6 +99,7 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
     }
 
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("inventory.reserveStock")
     public void reserve(ReserveStockCommand command) {
         Stock stock = stockRepository.findByProductIdAndWarehouseId(command.productId(), command.warehouseId())
@@ -84,6 +110,7 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
     }
 
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("inventory.releaseStock")
     public void release(ReleaseStockCommand command) {
         Stock stock = stockRepository.findByProductIdAndWarehouseId(command.productId(), command.warehouseId())
@@ -93,6 +120,49 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
         stockRepository.save(stock);
     }
 
+    @Override
+    @WithSpan("inventory.releaseAllStock")
+    public List<ReleaseStockCommand> releaseAll(List<ReleaseStockCommand> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+
+        List<StockQuantityChange> lines = commands.stream()
+            .map(command -> new StockQuantityChange(command.productId(), command.warehouseId(), command.quantity()))
+            .toList();
+        List<StockQuantityChange> failedLines = applyAggregated(lines, stockRepository::releaseAll);
+        publishLevelsAdjusted(lines, failedLines, 1, -1);
+        Set<StockKey> failed = failedLines.stream()
+            .map(line -> new StockKey(line.productId(), line.warehouseId()))
+            .collect(Collectors.toSet());
+
+        return commands.stream()
+            .filter(command -> failed.contains(new StockKey(command.productId(), command.warehouseId())))
+            .toList();
+    }
+
+    @Override
+    @WithSpan("inventory.releaseOrdersStock")
+    public List<ReleaseStockCommand> releaseAllForOrders(Collection<UUID> orderIds, List<ReleaseStockCommand> commands) {
+        operationLog.recordAll(orderIds, OrderStockOperationLog.Operation.RELEASE);
+        return releaseAll(commands);
+    }
+
+    @Override
+    @WithSpan("inventory.releaseOrderStock")
+    public OrderStockBatchResult releaseAll(ReleaseOrderStockCommand command) {
+        if (!operationLog.recordIfAbsent(command.orderId(), OrderStockOperationLog.Operation.RELEASE)) {
+            return OrderStockBatchResult.duplicate(command.orderId());
+        }
+
+        List<StockQuantityChange> lines = command.lines().stream()
+            .map(line -> new StockQuantityChange(line.productId(), line.warehouseId(), line.quantity()))
+            .toList();
+        List<StockQuantityChange> failedLines = applyAggregated(lines, stockRepository::releaseAll);
+        publishLevelsAdjusted(lines, failedLines, 1, -1);
+        return toBatchResult(command.orderId(), lines, failedLines);
+    }
+
     @Override
     @Transactional(readOnly = true)
     @WithSpan("inventory.getWarehouse")
@@ -114,8 +184,18 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
             totalAvailable = stock != null ? stock.getAvailableQuantity().getValue() : 0;
             totalReserved = stock != null ? stock.getReservedQuantity().getValue() : 0;
         } else {
-            totalAvailable = stockRepository.sumAvailableByProductId(query.productId());
-            totalReserved = stockRepository.sumReservedByProductId(query.productId());
+            Optional<ProductAvailabilityView> cached = availabilityCache.get(query.productId());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            Map<UUID, Long> generations = availabilityCache.generations(List.of(query.productId()));
+            ProductStockTotals totals = stockRepository.sumTotalsByProductIds(List.of(query.productId()))
+                .getOrDefault(query.productId(), ProductStockTotals.ZERO);
+            totalAvailable = totals.available();
+            totalReserved = totals.reserved();
+            ProductAvailabilityView loaded = new ProductAvailabilityView(query.productId(), totalAvailable, totalReserved);
+            availabilityCache.putAll(List.of(loaded), generations);
+            return loaded;
         }
 
         return new ProductAvailabilityView(query.productId(), totalAvailable, totalReserved);
@@ -129,16 +209,26 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
             return Map.of();
         }
 
-        Map<UUID, Integer> totalAvailableByProduct = stockRepository.sumAvailableByProductIds(productIds);
-        Map<UUID, Integer> totalReservedByProduct = stockRepository.sumReservedByProductIds(productIds);
+        Map<UUID, ProductAvailabilityView> cached = availabilityCache.getAll(productIds);
+        List<UUID> missing = productIds.stream()
+            .filter(productId -> !cached.containsKey(productId))
+            .distinct()
+            .toList();
+
+        Map<UUID, ProductAvailabilityView> loaded = new LinkedHashMap<>();
+        if (!missing.isEmpty()) {
+            Map<UUID, Long> generations = availabilityCache.generations(missing);
+            Map<UUID, ProductStockTotals> totals = stockRepository.sumTotalsByProductIds(missing);
+            for (UUID productId : missing) {
+                ProductStockTotals product = totals.getOrDefault(productId, ProductStockTotals.ZERO);
+                loaded.put(productId, new ProductAvailabilityView(productId, product.available(), product.reserved()));
+            }
+            availabilityCache.putAll(loaded.values(), generations);
+        }
 
         Map<UUID, ProductAvailabilityView> result = new LinkedHashMap<>();
         for (UUID productId : productIds) {
-            result.put(productId, new ProductAvailabilityView(
-                productId,
-                totalAvailableByProduct.getOrDefault(productId, 0),
-                totalReservedByProduct.getOrDefault(productId, 0)
-            ));
+            result.put(productId, cached.containsKey(productId) ? cached.get(productId) : loaded.get(productId));
         }
         return result;
     }
@@ -178,47 +268,111 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
     @Override
     @WithSpan("inventory.allocateStock")
     public StockAllocationResult allocate(AllocateStockCommand command) {
-        List<StockAllocationResult.Allocation> allocations = new ArrayList<>();
-        List<Stock> stocksToSave = new ArrayList<>();
+        List<AllocateStockCommand.AllocationRequest> requests = command.items();
+        AllocationStrategy strategy = command.strategy() != null
+            ? allocationStrategies.get(command.strategy())
+            : allocationStrategies.defaultStrategy();
 
-        List<UUID> productIds = command.items().stream()
+        List<UUID> productIds = requests.stream()
             .map(AllocateStockCommand.AllocationRequest::productId)
             .distinct()
             .toList();
-        Map<UUID, List<Stock>> availableStocksByProduct = stockRepository.findByProductIds(productIds).stream()
-            .collect(Collectors.groupingBy(Stock::getProductId));
-
-        for (AllocateStockCommand.AllocationRequest request : command.items()) {
-            List<Stock> availableStocks = availableStocksByProduct.getOrDefault(request.productId(), List.of());
-            
-            Stock selectedStock = availableStocks.stream()
-                .filter(s -> s.getAvailableQuantity().getValue() >= request.quantity())
-                .max(Comparator.comparingInt(s -> s.getAvailableQuantity().getValue()))
-                .orElseThrow(() -> {
-                    int totalAvailable = availableStocks.stream()
-                        .mapToInt(s -> s.getAvailableQuantity().getValue())
-                        .sum();
-                    return new InsufficientStockException(request.productId(), totalAvailable, request.quantity());
-                });
-            
-            selectedStock.reserve(Quantity.of(request.quantity()));
-            stocksToSave.add(selectedStock);
-            
-            allocations.add(new StockAllocationResult.Allocation(
-                request.productId(),
-                selectedStock.getWarehouseId(),
-                request.quantity()
-            ));
-        }
-        
-        for (Stock stock : stocksToSave) {
-            stockRepository.save(stock);
-        }
-        
-        return new StockAllocationResult(allocations);
+        Map<UUID, ReservationCandidate> candidatesByStock = new LinkedHashMap<>();
+        for (StockLevelProjection level : stockRepository.findStockLevelsByProductIds(productIds)) {
+            candidatesByStock.put(level.stockId(), new ReservationCandidate(level));
+        }
+
+        Address destination = toAddress(command.destination());
+        Map<UUID, Address> warehouseAddresses = strategy.usesWarehouseAddresses()
+            ? warehouseRepository.findAll().stream().collect(Collectors.toMap(Warehouse::getId, Warehouse::getAddress))
+            : Map.of();
+
+        int[] remaining = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            remaining[i] = requests.get(i).quantity();
+        }
+        List<StockAllocationResult.Allocation> allocations = new ArrayList<>(requests.size());
+
+        // Each round plans the outstanding quantities and reserves all picks in one batch;
+        // a pick rejected by the guard marks its stock row as exhausted and is re-planned.
+        List<AllocationProblem.Line> lines = outstandingLines(requests, remaining);
+        while (!lines.isEmpty()) {
+            AllocationProblem problem = new AllocationProblem(
+                lines, availableStock(candidatesByStock), destination, warehouseAddresses
+            );
+            List<AllocationPick> picks = strategy.allocate(problem);
+            if (picks.isEmpty()) {
+                throw new IllegalStateException("Allocation strategy " + strategy.name() + " made no progress");
+            }
+
+            List<StockReservation> batch = picks.stream()
+                .map(pick -> new StockReservation(pick.stockId(), pick.quantity()))
+                .toList();
+            boolean[] reserved = stockRepository.reserveAll(batch);
+
+            for (int i = 0; i < reserved.length; i++) {
+                AllocationPick pick = picks.get(i);
+                ReservationCandidate candidate = candidatesByStock.get(pick.stockId());
+                if (reserved[i]) {
+                    candidate.available -= pick.quantity();
+                    remaining[pick.line()] -= pick.quantity();
+                    allocations.add(new StockAllocationResult.Allocation(
+                        pick.line(),
+                        requests.get(pick.line()).productId(),
+                        pick.warehouseId(),
+                        pick.quantity()
+                    ));
+                } else {
+                    candidate.exhausted = true;
+                }
+            }
+            lines = outstandingLines(requests, remaining);
+        }
+
+        allocations.sort(Comparator.comparingInt(StockAllocationResult.Allocation::line));
+
+        Map<UUID, Integer> reservedByProduct = new LinkedHashMap<>();
+        for (StockAllocationResult.Allocation allocation : allocations) {
+            reservedByProduct.merge(allocation.productId(), allocation.quantity(), Integer::sum);
+        }
+        eventPublisher.publishEvent(new StockLevelsAdjusted(reservedByProduct.entrySet().stream()
+            .map(entry -> new StockLevelsAdjusted.ProductDelta(entry.getKey(), -entry.getValue(), entry.getValue()))
+            .toList()));
+
+        return new StockAllocationResult(List.copyOf(allocations));
+    }
+
+    private List<AllocationProblem.Line> outstandingLines(List<AllocateStockCommand.AllocationRequest> requests,
+                                                          int[] remaining) {
+        List<AllocationProblem.Line> lines = new ArrayList<>();
+        for (int i = 0; i < remaining.length; i++) {
+            if (remaining[i] > 0) {
+                lines.add(new AllocationProblem.Line(i, requests.get(i).productId(), remaining[i]));
+            }
+        }
+        return lines;
+    }
+
+    private Map<UUID, List<AllocationProblem.WarehouseStock>> availableStock(Map<UUID, ReservationCandidate> candidatesByStock) {
+        Map<UUID, List<AllocationProblem.WarehouseStock>> stockByProduct = new LinkedHashMap<>();
+        for (ReservationCandidate candidate : candidatesByStock.values()) {
+            if (!candidate.exhausted && candidate.available > 0) {
+                stockByProduct.computeIfAbsent(candidate.productId, productId -> new ArrayList<>())
+                    .add(new AllocationProblem.WarehouseStock(candidate.stockId, candidate.warehouseId, candidate.available));
+            }
+        }
+        return stockByProduct;
+    }
+
+    private Address toAddress(AllocateStockCommand.Destination destination) {
+        if (destination == null) {
+            return null;
+        }
+        return Address.of(destination.street(), destination.city(), destination.postalCode(), destination.country());
     }
 
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("inventory.confirmStockReservation")
     public void confirm(ConfirmStockReservationCommand command) {
         Stock stock = stockRepository.findByProductIdAndWarehouseId(command.productId(), command.warehouseId())
@@ -226,5 +380,98 @@ public class InventoryService implements CreateWarehouseUseCase, ReplenishStockU
 
         stock.confirmReservation(Quantity.of(command.quantity()));
         stockRepository.save(stock);
+        eventPublisher.publishEvent(new StockLevelsAdjusted(List.of(
+            new StockLevelsAdjusted.ProductDelta(command.productId(), 0, -command.quantity())
+        )));
+    }
+
+    @Override
+    @WithSpan("inventory.confirmOrderStock")
+    public OrderStockBatchResult confirmAll(ConfirmOrderStockCommand command) {
+        if (!operationLog.recordIfAbsent(command.orderId(), OrderStockOperationLog.Operation.CONFIRM)) {
+            return OrderStockBatchResult.duplicate(command.orderId());
+        }
+
+        List<StockQuantityChange> lines = command.lines().stream()
+            .map(line -> new StockQuantityChange(line.productId(), line.warehouseId(), line.quantity()))
+            .toList();
+        List<StockQuantityChange> failedLines = applyAggregated(lines, stockRepository::confirmAll);
+        publishLevelsAdjusted(lines, failedLines, 0, -1);
+        return toBatchResult(command.orderId(), lines, failedLines);
+    }
+
+    /**
+     * Combines lines per product and warehouse, applies them with one set-based update
+     * and returns the original lines whose stock row rejected the change.
+     */
+    private List<StockQuantityChange> applyAggregated(List<StockQuantityChange> lines,
+                                                      Function<List<StockQuantityChange>, List<StockQuantityChange>> update) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+
+        Map<StockKey, Integer> quantitiesByStock = new LinkedHashMap<>();
+        for (StockQuantityChange line : lines) {
+            quantitiesByStock.merge(new StockKey(line.productId(), line.warehouseId()), line.quantity(), Integer::sum);
+        }
+
+        List<StockQuantityChange> changes = quantitiesByStock.entrySet().stream()
+            .map(entry -> new StockQuantityChange(entry.getKey().productId(), entry.getKey().warehouseId(), entry.getValue()))
+            .toList();
+        Set<StockKey> applied = update.apply(changes).stream()
+            .map(change -> new StockKey(change.productId(), change.warehouseId()))
+            .collect(Collectors.toSet());
+
+        return lines.stream()
+            .filter(line -> !applied.contains(new StockKey(line.productId(), line.warehouseId())))
+            .toList();
+    }
+
+    /**
+     * Announces the per-product effect of a set-based update so that caches can follow it;
+     * each applied unit moves {@code availableSign} on available and {@code reservedSign} on reserved.
+     */
+    private void publishLevelsAdjusted(List<StockQuantityChange> lines, List<StockQuantityChange> failedLines,
+                                       int availableSign, int reservedSign) {
+        Map<UUID, Integer> appliedByProduct = new LinkedHashMap<>();
+        for (StockQuantityChange line : lines) {
+            appliedByProduct.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        for (StockQuantityChange line : failedLines) {
+            appliedByProduct.merge(line.productId(), -line.quantity(), Integer::sum);
+        }
+        List<StockLevelsAdjusted.ProductDelta> deltas = appliedByProduct.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .map(entry -> new StockLevelsAdjusted.ProductDelta(
+                entry.getKey(), availableSign * entry.getValue(), reservedSign * entry.getValue()))
+            .toList();
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelsAdjusted(deltas));
+        }
+    }
+
+    private OrderStockBatchResult toBatchResult(UUID orderId, List<StockQuantityChange> lines,
+                                                List<StockQuantityChange> failedLines) {
+        List<OrderStockBatchResult.FailedLine> failed = failedLines.stream()
+            .map(line -> new OrderStockBatchResult.FailedLine(line.productId(), line.warehouseId(), line.quantity()))
+            .toList();
+        return new OrderStockBatchResult(orderId, false, lines.size() - failed.size(), failed);
+    }
+
+    private record StockKey(UUID productId, UUID warehouseId) {}
+
+    private static final class ReservationCandidate {
+        private final UUID stockId;
+        private final UUID productId;
+        private final UUID warehouseId;
+        private int available;
+        private boolean exhausted;
+
+        private ReservationCandidate(StockLevelProjection level) {
+            this.stockId = level.stockId();
+            this.productId = level.productId();
+            this.warehouseId = level.warehouseId();
+            this.available = level.available();
+        }
     }
 }
@@ -0,0 +1,25 @@
+package com.simpleshop.inventory.domain.event;
+
+import com.simpleshop.shared.domain.model.DomainEvent;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published for set-based stock updates that bypass the {@code Stock} aggregate,
+ * carrying the per-product change in available and reserved quantity.
+ */
+public class StockLevelsAdjusted extends DomainEvent {
+    
+    private final List<ProductDelta> deltas;
+    
+    public StockLevelsAdjusted(List<ProductDelta> deltas) {
+        super();
+        this.deltas = List.copyOf(deltas);
+    }
+    
+    public List<ProductDelta> getDeltas() {
+        return deltas;
+    }
+    
+    public record ProductDelta(UUID productId, int availableDelta, int reservedDelta) {}
+}
@@ -9,6 +9,7 @@ import com.simpleshop.inventory.domain.model.vo.StockId;
 import com.simpleshop.shared.domain.model.AggregateRoot;
 import com.simpleshop.shared.domain.model.vo.Quantity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -19,6 +20,11 @@ public class Stock extends AggregateRoot<Stock> {
     @Id
     private UUID id;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+    
     @Column(name = "product_id", nullable = false)
     private UUID productId;
     
@@ -1,5 +1,6 @@
 package com.simpleshop.inventory.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -22,7 +23,7 @@ public final class StockId extends ValueObject {
     }
     
     public static StockId generate() {
-        return new StockId(UUID.randomUUID());
+        return new StockId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
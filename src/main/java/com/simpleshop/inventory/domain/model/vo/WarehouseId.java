@@ -1,5 +1,6 @@
 package com.simpleshop.inventory.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -22,7 +23,7 @@ public final class WarehouseId extends ValueObject {
     }
     
     public static WarehouseId generate() {
-        return new WarehouseId(UUID.randomUUID());
+        return new WarehouseId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
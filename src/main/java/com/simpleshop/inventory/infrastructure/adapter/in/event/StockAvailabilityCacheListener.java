@@ -0,0 +1,82 @@
+package com.simpleshop.inventory.infrastructure.adapter.in.event;
+
+import com.simpleshop.inventory.application.port.out.ProductAvailabilityCache;
+import com.simpleshop.inventory.application.port.out.ProductAvailabilityCache.AvailabilityDelta;
+import com.simpleshop.inventory.domain.event.StockDepleted;
+import com.simpleshop.inventory.domain.event.StockLevelsAdjusted;
+import com.simpleshop.inventory.domain.event.StockReleased;
+import com.simpleshop.inventory.domain.event.StockReplenished;
+import com.simpleshop.inventory.domain.event.StockReserved;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Keeps the product availability cache in step with committed stock changes.
+ *
+ * Applies each change synchronously after commit, so a delta is applied exactly once and
+ * only for changes that actually reached the database. A depleted stock row evicts the
+ * product instead, so the switch to "out of stock" is always served from a fresh load.
+ *
+ * These are plain listeners that register a transaction synchronization rather than
+ * transactional event listeners, which the event publication registry would record and
+ * complete in the database for every stock change.
+ */
+@Component
+public class StockAvailabilityCacheListener {
+
+    private final ProductAvailabilityCache availabilityCache;
+
+    public StockAvailabilityCacheListener(ProductAvailabilityCache availabilityCache) {
+        this.availabilityCache = availabilityCache;
+    }
+
+    @EventListener
+    public void onStockReserved(StockReserved event) {
+        int amount = event.getAmount().getValue();
+        adjustAfterCommit(List.of(new AvailabilityDelta(event.getProductId(), -amount, amount)));
+    }
+
+    @EventListener
+    public void onStockReleased(StockReleased event) {
+        int amount = event.getAmount().getValue();
+        adjustAfterCommit(List.of(new AvailabilityDelta(event.getProductId(), amount, -amount)));
+    }
+
+    @EventListener
+    public void onStockReplenished(StockReplenished event) {
+        adjustAfterCommit(List.of(new AvailabilityDelta(event.getProductId(), event.getAmount().getValue(), 0)));
+    }
+
+    @EventListener
+    public void onStockDepleted(StockDepleted event) {
+        afterCommit(() -> availabilityCache.evict(List.of(event.getProductId())));
+    }
+
+    @EventListener
+    public void onStockLevelsAdjusted(StockLevelsAdjusted event) {
+        adjustAfterCommit(event.getDeltas().stream()
+            .map(delta -> new AvailabilityDelta(delta.productId(), delta.availableDelta(), delta.reservedDelta()))
+            .toList());
+    }
+
+    private void adjustAfterCommit(List<AvailabilityDelta> deltas) {
+        afterCommit(() -> availabilityCache.adjust(deltas));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
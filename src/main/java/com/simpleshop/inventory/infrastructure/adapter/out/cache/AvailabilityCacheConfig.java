@@ -0,0 +1,29 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.availability-cache.enabled", havingValue = "true", matchIfMissing = true)
+class AvailabilityCacheConfig {
+
+    @Bean
+    RedisMessageListenerContainer availabilityInvalidationListenerContainer(
+        RedisConnectionFactory connectionFactory,
+        RedisProductAvailabilityCache cache
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> cache.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(RedisProductAvailabilityCache.INVALIDATION_CHANNEL)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,68 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.cache;
+
+import com.simpleshop.inventory.application.query.ProductAvailabilityView;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-process cache in front of Redis. Entries live for a short, fixed time and are
+ * dropped early when another node announces a change, so the window in which a stale
+ * value can be served is bounded by the invalidation latency in the common case and by
+ * the TTL in the worst case.
+ */
+class AvailabilityNearCache {
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    AvailabilityNearCache(long ttlMillis, int maxEntries) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    ProductAvailabilityView get(UUID productId) {
+        Entry entry = entries.get(productId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+            entries.remove(productId, entry);
+            return null;
+        }
+        return entry.view;
+    }
+
+    void put(ProductAvailabilityView view) {
+        if (ttlNanos <= 0 || maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpiredOrAny();
+        }
+        entries.put(view.productId(), new Entry(view, System.nanoTime() + ttlNanos));
+    }
+
+    void invalidate(UUID productId) {
+        entries.remove(productId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpiredOrAny() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAtNanos - now <= 0);
+        Iterator<UUID> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(ProductAvailabilityView view, long expiresAtNanos) {}
+}
@@ -0,0 +1,44 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.cache;
+
+import com.simpleshop.inventory.application.port.out.ProductAvailabilityCache;
+import com.simpleshop.inventory.application.query.ProductAvailabilityView;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "inventory.availability-cache.enabled", havingValue = "false")
+public class NoOpProductAvailabilityCache implements ProductAvailabilityCache {
+
+    @Override
+    public Optional<ProductAvailabilityView> get(UUID productId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<UUID, ProductAvailabilityView> getAll(Collection<UUID> productIds) {
+        return Map.of();
+    }
+
+    @Override
+    public Map<UUID, Long> generations(Collection<UUID> productIds) {
+        return Map.of();
+    }
+
+    @Override
+    public void putAll(Collection<ProductAvailabilityView> views, Map<UUID, Long> generations) {
+    }
+
+    @Override
+    public void adjust(List<AvailabilityDelta> deltas) {
+    }
+
+    @Override
+    public void evict(Collection<UUID> productIds) {
+    }
+}
@@ -0,0 +1,322 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.cache;
+
+import com.simpleshop.inventory.application.port.out.ProductAvailabilityCache;
+import com.simpleshop.inventory.application.query.ProductAvailabilityView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Redis-backed availability cache with an in-process near-cache in front of it.
+ *
+ * Each product is a hash with {@code available} and {@code reserved} fields. Stock changes
+ * are applied with {@code HINCRBY} only when the entry exists, so an update never creates
+ * a partial entry; read-through loads only fill absent entries so they cannot overwrite
+ * newer deltas. Every adjust and evict also bumps a per-product generation counter, and a
+ * load stores its snapshot only if the generation still matches the one read before the
+ * database query, so a change committed while the load ran cannot be lost. Every change is
+ * announced on {@link #INVALIDATION_CHANNEL} to drop the near-cache entry on all nodes.
+ * Redis failures degrade to cache misses.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.availability-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisProductAvailabilityCache implements ProductAvailabilityCache {
+
+    static final String INVALIDATION_CHANNEL = "inventory:availability:invalidate";
+
+    private static final Logger log = LoggerFactory.getLogger(RedisProductAvailabilityCache.class);
+    private static final String KEY_PREFIX = "inventory:availability:";
+    private static final String AVAILABLE = "available";
+    private static final String RESERVED = "reserved";
+    private static final byte[] AVAILABLE_FIELD = AVAILABLE.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESERVED_FIELD = RESERVED.getBytes(StandardCharsets.UTF_8);
+
+    private static final RedisScript<Long> PUT_IF_ABSENT_SCRIPT = RedisScript.of("""
+        if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[4] then
+          return -1
+        end
+        if redis.call('EXISTS', KEYS[1]) == 1 then
+          return 0
+        end
+        redis.call('HSET', KEYS[1], 'available', ARGV[1], 'reserved', ARGV[2])
+        redis.call('PEXPIRE', KEYS[1], ARGV[3])
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> ADJUST_SCRIPT = RedisScript.of("""
+        redis.call('INCR', KEYS[2])
+        redis.call('PEXPIRE', KEYS[2], ARGV[3])
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+          return 0
+        end
+        local available = redis.call('HINCRBY', KEYS[1], 'available', ARGV[1])
+        local reserved = redis.call('HINCRBY', KEYS[1], 'reserved', ARGV[2])
+        if available < 0 or reserved < 0 then
+          redis.call('DEL', KEYS[1])
+          return -1
+        end
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> EVICT_SCRIPT = RedisScript.of("""
+        redis.call('DEL', KEYS[1])
+        redis.call('INCR', KEYS[2])
+        redis.call('PEXPIRE', KEYS[2], ARGV[1])
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final AvailabilityNearCache nearCache;
+    private final long ttlMillis;
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter driftEvictions;
+    private final Counter staleLoads;
+
+    public RedisProductAvailabilityCache(
+        StringRedisTemplate redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${inventory.availability-cache.ttl-seconds:600}") long ttlSeconds,
+        @Value("${inventory.availability-cache.near-cache.ttl-ms:2000}") long nearCacheTtlMillis,
+        @Value("${inventory.availability-cache.near-cache.max-entries:10000}") int nearCacheMaxEntries
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = new AvailabilityNearCache(nearCacheTtlMillis, nearCacheMaxEntries);
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.nearHits = lookupCounter(meterRegistry, "near", "hit");
+        this.redisHits = lookupCounter(meterRegistry, "redis", "hit");
+        this.misses = lookupCounter(meterRegistry, "redis", "miss");
+        this.driftEvictions = Counter.builder("simpleshop.inventory.availability.cache.drift.evictions")
+            .description("Cache entries dropped because a delta drove them negative")
+            .register(meterRegistry);
+        this.staleLoads = Counter.builder("simpleshop.inventory.availability.cache.stale.loads")
+            .description("Loaded totals discarded because the product changed while they were read")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.inventory.availability.cache.near.size", nearCache, AvailabilityNearCache::size)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<ProductAvailabilityView> get(UUID productId) {
+        return Optional.ofNullable(getAll(List.of(productId)).get(productId));
+    }
+
+    @Override
+    public Map<UUID, ProductAvailabilityView> getAll(Collection<UUID> productIds) {
+        Map<UUID, ProductAvailabilityView> result = new LinkedHashMap<>();
+        List<UUID> remote = new ArrayList<>();
+        for (UUID productId : productIds) {
+            ProductAvailabilityView view = nearCache.get(productId);
+            if (view != null) {
+                nearHits.increment();
+                result.put(productId, view);
+            } else {
+                remote.add(productId);
+            }
+        }
+        if (remote.isEmpty()) {
+            return result;
+        }
+
+        List<Object> rows;
+        try {
+            rows = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UUID productId : remote) {
+                    connection.hashCommands().hMGet(rawKey(productId), AVAILABLE_FIELD, RESERVED_FIELD);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Availability cache read failed, falling back to database: {}", e.getMessage());
+            misses.increment(remote.size());
+            return result;
+        }
+
+        for (int i = 0; i < remote.size(); i++) {
+            ProductAvailabilityView view = toView(remote.get(i), rows.get(i));
+            if (view == null) {
+                misses.increment();
+                continue;
+            }
+            redisHits.increment();
+            nearCache.put(view);
+            result.put(view.productId(), view);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UUID, Long> generations(Collection<UUID> productIds) {
+        List<UUID> products = productIds.stream().distinct().toList();
+        List<Object> values;
+        try {
+            values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UUID productId : products) {
+                    connection.stringCommands().get(generationKey(productId).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Availability cache generation read failed: {}", e.getMessage());
+            return Map.of();
+        }
+
+        Map<UUID, Long> generations = new LinkedHashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            Object value = values.get(i);
+            generations.put(products.get(i), value == null ? 0L : Long.parseLong(value.toString()));
+        }
+        return generations;
+    }
+
+    @Override
+    public void putAll(Collection<ProductAvailabilityView> views, Map<UUID, Long> generations) {
+        String ttl = Long.toString(ttlMillis);
+        try {
+            for (ProductAvailabilityView view : views) {
+                Long generation = generations.get(view.productId());
+                if (generation == null) {
+                    continue;
+                }
+                Long stored = redisTemplate.execute(
+                    PUT_IF_ABSENT_SCRIPT,
+                    keys(view.productId()),
+                    Integer.toString(view.totalAvailable()),
+                    Integer.toString(view.totalReserved()),
+                    ttl,
+                    Long.toString(generation)
+                );
+                if (stored != null && stored == 1L) {
+                    nearCache.put(view);
+                } else if (stored != null && stored == -1L) {
+                    staleLoads.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("Availability cache write failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void adjust(List<AvailabilityDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String ttl = Long.toString(ttlMillis);
+        try {
+            for (AvailabilityDelta delta : deltas) {
+                Long outcome = redisTemplate.execute(
+                    ADJUST_SCRIPT,
+                    keys(delta.productId()),
+                    Integer.toString(delta.availableDelta()),
+                    Integer.toString(delta.reservedDelta()),
+                    ttl
+                );
+                if (outcome != null && outcome == -1L) {
+                    driftEvictions.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            // A delta that cannot be applied must not leave a stale entry behind.
+            log.warn("Availability cache adjust failed, evicting affected products: {}", e.getMessage());
+            evict(deltas.stream().map(AvailabilityDelta::productId).toList());
+            return;
+        }
+        announce(deltas.stream().map(AvailabilityDelta::productId).toList());
+    }
+
+    @Override
+    public void evict(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        String ttl = Long.toString(ttlMillis);
+        try {
+            for (UUID productId : productIds) {
+                redisTemplate.execute(EVICT_SCRIPT, keys(productId), ttl);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Availability cache eviction failed for {}: {}", productIds, e.getMessage());
+        }
+        announce(productIds);
+    }
+
+    /**
+     * Handles an invalidation message published by any node, including this one.
+     */
+    void onInvalidation(String message) {
+        for (String productId : message.split(",")) {
+            if (!productId.isBlank()) {
+                nearCache.invalidate(UUID.fromString(productId.trim()));
+            }
+        }
+    }
+
+    private void announce(Collection<UUID> productIds) {
+        productIds.forEach(nearCache::invalidate);
+        String message = productIds.stream().map(UUID::toString).distinct().collect(Collectors.joining(","));
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Availability cache invalidation broadcast failed: {}", e.getMessage());
+        }
+    }
+
+    private ProductAvailabilityView toView(UUID productId, Object row) {
+        if (!(row instanceof List<?> values) || values.size() != 2
+                || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return new ProductAvailabilityView(
+            productId,
+            Integer.parseInt(values.get(0).toString()),
+            Integer.parseInt(values.get(1).toString())
+        );
+    }
+
+    /**
+     * The hash tag keeps an entry and its generation in one cluster slot, as the scripts need.
+     */
+    private String key(UUID productId) {
+        return KEY_PREFIX + "{" + productId + "}";
+    }
+
+    private String generationKey(UUID productId) {
+        return key(productId) + ":generation";
+    }
+
+    private List<String> keys(UUID productId) {
+        return List.of(key(productId), generationKey(productId));
+    }
+
+    private byte[] rawKey(UUID productId) {
+        return key(productId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("simpleshop.inventory.availability.cache.lookups")
+            .description("Availability cache lookups by tier and outcome")
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,230 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.ledger;
+
+import com.simpleshop.inventory.application.port.out.StockLevelProjection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory availability counters for hot stock rows, guarded by striped locks.
+ *
+ * Each entry tracks what is still available for new reservations, the reserved
+ * quantity whose transaction has not committed yet ({@code held}), the committed
+ * reserved quantity not yet written to the database ({@code pending}) and the quantity
+ * currently being written by a flush ({@code inflight}). Only committed reservations
+ * are ever flushed.
+ */
+class HotStockLedger {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<UUID, Entry> entriesByStockId = new ConcurrentHashMap<>();
+
+    HotStockLedger() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    void track(StockLevelProjection level) {
+        entriesByStockId.computeIfAbsent(level.stockId(), ignored -> new Entry(level));
+    }
+
+    boolean isTracked(UUID stockId) {
+        return entriesByStockId.containsKey(stockId);
+    }
+
+    boolean tryReserve(UUID stockId, int quantity) {
+        Entry entry = entriesByStockId.get(stockId);
+        ReentrantLock lock = lockFor(stockId);
+        lock.lock();
+        try {
+            if (entry.available < quantity) {
+                return false;
+            }
+            entry.available -= quantity;
+            entry.held += quantity;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes a held reservation pending once the transaction that made it has committed.
+     */
+    void commit(UUID stockId, int quantity) {
+        withEntry(stockId, entry -> {
+            entry.held -= quantity;
+            entry.pending += quantity;
+        });
+    }
+
+    /**
+     * Returns a held reservation to availability after its transaction rolled back.
+     */
+    void compensate(UUID stockId, int quantity) {
+        withEntry(stockId, entry -> {
+            entry.available += quantity;
+            entry.held -= quantity;
+        });
+    }
+
+    /**
+     * Moves every non-zero pending delta to in-flight and returns the moved deltas.
+     */
+    Map<UUID, Integer> drainPending() {
+        return drainPending(snapshot -> true);
+    }
+
+    /**
+     * Moves the non-zero pending deltas of the matching entries to in-flight and returns them,
+     * ordered by stock ID so that concurrent flushes lock the rows in the same order.
+     */
+    Map<UUID, Integer> drainPending(Predicate<Snapshot> filter) {
+        Map<UUID, Integer> deltas = new TreeMap<>();
+        for (Entry entry : entriesByStockId.values()) {
+            ReentrantLock lock = lockFor(entry.stockId);
+            lock.lock();
+            try {
+                if (entry.pending != 0 && filter.test(entry.snapshot())) {
+                    deltas.put(entry.stockId, entry.pending);
+                    entry.inflight += entry.pending;
+                    entry.pending = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return deltas;
+    }
+
+    void completeFlush(Map<UUID, Integer> deltas) {
+        deltas.forEach((stockId, delta) -> withEntry(stockId, entry -> entry.inflight -= delta));
+    }
+
+    void abortFlush(Map<UUID, Integer> deltas) {
+        deltas.forEach((stockId, delta) -> withEntry(stockId, entry -> {
+            entry.inflight -= delta;
+            entry.pending += delta;
+        }));
+    }
+
+    /**
+     * Recomputes availability from a database read taken after an external write committed.
+     */
+    void resync(UUID stockId, int databaseAvailable) {
+        withEntry(stockId, entry -> {
+            entry.available = databaseAvailable - entry.held - entry.pending - entry.inflight;
+            entry.revision++;
+        });
+    }
+
+    /**
+     * Recomputes availability from a periodic database read, unless an external write
+     * already resynced the entry after {@code expectedRevision} was captured.
+     */
+    void resyncIfUnchanged(UUID stockId, int databaseAvailable, long expectedRevision) {
+        withEntry(stockId, entry -> {
+            if (entry.revision == expectedRevision) {
+                entry.available = databaseAvailable - entry.held - entry.pending - entry.inflight;
+            }
+        });
+    }
+
+    Optional<Snapshot> snapshot(UUID stockId) {
+        Entry entry = entriesByStockId.get(stockId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        ReentrantLock lock = lockFor(stockId);
+        lock.lock();
+        try {
+            return Optional.of(entry.snapshot());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Snapshot> snapshotsForProduct(UUID productId) {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Entry entry : entriesByStockId.values()) {
+            if (entry.productId.equals(productId)) {
+                snapshot(entry.stockId).ifPresent(snapshots::add);
+            }
+        }
+        return snapshots;
+    }
+
+    List<Snapshot> snapshots() {
+        List<Snapshot> snapshots = new ArrayList<>(entriesByStockId.size());
+        for (UUID stockId : entriesByStockId.keySet()) {
+            snapshot(stockId).ifPresent(snapshots::add);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Held reservations count as unflushed because they may already be journaled.
+     */
+    boolean hasUnflushedChanges() {
+        return snapshots().stream().anyMatch(s -> s.held() != 0 || s.pending() != 0 || s.inflight() != 0);
+    }
+
+    Collection<UUID> trackedProductIds() {
+        return entriesByStockId.values().stream().map(entry -> entry.productId).distinct().toList();
+    }
+
+    private void withEntry(UUID stockId, Consumer<Entry> action) {
+        Entry entry = entriesByStockId.get(stockId);
+        if (entry == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(stockId);
+        lock.lock();
+        try {
+            action.accept(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(UUID stockId) {
+        return stripes[(stockId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    record Snapshot(UUID stockId, UUID productId, UUID warehouseId, int available, int held, int pending,
+                    int inflight, long revision) {}
+
+    private static final class Entry {
+        private final UUID stockId;
+        private final UUID productId;
+        private final UUID warehouseId;
+        private int available;
+        private int held;
+        private int pending;
+        private int inflight;
+        private long revision;
+
+        private Entry(StockLevelProjection level) {
+            this.stockId = level.stockId();
+            this.productId = level.productId();
+            this.warehouseId = level.warehouseId();
+            this.available = level.available();
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(stockId, productId, warehouseId, available, held, pending, inflight, revision);
+        }
+    }
+}
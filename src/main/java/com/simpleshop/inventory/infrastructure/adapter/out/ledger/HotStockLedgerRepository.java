@@ -0,0 +1,441 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.ledger;
+
+import com.simpleshop.inventory.application.port.out.ProductStockTotals;
+import com.simpleshop.inventory.application.port.out.StockLevelProjection;
+import com.simpleshop.inventory.application.port.out.StockQuantityChange;
+import com.simpleshop.inventory.application.port.out.StockRepository;
+import com.simpleshop.inventory.application.port.out.StockReservation;
+import com.simpleshop.inventory.domain.model.Stock;
+import com.simpleshop.inventory.domain.model.vo.StockId;
+import com.simpleshop.inventory.infrastructure.adapter.out.persistence.StockRepositoryAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind {@link StockRepository} for designated hot products.
+ *
+ * Reservations for hot stock rows are decided against {@link HotStockLedger} and held
+ * without touching the database. They are journaled and forced to disk in the reserving
+ * transaction's {@code beforeCommit}, so a failed write rolls the order back instead of
+ * losing the reservation; a rollback after that point appends a compensating record. Once
+ * committed, a scheduled flush applies the accumulated deltas to {@code stocks} in one
+ * batch. A node that stops between the journal write and the transaction outcome replays
+ * the reservation on restart, so the stock is over-reserved until an operator releases
+ * it, never oversold.
+ *
+ * Every other operation is delegated to {@link StockRepositoryAdapter}. Writing
+ * transactions first apply the pending deltas of the rows they touch, inside their own
+ * transaction, so they see every committed reservation; read-only transactions see hot
+ * rows as of the last flush. No request thread waits for the scheduled flush or opens a
+ * second connection.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "inventory.hot-stock.enabled", havingValue = "true")
+public class HotStockLedgerRepository implements StockRepository, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStockLedgerRepository.class);
+
+    private final StockRepositoryAdapter delegate;
+    private final TransactionTemplate flushTransaction;
+    private final Set<UUID> hotProductIds;
+    private final HotStockLedger ledger = new HotStockLedger();
+    private final StockLedgerJournal journal;
+    private final long journalCompactionBytes;
+    private final ReentrantLock scheduledFlushLock = new ReentrantLock();
+    private volatile boolean recovered;
+
+    public HotStockLedgerRepository(
+        StockRepositoryAdapter delegate,
+        PlatformTransactionManager transactionManager,
+        @Value("${inventory.hot-stock.product-ids:}") String[] hotProductIds,
+        @Value("${inventory.hot-stock.journal-path:data/stock-ledger.journal}") String journalPath,
+        @Value("${inventory.hot-stock.journal-compaction-bytes:1048576}") long journalCompactionBytes
+    ) {
+        this.delegate = delegate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotProductIds = Arrays.stream(hotProductIds)
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .map(UUID::fromString)
+            .collect(Collectors.toUnmodifiableSet());
+        this.journal = new StockLedgerJournal(Path.of(journalPath));
+        this.journalCompactionBytes = journalCompactionBytes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJournal() {
+        scheduledFlushLock.lock();
+        try {
+            Map<UUID, Integer> unflushed = journal.replayUnflushed();
+            if (!unflushed.isEmpty()) {
+                flushTransaction.executeWithoutResult(status -> delegate.applyReservedDeltas(unflushed));
+                journal.append(StockLedgerJournal.FLUSHED, unflushed);
+                log.info("Recovered {} unflushed hot stock deltas from journal", unflushed.size());
+            }
+            journal.compactIf(() -> true);
+            recovered = true;
+        } finally {
+            scheduledFlushLock.unlock();
+        }
+        log.info("Hot stock ledger ready for {} products", hotProductIds.size());
+    }
+
+    /**
+     * Runs on the scheduler thread only, in a transaction of its own; the lock merely keeps
+     * it apart from recovery and shutdown.
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot-stock.flush-interval-ms:200}")
+    public void flush() {
+        if (!recovered) {
+            return;
+        }
+
+        scheduledFlushLock.lock();
+        try {
+            Map<UUID, Integer> deltas = ledger.drainPending();
+            if (!deltas.isEmpty()) {
+                try {
+                    flushTransaction.executeWithoutResult(status -> delegate.applyReservedDeltas(deltas));
+                } catch (RuntimeException e) {
+                    ledger.abortFlush(deltas);
+                    log.warn("Hot stock flush of {} rows failed, will retry: {}", deltas.size(), e.getMessage());
+                    return;
+                }
+                checkpoint(deltas);
+            }
+
+            resyncFromDatabase();
+
+            if (journal.size() >= journalCompactionBytes) {
+                journal.compactIf(() -> !ledger.hasUnflushedChanges());
+            }
+        } finally {
+            scheduledFlushLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Stock> findById(StockId id) {
+        flushInTransaction(snapshot -> snapshot.stockId().equals(id.getValue()));
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Stock> findByProductIdAndWarehouseId(UUID productId, UUID warehouseId) {
+        flushInTransaction(snapshot -> snapshot.productId().equals(productId) && snapshot.warehouseId().equals(warehouseId));
+        return delegate.findByProductIdAndWarehouseId(productId, warehouseId);
+    }
+
+    @Override
+    public List<Stock> findByProductId(UUID productId) {
+        flushInTransaction(snapshot -> snapshot.productId().equals(productId));
+        return delegate.findByProductId(productId);
+    }
+
+    @Override
+    public List<Stock> findByProductIds(Collection<UUID> productIds) {
+        flushProductsInTransaction(productIds);
+        return delegate.findByProductIds(productIds);
+    }
+
+    @Override
+    public Page<Stock> findByWarehouseId(UUID warehouseId, Pageable pageable) {
+        flushInTransaction(snapshot -> snapshot.warehouseId().equals(warehouseId));
+        return delegate.findByWarehouseId(warehouseId, pageable);
+    }
+
+    @Override
+    public Stock save(Stock stock) {
+        Stock saved = delegate.save(stock);
+        if (ledger.isTracked(saved.getId())) {
+            UUID stockId = saved.getId();
+            int available = saved.getAvailableQuantity().getValue();
+            afterCommit(() -> ledger.resync(stockId, available));
+        }
+        return saved;
+    }
+
+    @Override
+    public Map<UUID, ProductStockTotals> sumTotalsByProductIds(Collection<UUID> productIds) {
+        Map<UUID, ProductStockTotals> totals = delegate.sumTotalsByProductIds(productIds);
+        if (productIds.stream().noneMatch(hotProductIds::contains)) {
+            return totals;
+        }
+
+        // Overlay each product once, however often the caller listed it.
+        Map<UUID, ProductStockTotals> overlaid = new HashMap<>(totals);
+        for (UUID productId : new LinkedHashSet<>(productIds)) {
+            int unflushed = unflushedReserved(productId);
+            if (unflushed != 0) {
+                overlaid.merge(productId, new ProductStockTotals(-unflushed, unflushed), ProductStockTotals::plus);
+            }
+        }
+        return overlaid;
+    }
+
+    @Override
+    public List<StockLevelProjection> findStockLevelsByProductIds(Collection<UUID> productIds) {
+        List<StockLevelProjection> levels = delegate.findStockLevelsByProductIds(productIds);
+        if (!recovered || productIds.stream().noneMatch(hotProductIds::contains)) {
+            return levels;
+        }
+
+        List<StockLevelProjection> result = new ArrayList<>(levels.size());
+        for (StockLevelProjection level : levels) {
+            if (hotProductIds.contains(level.productId())) {
+                ledger.track(level);
+            } else {
+                result.add(level);
+            }
+        }
+        for (UUID productId : productIds) {
+            if (!hotProductIds.contains(productId)) {
+                continue;
+            }
+            for (HotStockLedger.Snapshot snapshot : ledger.snapshotsForProduct(productId)) {
+                if (snapshot.available() > 0) {
+                    result.add(new StockLevelProjection(
+                        snapshot.stockId(), snapshot.productId(), snapshot.warehouseId(), snapshot.available()
+                    ));
+                }
+            }
+        }
+        result.sort(Comparator.comparing(StockLevelProjection::productId)
+            .thenComparing(Comparator.comparingInt(StockLevelProjection::available).reversed()));
+        return result;
+    }
+
+    @Override
+    public boolean[] reserveAll(List<StockReservation> reservations) {
+        if (!recovered) {
+            return delegate.reserveAll(reservations);
+        }
+
+        boolean[] reserved = new boolean[reservations.size()];
+        List<Integer> databaseLines = new ArrayList<>();
+        Map<UUID, Integer> ledgerReservations = new LinkedHashMap<>();
+
+        for (int i = 0; i < reservations.size(); i++) {
+            StockReservation reservation = reservations.get(i);
+            if (!ledger.isTracked(reservation.stockId())) {
+                databaseLines.add(i);
+            } else if (ledger.tryReserve(reservation.stockId(), reservation.quantity())) {
+                reserved[i] = true;
+                ledgerReservations.merge(reservation.stockId(), reservation.quantity(), Integer::sum);
+            }
+        }
+
+        if (!ledgerReservations.isEmpty()) {
+            journalReservations(ledgerReservations);
+        }
+
+        if (!databaseLines.isEmpty()) {
+            List<StockReservation> databaseReservations = databaseLines.stream().map(reservations::get).toList();
+            boolean[] databaseReserved = delegate.reserveAll(databaseReservations);
+            for (int i = 0; i < databaseReserved.length; i++) {
+                reserved[databaseLines.get(i)] = databaseReserved[i];
+            }
+        }
+        return reserved;
+    }
+
+    @Override
+    public List<StockQuantityChange> releaseAll(List<StockQuantityChange> changes) {
+        // Pending hot reservations must reach the row before the guarded release can see them.
+        flushProductsInTransaction(changes.stream().map(StockQuantityChange::productId).toList());
+        return delegate.releaseAll(changes);
+    }
+
+    @Override
+    public List<StockQuantityChange> confirmAll(List<StockQuantityChange> changes) {
+        // Confirmation leaves availability unchanged, so the in-memory counters stay valid.
+        flushProductsInTransaction(changes.stream().map(StockQuantityChange::productId).toList());
+        return delegate.confirmAll(changes);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    private void resyncFromDatabase() {
+        Collection<UUID> trackedProducts = ledger.trackedProductIds();
+        if (trackedProducts.isEmpty()) {
+            return;
+        }
+        Map<UUID, Long> revisions = ledger.snapshots().stream()
+            .collect(Collectors.toMap(HotStockLedger.Snapshot::stockId, HotStockLedger.Snapshot::revision));
+        Map<UUID, Integer> databaseAvailable = delegate.findStockLevelsByProductIds(trackedProducts).stream()
+            .collect(Collectors.toMap(StockLevelProjection::stockId, StockLevelProjection::available));
+        // Rows missing from the projection have nothing left to reserve.
+        revisions.forEach((stockId, revision) ->
+            ledger.resyncIfUnchanged(stockId, databaseAvailable.getOrDefault(stockId, 0), revision));
+    }
+
+    /**
+     * Journals the held reservations before the reserving transaction commits. A failed
+     * append propagates out of {@code beforeCommit} and rolls that transaction back; once the
+     * record is on disk, a rollback appends a compensating record so a replay nets it out.
+     */
+    private void journalReservations(Map<UUID, Integer> reservations) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                journal.append(StockLedgerJournal.RESERVED, reservations);
+            } catch (RuntimeException e) {
+                reservations.forEach(ledger::compensate);
+                throw e;
+            }
+            reservations.forEach(ledger::commit);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean journaled;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                journal.append(StockLedgerJournal.RESERVED, reservations);
+                journaled = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    reservations.forEach(ledger::commit);
+                } else if (journaled) {
+                    compensateJournaled(reservations);
+                } else {
+                    reservations.forEach(ledger::compensate);
+                }
+            }
+        });
+    }
+
+    private void compensateJournaled(Map<UUID, Integer> reservations) {
+        try {
+            // Released under the journal lock, so a compaction cannot drop the reserved record alone.
+            journal.append(StockLedgerJournal.COMPENSATED, reservations,
+                () -> reservations.forEach(ledger::compensate));
+        } catch (RuntimeException e) {
+            // A replay before the next compaction would re-apply the rolled-back reservation.
+            reservations.forEach(ledger::compensate);
+            log.error("Hot stock reservations rolled back but journal compensation failed", e);
+        }
+    }
+
+    private void flushProductsInTransaction(Collection<UUID> productIds) {
+        if (productIds.stream().anyMatch(hotProductIds::contains)) {
+            Set<UUID> products = Set.copyOf(productIds);
+            flushInTransaction(snapshot -> products.contains(snapshot.productId()));
+        }
+    }
+
+    /**
+     * Applies the pending deltas of the matching rows in the caller's transaction, which is
+     * about to read or update those rows anyway. The deltas count as flushed once it commits
+     * and go back to pending if it rolls back.
+     */
+    private void flushInTransaction(Predicate<HotStockLedger.Snapshot> rows) {
+        if (!recovered || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        Map<UUID, Integer> deltas = ledger.drainPending(rows);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            delegate.applyReservedDeltas(deltas);
+        } catch (RuntimeException e) {
+            ledger.abortFlush(deltas);
+            throw e;
+        }
+        afterCompletion(committed -> {
+            if (committed) {
+                checkpoint(deltas);
+            } else {
+                ledger.abortFlush(deltas);
+            }
+        });
+    }
+
+    private void checkpoint(Map<UUID, Integer> flushed) {
+        try {
+            journal.append(StockLedgerJournal.FLUSHED, flushed, () -> ledger.completeFlush(flushed));
+        } catch (RuntimeException e) {
+            // The deltas are committed; a replay before the next compaction would re-apply them.
+            ledger.completeFlush(flushed);
+            log.error("Hot stock flush committed but journal checkpoint failed", e);
+        }
+    }
+
+    private int unflushedReserved(UUID productId) {
+        if (!hotProductIds.contains(productId)) {
+            return 0;
+        }
+        return ledger.snapshotsForProduct(productId).stream()
+            .mapToInt(snapshot -> snapshot.pending() + snapshot.inflight())
+            .sum();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
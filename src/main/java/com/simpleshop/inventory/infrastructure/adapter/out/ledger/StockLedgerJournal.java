@@ -0,0 +1,150 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Append-only journal of ledger deltas.
+ *
+ * Each line is {@code <type>,<stockId>,<quantity>} where the type is {@code R} (reserved by
+ * a transaction about to commit), {@code C} (compensated after that transaction rolled back)
+ * or {@code F} (flushed to the database). Replaying {@code R - C - F} per stock yields the
+ * deltas that never reached the database.
+ */
+class StockLedgerJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerJournal.class);
+
+    static final char RESERVED = 'R';
+    static final char COMPENSATED = 'C';
+    static final char FLUSHED = 'F';
+
+    private final Path path;
+    private final FileChannel channel;
+
+    StockLedgerJournal(Path path) {
+        this.path = path;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open stock ledger journal " + path, e);
+        }
+    }
+
+    void append(char type, Map<UUID, Integer> quantitiesByStockId) {
+        append(type, quantitiesByStockId, () -> {});
+    }
+
+    /**
+     * Appends the lines and then runs {@code afterWrite} before any compaction can happen,
+     * so the ledger state it updates always agrees with what the journal holds.
+     */
+    synchronized void append(char type, Map<UUID, Integer> quantitiesByStockId, Runnable afterWrite) {
+        if (!quantitiesByStockId.isEmpty()) {
+            StringBuilder lines = new StringBuilder(quantitiesByStockId.size() * 48);
+            quantitiesByStockId.forEach((stockId, quantity) ->
+                lines.append(type).append(',').append(stockId).append(',').append(quantity).append('\n'));
+            write(lines);
+        }
+        afterWrite.run();
+    }
+
+    /**
+     * Returns the net delta per stock that was journaled but never flushed.
+     */
+    synchronized Map<UUID, Integer> replayUnflushed() {
+        Map<UUID, Integer> net = new LinkedHashMap<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read stock ledger journal " + path, e);
+        }
+
+        for (String line : lines) {
+            String[] parts = line.split(",");
+            if (parts.length != 3 || parts[0].length() != 1) {
+                // A torn trailing write was never acknowledged, so it is safe to skip.
+                log.warn("Skipping malformed stock ledger journal line: {}", line);
+                continue;
+            }
+            UUID stockId;
+            int quantity;
+            try {
+                stockId = UUID.fromString(parts[1]);
+                quantity = Integer.parseInt(parts[2]);
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping malformed stock ledger journal line: {}", line);
+                continue;
+            }
+            int signed = switch (parts[0].charAt(0)) {
+                case RESERVED -> quantity;
+                case COMPENSATED, FLUSHED -> -quantity;
+                default -> 0;
+            };
+            net.merge(stockId, signed, Integer::sum);
+        }
+        net.values().removeIf(delta -> delta == 0);
+        return net;
+    }
+
+    /**
+     * Truncates the journal when the supplied check confirms nothing is left unflushed.
+     */
+    synchronized boolean compactIf(BooleanSupplier nothingUnflushed) {
+        if (!nothingUnflushed.getAsBoolean()) {
+            return false;
+        }
+        try {
+            channel.truncate(0);
+            channel.force(true);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact stock ledger journal " + path, e);
+        }
+    }
+
+    long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read stock ledger journal size " + path, e);
+        }
+    }
+
+    private synchronized void write(CharSequence lines) {
+        ByteBuffer buffer = StandardCharsets.US_ASCII.encode(lines.toString());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to stock ledger journal " + path, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
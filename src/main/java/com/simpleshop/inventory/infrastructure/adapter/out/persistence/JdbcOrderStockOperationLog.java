@@ -0,0 +1,46 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.persistence;
+
+import com.simpleshop.inventory.application.port.out.OrderStockOperationLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the {@code inventory_order_operations} table created by the V3 migration.
+ */
+@Repository
+public class JdbcOrderStockOperationLog implements OrderStockOperationLog {
+
+    private static final String RECORD_SQL =
+        "INSERT INTO inventory_order_operations (order_id, operation, applied_at) VALUES (?, ?, ?) " +
+        "ON CONFLICT (order_id, operation) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOrderStockOperationLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean recordIfAbsent(UUID orderId, Operation operation) {
+        int inserted = jdbcTemplate.update(RECORD_SQL, orderId, operation.name(), Timestamp.from(Instant.now()));
+        return inserted > 0;
+    }
+
+    @Override
+    public void recordAll(Collection<UUID> orderIds, Operation operation) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batchArgs = orderIds.stream()
+            .map(orderId -> new Object[] {orderId, operation.name(), now})
+            .toList();
+        jdbcTemplate.batchUpdate(RECORD_SQL, batchArgs);
+    }
+}
@@ -13,27 +13,21 @@ import java.util.UUID;
 
 public interface JpaStockRepository extends JpaRepository<Stock, UUID> {
 
-    interface ProductStockTotal {
+    interface StockLevel {
+        UUID getId();
         UUID getProductId();
-        Long getTotal();
+        UUID getWarehouseId();
+        Integer getAvailable();
     }
 
     Optional<Stock> findByProductIdAndWarehouseId(UUID productId, UUID warehouseId);
     List<Stock> findByProductId(UUID productId);
     List<Stock> findByProductIdIn(Collection<UUID> productIds);
     Page<Stock> findByWarehouseId(UUID warehouseId, Pageable pageable);
-    
-    @Query("SELECT COALESCE(SUM(s.quantity.value - s.reservedQuantity.value), 0) FROM Stock s WHERE s.productId = :productId")
-    int sumAvailableByProductId(@Param("productId") UUID productId);
-    
-    @Query("SELECT COALESCE(SUM(s.reservedQuantity.value), 0) FROM Stock s WHERE s.productId = :productId")
-    int sumReservedByProductId(@Param("productId") UUID productId);
 
-    @Query("SELECT s.productId AS productId, COALESCE(SUM(s.quantity.value - s.reservedQuantity.value), 0) AS total " +
-           "FROM Stock s WHERE s.productId IN :productIds GROUP BY s.productId")
-    List<ProductStockTotal> sumAvailableByProductIds(@Param("productIds") Collection<UUID> productIds);
-
-    @Query("SELECT s.productId AS productId, COALESCE(SUM(s.reservedQuantity.value), 0) AS total " +
-           "FROM Stock s WHERE s.productId IN :productIds GROUP BY s.productId")
-    List<ProductStockTotal> sumReservedByProductIds(@Param("productIds") Collection<UUID> productIds);
+    @Query("SELECT s.id AS id, s.productId AS productId, s.warehouseId AS warehouseId, " +
+           "(s.quantity.value - s.reservedQuantity.value) AS available " +
+           "FROM Stock s WHERE s.productId IN :productIds AND s.quantity.value - s.reservedQuantity.value > 0 " +
+           "ORDER BY s.productId, (s.quantity.value - s.reservedQuantity.value) DESC")
+    List<StockLevel> findStockLevelsByProductIdIn(@Param("productIds") Collection<UUID> productIds);
 }
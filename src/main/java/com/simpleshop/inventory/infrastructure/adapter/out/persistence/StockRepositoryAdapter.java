@@ -1,25 +1,79 @@
 package com.simpleshop.inventory.infrastructure.adapter.out.persistence;
 
+import com.simpleshop.inventory.application.port.out.ProductStockTotals;
+import com.simpleshop.inventory.application.port.out.StockLevelProjection;
+import com.simpleshop.inventory.application.port.out.StockQuantityChange;
 import com.simpleshop.inventory.application.port.out.StockRepository;
+import com.simpleshop.inventory.application.port.out.StockReservation;
 import com.simpleshop.inventory.domain.model.Stock;
 import com.simpleshop.inventory.domain.model.vo.StockId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public class StockRepositoryAdapter implements StockRepository {
+
+    private static final String CONDITIONAL_RESERVE_SQL = """
+        UPDATE stocks
+        SET reserved_quantity = reserved_quantity + ?, updated_at = ?, version = version + 1
+        WHERE id = ? AND quantity - reserved_quantity >= ?
+        """;
+
+    private static final String RESERVED_DELTA_SQL = """
+        UPDATE stocks
+        SET reserved_quantity = reserved_quantity + ?, updated_at = ?, version = version + 1
+        WHERE id = ?
+        """;
+    
+    private static final String BULK_CHANGE_SQL = """
+        UPDATE stocks s
+        SET %s, updated_at = ?, version = s.version + 1
+        FROM (VALUES %s) AS v(product_id, warehouse_id, quantity)
+        WHERE s.product_id = v.product_id AND s.warehouse_id = v.warehouse_id
+          AND %s
+        RETURNING s.product_id, s.warehouse_id
+        """;
+
+    private static final String RELEASE_ASSIGNMENTS = "reserved_quantity = s.reserved_quantity - v.quantity";
+    private static final String RELEASE_GUARD = "s.reserved_quantity >= v.quantity";
+    private static final String CONFIRM_ASSIGNMENTS =
+        "quantity = s.quantity - v.quantity, reserved_quantity = s.reserved_quantity - v.quantity";
+    private static final String CONFIRM_GUARD = "s.reserved_quantity >= v.quantity AND s.quantity >= v.quantity";
+
+    private static final String SUM_TOTALS_SQL = """
+        SELECT product_id, COALESCE(SUM(quantity - reserved_quantity), 0), COALESCE(SUM(reserved_quantity), 0)
+        FROM stocks
+        WHERE product_id = ANY(?)
+        GROUP BY product_id
+        """;
+
+    private static final String QUANTITY_CHANGE_ROW = "(CAST(? AS uuid), CAST(? AS uuid), CAST(? AS integer))";
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int MAX_IDS_PER_ARRAY = 10_000;
     
     private final JpaStockRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
     
-    public StockRepositoryAdapter(JpaStockRepository jpaRepository) {
+    public StockRepositoryAdapter(JpaStockRepository jpaRepository, JdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
     
     @Override
@@ -56,37 +110,126 @@ public class StockRepositoryAdapter implements StockRepository {
     }
 
     @Override
-    public int sumAvailableByProductId(UUID productId) {
-        return jpaRepository.sumAvailableByProductId(productId);
+    public Map<UUID, ProductStockTotals> sumTotalsByProductIds(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> distinctIds = productIds.stream().distinct().toList();
+        Map<UUID, ProductStockTotals> totals = HashMap.newHashMap(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_ARRAY) {
+            UUID[] chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_ARRAY, distinctIds.size()))
+                .toArray(UUID[]::new);
+            jdbcTemplate.query(
+                SUM_TOTALS_SQL,
+                (PreparedStatement ps) -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk)),
+                (ResultSet rs) -> {
+                    totals.put(rs.getObject(1, UUID.class),
+                        new ProductStockTotals(Math.toIntExact(rs.getLong(2)), Math.toIntExact(rs.getLong(3))));
+                }
+            );
+        }
+        return totals;
     }
 
     @Override
-    public int sumReservedByProductId(UUID productId) {
-        return jpaRepository.sumReservedByProductId(productId);
+    public List<StockLevelProjection> findStockLevelsByProductIds(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findStockLevelsByProductIdIn(productIds).stream()
+            .map(level -> new StockLevelProjection(
+                level.getId(),
+                level.getProductId(),
+                level.getWarehouseId(),
+                level.getAvailable()
+            ))
+            .toList();
     }
 
     @Override
-    public Map<UUID, Integer> sumAvailableByProductIds(Collection<UUID> productIds) {
-        if (productIds.isEmpty()) {
-            return Map.of();
+    public boolean[] reserveAll(List<StockReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return new boolean[0];
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batchArgs = new ArrayList<>(reservations.size());
+        for (StockReservation reservation : reservations) {
+            batchArgs.add(new Object[] {
+                reservation.quantity(), now, reservation.stockId(), reservation.quantity()
+            });
         }
-        return toTotalsMap(jpaRepository.sumAvailableByProductIds(productIds));
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(CONDITIONAL_RESERVE_SQL, batchArgs);
+        boolean[] reserved = new boolean[updatedRows.length];
+        for (int i = 0; i < updatedRows.length; i++) {
+            reserved[i] = applied(updatedRows[i]);
+        }
+        return reserved;
+    }
+
+    /**
+     * A batched statement counts as applied unless the guard matched no row or the driver
+     * reports {@link Statement#EXECUTE_FAILED}. {@link Statement#SUCCESS_NO_INFO}, which the
+     * driver may return for rewritten batches, is a success without a row count.
+     */
+    static boolean applied(int updateCount) {
+        return updateCount > 0 || updateCount == Statement.SUCCESS_NO_INFO;
     }
 
     @Override
-    public Map<UUID, Integer> sumReservedByProductIds(Collection<UUID> productIds) {
-        if (productIds.isEmpty()) {
-            return Map.of();
+    public List<StockQuantityChange> releaseAll(List<StockQuantityChange> changes) {
+        return applyBulkChange(changes, RELEASE_ASSIGNMENTS, RELEASE_GUARD);
+    }
+
+    @Override
+    public List<StockQuantityChange> confirmAll(List<StockQuantityChange> changes) {
+        return applyBulkChange(changes, CONFIRM_ASSIGNMENTS, CONFIRM_GUARD);
+    }
+
+    /**
+     * Applies relative reserved-quantity changes without an availability guard.
+     * Used by write-behind components that already enforced availability in memory.
+     */
+    public void applyReservedDeltas(Map<UUID, Integer> deltasByStockId) {
+        if (deltasByStockId.isEmpty()) {
+            return;
         }
-        return toTotalsMap(jpaRepository.sumReservedByProductIds(productIds));
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batchArgs = new ArrayList<>(deltasByStockId.size());
+        deltasByStockId.forEach((stockId, delta) -> batchArgs.add(new Object[] {delta, now, stockId}));
+        jdbcTemplate.batchUpdate(RESERVED_DELTA_SQL, batchArgs);
     }
 
-    private Map<UUID, Integer> toTotalsMap(List<JpaStockRepository.ProductStockTotal> totals) {
-        Map<UUID, Integer> result = new LinkedHashMap<>();
-        for (JpaStockRepository.ProductStockTotal row : totals) {
-            long total = row.getTotal() == null ? 0L : row.getTotal();
-            result.put(row.getProductId(), Math.toIntExact(total));
+    private List<StockQuantityChange> applyBulkChange(List<StockQuantityChange> changes, String assignments, String guard) {
+        if (changes.isEmpty()) {
+            return List.of();
         }
-        return result;
+
+        Timestamp now = Timestamp.from(Instant.now());
+        Set<List<UUID>> appliedKeys = new HashSet<>();
+        for (int from = 0; from < changes.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<StockQuantityChange> chunk = changes.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, changes.size()));
+            String rows = String.join(", ", Collections.nCopies(chunk.size(), QUANTITY_CHANGE_ROW));
+            String sql = BULK_CHANGE_SQL.formatted(assignments, rows, guard);
+
+            List<Object> args = new ArrayList<>(1 + chunk.size() * 3);
+            args.add(now);
+            for (StockQuantityChange change : chunk) {
+                args.add(change.productId());
+                args.add(change.warehouseId());
+                args.add(change.quantity());
+            }
+
+            jdbcTemplate.query(sql, rs -> {
+                appliedKeys.add(List.of(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)));
+            }, args.toArray());
+        }
+
+        return changes.stream()
+            .filter(change -> appliedKeys.contains(List.of(change.productId(), change.warehouseId())))
+            .toList();
     }
 }
@@ -0,0 +1,8 @@
+package com.simpleshop.notification.application.port.in;
+
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult;
+
+public interface DispatchNotificationsUseCase {
+    NotificationDispatchResult dispatchDue(int batchSize);
+    long countDue(int cap);
+}
@@ -0,0 +1,17 @@
+package com.simpleshop.notification.application.port.in;
+
+import com.simpleshop.notification.application.readmodel.InvoiceExportResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface ExportInvoicesUseCase {
+    
+    /**
+     * Writes the invoices of all paid orders placed in {@code [from, before)} to
+     * {@code output} as a ZIP archive, one PDF per order in placement order. Invoices that
+     * cannot be rendered are listed in a {@code FAILED.txt} entry instead.
+     */
+    InvoiceExportResult exportInvoices(Instant from, Instant before, OutputStream output) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.simpleshop.notification.application.port.in;
+
+import com.simpleshop.notification.application.readmodel.InvoiceDownload;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GetInvoiceUseCase {
+    
+    /**
+     * Returns the invoice of one of the user's orders, rendering it first if it has not
+     * been stored yet. Empty when the order does not exist or belongs to someone else.
+     */
+    Optional<InvoiceDownload> getInvoice(UUID orderId, UUID userId);
+}
@@ -1,10 +1,21 @@
 package com.simpleshop.notification.application.port.out;
 
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
 import com.simpleshop.notification.domain.model.vo.NotificationType;
-import com.simpleshop.shared.domain.model.vo.Email;
+import java.util.List;
 import java.util.Map;
 
 public interface EmailSender {
     
-    void sendEmail(Email recipient, String subject, NotificationType type, Map<String, Object> templateData);
+    /**
+     * Renders the HTML body for a notification without sending it.
+     */
+    String render(NotificationType type, Map<String, Object> templateData);
+    
+    /**
+     * Sends already rendered messages over one connection and returns the error message of
+     * each message that could not be sent; messages missing from the result were sent.
+     */
+    Map<NotificationId, String> sendRendered(List<OutboxMessage> messages);
 }
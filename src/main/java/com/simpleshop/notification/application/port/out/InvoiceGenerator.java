@@ -2,7 +2,20 @@ package com.simpleshop.notification.application.port.out;
 
 import com.simpleshop.order.application.query.OrderView;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
 public interface InvoiceGenerator {
     
-    byte[] generateInvoice(OrderView order);
+    /**
+     * Writes the invoice PDF to {@code output} as it is laid out, without buffering the
+     * whole document. The stream is closed when the document is finished.
+     */
+    void writeInvoice(OrderView order, OutputStream output);
+    
+    default byte[] generateInvoice(OrderView order) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeInvoice(order, output);
+        return output.toByteArray();
+    }
 }
@@ -0,0 +1,23 @@
+package com.simpleshop.notification.application.port.out;
+
+import com.simpleshop.notification.application.readmodel.StoredInvoice;
+
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Durable store of rendered invoices. An order's invoice only changes with its status, so
+ * the order ID and status identify the document.
+ */
+public interface InvoiceStore {
+    
+    Optional<StoredInvoice> find(UUID orderId, String orderStatus);
+    
+    /**
+     * Streams a new invoice into the store. The document becomes visible to {@link #find}
+     * only once {@code writer} has completed.
+     */
+    StoredInvoice store(UUID orderId, String orderStatus, Consumer<OutputStream> writer);
+}
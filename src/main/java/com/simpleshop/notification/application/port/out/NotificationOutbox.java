@@ -0,0 +1,47 @@
+package com.simpleshop.notification.application.port.out;
+
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
+import com.simpleshop.notification.domain.model.vo.NotificationStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public interface NotificationOutbox {
+    
+    /**
+     * Claims up to {@code limit} pending messages that are due, counting an attempt for each
+     * and hiding them from other dispatchers for {@code lease}. A dispatcher that dies while
+     * sending leaves its claim to expire, after which the messages are claimed again, until
+     * {@code maxAttempts} claims have lapsed; such messages are marked failed instead.
+     */
+    List<OutboxMessage> claimDue(Instant now, int limit, Duration lease, int maxAttempts);
+    
+    /**
+     * Stores the outcome of every delivery in one statement.
+     */
+    void recordDeliveries(List<DeliveryRecord> deliveries);
+    
+    long countDue(Instant now, int cap);
+    
+    record DeliveryRecord(
+        NotificationId id,
+        NotificationStatus status,
+        Instant sentAt,
+        String errorMessage,
+        Instant nextAttemptAt
+    ) {
+        public static DeliveryRecord sent(NotificationId id, Instant sentAt) {
+            return new DeliveryRecord(id, NotificationStatus.SENT, sentAt, null, null);
+        }
+        
+        public static DeliveryRecord retryAt(NotificationId id, String errorMessage, Instant nextAttemptAt) {
+            return new DeliveryRecord(id, NotificationStatus.PENDING, null, errorMessage, nextAttemptAt);
+        }
+        
+        public static DeliveryRecord failed(NotificationId id, String errorMessage) {
+            return new DeliveryRecord(id, NotificationStatus.FAILED, null, errorMessage, null);
+        }
+    }
+}
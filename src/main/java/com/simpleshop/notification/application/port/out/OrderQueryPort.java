@@ -1,10 +1,15 @@
 package com.simpleshop.notification.application.port.out;
 
+import com.simpleshop.order.application.query.OrderCursor;
 import com.simpleshop.order.application.query.OrderView;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderQueryPort {
     
     Optional<OrderView> getOrderById(UUID orderId);
+    
+    List<OrderView> getPaidOrdersPlacedBetween(Instant from, Instant before, OrderCursor after, int limit);
 }
@@ -0,0 +1,4 @@
+package com.simpleshop.notification.application.readmodel;
+
+public record InvoiceDownload(String fileName, StoredInvoice invoice) {
+}
@@ -0,0 +1,6 @@
+package com.simpleshop.notification.application.readmodel;
+
+import java.time.Duration;
+
+public record InvoiceExportResult(int exported, int failed, long bytes, Duration elapsed) {
+}
@@ -0,0 +1,23 @@
+package com.simpleshop.notification.application.readmodel;
+
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+
+import java.util.List;
+
+public record NotificationDispatchResult(
+    int claimed,
+    List<Outcome> outcomes
+) {
+    public enum Delivery {
+        SENT,
+        RETRY_SCHEDULED,
+        FAILED
+    }
+    
+    public record Outcome(NotificationType type, Delivery delivery) {
+    }
+    
+    public static NotificationDispatchResult empty() {
+        return new NotificationDispatchResult(0, List.of());
+    }
+}
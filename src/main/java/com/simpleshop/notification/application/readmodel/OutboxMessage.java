@@ -0,0 +1,18 @@
+package com.simpleshop.notification.application.readmodel;
+
+import com.simpleshop.notification.domain.model.vo.NotificationId;
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+import com.simpleshop.shared.domain.model.vo.Email;
+
+/**
+ * A rendered message claimed from the outbox; {@code attempts} includes the current one.
+ */
+public record OutboxMessage(
+    NotificationId id,
+    NotificationType type,
+    Email recipient,
+    String subject,
+    String body,
+    int attempts
+) {
+}
@@ -0,0 +1,6 @@
+package com.simpleshop.notification.application.readmodel;
+
+import java.nio.file.Path;
+
+public record StoredInvoice(String key, Path path, long sizeBytes) {
+}
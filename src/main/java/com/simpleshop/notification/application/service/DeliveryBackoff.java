@@ -0,0 +1,47 @@
+package com.simpleshop.notification.application.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff between delivery attempts: the delay doubles after every failed
+ * attempt up to {@code maxDelay}, with up to 20% random jitter so messages that failed
+ * together during an SMTP outage do not all come back in the same batch.
+ */
+final class DeliveryBackoff {
+
+    private static final double JITTER = 0.2;
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+
+    DeliveryBackoff(int maxAttempts, Duration initialDelay, Duration maxDelay) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialDelayMillis = Math.max(1, initialDelay.toMillis());
+        this.maxDelayMillis = Math.max(this.initialDelayMillis, maxDelay.toMillis());
+    }
+
+    /**
+     * When to try again after {@code attempts} failed attempts, or empty once the
+     * attempts are used up.
+     */
+    Optional<Instant> nextAttempt(int attempts, Instant now) {
+        if (attempts >= maxAttempts) {
+            return Optional.empty();
+        }
+        long delay = delayMillis(attempts);
+        long jitter = (long) (delay * JITTER * ThreadLocalRandom.current().nextDouble());
+        return Optional.of(now.plusMillis(delay - jitter));
+    }
+
+    long delayMillis(int attempts) {
+        int doublings = Math.min(Math.max(0, attempts - 1), 62);
+        if (initialDelayMillis > maxDelayMillis >> doublings) {
+            return maxDelayMillis;
+        }
+        return Math.min(maxDelayMillis, initialDelayMillis << doublings);
+    }
+}
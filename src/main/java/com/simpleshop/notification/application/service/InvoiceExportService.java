@@ -0,0 +1,211 @@
+package com.simpleshop.notification.application.service;
+
+import com.simpleshop.notification.application.port.in.ExportInvoicesUseCase;
+import com.simpleshop.notification.application.port.out.OrderQueryPort;
+import com.simpleshop.notification.application.readmodel.InvoiceExportResult;
+import com.simpleshop.notification.application.readmodel.StoredInvoice;
+import com.simpleshop.order.application.query.OrderCursor;
+import com.simpleshop.order.application.query.OrderView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a period's invoices into a ZIP archive. Orders are read a page at a time by
+ * keyset, invoices render on the invoice pool through {@link InvoiceService} (so already
+ * stored ones are reused and new ones are kept for later), and at most
+ * {@code notification.invoice.export-window} renders are in flight at once. Each finished
+ * PDF is copied from the store into the archive in order, so memory use depends on the
+ * page size and window, not on how many invoices the period holds.
+ */
+@Service
+public class InvoiceExportService implements ExportInvoicesUseCase {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceExportService.class);
+    private static final int PROGRESS_LOG_INTERVAL = 1_000;
+    private static final int MAX_REPORTED_FAILURES = 1_000;
+    
+    private final OrderQueryPort orderQueryPort;
+    private final InvoiceService invoiceService;
+    private final int pageSize;
+    private final int window;
+    private final AtomicInteger activeExports = new AtomicInteger();
+    private final Counter exportedInvoices;
+    private final Counter failedInvoices;
+    private final Counter exportedBytes;
+    private final Timer exportTimer;
+    
+    public InvoiceExportService(
+            OrderQueryPort orderQueryPort,
+            InvoiceService invoiceService,
+            MeterRegistry meterRegistry,
+            @Value("${notification.invoice.export-page-size:100}") int pageSize,
+            @Value("${notification.invoice.export-window:16}") int window) {
+        this.orderQueryPort = orderQueryPort;
+        this.invoiceService = invoiceService;
+        this.pageSize = Math.clamp(pageSize, 1, 500);
+        this.window = Math.max(1, window);
+        this.exportedInvoices = Counter.builder("simpleshop.notifications.invoice.export.invoices")
+            .description("Invoices written to export archives")
+            .register(meterRegistry);
+        this.failedInvoices = Counter.builder("simpleshop.notifications.invoice.export.failures")
+            .description("Invoices left out of export archives because they could not be rendered")
+            .register(meterRegistry);
+        this.exportedBytes = Counter.builder("simpleshop.notifications.invoice.export.bytes")
+            .description("PDF bytes written to export archives")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        this.exportTimer = Timer.builder("simpleshop.notifications.invoice.export")
+            .description("Duration of whole invoice exports")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.notifications.invoice.export.active", activeExports, AtomicInteger::get)
+            .description("Invoice exports currently streaming")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    @WithSpan("notification.exportInvoices")
+    public InvoiceExportResult exportInvoices(Instant from, Instant before, OutputStream output) throws IOException {
+        activeExports.incrementAndGet();
+        Timer.Sample sample = Timer.start();
+        Export export = new Export(new ZipOutputStream(output));
+        export.zip.setLevel(Deflater.BEST_SPEED);
+        logger.info("Invoice export started for orders placed in [{}, {})", from, before);
+        try {
+            OrderCursor cursor = OrderCursor.start();
+            List<OrderView> page;
+            do {
+                page = orderQueryPort.getPaidOrdersPlacedBetween(from, before, cursor, pageSize);
+                for (OrderView order : page) {
+                    if (export.inFlight.size() >= window) {
+                        writeNext(export);
+                    }
+                    export.inFlight.add(new PendingInvoice(order, submit(order, export)));
+                }
+                if (!page.isEmpty()) {
+                    cursor = OrderCursor.of(page.getLast());
+                }
+            } while (page.size() == pageSize);
+            
+            while (!export.inFlight.isEmpty()) {
+                writeNext(export);
+            }
+            if (!export.failures.isEmpty()) {
+                writeFailureReport(export);
+            }
+            export.zip.finish();
+            export.zip.flush();
+        } finally {
+            sample.stop(exportTimer);
+            activeExports.decrementAndGet();
+        }
+        
+        InvoiceExportResult result = new InvoiceExportResult(
+            export.exported, export.failed, export.bytes, Duration.ofNanos(System.nanoTime() - export.startNanos));
+        logger.info("Invoice export finished: {} invoices, {} failed, {} bytes in {}",
+            result.exported(), result.failed(), result.bytes(), result.elapsed());
+        return result;
+    }
+    
+    /**
+     * When the invoice pool is saturated, drains the oldest pending invoice into the archive
+     * before trying again instead of failing the export.
+     */
+    private CompletableFuture<StoredInvoice> submit(OrderView order, Export export) throws IOException {
+        while (true) {
+            try {
+                return invoiceService.getOrRenderAsync(order);
+            } catch (InvoiceUnavailableException e) {
+                if (export.inFlight.isEmpty()) {
+                    return CompletableFuture.failedFuture(e);
+                }
+                writeNext(export);
+            }
+        }
+    }
+    
+    private void writeNext(Export export) throws IOException {
+        PendingInvoice next = export.inFlight.poll();
+        OrderView order = next.order();
+        StoredInvoice invoice;
+        try {
+            invoice = invoiceService.await(next.render(), order);
+        } catch (RuntimeException e) {
+            export.failed++;
+            failedInvoices.increment();
+            if (export.failures.size() < MAX_REPORTED_FAILURES) {
+                export.failures.add(order.orderNumber() + ": " + e.getMessage());
+            }
+            logger.warn("Invoice for order {} left out of export", order.orderNumber(), e);
+            return;
+        }
+        
+        ZipEntry entry = new ZipEntry(order.orderNumber() + ".pdf");
+        entry.setTime(order.createdAt().toEpochMilli());
+        export.zip.putNextEntry(entry);
+        Files.copy(invoice.path(), export.zip);
+        export.zip.closeEntry();
+        
+        export.exported++;
+        export.bytes += invoice.sizeBytes();
+        exportedInvoices.increment();
+        exportedBytes.increment(invoice.sizeBytes());
+        if (export.exported % PROGRESS_LOG_INTERVAL == 0) {
+            double seconds = Math.max(1e-3, (System.nanoTime() - export.startNanos) / 1e9);
+            logger.info("Invoice export progress: {} invoices, {} bytes, {} invoices/s",
+                export.exported, export.bytes, Math.round(export.exported / seconds));
+        }
+    }
+    
+    private static void writeFailureReport(Export export) throws IOException {
+        export.zip.putNextEntry(new ZipEntry("FAILED.txt"));
+        StringBuilder report = new StringBuilder();
+        for (String failure : export.failures) {
+            report.append(failure).append('\n');
+        }
+        if (export.failed > export.failures.size()) {
+            report.append("... and ").append(export.failed - export.failures.size()).append(" more\n");
+        }
+        export.zip.write(report.toString().getBytes(StandardCharsets.UTF_8));
+        export.zip.closeEntry();
+    }
+    
+    private record PendingInvoice(OrderView order, CompletableFuture<StoredInvoice> render) {
+    }
+    
+    private static final class Export {
+        private final ZipOutputStream zip;
+        private final Deque<PendingInvoice> inFlight = new ArrayDeque<>();
+        private final List<String> failures = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private int exported;
+        private int failed;
+        private long bytes;
+        
+        private Export(ZipOutputStream zip) {
+            this.zip = zip;
+        }
+    }
+}
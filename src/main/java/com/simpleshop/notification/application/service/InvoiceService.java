@@ -0,0 +1,145 @@
+package com.simpleshop.notification.application.service;
+
+import com.simpleshop.notification.application.port.in.GetInvoiceUseCase;
+import com.simpleshop.notification.application.port.out.InvoiceGenerator;
+import com.simpleshop.notification.application.port.out.InvoiceStore;
+import com.simpleshop.notification.application.port.out.OrderQueryPort;
+import com.simpleshop.notification.application.readmodel.InvoiceDownload;
+import com.simpleshop.notification.application.readmodel.StoredInvoice;
+import com.simpleshop.order.application.query.OrderView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.instrumentation.annotations.SpanAttribute;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hands out invoice PDFs, rendering each one at most once per order status. Rendering runs
+ * on the bounded invoice pool, so a burst of confirmations or downloads queues up there
+ * instead of occupying every notification and servlet thread with PDF layout. Concurrent
+ * requests for an invoice that is still being rendered wait for the same render.
+ */
+@Service
+public class InvoiceService implements GetInvoiceUseCase {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceService.class);
+    
+    private final InvoiceGenerator invoiceGenerator;
+    private final InvoiceStore invoiceStore;
+    private final OrderQueryPort orderQueryPort;
+    private final Executor renderExecutor;
+    private final long timeoutMs;
+    private final ConcurrentMap<String, CompletableFuture<StoredInvoice>> rendering = new ConcurrentHashMap<>();
+    private final Timer renderTimer;
+    private final Counter storeHits;
+    private final Counter storeMisses;
+    
+    public InvoiceService(
+            InvoiceGenerator invoiceGenerator,
+            InvoiceStore invoiceStore,
+            OrderQueryPort orderQueryPort,
+            @Qualifier("invoiceExecutor") Executor renderExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${notification.invoice.timeout-ms:10000}") long timeoutMs) {
+        this.invoiceGenerator = invoiceGenerator;
+        this.invoiceStore = invoiceStore;
+        this.orderQueryPort = orderQueryPort;
+        this.renderExecutor = renderExecutor;
+        this.timeoutMs = Math.max(1, timeoutMs);
+        this.renderTimer = Timer.builder("simpleshop.notifications.invoice.render")
+            .description("Time to render an invoice PDF into the invoice store")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.storeHits = storeLookups(meterRegistry, "hit");
+        this.storeMisses = storeLookups(meterRegistry, "miss");
+    }
+    
+    /**
+     * Empty unless the order belongs to the user and has been paid; an unpaid order has no
+     * invoice yet.
+     */
+    @Override
+    @WithSpan("notification.getInvoice")
+    public Optional<InvoiceDownload> getInvoice(@SpanAttribute("orderId") UUID orderId, UUID userId) {
+        return orderQueryPort.getOrderById(orderId)
+            .filter(order -> order.userId().equals(userId))
+            .filter(order -> order.paidAt() != null)
+            .map(order -> new InvoiceDownload("invoice-" + order.orderNumber() + ".pdf", getOrRender(order)));
+    }
+    
+    public StoredInvoice getOrRender(OrderView order) {
+        return await(getOrRenderAsync(order), order);
+    }
+    
+    /**
+     * Completes immediately when the invoice is already stored; otherwise joins or starts a
+     * render on the invoice pool.
+     *
+     * @throws InvoiceUnavailableException if the pool's queue is full
+     */
+    public CompletableFuture<StoredInvoice> getOrRenderAsync(OrderView order) {
+        Optional<StoredInvoice> stored = invoiceStore.find(order.id(), order.status());
+        if (stored.isPresent()) {
+            storeHits.increment();
+            return CompletableFuture.completedFuture(stored.get());
+        }
+        storeMisses.increment();
+        
+        String key = order.id() + ":" + order.status();
+        CompletableFuture<StoredInvoice> render = rendering.computeIfAbsent(key, k -> submit(order));
+        render.whenComplete((invoice, failure) -> rendering.remove(key, render));
+        return render;
+    }
+    
+    public StoredInvoice await(CompletableFuture<StoredInvoice> render, OrderView order) {
+        try {
+            return render.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new InvoiceUnavailableException("Invoice for order " + order.orderNumber() + " was not rendered in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvoiceUnavailableException("Interrupted while rendering invoice for order " + order.orderNumber(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to render invoice for order " + order.orderNumber(), e.getCause());
+        }
+    }
+    
+    private CompletableFuture<StoredInvoice> submit(OrderView order) {
+        try {
+            return CompletableFuture.supplyAsync(() -> renderTimer.record(() -> {
+                StoredInvoice invoice = invoiceStore.store(order.id(), order.status(),
+                    output -> invoiceGenerator.writeInvoice(order, output));
+                logger.debug("Invoice for order {} stored as {} ({} bytes)", order.orderNumber(), invoice.key(), invoice.sizeBytes());
+                return invoice;
+            }), renderExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new InvoiceUnavailableException("Invoice rendering queue is full", e);
+        }
+    }
+    
+    private static Counter storeLookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("simpleshop.notifications.invoice.store")
+            .description("Invoice lookups answered from the invoice store or by rendering")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
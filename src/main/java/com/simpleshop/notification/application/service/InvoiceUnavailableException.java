@@ -0,0 +1,12 @@
+package com.simpleshop.notification.application.service;
+
+/**
+ * Thrown when an invoice is not stored yet and cannot be rendered in time because the
+ * rendering pool is saturated.
+ */
+public class InvoiceUnavailableException extends RuntimeException {
+
+    public InvoiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
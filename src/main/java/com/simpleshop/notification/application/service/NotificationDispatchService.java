@@ -0,0 +1,110 @@
+package com.simpleshop.notification.application.service;
+
+import com.simpleshop.notification.application.port.in.DispatchNotificationsUseCase;
+import com.simpleshop.notification.application.port.out.EmailSender;
+import com.simpleshop.notification.application.port.out.NotificationOutbox;
+import com.simpleshop.notification.application.port.out.NotificationOutbox.DeliveryRecord;
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult;
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult.Delivery;
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult.Outcome;
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.event.NotificationFailed;
+import com.simpleshop.notification.domain.event.NotificationSent;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Delivers outbox messages in batches. Claiming and recording are one statement each and
+ * commit on their own, so no connection is held while the batch is on the wire.
+ */
+@Service
+public class NotificationDispatchService implements DispatchNotificationsUseCase {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatchService.class);
+    
+    private final NotificationOutbox outbox;
+    private final EmailSender emailSender;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeliveryBackoff backoff;
+    private final int maxAttempts;
+    private final Duration lease;
+    
+    public NotificationDispatchService(
+            NotificationOutbox outbox,
+            EmailSender emailSender,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${notification.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${notification.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+            @Value("${notification.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+            @Value("${notification.outbox.lease-ms:300000}") long leaseMs) {
+        this.outbox = outbox;
+        this.emailSender = emailSender;
+        this.eventPublisher = eventPublisher;
+        this.backoff = new DeliveryBackoff(maxAttempts, Duration.ofMillis(initialBackoffMs), Duration.ofMillis(maxBackoffMs));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = Duration.ofMillis(Math.max(1, leaseMs));
+    }
+    
+    @Override
+    @WithSpan("notification.dispatchDue")
+    public NotificationDispatchResult dispatchDue(int batchSize) {
+        List<OutboxMessage> claimed = outbox.claimDue(Instant.now(), batchSize, lease, maxAttempts);
+        if (claimed.isEmpty()) {
+            return NotificationDispatchResult.empty();
+        }
+        
+        Map<NotificationId, String> failures = emailSender.sendRendered(claimed);
+        Instant finishedAt = Instant.now();
+        
+        List<DeliveryRecord> records = new ArrayList<>(claimed.size());
+        List<Outcome> outcomes = new ArrayList<>(claimed.size());
+        for (OutboxMessage message : claimed) {
+            String error = failures.get(message.id());
+            if (error == null) {
+                records.add(DeliveryRecord.sent(message.id(), finishedAt));
+                outcomes.add(new Outcome(message.type(), Delivery.SENT));
+                continue;
+            }
+            Optional<Instant> retryAt = backoff.nextAttempt(message.attempts(), finishedAt);
+            if (retryAt.isPresent()) {
+                records.add(DeliveryRecord.retryAt(message.id(), error, retryAt.get()));
+                outcomes.add(new Outcome(message.type(), Delivery.RETRY_SCHEDULED));
+            } else {
+                records.add(DeliveryRecord.failed(message.id(), error));
+                outcomes.add(new Outcome(message.type(), Delivery.FAILED));
+                logger.error("Giving up on {} notification {} after {} attempts: {}",
+                    message.type(), message.id().getValue(), message.attempts(), error);
+            }
+        }
+        outbox.recordDeliveries(records);
+        
+        for (int i = 0; i < claimed.size(); i++) {
+            OutboxMessage message = claimed.get(i);
+            Delivery delivery = outcomes.get(i).delivery();
+            if (delivery == Delivery.SENT) {
+                eventPublisher.publishEvent(NotificationSent.create(message.id(), message.type(), message.recipient(), message.subject()));
+            } else if (delivery == Delivery.FAILED) {
+                eventPublisher.publishEvent(NotificationFailed.create(message.id(), message.type(), message.recipient(),
+                    message.subject(), failures.get(message.id())));
+            }
+        }
+        return new NotificationDispatchResult(claimed.size(), outcomes);
+    }
+    
+    @Override
+    public long countDue(int cap) {
+        return outbox.countDue(Instant.now(), cap);
+    }
+}
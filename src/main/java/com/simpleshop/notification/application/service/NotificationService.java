@@ -1,15 +1,12 @@
 package com.simpleshop.notification.application.service;
 
 import com.simpleshop.notification.application.port.out.EmailSender;
-import com.simpleshop.notification.application.port.out.InvoiceGenerator;
 import com.simpleshop.notification.application.port.out.NotificationLogRepository;
 import com.simpleshop.notification.application.port.out.OrderQueryPort;
 import com.simpleshop.notification.application.port.out.ShipmentQueryPort;
 import com.simpleshop.notification.application.port.out.UserQueryPort;
 import com.simpleshop.notification.domain.event.NotificationFailed;
-import com.simpleshop.notification.domain.event.NotificationSent;
 import com.simpleshop.notification.domain.model.NotificationLog;
-import com.simpleshop.notification.domain.model.vo.NotificationId;
 import com.simpleshop.notification.domain.model.vo.NotificationType;
 import com.simpleshop.order.application.query.OrderView;
 import com.simpleshop.shared.domain.model.vo.Email;
@@ -20,8 +17,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +27,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Builds notifications from domain data and queues them in the outbox. Nothing is sent
+ * here, so event listeners finish without waiting on the mail server.
+ */
 @Service
 public class NotificationService {
     
@@ -39,7 +41,7 @@ public class NotificationService {
     private final OrderQueryPort orderQueryPort;
     private final ShipmentQueryPort shipmentQueryPort;
     private final UserQueryPort userQueryPort;
-    private final InvoiceGenerator invoiceGenerator;
+    private final InvoiceService invoiceService;
     private final ApplicationEventPublisher eventPublisher;
     
     public NotificationService(
@@ -48,18 +50,18 @@ public class NotificationService {
             OrderQueryPort orderQueryPort,
             ShipmentQueryPort shipmentQueryPort,
             UserQueryPort userQueryPort,
-            InvoiceGenerator invoiceGenerator,
+            InvoiceService invoiceService,
             ApplicationEventPublisher eventPublisher) {
         this.notificationLogRepository = notificationLogRepository;
         this.emailSender = emailSender;
         this.orderQueryPort = orderQueryPort;
         this.shipmentQueryPort = shipmentQueryPort;
         this.userQueryPort = userQueryPort;
-        this.invoiceGenerator = invoiceGenerator;
+        this.invoiceService = invoiceService;
         this.eventPublisher = eventPublisher;
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     @WithSpan("notification.sendOrderConfirmation")
     public void sendOrderConfirmation(@SpanAttribute("orderId") UUID orderId, Email recipientEmail, UUID userId) {
         Optional<OrderView> orderOpt = orderQueryPort.getOrderById(orderId);
@@ -71,14 +73,6 @@ public class NotificationService {
         OrderView order = orderOpt.get();
         String subject = "Order Confirmation - " + order.orderNumber();
         
-        NotificationLog log = NotificationLog.createPending(
-            NotificationType.ORDER_CONFIRMATION,
-            recipientEmail,
-            subject
-        );
-        
-        notificationLogRepository.save(log);
-        
         // Get user's first name if available
         String firstName = userQueryPort.getUserById(userId)
             .map(user -> user.firstName())
@@ -89,21 +83,10 @@ public class NotificationService {
         templateData.put("recipientEmail", recipientEmail.getValue());
         templateData.put("firstName", firstName);
         
-        try {
-            emailSender.sendEmail(recipientEmail, subject, NotificationType.ORDER_CONFIRMATION, templateData);
-            log.markAsSent();
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationSent.create(log.getId(), NotificationType.ORDER_CONFIRMATION, recipientEmail, subject));
-            logger.info("Order confirmation sent for order: {}", orderId);
-        } catch (Exception e) {
-            log.markAsFailed(e.getMessage());
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationFailed.create(log.getId(), NotificationType.ORDER_CONFIRMATION, recipientEmail, subject, e.getMessage()));
-            logger.error("Failed to send order confirmation for order: {}", orderId, e);
-        }
+        enqueue(NotificationType.ORDER_CONFIRMATION, recipientEmail, subject, templateData);
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     @WithSpan("notification.sendShipmentNotification")
     public void sendShipmentNotification(@SpanAttribute("shipmentId") UUID shipmentId, Email recipientEmail) {
         Optional<ShipmentView> shipmentOpt = shipmentQueryPort.getShipmentById(shipmentId);
@@ -115,33 +98,14 @@ public class NotificationService {
         ShipmentView shipment = shipmentOpt.get();
         String subject = "Shipment Update - Tracking: " + shipment.trackingNumber();
         
-        NotificationLog log = NotificationLog.createPending(
-            NotificationType.SHIPMENT_UPDATE,
-            recipientEmail,
-            subject
-        );
-        
-        notificationLogRepository.save(log);
-        
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("shipment", shipment);
         templateData.put("recipientEmail", recipientEmail.getValue());
         
-        try {
-            emailSender.sendEmail(recipientEmail, subject, NotificationType.SHIPMENT_UPDATE, templateData);
-            log.markAsSent();
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationSent.create(log.getId(), NotificationType.SHIPMENT_UPDATE, recipientEmail, subject));
-            logger.info("Shipment notification sent for shipment: {}", shipmentId);
-        } catch (Exception e) {
-            log.markAsFailed(e.getMessage());
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationFailed.create(log.getId(), NotificationType.SHIPMENT_UPDATE, recipientEmail, subject, e.getMessage()));
-            logger.error("Failed to send shipment notification for shipment: {}", shipmentId, e);
-        }
+        enqueue(NotificationType.SHIPMENT_UPDATE, recipientEmail, subject, templateData);
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     @WithSpan("notification.sendShipmentCreatedNotification")
     public void sendShipmentCreatedNotification(@SpanAttribute("shipmentId") UUID shipmentId, Email recipientEmail, String firstName) {
         Optional<ShipmentView> shipmentOpt = shipmentQueryPort.getShipmentById(shipmentId);
@@ -154,14 +118,6 @@ public class NotificationService {
         String statusName = shipment.status().getDisplayName();
         String subject = statusName + " - Tracking: " + shipment.trackingNumber();
         
-        NotificationLog log = NotificationLog.createPending(
-            NotificationType.SHIPMENT_CREATED,
-            recipientEmail,
-            subject
-        );
-        
-        notificationLogRepository.save(log);
-        
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("shipment", shipment);
         templateData.put("recipientEmail", recipientEmail.getValue());
@@ -170,21 +126,10 @@ public class NotificationService {
         templateData.put("currentStatus", shipment.status().getDisplayName());
         templateData.put("isCreated", true);
         
-        try {
-            emailSender.sendEmail(recipientEmail, subject, NotificationType.SHIPMENT_CREATED, templateData);
-            log.markAsSent();
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationSent.create(log.getId(), NotificationType.SHIPMENT_CREATED, recipientEmail, subject));
-            logger.info("Shipment created notification sent for shipment: {}", shipmentId);
-        } catch (Exception e) {
-            log.markAsFailed(e.getMessage());
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationFailed.create(log.getId(), NotificationType.SHIPMENT_CREATED, recipientEmail, subject, e.getMessage()));
-            logger.error("Failed to send shipment created notification for shipment: {}", shipmentId, e);
-        }
+        enqueue(NotificationType.SHIPMENT_CREATED, recipientEmail, subject, templateData);
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     @WithSpan("notification.sendShipmentStatusUpdateNotification")
     public void sendShipmentStatusUpdateNotification(@SpanAttribute("shipmentId") UUID shipmentId, Email recipientEmail, String firstName,
                                                       com.simpleshop.shipping.domain.model.vo.ShipmentStatus newStatus,
@@ -199,14 +144,6 @@ public class NotificationService {
         ShipmentView shipment = shipmentOpt.get();
         String subject = "Shipment Update - Tracking: " + shipment.trackingNumber();
         
-        NotificationLog log = NotificationLog.createPending(
-            NotificationType.SHIPMENT_UPDATE,
-            recipientEmail,
-            subject
-        );
-        
-        notificationLogRepository.save(log);
-        
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("shipment", shipment);
         templateData.put("recipientEmail", recipientEmail.getValue());
@@ -218,21 +155,10 @@ public class NotificationService {
         templateData.put("notes", notes);
         templateData.put("isUpdate", true);
         
-        try {
-            emailSender.sendEmail(recipientEmail, subject, NotificationType.SHIPMENT_UPDATE, templateData);
-            log.markAsSent();
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationSent.create(log.getId(), NotificationType.SHIPMENT_UPDATE, recipientEmail, subject));
-            logger.info("Shipment status update notification sent for shipment: {} - status: {}", shipmentId, newStatus);
-        } catch (Exception e) {
-            log.markAsFailed(e.getMessage());
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationFailed.create(log.getId(), NotificationType.SHIPMENT_UPDATE, recipientEmail, subject, e.getMessage()));
-            logger.error("Failed to send shipment status update notification for shipment: {}", shipmentId, e);
-        }
+        enqueue(NotificationType.SHIPMENT_UPDATE, recipientEmail, subject, templateData);
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     @WithSpan("notification.sendInvoice")
     public void sendInvoice(@SpanAttribute("orderId") UUID orderId, Email recipientEmail) {
         Optional<OrderView> orderOpt = orderQueryPort.getOrderById(orderId);
@@ -244,62 +170,79 @@ public class NotificationService {
         OrderView order = orderOpt.get();
         String subject = "Invoice for Order " + order.orderNumber();
         
-        NotificationLog log = NotificationLog.createPending(
-            NotificationType.INVOICE,
-            recipientEmail,
-            subject
-        );
-        
-        notificationLogRepository.save(log);
-        
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("order", order);
         templateData.put("recipientEmail", recipientEmail.getValue());
         
-        try {
-            byte[] invoicePdf = invoiceGenerator.generateInvoice(order);
-            templateData.put("hasInvoice", true);
-            emailSender.sendEmail(recipientEmail, subject, NotificationType.INVOICE, templateData);
-            log.markAsSent();
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationSent.create(log.getId(), NotificationType.INVOICE, recipientEmail, subject));
-            logger.info("Invoice sent for order: {}", orderId);
-        } catch (Exception e) {
-            log.markAsFailed(e.getMessage());
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationFailed.create(log.getId(), NotificationType.INVOICE, recipientEmail, subject, e.getMessage()));
-            logger.error("Failed to send invoice for order: {}", orderId, e);
-        }
+        templateData.put("hasInvoice", true);
+        templateData.put("invoiceUrl", "/orders/" + order.id() + "/invoice");
+        
+        enqueue(NotificationType.INVOICE, recipientEmail, subject, templateData);
+        renderInvoiceAfterCommit(order);
     }
     
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     @WithSpan("notification.sendWelcomeEmail")
     public void sendWelcomeEmail(Email recipientEmail, String firstName) {
         String subject = "Welcome to Simple Shop!";
         
-        NotificationLog log = NotificationLog.createPending(
-            NotificationType.USER_WELCOME,
-            recipientEmail,
-            subject
-        );
-        
-        notificationLogRepository.save(log);
-        
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("firstName", firstName);
         templateData.put("recipientEmail", recipientEmail.getValue());
         
+        enqueue(NotificationType.USER_WELCOME, recipientEmail, subject, templateData);
+    }
+    
+    /**
+     * Renders the message and stores it in the outbox; {@code NotificationDispatchService}
+     * delivers it. A message that cannot be rendered is recorded as failed straight away.
+     */
+    private void enqueue(NotificationType type, Email recipientEmail, String subject, Map<String, Object> templateData) {
+        String body;
         try {
-            emailSender.sendEmail(recipientEmail, subject, NotificationType.USER_WELCOME, templateData);
-            log.markAsSent();
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationSent.create(log.getId(), NotificationType.USER_WELCOME, recipientEmail, subject));
-            logger.info("Welcome email sent to: {}", recipientEmail.getValue());
+            body = emailSender.render(type, templateData);
         } catch (Exception e) {
-            log.markAsFailed(e.getMessage());
-            notificationLogRepository.save(log);
-            eventPublisher.publishEvent(NotificationFailed.create(log.getId(), NotificationType.USER_WELCOME, recipientEmail, subject, e.getMessage()));
-            logger.error("Failed to send welcome email to: {}", recipientEmail.getValue(), e);
+            recordFailure(type, recipientEmail, subject, e);
+            logger.error("Failed to render {} notification for: {}", type, recipientEmail.getValue(), e);
+            return;
         }
+        NotificationLog log = NotificationLog.enqueue(type, recipientEmail, subject, body);
+        notificationLogRepository.save(log);
+        logger.debug("{} notification queued for: {}", type, recipientEmail.getValue());
+    }
+    
+    /**
+     * Starts rendering the invoice once the message is queued, without waiting for it: the
+     * email only links to the PDF, and a download that comes first joins or repeats the render.
+     */
+    private void renderInvoiceAfterCommit(OrderView order) {
+        Runnable render = () -> {
+            try {
+                invoiceService.getOrRenderAsync(order).whenComplete((invoice, failure) -> {
+                    if (failure != null) {
+                        logger.warn("Invoice for order {} not rendered ahead of download", order.orderNumber(), failure);
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Invoice for order {} not rendered ahead of download: {}", order.orderNumber(), e.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            render.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                render.run();
+            }
+        });
+    }
+    
+    private void recordFailure(NotificationType type, Email recipientEmail, String subject, Exception e) {
+        NotificationLog log = NotificationLog.createPending(type, recipientEmail, subject);
+        log.markAsFailed(e.getMessage());
+        notificationLogRepository.save(log);
+        eventPublisher.publishEvent(NotificationFailed.create(log.getId(), type, recipientEmail, subject, e.getMessage()));
     }
 }
@@ -48,6 +48,15 @@ public class NotificationLog {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
     
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+    
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+    
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+    
     protected NotificationLog() {}
     
     private NotificationLog(NotificationId id, NotificationType type, Email recipientEmail, String subject) {
@@ -63,6 +72,16 @@ public class NotificationLog {
         return new NotificationLog(NotificationId.generate(), type, recipientEmail, subject);
     }
     
+    /**
+     * Creates an outbox entry holding the rendered message, due for delivery right away.
+     */
+    public static NotificationLog enqueue(NotificationType type, Email recipientEmail, String subject, String body) {
+        NotificationLog log = new NotificationLog(NotificationId.generate(), type, recipientEmail, subject);
+        log.body = body;
+        log.nextAttemptAt = log.createdAt;
+        return log;
+    }
+    
     public void markAsSent() {
         this.status = NotificationStatus.SENT;
         this.sentAt = Instant.now();
@@ -71,6 +90,7 @@ public class NotificationLog {
     public void markAsFailed(String errorMessage) {
         this.status = NotificationStatus.FAILED;
         this.errorMessage = errorMessage;
+        this.nextAttemptAt = null;
     }
     
     public NotificationId getId() {
@@ -105,6 +125,18 @@ public class NotificationLog {
         return createdAt;
     }
     
+    public String getBody() {
+        return body;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
     public boolean isPending() {
         return status == NotificationStatus.PENDING;
     }
@@ -1,5 +1,6 @@
 package com.simpleshop.notification.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -20,7 +21,7 @@ public final class NotificationId extends ValueObject {
     }
     
     public static NotificationId generate() {
-        return new NotificationId(UUID.randomUUID());
+        return new NotificationId(TimeOrderedUuid.generate());
     }
     
     public static NotificationId of(UUID value) {
@@ -6,6 +6,7 @@ import com.simpleshop.notification.application.port.out.OrderQueryPort;
 import com.simpleshop.notification.application.port.out.ShipmentQueryPort;
 import com.simpleshop.notification.application.port.out.UserQueryPort;
 import com.simpleshop.notification.application.service.NotificationService;
+import com.simpleshop.notification.infrastructure.config.NotificationExecutorConfig;
 import com.simpleshop.order.application.query.OrderView;
 import com.simpleshop.order.domain.event.OrderConfirmed;
 import com.simpleshop.shared.domain.model.vo.Email;
@@ -16,6 +17,7 @@ import io.opentelemetry.instrumentation.annotations.WithSpan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -29,6 +31,8 @@ import java.util.UUID;
  * - Order confirmed: order confirmation + invoice
  * - Shipment created: tracking link with timeline
  * - Shipment status updated: status update with timeline and tracking link
+ * 
+ * Handlers run on the notification executor rather than the shared task executor.
  */
 @Component
 public class NotificationEventListener {
@@ -51,6 +55,7 @@ public class NotificationEventListener {
     }
     
     @ApplicationModuleListener
+    @Async(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
     @WithSpan
     public void onUserRegistered(UserRegistered event) {
         logger.info("User registered: {} - sending welcome email", event.getUserId());
@@ -66,6 +71,7 @@ public class NotificationEventListener {
     }
     
     @ApplicationModuleListener
+    @Async(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
     @WithSpan
     public void onOrderConfirmed(OrderConfirmed event) {
         logger.info("Order confirmed: {} - sending notifications", event.getOrderNumber());
@@ -97,6 +103,7 @@ public class NotificationEventListener {
     }
     
     @ApplicationModuleListener
+    @Async(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
     @WithSpan
     public void onShipmentCreated(ShipmentCreated event) {
         logger.info("Shipment created: {} - sending tracking notification", event.getTrackingNumber());
@@ -130,6 +137,7 @@ public class NotificationEventListener {
     }
     
     @ApplicationModuleListener
+    @Async(NotificationExecutorConfig.NOTIFICATION_EXECUTOR)
     @WithSpan
     public void onShipmentStatusUpdated(ShipmentStatusUpdated event) {
         logger.info("Shipment status updated: {} from {} to {}", 
@@ -0,0 +1,100 @@
+package com.simpleshop.notification.infrastructure.adapter.in.scheduling;
+
+import com.simpleshop.notification.application.port.in.DispatchNotificationsUseCase;
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult;
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult.Delivery;
+import com.simpleshop.notification.application.readmodel.NotificationDispatchResult.Outcome;
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox: each run dispatches batches back to back until a batch
+ * comes back short or the per-run limit is reached. Deliveries are counted per
+ * notification type and outcome; the backlog gauge is a capped count of due messages.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private final DispatchNotificationsUseCase dispatchNotificationsUseCase;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int backlogCountCap;
+    private final Timer batchTimer;
+    private final Map<NotificationType, Map<Delivery, Counter>> deliveries = new EnumMap<>(NotificationType.class);
+    private final AtomicLong backlog = new AtomicLong();
+
+    public NotificationOutboxDispatcher(
+        DispatchNotificationsUseCase dispatchNotificationsUseCase,
+        MeterRegistry meterRegistry,
+        @Value("${notification.outbox.batch-size:100}") int batchSize,
+        @Value("${notification.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+        @Value("${notification.outbox.backlog-count-cap:100000}") int backlogCountCap
+    ) {
+        this.dispatchNotificationsUseCase = dispatchNotificationsUseCase;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.backlogCountCap = Math.max(1, backlogCountCap);
+        this.batchTimer = Timer.builder("simpleshop.notifications.dispatch.batch")
+            .description("Time to claim, send and record one batch of outbox messages")
+            .register(meterRegistry);
+        for (NotificationType type : NotificationType.values()) {
+            Map<Delivery, Counter> byOutcome = new EnumMap<>(Delivery.class);
+            for (Delivery delivery : Delivery.values()) {
+                byOutcome.put(delivery, Counter.builder("simpleshop.notifications.dispatched")
+                    .description("Outbox messages processed by the dispatcher")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", delivery.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+            }
+            deliveries.put(type, byOutcome);
+        }
+        Gauge.builder("simpleshop.notifications.outbox.backlog", backlog, AtomicLong::get)
+            .description("Outbox messages due for delivery after the last dispatcher run, capped")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${notification.outbox.poll-interval-ms:1000}",
+        fixedDelayString = "${notification.outbox.poll-interval-ms:1000}"
+    )
+    public void dispatch() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                NotificationDispatchResult result = batchTimer.record(() ->
+                    dispatchNotificationsUseCase.dispatchDue(batchSize)
+                );
+                for (Outcome outcome : result.outcomes()) {
+                    deliveries.get(outcome.type()).get(outcome.delivery()).increment();
+                }
+                if (result.claimed() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Notification dispatch failed", e);
+        } finally {
+            try {
+                backlog.set(dispatchNotificationsUseCase.countDue(backlogCountCap));
+            } catch (RuntimeException e) {
+                log.warn("Notification backlog count failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.simpleshop.notification.infrastructure.adapter.in.web;
+
+import com.simpleshop.identity.infrastructure.security.ShopUserDetails;
+import com.simpleshop.notification.application.port.in.GetInvoiceUseCase;
+import com.simpleshop.notification.application.readmodel.InvoiceDownload;
+import com.simpleshop.notification.application.service.InvoiceUnavailableException;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.UUID;
+
+@Controller
+public class InvoiceController {
+
+    private final GetInvoiceUseCase getInvoiceUseCase;
+
+    public InvoiceController(GetInvoiceUseCase getInvoiceUseCase) {
+        this.getInvoiceUseCase = getInvoiceUseCase;
+    }
+
+    /**
+     * Streams the stored PDF from disk. The store key doubles as the ETag, since a stored
+     * invoice never changes.
+     */
+    @GetMapping("/orders/{orderId}/invoice")
+    @WithSpan
+    public ResponseEntity<Resource> downloadInvoice(@PathVariable UUID orderId,
+                                                    @AuthenticationPrincipal ShopUserDetails user) {
+        InvoiceDownload download;
+        try {
+            download = getInvoiceUseCase.getInvoice(orderId, user.getUserId().getValue()).orElse(null);
+        } catch (InvoiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+        if (download == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_PDF)
+            .contentLength(download.invoice().sizeBytes())
+            .eTag(download.invoice().key())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(download.fileName())
+                .build()
+                .toString())
+            .body(new FileSystemResource(download.invoice().path()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.simpleshop.notification.infrastructure.adapter.in.web;
+
+import com.simpleshop.notification.application.port.in.ExportInvoicesUseCase;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+@Controller
+@RequestMapping("/admin/invoices")
+public class InvoiceExportController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final ExportInvoicesUseCase exportInvoicesUseCase;
+
+    public InvoiceExportController(ExportInvoicesUseCase exportInvoicesUseCase) {
+        this.exportInvoicesUseCase = exportInvoicesUseCase;
+    }
+
+    /**
+     * Streams the invoices of paid orders placed between {@code from} and {@code to}
+     * (inclusive, UTC days) as a ZIP. The archive is written on an MVC async thread while
+     * it is produced, so the download starts immediately and nothing is buffered.
+     */
+    @GetMapping("/export")
+    @WithSpan
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant start = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        StreamingResponseBody body = output -> exportInvoicesUseCase.exportInvoices(start, end, output);
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_ZIP)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("invoices-" + from + "-to-" + to + ".zip")
+                .build()
+                .toString())
+            .body(body);
+    }
+}
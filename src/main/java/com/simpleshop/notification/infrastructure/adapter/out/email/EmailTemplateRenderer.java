@@ -0,0 +1,145 @@
+package com.simpleshop.notification.infrastructure.adapter.out.email;
+
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders notification emails on a template engine of its own, separate from the web views.
+ * Email templates are always parsed once and cached, and SpEL expressions are compiled, no
+ * matter how {@code spring.thymeleaf.cache} is set for the pages.
+ *
+ * Most of every email is its {@code <head>}: the inline stylesheet mail clients need. When a
+ * template's head has no Thymeleaf attributes it is rendered once at startup and reused, and
+ * only the {@code <body>} is rendered per message. Templates with a dynamic head are rendered
+ * whole. Startup fails if any {@link NotificationType} has no template.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateRenderer.class);
+
+    private static final String TEMPLATE_LOCATION = "templates/email/";
+    private static final String TEMPLATE_SUFFIX = ".html";
+    private static final Set<String> BODY = Set.of("body");
+    private static final Set<String> HEAD = Set.of("head");
+    private static final Set<String> HEAD_AND_BODY = Set.of("head", "body");
+
+    private final SpringTemplateEngine templateEngine;
+    private final String baseUrl;
+    private final Map<NotificationType, String> staticHeads = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Timer> renderTimers = new EnumMap<>(NotificationType.class);
+
+    public EmailTemplateRenderer(
+            MeterRegistry meterRegistry,
+            @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
+        this.templateEngine = emailTemplateEngine();
+        this.baseUrl = baseUrl;
+        for (NotificationType type : NotificationType.values()) {
+            renderTimers.put(type, Timer.builder("simpleshop.notifications.render")
+                .description("Time to render one notification email")
+                .tag("type", type.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            if (hasStaticHead(type)) {
+                staticHeads.put(type, templateEngine.process(templateName(type), HEAD, new Context()));
+            }
+        }
+        logger.info("Email templates ready, {} of {} with a pre-rendered head",
+            staticHeads.size(), NotificationType.values().length);
+    }
+
+    public String render(NotificationType type, Map<String, Object> variables) {
+        return renderAll(type, List.of(variables)).getFirst();
+    }
+
+    /**
+     * Renders the same template for several recipients in one pass, reusing the cached
+     * template, the pre-rendered head and a single evaluation context.
+     */
+    public List<String> renderAll(NotificationType type, List<Map<String, Object>> variables) {
+        String template = templateName(type);
+        String head = staticHeads.get(type);
+        Timer timer = renderTimers.get(type);
+        Context context = new Context();
+        List<String> rendered = new ArrayList<>(variables.size());
+        for (Map<String, Object> messageVariables : variables) {
+            long start = System.nanoTime();
+            context.clearVariables();
+            context.setVariable("baseUrl", baseUrl);
+            context.setVariables(messageVariables);
+            String html = head != null
+                ? document(head, templateEngine.process(template, BODY, context))
+                : document("", templateEngine.process(template, HEAD_AND_BODY, context));
+            rendered.add(html);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return rendered;
+    }
+
+    private static String document(String head, String content) {
+        return new StringBuilder(head.length() + content.length() + 48)
+            .append("<!DOCTYPE html>\n<html>\n")
+            .append(head)
+            .append('\n')
+            .append(content)
+            .append("\n</html>\n")
+            .toString();
+    }
+
+    private static boolean hasStaticHead(NotificationType type) {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION + templateName(type) + TEMPLATE_SUFFIX);
+        try {
+            String source = resource.getContentAsString(StandardCharsets.UTF_8);
+            int end = source.indexOf("</head>");
+            return end >= 0 && !source.substring(0, end).replaceFirst("(?s)^.*?<head[^>]*>", "").contains("th:");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing email template for " + type, e);
+        }
+    }
+
+    private static SpringTemplateEngine emailTemplateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(TEMPLATE_LOCATION);
+        resolver.setSuffix(TEMPLATE_SUFFIX);
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+        resolver.setCheckExistence(true);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+        return engine;
+    }
+
+    private static String templateName(NotificationType type) {
+        return switch (type) {
+            case ORDER_CONFIRMATION -> "order-confirmation";
+            case SHIPMENT_UPDATE -> "shipment-update";
+            case SHIPMENT_CREATED -> "shipment-created";
+            case INVOICE -> "invoice";
+            case USER_WELCOME -> "welcome";
+        };
+    }
+}
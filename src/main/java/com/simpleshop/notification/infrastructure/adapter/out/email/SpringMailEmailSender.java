@@ -1,20 +1,25 @@
 package com.simpleshop.notification.infrastructure.adapter.out.email;
 
 import com.simpleshop.notification.application.port.out.EmailSender;
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
 import com.simpleshop.notification.domain.model.vo.NotificationType;
-import com.simpleshop.shared.domain.model.vo.Email;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -23,58 +28,78 @@ public class SpringMailEmailSender implements EmailSender {
     private static final Logger logger = LoggerFactory.getLogger(SpringMailEmailSender.class);
     
     private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    private final EmailTemplateRenderer templateRenderer;
     private final String fromAddress;
-    private final String baseUrl;
     
     public SpringMailEmailSender(
             JavaMailSender mailSender,
-            TemplateEngine templateEngine,
-            @Value("${spring.mail.from:noreply@simpleshop.com}") String fromAddress,
-            @Value("${app.base-url:http://localhost:8080}") String baseUrl) {
+            EmailTemplateRenderer templateRenderer,
+            @Value("${spring.mail.from:noreply@simpleshop.com}") String fromAddress) {
         this.mailSender = mailSender;
-        this.templateEngine = templateEngine;
+        this.templateRenderer = templateRenderer;
         this.fromAddress = fromAddress;
-        this.baseUrl = baseUrl;
     }
     
+    @Override
+    public String render(NotificationType type, Map<String, Object> templateData) {
+        return templateRenderer.render(type, templateData);
+    }
+    
+    /**
+     * {@link JavaMailSender#send(MimeMessage...)} delivers the whole batch over a single SMTP
+     * connection and reports per-message failures in {@link MailSendException#getFailedMessages()}.
+     */
     @Override
     @WithSpan
-    public void sendEmail(Email recipient, String subject, NotificationType type, Map<String, Object> templateData) {
+    public Map<NotificationId, String> sendRendered(List<OutboxMessage> messages) {
+        Map<NotificationId, String> failures = new HashMap<>();
+        Map<MimeMessage, NotificationId> composed = new IdentityHashMap<>();
+        List<MimeMessage> batch = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            try {
+                MimeMessage mime = compose(message.recipient().getValue(), message.subject(), message.body());
+                composed.put(mime, message.id());
+                batch.add(mime);
+            } catch (MessagingException | RuntimeException e) {
+                failures.put(message.id(), describe(e));
+            }
+        }
+        if (batch.isEmpty()) {
+            return failures;
+        }
+        
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromAddress);
-            helper.setTo(recipient.getValue());
-            helper.setSubject(subject);
-            
-            // Create Thymeleaf context with template data
-            Context context = new Context();
-            context.setVariable("baseUrl", baseUrl);
-            templateData.forEach(context::setVariable);
-            
-            // Determine template name based on notification type
-            String templateName = getTemplateName(type);
-            String htmlContent = templateEngine.process("email/" + templateName, context);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            logger.debug("Email sent successfully to: {} with subject: {}", recipient.getValue(), subject);
-            
-        } catch (MessagingException e) {
-            logger.error("Failed to send email to: {}", recipient.getValue(), e);
-            throw new RuntimeException("Failed to send email", e);
+            mailSender.send(batch.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                composed.values().forEach(id -> failures.put(id, describe(e)));
+            } else {
+                e.getFailedMessages().forEach((failed, cause) -> {
+                    NotificationId id = composed.get(failed);
+                    if (id != null) {
+                        failures.put(id, describe(cause));
+                    }
+                });
+            }
+        } catch (MailException e) {
+            composed.values().forEach(id -> failures.put(id, describe(e)));
         }
+        logger.debug("Sent {} of {} emails", messages.size() - failures.size(), messages.size());
+        return failures;
+    }
+    
+    private MimeMessage compose(String recipient, String subject, String htmlContent) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        
+        helper.setFrom(fromAddress);
+        helper.setTo(recipient);
+        helper.setSubject(subject);
+        helper.setText(htmlContent, true);
+        return message;
     }
     
-    private String getTemplateName(NotificationType type) {
-        return switch (type) {
-            case ORDER_CONFIRMATION -> "order-confirmation";
-            case SHIPMENT_UPDATE -> "shipment-update";
-            case SHIPMENT_CREATED -> "shipment-created";
-            case INVOICE -> "invoice";
-            case USER_WELCOME -> "welcome";
-        };
+    private static String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
     }
 }
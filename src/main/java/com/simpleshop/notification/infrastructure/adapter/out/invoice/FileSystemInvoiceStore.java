@@ -0,0 +1,128 @@
+package com.simpleshop.notification.infrastructure.adapter.out.invoice;
+
+import com.simpleshop.notification.application.port.out.InvoiceStore;
+import com.simpleshop.notification.application.readmodel.StoredInvoice;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps invoices as files named by a SHA-256 of the order ID, order status and layout
+ * version, in one directory per order fanned out over 256 subdirectories. A document is
+ * written to a temporary file next to its final name and moved into place once complete,
+ * so readers never see a partial PDF and two nodes rendering the same invoice simply
+ * replace each other's copy. Storing an invoice deletes the order's earlier ones, which
+ * a status change or a new layout version has superseded, so an order keeps one PDF.
+ *
+ * {@code notification.invoice.store-dir} defaults to a directory under {@code java.io.tmpdir}
+ * so a single local node starts without configuration. A deployment must point it at
+ * storage that survives restarts and is shared by every node, otherwise each node renders
+ * its own copies and loses them on redeploy.
+ */
+@Component
+public class FileSystemInvoiceStore implements InvoiceStore {
+
+    /** Bump when the invoice layout changes so stored documents are rendered again. */
+    static final int LAYOUT_VERSION = 1;
+
+    private static final String SUFFIX = ".pdf";
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final Path root;
+
+    public FileSystemInvoiceStore(
+            @Value("${notification.invoice.store-dir:${java.io.tmpdir}/simpleshop-invoices}") Path root) {
+        if (root.toString().isBlank()) {
+            throw new IllegalStateException("notification.invoice.store-dir must name a durable directory shared by every node");
+        }
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Optional<StoredInvoice> find(UUID orderId, String orderStatus) {
+        String key = key(orderId, orderStatus);
+        Path path = pathOf(orderId, key);
+        try {
+            return Optional.of(new StoredInvoice(key, path, Files.size(path)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public StoredInvoice store(UUID orderId, String orderStatus, Consumer<OutputStream> writer) {
+        String key = key(orderId, orderStatus);
+        Path path = pathOf(orderId, key);
+        Path partial = null;
+        try {
+            Files.createDirectories(path.getParent());
+            partial = Files.createTempFile(path.getParent(), key, ".part");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(partial), WRITE_BUFFER_BYTES)) {
+                writer.accept(output);
+            }
+            moveIntoPlace(partial, path);
+            deleteSuperseded(path);
+            return new StoredInvoice(key, path, Files.size(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store invoice for order " + orderId, e);
+        } finally {
+            if (partial != null) {
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException ignored) {
+                    // A leftover .part file is never read and is overwritten on the next attempt.
+                }
+            }
+        }
+    }
+
+    static String key(UUID orderId, String orderStatus) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((orderId + ":" + orderStatus + ":" + LAYOUT_VERSION).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Path pathOf(UUID orderId, String key) {
+        String order = orderId.toString();
+        return root.resolve(order.substring(0, 2)).resolve(order).resolve(key + SUFFIX);
+    }
+
+    private static void deleteSuperseded(Path current) throws IOException {
+        try (DirectoryStream<Path> invoices = Files.newDirectoryStream(current.getParent(), "*" + SUFFIX)) {
+            for (Path invoice : invoices) {
+                if (!invoice.equals(current)) {
+                    // A download still streaming the old file keeps its open handle.
+                    Files.deleteIfExists(invoice);
+                }
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -17,8 +17,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.io.ByteArrayOutputStream;
+import java.awt.Color;
+import java.io.OutputStream;
 
+/**
+ * Lays out invoices with OpenPDF straight into the caller's stream. The items table is
+ * flushed to the document every {@value #ROWS_PER_CHUNK} rows, so a large order does not
+ * keep every row in memory until the document closes, and cells are added through each
+ * table's default cell instead of configuring a new cell per value.
+ */
 @Component
 public class SimpleInvoiceGenerator implements InvoiceGenerator {
     
@@ -26,14 +33,16 @@ public class SimpleInvoiceGenerator implements InvoiceGenerator {
     private static final Font TITLE_FONT = new Font(Font.HELVETICA, 18, Font.BOLD);
     private static final Font HEADER_FONT = new Font(Font.HELVETICA, 12, Font.BOLD);
     private static final Font NORMAL_FONT = new Font(Font.HELVETICA, 10, Font.NORMAL);
+    private static final Color HEADER_BACKGROUND = new Color(220, 220, 220);
+    private static final String[] ITEM_COLUMNS = {"Product", "Quantity", "Unit Price", "Total"};
+    private static final int ROWS_PER_CHUNK = 50;
     
     @Override
     @WithSpan
-    public byte[] generateInvoice(OrderView order) {
+    public void writeInvoice(OrderView order, OutputStream output) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             Document document = new Document();
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter.getInstance(document, output);
             
             document.open();
             
@@ -44,8 +53,7 @@ public class SimpleInvoiceGenerator implements InvoiceGenerator {
             document.add(title);
             
             // Order details
-            PdfPTable detailsTable = new PdfPTable(2);
-            detailsTable.setWidthPercentage(100);
+            PdfPTable detailsTable = borderlessTable(2);
             detailsTable.setSpacingAfter(20);
             
             addTableRow(detailsTable, "Order Number:", order.orderNumber());
@@ -69,23 +77,28 @@ public class SimpleInvoiceGenerator implements InvoiceGenerator {
             itemsHeader.setSpacingAfter(10);
             document.add(itemsHeader);
             
-            PdfPTable itemsTable = new PdfPTable(4);
-            itemsTable.setWidthPercentage(100);
+            PdfPTable itemsTable = borderlessTable(4);
+            itemsTable.setComplete(false);
             
-            // Header row
-            itemsTable.addCell(createHeaderCell("Product"));
-            itemsTable.addCell(createHeaderCell("Quantity"));
-            itemsTable.addCell(createHeaderCell("Unit Price"));
-            itemsTable.addCell(createHeaderCell("Total"));
+            // Header row, repeated on every page
+            for (String column : ITEM_COLUMNS) {
+                itemsTable.addCell(headerCell(column));
+            }
+            itemsTable.setHeaderRows(1);
             
             // Data rows
+            int rows = 0;
             for (OrderItemView item : order.items()) {
-                itemsTable.addCell(createCell(item.productName()));
-                itemsTable.addCell(createCell(String.valueOf(item.quantity())));
-                itemsTable.addCell(createCell(item.unitPrice() + " " + item.currency()));
-                itemsTable.addCell(createCell(item.subtotal() + " " + item.currency()));
+                itemsTable.addCell(new Phrase(item.productName(), NORMAL_FONT));
+                itemsTable.addCell(new Phrase(String.valueOf(item.quantity()), NORMAL_FONT));
+                itemsTable.addCell(new Phrase(item.unitPrice() + " " + item.currency(), NORMAL_FONT));
+                itemsTable.addCell(new Phrase(item.subtotal() + " " + item.currency(), NORMAL_FONT));
+                if (++rows % ROWS_PER_CHUNK == 0) {
+                    document.add(itemsTable);
+                }
             }
             
+            itemsTable.setComplete(true);
             document.add(itemsTable);
             
             // Total
@@ -97,7 +110,6 @@ public class SimpleInvoiceGenerator implements InvoiceGenerator {
             document.close();
             
             logger.debug("Invoice generated for order: {}", order.orderNumber());
-            return outputStream.toByteArray();
             
         } catch (DocumentException e) {
             logger.error("Failed to generate invoice for order: {}", order.orderNumber(), e);
@@ -105,21 +117,22 @@ public class SimpleInvoiceGenerator implements InvoiceGenerator {
         }
     }
     
-    private void addTableRow(PdfPTable table, String label, String value) {
-        table.addCell(createCell(label));
-        table.addCell(createCell(value));
+    private static PdfPTable borderlessTable(int columns) {
+        PdfPTable table = new PdfPTable(columns);
+        table.setWidthPercentage(100);
+        table.getDefaultCell().setBorder(0);
+        table.getDefaultCell().setPadding(5);
+        return table;
     }
     
-    private PdfPCell createCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, NORMAL_FONT));
-        cell.setBorder(0);
-        cell.setPadding(5);
-        return cell;
+    private static void addTableRow(PdfPTable table, String label, String value) {
+        table.addCell(new Phrase(label, NORMAL_FONT));
+        table.addCell(new Phrase(value, NORMAL_FONT));
     }
     
-    private PdfPCell createHeaderCell(String text) {
+    private static PdfPCell headerCell(String text) {
         PdfPCell cell = new PdfPCell(new Phrase(text, HEADER_FONT));
-        cell.setBackgroundColor(new java.awt.Color(220, 220, 220));
+        cell.setBackgroundColor(HEADER_BACKGROUND);
         cell.setPadding(5);
         return cell;
     }
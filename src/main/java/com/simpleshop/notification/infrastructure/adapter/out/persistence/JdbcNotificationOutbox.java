@@ -0,0 +1,141 @@
+package com.simpleshop.notification.infrastructure.adapter.out.persistence;
+
+import com.simpleshop.notification.application.port.out.NotificationOutbox;
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+import com.simpleshop.shared.domain.model.vo.Email;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox on top of {@code notification_logs}: pending rows with a {@code next_attempt_at}
+ * are due for delivery. Claiming moves {@code next_attempt_at} forward by the lease in the
+ * same statement that locks the rows, so concurrent dispatchers skip each other's rows
+ * while locked and ignore them afterwards until the lease runs out. A message whose claims
+ * keep lapsing, for instance because it takes its dispatcher down with it, is marked
+ * failed once it has used up its attempts. The partial index both queries rely on comes
+ * from the V5 migration.
+ */
+@Repository
+public class JdbcNotificationOutbox implements NotificationOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcNotificationOutbox.class);
+
+    private static final String FAIL_ABANDONED_SQL = """
+        UPDATE notification_logs
+        SET status = 'FAILED',
+            error_message = coalesce(error_message, 'No delivery outcome after ' || attempts || ' attempts'),
+            next_attempt_at = NULL
+        WHERE status = 'PENDING'
+          AND next_attempt_at <= ?
+          AND attempts >= ?
+        """;
+
+    private static final String CLAIM_SQL = """
+        UPDATE notification_logs n
+        SET attempts = n.attempts + 1,
+            next_attempt_at = ?
+        FROM (
+            SELECT id
+            FROM notification_logs
+            WHERE status = 'PENDING'
+              AND next_attempt_at <= ?
+              AND attempts < ?
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        ) due
+        WHERE n.id = due.id
+        RETURNING n.id, n.type, n.value AS recipient, n.subject, n.body, n.attempts
+        """;
+
+    private static final String RECORD_SQL = """
+        UPDATE notification_logs n
+        SET status = d.status,
+            sent_at = d.sent_at::timestamptz,
+            error_message = d.error_message,
+            next_attempt_at = d.next_attempt_at::timestamptz
+        FROM unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[])
+            AS d(id, status, sent_at, error_message, next_attempt_at)
+        WHERE n.id = d.id
+        """;
+
+    private static final String COUNT_SQL = """
+        SELECT count(*) FROM (
+            SELECT 1 FROM notification_logs WHERE status = 'PENDING' AND next_attempt_at <= ? LIMIT ?
+        ) due
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcNotificationOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<OutboxMessage> claimDue(Instant now, int limit, Duration lease, int maxAttempts) {
+        int abandoned = jdbcTemplate.update(FAIL_ABANDONED_SQL, Timestamp.from(now), maxAttempts);
+        if (abandoned > 0) {
+            log.error("Gave up on {} notifications whose last {} deliveries never reported an outcome", abandoned, maxAttempts);
+        }
+        return jdbcTemplate.query(CLAIM_SQL, (PreparedStatement ps) -> {
+            ps.setTimestamp(1, Timestamp.from(now.plus(lease)));
+            ps.setTimestamp(2, Timestamp.from(now));
+            ps.setInt(3, maxAttempts);
+            ps.setInt(4, limit);
+        }, (rs, rowNum) -> new OutboxMessage(
+            NotificationId.of(rs.getObject("id", UUID.class)),
+            NotificationType.valueOf(rs.getString("type")),
+            Email.of(rs.getString("recipient")),
+            rs.getString("subject"),
+            rs.getString("body"),
+            rs.getInt("attempts")
+        ));
+    }
+
+    @Override
+    public void recordDeliveries(List<DeliveryRecord> deliveries) {
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        int size = deliveries.size();
+        UUID[] ids = new UUID[size];
+        String[] statuses = new String[size];
+        String[] sentAt = new String[size];
+        String[] errors = new String[size];
+        String[] nextAttemptAt = new String[size];
+        for (int i = 0; i < size; i++) {
+            DeliveryRecord delivery = deliveries.get(i);
+            ids[i] = delivery.id().getValue();
+            statuses[i] = delivery.status().name();
+            sentAt[i] = delivery.sentAt() != null ? delivery.sentAt().toString() : null;
+            errors[i] = delivery.errorMessage();
+            nextAttemptAt[i] = delivery.nextAttemptAt() != null ? delivery.nextAttemptAt().toString() : null;
+        }
+        jdbcTemplate.update(RECORD_SQL, (PreparedStatement ps) -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("uuid", ids));
+            ps.setArray(2, connection.createArrayOf("text", statuses));
+            ps.setArray(3, connection.createArrayOf("text", sentAt));
+            ps.setArray(4, connection.createArrayOf("text", errors));
+            ps.setArray(5, connection.createArrayOf("text", nextAttemptAt));
+        });
+    }
+
+    @Override
+    public long countDue(Instant now, int cap) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, Timestamp.from(now), cap);
+        return count != null ? count : 0L;
+    }
+}
@@ -2,10 +2,15 @@ package com.simpleshop.notification.infrastructure.adapter.out.persistence;
 
 import com.simpleshop.notification.application.port.out.OrderQueryPort;
 import com.simpleshop.order.application.port.in.GetOrderUseCase;
+import com.simpleshop.order.application.port.in.ListPaidOrdersUseCase;
 import com.simpleshop.order.application.query.GetOrderQuery;
+import com.simpleshop.order.application.query.ListPaidOrdersQuery;
+import com.simpleshop.order.application.query.OrderCursor;
 import com.simpleshop.order.application.query.OrderView;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,13 +18,20 @@ import java.util.UUID;
 public class OrderQueryAdapter implements OrderQueryPort {
     
     private final GetOrderUseCase getOrderUseCase;
+    private final ListPaidOrdersUseCase listPaidOrdersUseCase;
     
-    public OrderQueryAdapter(GetOrderUseCase getOrderUseCase) {
+    public OrderQueryAdapter(GetOrderUseCase getOrderUseCase, ListPaidOrdersUseCase listPaidOrdersUseCase) {
         this.getOrderUseCase = getOrderUseCase;
+        this.listPaidOrdersUseCase = listPaidOrdersUseCase;
     }
     
     @Override
     public Optional<OrderView> getOrderById(UUID orderId) {
         return getOrderUseCase.execute(new GetOrderQuery(orderId));
     }
+    
+    @Override
+    public List<OrderView> getPaidOrdersPlacedBetween(Instant from, Instant before, OrderCursor after, int limit) {
+        return listPaidOrdersUseCase.execute(new ListPaidOrdersQuery(from, before, after, limit));
+    }
 }
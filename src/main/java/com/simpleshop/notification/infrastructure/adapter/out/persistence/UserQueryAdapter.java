@@ -4,7 +4,6 @@ import com.simpleshop.identity.application.port.in.GetUserUseCase;
 import com.simpleshop.identity.application.query.GetUserByEmailQuery;
 import com.simpleshop.identity.application.query.GetUserQuery;
 import com.simpleshop.identity.application.readmodel.UserView;
-import com.simpleshop.identity.domain.model.User;
 import com.simpleshop.identity.domain.model.vo.UserId;
 import com.simpleshop.notification.application.port.out.UserQueryPort;
 import com.simpleshop.shared.domain.model.vo.Email;
@@ -24,13 +23,11 @@ public class UserQueryAdapter implements UserQueryPort {
     
     @Override
     public Optional<UserView> getUserById(UUID userId) {
-        return getUserUseCase.getUser(new GetUserQuery(UserId.of(userId)))
-            .map(UserView::fromUser);
+        return getUserUseCase.getUserView(new GetUserQuery(UserId.of(userId)));
     }
     
     @Override
     public Optional<UserView> getUserByEmail(Email email) {
-        return getUserUseCase.getUserByEmail(new GetUserByEmailQuery(email))
-            .map(UserView::fromUser);
+        return getUserUseCase.getUserViewByEmail(new GetUserByEmailQuery(email));
     }
 }
@@ -0,0 +1,85 @@
+package com.simpleshop.notification.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executor for the notification event handlers, which spend most of their time waiting
+ * on the database and the SMTP server. Kept apart from the shared task executor so a
+ * slow mail server cannot hold up order and shipping event processing.
+ */
+@Configuration
+public class NotificationExecutorConfig {
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String INVOICE_EXECUTOR = "invoiceExecutor";
+
+    @Bean(NOTIFICATION_EXECUTOR)
+    AsyncTaskExecutor notificationExecutor(
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+        @Value("${notification.executor.max-concurrency:32}") int maxConcurrency
+    ) {
+        int concurrency = Math.max(1, maxConcurrency);
+        if (virtualThreads) {
+            // Virtual threads are cheap to block, so the only limit needed is on concurrent
+            // SMTP conversations. Each task waits for a slot on its own thread; the thread
+            // that submitted it, usually the one completing the publishing transaction,
+            // never waits.
+            Semaphore slots = new Semaphore(concurrency, true);
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notification-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(task -> () -> {
+                try {
+                    slots.acquire();
+                } catch (InterruptedException e) {
+                    // Shutting down; the event publication stays incomplete and is resubmitted on restart.
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    slots.release();
+                }
+            });
+            executor.setTaskTerminationTimeout(10_000);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * PDF layout is CPU-bound, so invoices render on a small platform-thread pool in either
+     * threading mode. The queue is bounded; when it is full a render is refused rather than
+     * piling up behind a burst of orders.
+     */
+    @Bean(INVOICE_EXECUTOR)
+    ThreadPoolTaskExecutor invoiceExecutor(
+        @Value("${notification.invoice.pool-size:0}") int poolSize,
+        @Value("${notification.invoice.queue-capacity:64}") int queueCapacity
+    ) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("invoice-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(Math.max(1, queueCapacity));
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
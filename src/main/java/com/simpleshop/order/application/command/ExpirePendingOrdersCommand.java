@@ -0,0 +1,13 @@
+package com.simpleshop.order.application.command;
+
+import java.time.Instant;
+
+public record ExpirePendingOrdersCommand(
+    Instant placedBefore,
+    int batchSize
+) {
+    public ExpirePendingOrdersCommand {
+        if (placedBefore == null) throw new IllegalArgumentException("Cutoff is required");
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+    }
+}
@@ -0,0 +1,16 @@
+package com.simpleshop.order.application.port.in;
+
+import com.simpleshop.order.application.command.ExpirePendingOrdersCommand;
+import com.simpleshop.order.application.query.ExpiredOrdersResult;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Cancels PENDING orders whose stock reservation outlived its deadline,
+ * releases the reserved stock of the whole batch in one set-based update and
+ * publishes an {@code OrderCancelled} event for each cancelled order.
+ */
+public interface ExpirePendingOrdersUseCase {
+    ExpiredOrdersResult execute(ExpirePendingOrdersCommand command);
+    Optional<Instant> findOldestPendingPlacedAt();
+}
@@ -0,0 +1,8 @@
+package com.simpleshop.order.application.port.in;
+
+import com.simpleshop.order.application.query.AdminOrderPage;
+import com.simpleshop.order.application.query.ListAdminOrdersQuery;
+
+public interface ListAdminOrdersUseCase {
+    AdminOrderPage execute(ListAdminOrdersQuery query);
+}
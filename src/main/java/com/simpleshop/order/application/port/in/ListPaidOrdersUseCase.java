@@ -0,0 +1,14 @@
+package com.simpleshop.order.application.port.in;
+
+import com.simpleshop.order.application.query.ListPaidOrdersQuery;
+import com.simpleshop.order.application.query.OrderView;
+import java.util.List;
+
+/**
+ * Walks paid orders of a period with keyset pagination, for exports that must not hold
+ * the whole period in memory. Continue with {@code OrderCursor.of(lastOrder)} until a
+ * page comes back shorter than the limit.
+ */
+public interface ListPaidOrdersUseCase {
+    List<OrderView> execute(ListPaidOrdersQuery query);
+}
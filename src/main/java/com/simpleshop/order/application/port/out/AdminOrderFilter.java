@@ -0,0 +1,18 @@
+package com.simpleshop.order.application.port.out;
+
+import com.simpleshop.order.domain.model.vo.OrderStatus;
+import java.time.Instant;
+
+/**
+ * Optional restrictions of the admin order list; {@code null} fields do not filter.
+ * The date range is {@code [placedFrom, placedBefore)}.
+ */
+public record AdminOrderFilter(
+    OrderStatus status,
+    Instant placedFrom,
+    Instant placedBefore
+) {
+    public boolean isEmpty() {
+        return status == null && placedFrom == null && placedBefore == null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.simpleshop.order.application.port.out;
+
+import java.util.UUID;
+
+public record ExpiredOrderProjection(
+    UUID orderId,
+    String orderNumber,
+    UUID userId
+) {}
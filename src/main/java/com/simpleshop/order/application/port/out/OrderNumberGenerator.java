@@ -4,7 +4,7 @@ import com.simpleshop.order.domain.model.vo.OrderNumber;
 
 /**
  * Port for generating unique order numbers.
- * Implementation should use a persistent sequence to ensure uniqueness across restarts.
+ * Implementation should use a persistent counter to ensure uniqueness across restarts and nodes.
  */
 public interface OrderNumberGenerator {
     OrderNumber generate();
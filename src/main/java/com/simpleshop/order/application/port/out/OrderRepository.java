@@ -1,10 +1,14 @@
 package com.simpleshop.order.application.port.out;
 
+import com.simpleshop.order.application.query.OrderCursor;
 import com.simpleshop.order.domain.model.Order;
 import com.simpleshop.order.domain.model.vo.OrderId;
 import com.simpleshop.order.domain.model.vo.OrderNumber;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,5 +18,33 @@ public interface OrderRepository {
     Optional<Order> findByOrderNumber(OrderNumber orderNumber);
     Page<Order> findByUserId(UUID userId, Pageable pageable);
     Page<OrderSummaryProjection> findOrderSummariesByUserId(UUID userId, Pageable pageable);
-    Page<Order> findAll(Pageable pageable);
+
+    /**
+     * Cancels up to {@code limit} of the oldest PENDING orders placed before the cutoff
+     * with one bulk update, skipping rows locked by concurrent transactions.
+     *
+     * @return the orders that were cancelled
+     */
+    List<ExpiredOrderProjection> expirePendingOrdersPlacedBefore(Instant cutoff, int limit, String reason);
+
+    List<OrderItemReservationProjection> sumReservedItemsByOrderIds(Collection<UUID> orderIds);
+
+    Optional<Instant> findOldestPendingCreatedAt();
+
+    /**
+     * Paid orders placed in {@code [from, before)} that come after the cursor in
+     * {@code (created_at, id)} order, with their items loaded.
+     */
+    List<Order> findPaidPlacedBetween(Instant from, Instant before, OrderCursor after, int limit);
+
+    /**
+     * Summaries matching the filter, newest first, that come after the cursor
+     * ({@code null} for the first page) in {@code (created_at, id)} descending order.
+     */
+    List<AdminOrderSummaryProjection> findAdminOrderSummaries(AdminOrderFilter filter, OrderCursor after, int limit);
+
+    /**
+     * Row count of the orders table from planner statistics, without scanning it.
+     */
+    long estimateOrderCount();
 }
@@ -0,0 +1,23 @@
+package com.simpleshop.order.application.query;
+
+import java.util.List;
+
+/**
+ * One page of the admin order list, newest first. {@code next} is the cursor of the
+ * following page, or {@code null} on the last one. {@code estimatedTotal} approximates
+ * the number of all orders from planner statistics; it is {@code null} when the page is
+ * filtered, since it says nothing about how many orders match the filter.
+ */
+public record AdminOrderPage(
+    List<AdminOrderSummaryView> orders,
+    OrderCursor next,
+    Long estimatedTotal
+) {
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public boolean isEmpty() {
+        return orders.isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.simpleshop.order.application.query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record AdminOrderSummaryView(
+    UUID id,
+    String orderNumber,
+    UUID userId,
+    String status,
+    BigDecimal totalAmount,
+    String currency,
+    Instant createdAt
+) {}
@@ -0,0 +1,11 @@
+package com.simpleshop.order.application.query;
+
+public record ExpiredOrdersResult(
+    int expiredOrders,
+    int releasedLines,
+    int failedLines
+) {
+    public static ExpiredOrdersResult none() {
+        return new ExpiredOrdersResult(0, 0, 0);
+    }
+}
@@ -0,0 +1,23 @@
+package com.simpleshop.order.application.query;
+
+import com.simpleshop.order.domain.model.vo.OrderStatus;
+import java.time.Instant;
+
+/**
+ * Admin order list, newest first. {@code after} is the cursor returned with the previous
+ * page, or {@code null} for the first page; filters are optional.
+ */
+public record ListAdminOrdersQuery(
+    OrderStatus status,
+    Instant placedFrom,
+    Instant placedBefore,
+    OrderCursor after,
+    int size
+) {
+    public ListAdminOrdersQuery {
+        if (placedFrom != null && placedBefore != null && !placedFrom.isBefore(placedBefore)) {
+            throw new IllegalArgumentException("Date range must not be empty");
+        }
+        if (size <= 0 || size > 100) throw new IllegalArgumentException("Size must be between 1 and 100");
+    }
+}
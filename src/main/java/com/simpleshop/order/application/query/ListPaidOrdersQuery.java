@@ -0,0 +1,20 @@
+package com.simpleshop.order.application.query;
+
+import java.time.Instant;
+
+/**
+ * One page of paid orders placed in {@code [placedFrom, placedBefore)}, oldest first.
+ */
+public record ListPaidOrdersQuery(
+    Instant placedFrom,
+    Instant placedBefore,
+    OrderCursor after,
+    int limit
+) {
+    public ListPaidOrdersQuery {
+        if (placedFrom == null || placedBefore == null) throw new IllegalArgumentException("Date range is required");
+        if (!placedFrom.isBefore(placedBefore)) throw new IllegalArgumentException("Date range must not be empty");
+        if (after == null) throw new IllegalArgumentException("Cursor is required");
+        if (limit <= 0 || limit > 500) throw new IllegalArgumentException("Limit must be between 1 and 500");
+    }
+}
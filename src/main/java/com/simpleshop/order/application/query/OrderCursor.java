@@ -0,0 +1,23 @@
+package com.simpleshop.order.application.query;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Position in the {@code (created_at, id)} order of orders; a listing resumes strictly
+ * past it in its own direction.
+ */
+public record OrderCursor(
+    Instant createdAt,
+    UUID id
+) {
+    private static final OrderCursor START = new OrderCursor(Instant.EPOCH, new UUID(0L, 0L));
+
+    public static OrderCursor start() {
+        return START;
+    }
+
+    public static OrderCursor of(OrderView order) {
+        return new OrderCursor(order.createdAt(), order.id());
+    }
+}
@@ -0,0 +1,79 @@
+package com.simpleshop.order.application.service;
+
+import com.simpleshop.inventory.application.command.ReleaseStockCommand;
+import com.simpleshop.inventory.application.port.in.ReleaseStockUseCase;
+import com.simpleshop.order.application.command.ExpirePendingOrdersCommand;
+import com.simpleshop.order.application.port.in.ExpirePendingOrdersUseCase;
+import com.simpleshop.order.application.port.out.ExpiredOrderProjection;
+import com.simpleshop.order.application.port.out.OrderRepository;
+import com.simpleshop.order.application.query.ExpiredOrdersResult;
+import com.simpleshop.order.domain.event.OrderCancelled;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class OrderExpiryService implements ExpirePendingOrdersUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExpiryService.class);
+    static final String EXPIRY_REASON = "Reservation expired";
+
+    private final OrderRepository orderRepository;
+    private final ReleaseStockUseCase releaseStockUseCase;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderExpiryService(OrderRepository orderRepository, ReleaseStockUseCase releaseStockUseCase,
+                              ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.releaseStockUseCase = releaseStockUseCase;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @WithSpan("order.expirePendingOrders")
+    public ExpiredOrdersResult execute(ExpirePendingOrdersCommand command) {
+        List<ExpiredOrderProjection> expired = orderRepository.expirePendingOrdersPlacedBefore(
+            command.placedBefore(), command.batchSize(), EXPIRY_REASON
+        );
+        if (expired.isEmpty()) {
+            return ExpiredOrdersResult.none();
+        }
+        List<UUID> expiredOrderIds = expired.stream().map(ExpiredOrderProjection::orderId).toList();
+
+        // The batch is released here in one update and recorded per order, so the
+        // cancellation events below reach their listeners without releasing the stock again.
+        List<ReleaseStockCommand> releases = orderRepository.sumReservedItemsByOrderIds(expiredOrderIds).stream()
+            .map(item -> new ReleaseStockCommand(item.productId(), item.warehouseId(), item.quantity()))
+            .toList();
+        List<ReleaseStockCommand> failed = releaseStockUseCase.releaseAllForOrders(expiredOrderIds, releases);
+
+        for (ExpiredOrderProjection order : expired) {
+            eventPublisher.publishEvent(
+                new OrderCancelled(order.orderId(), order.orderNumber(), order.userId(), EXPIRY_REASON)
+            );
+        }
+
+        for (ReleaseStockCommand line : failed) {
+            log.warn("Could not release {} units of product {} in warehouse {} for expired orders",
+                line.quantity(), line.productId(), line.warehouseId());
+        }
+        log.info("Expired {} pending orders placed before {}, released {} stock lines",
+            expiredOrderIds.size(), command.placedBefore(), releases.size() - failed.size());
+
+        return new ExpiredOrdersResult(expiredOrderIds.size(), releases.size() - failed.size(), failed.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Instant> findOldestPendingPlacedAt() {
+        return orderRepository.findOldestPendingCreatedAt();
+    }
+}
@@ -13,6 +13,8 @@ import com.simpleshop.inventory.application.port.in.AllocateStockUseCase;
 import com.simpleshop.inventory.application.query.StockAllocationResult;
 import com.simpleshop.order.application.command.*;
 import com.simpleshop.order.application.port.in.*;
+import com.simpleshop.order.application.port.out.AdminOrderFilter;
+import com.simpleshop.order.application.port.out.AdminOrderSummaryProjection;
 import com.simpleshop.order.application.port.out.OrderNumberGenerator;
 import com.simpleshop.order.application.port.out.OrderRepository;
 import com.simpleshop.order.application.port.out.OrderSummaryProjection;
@@ -25,6 +27,7 @@ import com.simpleshop.order.domain.model.vo.OrderId;
 import com.simpleshop.order.domain.model.vo.OrderNumber;
 import com.simpleshop.shared.domain.model.vo.Address;
 import com.simpleshop.shared.domain.model.vo.Money;
+import com.simpleshop.shared.retry.RetryOnOptimisticLock;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -41,7 +44,8 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCase, ConfirmOrderUseCase,
-        CancelOrderUseCase, ShipOrderUseCase, DeliverOrderUseCase, GetOrderUseCase, ListUserOrdersUseCase {
+        CancelOrderUseCase, ShipOrderUseCase, DeliverOrderUseCase, GetOrderUseCase, ListUserOrdersUseCase,
+        ListPaidOrdersUseCase, ListAdminOrdersUseCase {
     
     private final OrderRepository orderRepository;
     private final OrderNumberGenerator orderNumberGenerator;
@@ -75,10 +79,6 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
         Map<UUID, Product> productsById = productRepository.findByIds(productIds).stream()
             .collect(Collectors.toMap(Product::getId, Function.identity()));
         
-        StockAllocationResult allocationResult = allocateStockUseCase.allocate(
-            new AllocateStockCommand(allocationRequests)
-        );
-        
         Address shippingAddress = Address.of(
             command.street(),
             command.city(),
@@ -86,8 +86,13 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
             command.country()
         );
         
+        StockAllocationResult allocationResult = allocateStockUseCase.allocate(
+            new AllocateStockCommand(allocationRequests, toDestination(shippingAddress))
+        );
+        
         List<OrderItem> orderItems = new ArrayList<>();
-        for (PlaceOrderCommand.OrderItemData itemData : command.items()) {
+        for (int line = 0; line < command.items().size(); line++) {
+            PlaceOrderCommand.OrderItemData itemData = command.items().get(line);
             Product product = productsById.get(itemData.productId());
             if (product == null) {
                 throw new IllegalArgumentException("Product not found: " + itemData.productId());
@@ -95,16 +100,17 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
             
             com.simpleshop.catalog.domain.model.vo.Money catalogPrice = product.getPrice();
             Money sharedPrice = Money.of(catalogPrice.getAmount(), catalogPrice.getCurrency());
-            UUID warehouseId = allocationResult.getWarehouseIdForProduct(itemData.productId());
             
-            OrderItem item = OrderItem.create(
-                product.getId(),
-                product.getName(),
-                itemData.quantity(),
-                sharedPrice,
-                warehouseId
-            );
-            orderItems.add(item);
+            // A line split across warehouses becomes one order item per warehouse.
+            for (StockAllocationResult.Allocation allocation : allocationResult.allocationsForLine(line)) {
+                orderItems.add(OrderItem.create(
+                    product.getId(),
+                    product.getName(),
+                    allocation.quantity(),
+                    sharedPrice,
+                    allocation.warehouseId()
+                ));
+            }
         }
         
         OrderNumber orderNumber = orderNumberGenerator.generate();
@@ -127,10 +133,6 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
             .map(item -> new AllocateStockCommand.AllocationRequest(item.productId(), item.quantity()))
             .toList();
         
-        StockAllocationResult allocationResult = allocateStockUseCase.allocate(
-            new AllocateStockCommand(allocationRequests)
-        );
-        
         Address shippingAddress = Address.of(
             command.street(),
             command.city(),
@@ -138,17 +140,22 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
             command.country()
         );
         
+        StockAllocationResult allocationResult = allocateStockUseCase.allocate(
+            new AllocateStockCommand(allocationRequests, toDestination(shippingAddress))
+        );
+        
         List<OrderItem> orderItems = new ArrayList<>();
-        for (CartItemView cartItem : cart.items()) {
-            UUID warehouseId = allocationResult.getWarehouseIdForProduct(cartItem.productId());
-            OrderItem item = OrderItem.create(
-                cartItem.productId(),
-                cartItem.productName(),
-                cartItem.quantity(),
-                Money.of(cartItem.price(), cartItem.currency()),
-                warehouseId
-            );
-            orderItems.add(item);
+        for (int line = 0; line < cart.items().size(); line++) {
+            CartItemView cartItem = cart.items().get(line);
+            for (StockAllocationResult.Allocation allocation : allocationResult.allocationsForLine(line)) {
+                orderItems.add(OrderItem.create(
+                    cartItem.productId(),
+                    cartItem.productName(),
+                    allocation.quantity(),
+                    Money.of(cartItem.price(), cartItem.currency()),
+                    allocation.warehouseId()
+                ));
+            }
         }
         
         UUID userId = command.userId() != null ? command.userId() : 
@@ -164,6 +171,7 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("order.confirmOrder")
     public OrderView execute(ConfirmOrderCommand command) {
         Order order = findOrderById(command.orderId());
@@ -173,6 +181,7 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("order.cancelOrder")
     public void execute(CancelOrderCommand command) {
         Order order = findOrderById(command.orderId());
@@ -181,6 +190,7 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("order.shipOrder")
     public OrderView execute(ShipOrderCommand command) {
         Order order = findOrderById(command.orderId());
@@ -190,6 +200,7 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("order.deliverOrder")
     public OrderView execute(DeliverOrderCommand command) {
         Order order = findOrderById(command.orderId());
@@ -223,11 +234,53 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
             .map(this::toOrderSummaryView);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    @WithSpan("order.listPaidOrders")
+    public List<OrderView> execute(ListPaidOrdersQuery query) {
+        return orderRepository.findPaidPlacedBetween(query.placedFrom(), query.placedBefore(), query.after(), query.limit())
+            .stream()
+            .map(this::toOrderView)
+            .toList();
+    }
+    
+    /**
+     * Reads one row past the page to learn whether another page follows, so the list
+     * needs no count query. The unfiltered list also carries the planner's estimate of all
+     * orders; a filtered one carries none.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @WithSpan("order.listAdminOrders")
+    public AdminOrderPage execute(ListAdminOrdersQuery query) {
+        AdminOrderFilter filter = new AdminOrderFilter(query.status(), query.placedFrom(), query.placedBefore());
+        List<AdminOrderSummaryProjection> rows = orderRepository.findAdminOrderSummaries(filter, query.after(), query.size() + 1);
+        boolean hasNext = rows.size() > query.size();
+        List<AdminOrderSummaryView> orders = rows.stream()
+            .limit(query.size())
+            .map(this::toAdminOrderSummaryView)
+            .toList();
+        OrderCursor next = hasNext
+            ? new OrderCursor(orders.getLast().createdAt(), orders.getLast().id())
+            : null;
+        Long estimatedTotal = filter.isEmpty() ? orderRepository.estimateOrderCount() : null;
+        return new AdminOrderPage(orders, next, estimatedTotal);
+    }
+    
     private Order findOrderById(UUID orderId) {
         return orderRepository.findById(OrderId.of(orderId))
             .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
     
+    private AllocateStockCommand.Destination toDestination(Address address) {
+        return new AllocateStockCommand.Destination(
+            address.getStreet(),
+            address.getCity(),
+            address.getPostalCode(),
+            address.getCountry()
+        );
+    }
+    
     private OrderView toOrderView(Order order) {
         List<OrderItemView> itemViews = order.getItems().stream()
             .map(this::toOrderItemView)
@@ -279,4 +332,16 @@ public class OrderService implements PlaceOrderUseCase, PlaceOrderFromCartUseCas
             order.createdAt()
         );
     }
+    
+    private AdminOrderSummaryView toAdminOrderSummaryView(AdminOrderSummaryProjection order) {
+        return new AdminOrderSummaryView(
+            order.id(),
+            order.orderNumber(),
+            order.userId(),
+            order.status(),
+            order.totalAmount(),
+            order.currency(),
+            order.createdAt()
+        );
+    }
 }
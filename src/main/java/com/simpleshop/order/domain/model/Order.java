@@ -7,9 +7,11 @@ import com.simpleshop.order.domain.model.vo.OrderId;
 import com.simpleshop.order.domain.model.vo.OrderNumber;
 import com.simpleshop.order.domain.model.vo.OrderStatus;
 import com.simpleshop.shared.domain.model.AggregateRoot;
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.vo.Address;
 import com.simpleshop.shared.domain.model.vo.Money;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
@@ -21,6 +23,11 @@ public class Order extends AggregateRoot<Order> {
     @Id
     private UUID id;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+    
     @Embedded
     @AttributeOverride(name = "value", column = @Column(name = "order_number", nullable = false, unique = true))
     private OrderNumber orderNumber;
@@ -73,7 +80,7 @@ public class Order extends AggregateRoot<Order> {
     protected Order() {}
     
     private Order(OrderNumber orderNumber, UUID userId, Address shippingAddress, List<OrderItem> items, Money totalAmount) {
-        this.id = UUID.randomUUID();
+        this.id = TimeOrderedUuid.generate();
         this.orderNumber = orderNumber;
         this.userId = userId;
         this.shippingAddress = shippingAddress;
@@ -1,5 +1,6 @@
 package com.simpleshop.order.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -21,7 +22,7 @@ public final class OrderItemId extends ValueObject {
     }
     
     public static OrderItemId generate() {
-        return new OrderItemId(UUID.randomUUID());
+        return new OrderItemId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
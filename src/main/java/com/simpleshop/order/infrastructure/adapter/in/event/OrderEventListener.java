@@ -1,9 +1,12 @@
 package com.simpleshop.order.infrastructure.adapter.in.event;
 
+import com.simpleshop.inventory.application.command.ConfirmOrderStockCommand;
 import com.simpleshop.inventory.application.command.ConfirmStockReservationCommand;
+import com.simpleshop.inventory.application.command.ReleaseOrderStockCommand;
 import com.simpleshop.inventory.application.command.ReleaseStockCommand;
 import com.simpleshop.inventory.application.port.in.ConfirmStockReservationUseCase;
 import com.simpleshop.inventory.application.port.in.ReleaseStockUseCase;
+import com.simpleshop.inventory.application.query.OrderStockBatchResult;
 import com.simpleshop.order.application.port.in.GetOrderUseCase;
 import com.simpleshop.order.application.query.GetOrderQuery;
 import com.simpleshop.order.application.query.OrderItemView;
@@ -16,6 +19,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Handles order lifecycle events for inventory management.
  * 
@@ -49,25 +55,26 @@ public class OrderEventListener {
         OrderView order = getOrderUseCase.execute(new GetOrderQuery(event.getOrderId()))
             .orElseThrow(() -> new IllegalStateException("Order not found: " + event.getOrderId()));
         
+        List<ReleaseStockCommand> lines = new ArrayList<>(order.items().size());
         for (OrderItemView item : order.items()) {
             if (item.warehouseId() == null) {
                 log.warn("OrderItem {} has no warehouseId, cannot release stock", item.id());
                 continue;
             }
-            
-            try {
-                releaseStockUseCase.release(new ReleaseStockCommand(
-                    item.productId(),
-                    item.warehouseId(),
-                    item.quantity()
-                ));
-                log.debug("Released {} units of product {} to warehouse {} from order {}", 
-                    item.quantity(), item.productId(), item.warehouseId(), event.getOrderNumber());
-            } catch (Exception e) {
-                log.warn("Failed to release stock for product {} from order {}: {}", 
-                    item.productId(), event.getOrderNumber(), e.getMessage());
-            }
+            lines.add(new ReleaseStockCommand(item.productId(), item.warehouseId(), item.quantity()));
+        }
+        
+        OrderStockBatchResult result = releaseStockUseCase.releaseAll(new ReleaseOrderStockCommand(event.getOrderId(), lines));
+        if (result.alreadyApplied()) {
+            log.info("Stock for order {} was already released, skipping", event.getOrderNumber());
+            return;
+        }
+        
+        for (OrderStockBatchResult.FailedLine failed : result.failedLines()) {
+            log.warn("Failed to release {} units of product {} to warehouse {} from order {}",
+                failed.quantity(), failed.productId(), failed.warehouseId(), event.getOrderNumber());
         }
+        log.debug("Released {} of {} lines from order {}", result.appliedLines(), lines.size(), event.getOrderNumber());
     }
 
     @ApplicationModuleListener
@@ -78,24 +85,25 @@ public class OrderEventListener {
         OrderView order = getOrderUseCase.execute(new GetOrderQuery(event.getOrderId()))
             .orElseThrow(() -> new IllegalStateException("Order not found: " + event.getOrderId()));
         
+        List<ConfirmStockReservationCommand> lines = new ArrayList<>(order.items().size());
         for (OrderItemView item : order.items()) {
             if (item.warehouseId() == null) {
                 log.warn("OrderItem {} has no warehouseId, cannot confirm reservation", item.id());
                 continue;
             }
-            
-            try {
-                confirmStockReservationUseCase.confirm(new ConfirmStockReservationCommand(
-                    item.productId(),
-                    item.warehouseId(),
-                    item.quantity()
-                ));
-                log.debug("Confirmed reservation of {} units of product {} from warehouse {} for order {}", 
-                    item.quantity(), item.productId(), item.warehouseId(), event.getOrderNumber());
-            } catch (Exception e) {
-                log.error("Failed to confirm stock reservation for product {} in order {}: {}", 
-                    item.productId(), event.getOrderNumber(), e.getMessage());
-            }
+            lines.add(new ConfirmStockReservationCommand(item.productId(), item.warehouseId(), item.quantity()));
+        }
+        
+        OrderStockBatchResult result = confirmStockReservationUseCase.confirmAll(new ConfirmOrderStockCommand(event.getOrderId(), lines));
+        if (result.alreadyApplied()) {
+            log.info("Stock reservation for order {} was already confirmed, skipping", event.getOrderNumber());
+            return;
+        }
+        
+        for (OrderStockBatchResult.FailedLine failed : result.failedLines()) {
+            log.error("Failed to confirm reservation of {} units of product {} from warehouse {} for order {}",
+                failed.quantity(), failed.productId(), failed.warehouseId(), event.getOrderNumber());
         }
+        log.debug("Confirmed {} of {} lines for order {}", result.appliedLines(), lines.size(), event.getOrderNumber());
     }
 }
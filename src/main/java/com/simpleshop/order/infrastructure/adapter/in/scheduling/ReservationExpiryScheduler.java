@@ -0,0 +1,106 @@
+package com.simpleshop.order.infrastructure.adapter.in.scheduling;
+
+import com.simpleshop.order.application.command.ExpirePendingOrdersCommand;
+import com.simpleshop.order.application.port.in.ExpirePendingOrdersUseCase;
+import com.simpleshop.order.application.query.ExpiredOrdersResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically expires PENDING orders whose stock reservation is older than the configured TTL.
+ *
+ * The oldest-first index on {@code orders(status, created_at)} acts as the deadline queue:
+ * each sweep drains expired orders in bounded batches until a batch comes back short.
+ *
+ * Disabled unless configured: orders wait in PENDING until an admin confirms them, so the
+ * TTL has to be longer than that review takes or every order would be cancelled.
+ */
+@Component
+@ConditionalOnProperty(name = "order.reservation-expiry.enabled", havingValue = "true")
+public class ReservationExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+
+    private final ExpirePendingOrdersUseCase expirePendingOrdersUseCase;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer batchTimer;
+    private final Counter expiredOrders;
+    private final Counter releasedLines;
+    private final Counter failedLines;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ReservationExpiryScheduler(
+        ExpirePendingOrdersUseCase expirePendingOrdersUseCase,
+        MeterRegistry meterRegistry,
+        @Value("${order.reservation-expiry.ttl-minutes:4320}") long ttlMinutes,
+        @Value("${order.reservation-expiry.batch-size:200}") int batchSize,
+        @Value("${order.reservation-expiry.max-batches-per-run:50}") int maxBatchesPerRun
+    ) {
+        this.expirePendingOrdersUseCase = expirePendingOrdersUseCase;
+        this.ttl = Duration.ofMinutes(Math.max(1, ttlMinutes));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.batchTimer = Timer.builder("simpleshop.reservations.expiry.batch")
+            .description("Time to expire one batch of pending orders and release their stock")
+            .register(meterRegistry);
+        this.expiredOrders = Counter.builder("simpleshop.reservations.expiry.orders")
+            .description("Pending orders cancelled because their reservation expired")
+            .register(meterRegistry);
+        this.releasedLines = Counter.builder("simpleshop.reservations.expiry.released.lines")
+            .description("Stock lines released for expired orders")
+            .register(meterRegistry);
+        this.failedLines = Counter.builder("simpleshop.reservations.expiry.failed.lines")
+            .description("Stock lines that could not be released for expired orders")
+            .register(meterRegistry);
+        Gauge.builder("simpleshop.reservations.expiry.lag", lagSeconds, AtomicLong::get)
+            .description("How long the oldest expired reservation has been waiting to be released")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${order.reservation-expiry.sweep-interval-ms:60000}",
+        fixedDelayString = "${order.reservation-expiry.sweep-interval-ms:60000}"
+    )
+    public void expireReservations() {
+        Instant cutoff = Instant.now().minus(ttl);
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                ExpiredOrdersResult result = batchTimer.record(() ->
+                    expirePendingOrdersUseCase.execute(new ExpirePendingOrdersCommand(cutoff, batchSize))
+                );
+                expiredOrders.increment(result.expiredOrders());
+                releasedLines.increment(result.releasedLines());
+                failedLines.increment(result.failedLines());
+                if (result.expiredOrders() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Reservation expiry sweep failed", e);
+        } finally {
+            updateLag(cutoff);
+        }
+    }
+
+    private void updateLag(Instant cutoff) {
+        long lag = expirePendingOrdersUseCase.findOldestPendingPlacedAt()
+            .map(oldest -> Math.max(0, Duration.between(oldest, cutoff).toSeconds()))
+            .orElse(0L);
+        lagSeconds.set(lag);
+    }
+}
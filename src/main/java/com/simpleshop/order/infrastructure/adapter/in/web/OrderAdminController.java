@@ -6,10 +6,12 @@ import com.simpleshop.order.application.command.ConfirmOrderCommand;
 import com.simpleshop.order.application.command.DeliverOrderCommand;
 import com.simpleshop.order.application.command.ShipOrderCommand;
 import com.simpleshop.order.application.port.in.*;
-import com.simpleshop.order.application.port.out.OrderRepository;
+import com.simpleshop.order.application.query.AdminOrderPage;
 import com.simpleshop.order.application.query.GetOrderQuery;
+import com.simpleshop.order.application.query.ListAdminOrdersQuery;
+import com.simpleshop.order.application.query.OrderCursor;
 import com.simpleshop.order.application.query.OrderView;
-import com.simpleshop.order.domain.model.Order;
+import com.simpleshop.order.domain.model.vo.OrderStatus;
 import com.simpleshop.shipping.application.command.UpdateShipmentStatusCommand;
 import com.simpleshop.shipping.application.port.in.ListShipmentsByOrderUseCase;
 import com.simpleshop.shipping.application.port.in.UpdateShipmentStatusUseCase;
@@ -18,12 +20,15 @@ import com.simpleshop.shipping.application.query.ShipmentView;
 import com.simpleshop.shipping.domain.model.vo.ShipmentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,7 +41,7 @@ public class OrderAdminController {
     private final ShipOrderUseCase shipOrderUseCase;
     private final DeliverOrderUseCase deliverOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
-    private final OrderRepository orderRepository;
+    private final ListAdminOrdersUseCase listAdminOrdersUseCase;
     private final ListShipmentsByOrderUseCase listShipmentsByOrderUseCase;
     private final UpdateShipmentStatusUseCase updateShipmentStatusUseCase;
 
@@ -45,7 +50,7 @@ public class OrderAdminController {
                                 ShipOrderUseCase shipOrderUseCase,
                                 DeliverOrderUseCase deliverOrderUseCase,
                                 GetOrderUseCase getOrderUseCase,
-                                OrderRepository orderRepository,
+                                ListAdminOrdersUseCase listAdminOrdersUseCase,
                                 ListShipmentsByOrderUseCase listShipmentsByOrderUseCase,
                                 UpdateShipmentStatusUseCase updateShipmentStatusUseCase) {
         this.confirmOrderUseCase = confirmOrderUseCase;
@@ -53,19 +58,35 @@ public class OrderAdminController {
         this.shipOrderUseCase = shipOrderUseCase;
         this.deliverOrderUseCase = deliverOrderUseCase;
         this.getOrderUseCase = getOrderUseCase;
-        this.orderRepository = orderRepository;
+        this.listAdminOrdersUseCase = listAdminOrdersUseCase;
         this.listShipmentsByOrderUseCase = listShipmentsByOrderUseCase;
         this.updateShipmentStatusUseCase = updateShipmentStatusUseCase;
     }
     
     @GetMapping
     @WithSpan
-    public String listOrders(@RequestParam(defaultValue = "0") int page,
+    public String listOrders(@RequestParam(required = false) OrderStatus status,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(required = false) Instant afterCreatedAt,
+                             @RequestParam(required = false) UUID afterId,
                              @RequestParam(defaultValue = "20") int size,
                              Model model) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Order> orders = orderRepository.findAll(pageable);
+        OrderCursor after = afterCreatedAt != null && afterId != null ? new OrderCursor(afterCreatedAt, afterId) : null;
+        Instant placedFrom = from != null ? from.atStartOfDay(ZoneOffset.UTC).toInstant() : null;
+        Instant placedBefore = to != null ? to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() : null;
+        if (placedFrom != null && placedBefore != null && !placedFrom.isBefore(placedBefore)) {
+            placedBefore = null;
+        }
+        AdminOrderPage orders = listAdminOrdersUseCase.execute(
+            new ListAdminOrdersQuery(status, placedFrom, placedBefore, after, Math.clamp(size, 1, 100)));
         model.addAttribute("orders", orders);
+        model.addAttribute("statuses", OrderStatus.values());
+        model.addAttribute("status", status);
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
+        model.addAttribute("size", size);
+        model.addAttribute("firstPage", after == null);
         return "admin/orders/list";
     }
     
@@ -11,6 +11,7 @@ import com.simpleshop.order.application.port.in.*;
 import com.simpleshop.order.application.query.*;
 import com.simpleshop.shipping.application.port.in.ListShipmentsByOrderUseCase;
 import com.simpleshop.shipping.application.query.ShipmentView;
+import com.simpleshop.shared.web.StorefrontView;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Controller
+@StorefrontView
 public class OrderController {
 
     private static final String CART_SESSION_ID = "CART_SESSION_ID";
@@ -2,6 +2,7 @@ package com.simpleshop.order.infrastructure.adapter.out.persistence;
 
 import com.simpleshop.order.domain.model.Order;
 import com.simpleshop.order.domain.model.vo.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +26,12 @@ public interface OrderJpaRepository extends JpaRepository<Order, UUID> {
         Long getItemCount();
         Instant getCreatedAt();
     }
+
+    interface ItemReservationTotal {
+        UUID getProductId();
+        UUID getWarehouseId();
+        Long getQuantity();
+    }
     
     @Query("SELECT o FROM Order o WHERE o.orderNumber.value = :orderNumber")
     Optional<Order> findByOrderNumberValue(@Param("orderNumber") String orderNumber);
@@ -49,4 +58,26 @@ public interface OrderJpaRepository extends JpaRepository<Order, UUID> {
     Page<OrderSummaryJpaProjection> findOrderSummariesByUserId(@Param("userId") UUID userId, Pageable pageable);
     
     Page<Order> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query("SELECT i.productId AS productId, i.warehouseId AS warehouseId, SUM(i.quantity.value) AS quantity " +
+           "FROM Order o JOIN o.items i " +
+           "WHERE o.id IN :orderIds AND i.warehouseId IS NOT NULL " +
+           "GROUP BY i.productId, i.warehouseId")
+    List<ItemReservationTotal> sumItemQuantitiesByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Query("SELECT o.id FROM Order o " +
+           "WHERE o.paidAt IS NOT NULL AND o.createdAt >= :from AND o.createdAt < :before " +
+           "AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId)) " +
+           "ORDER BY o.createdAt, o.id")
+    List<UUID> findPaidIdsPlacedBetween(@Param("from") Instant from,
+                                        @Param("before") Instant before,
+                                        @Param("afterCreatedAt") Instant afterCreatedAt,
+                                        @Param("afterId") UUID afterId,
+                                        Limit limit);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT MIN(o.createdAt) FROM Order o WHERE o.status = :status")
+    Optional<Instant> findOldestCreatedAtByStatus(@Param("status") OrderStatus status);
 }
@@ -1,23 +1,85 @@
 package com.simpleshop.order.infrastructure.adapter.out.persistence;
 
+import com.simpleshop.order.application.port.out.AdminOrderFilter;
+import com.simpleshop.order.application.port.out.AdminOrderSummaryProjection;
+import com.simpleshop.order.application.port.out.ExpiredOrderProjection;
+import com.simpleshop.order.application.port.out.OrderItemReservationProjection;
 import com.simpleshop.order.application.port.out.OrderRepository;
 import com.simpleshop.order.application.port.out.OrderSummaryProjection;
+import com.simpleshop.order.application.query.OrderCursor;
 import com.simpleshop.order.domain.model.Order;
 import com.simpleshop.order.domain.model.vo.OrderId;
 import com.simpleshop.order.domain.model.vo.OrderNumber;
+import com.simpleshop.order.domain.model.vo.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public class OrderRepositoryAdapter implements OrderRepository {
+
+    private static final String EXPIRE_PENDING_SQL = """
+        UPDATE orders
+        SET status = 'CANCELLED', cancelled_at = ?, cancellation_reason = ?, version = version + 1
+        WHERE id IN (
+            SELECT id FROM orders
+            WHERE status = 'PENDING' AND created_at < ?
+            ORDER BY created_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id, order_number, user_id
+        """;
+    
+    private static final String ADMIN_SUMMARY_SELECT = """
+        SELECT id, order_number, user_id, status, total_amount, total_currency, created_at
+        FROM orders
+        """;
+
+    private static final String ESTIMATE_COUNT_SQL =
+        "SELECT reltuples::bigint FROM pg_class WHERE oid = 'orders'::regclass";
+
+    /** Used until the table has been analyzed; beyond this an exact count is not worth it. */
+    private static final String CAPPED_COUNT_SQL =
+        "SELECT count(*) FROM (SELECT 1 FROM orders LIMIT 10000) capped";
+
+    private static final RowMapper<AdminOrderSummaryProjection> ADMIN_SUMMARY_MAPPER = (rs, rowNum) ->
+        new AdminOrderSummaryProjection(
+            rs.getObject("id", UUID.class),
+            rs.getString("order_number"),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("status"),
+            rs.getBigDecimal("total_amount"),
+            rs.getString("total_currency"),
+            rs.getTimestamp("created_at").toInstant()
+        );
+
+    private static final RowMapper<ExpiredOrderProjection> EXPIRED_ORDER_MAPPER = (rs, rowNum) ->
+        new ExpiredOrderProjection(
+            rs.getObject("id", UUID.class),
+            rs.getString("order_number"),
+            rs.getObject("user_id", UUID.class)
+        );
     
     private final OrderJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
     
-    public OrderRepositoryAdapter(OrderJpaRepository jpaRepository) {
+    public OrderRepositoryAdapter(OrderJpaRepository jpaRepository, JdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
     
     @Override
@@ -55,7 +117,93 @@ public class OrderRepositoryAdapter implements OrderRepository {
     }
 
     @Override
-    public Page<Order> findAll(Pageable pageable) {
-        return jpaRepository.findAllByOrderByCreatedAtDesc(pageable);
+    public List<ExpiredOrderProjection> expirePendingOrdersPlacedBefore(Instant cutoff, int limit, String reason) {
+        return jdbcTemplate.query(
+            EXPIRE_PENDING_SQL,
+            EXPIRED_ORDER_MAPPER,
+            Timestamp.from(Instant.now()),
+            reason,
+            Timestamp.from(cutoff),
+            limit
+        );
+    }
+
+    @Override
+    public List<OrderItemReservationProjection> sumReservedItemsByOrderIds(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.sumItemQuantitiesByOrderIds(orderIds).stream()
+            .map(total -> new OrderItemReservationProjection(
+                total.getProductId(),
+                total.getWarehouseId(),
+                Math.toIntExact(total.getQuantity())
+            ))
+            .toList();
+    }
+
+    @Override
+    public Optional<Instant> findOldestPendingCreatedAt() {
+        return jpaRepository.findOldestCreatedAtByStatus(OrderStatus.PENDING);
+    }
+
+    /**
+     * Pages over IDs first so the limit applies in the database, then fetches those orders
+     * with their items in one query and restores the keyset order.
+     */
+    @Override
+    public List<Order> findPaidPlacedBetween(Instant from, Instant before, OrderCursor after, int limit) {
+        List<UUID> ids = jpaRepository.findPaidIdsPlacedBetween(from, before, after.createdAt(), after.id(), Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> position = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return jpaRepository.findAllWithItemsByIdIn(ids).stream()
+            .sorted(Comparator.comparingInt(order -> position.get(order.getId())))
+            .toList();
+    }
+
+    /**
+     * Seeks with a row-value comparison on {@code (created_at, id)}, which PostgreSQL answers
+     * from {@code idx_orders_created_at_id}, or {@code idx_orders_status_created_at_id} when
+     * filtering by status, without counting or skipping the rows of earlier pages.
+     */
+    @Override
+    public List<AdminOrderSummaryProjection> findAdminOrderSummaries(AdminOrderFilter filter, OrderCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(ADMIN_SUMMARY_SELECT).append("WHERE TRUE");
+        List<Object> args = new ArrayList<>(6);
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.placedFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.from(filter.placedFrom()));
+        }
+        if (filter.placedBefore() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.from(filter.placedBefore()));
+        }
+        if (after != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(Timestamp.from(after.createdAt()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ADMIN_SUMMARY_MAPPER, args.toArray());
+    }
+
+    @Override
+    public long estimateOrderCount() {
+        Long estimate = jdbcTemplate.queryForObject(ESTIMATE_COUNT_SQL, Long.class);
+        if (estimate != null && estimate >= 0) {
+            return estimate;
+        }
+        Long capped = jdbcTemplate.queryForObject(CAPPED_COUNT_SQL, Long.class);
+        return capped != null ? capped : 0L;
     }
 }
@@ -1,12 +1,26 @@
 package com.simpleshop.shared.domain.model;
 
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
 import org.springframework.data.domain.AbstractAggregateRoot;
+import org.springframework.data.domain.Persistable;
 
 import java.util.Collection;
+import java.util.UUID;
 
+/**
+ * Aggregates assign their own IDs, so Spring Data cannot tell a new aggregate from a
+ * detached one by a null ID. Tracking newness explicitly lets {@code save} call
+ * {@code persist} directly instead of {@code merge}, avoiding a SELECT per insert and
+ * allowing Hibernate to batch the inserts.
+ */
 @MappedSuperclass
-public abstract class AggregateRoot<T extends AggregateRoot<T>> extends AbstractAggregateRoot<T> {
+public abstract class AggregateRoot<T extends AggregateRoot<T>> extends AbstractAggregateRoot<T> implements Persistable<UUID> {
+    
+    @Transient
+    private boolean isNew = true;
     
     public Collection<Object> getDomainEvents() {
         return domainEvents();
@@ -15,4 +29,15 @@ public abstract class AggregateRoot<T extends AggregateRoot<T>> extends Abstract
     public void clearEvents() {
         clearDomainEvents();
     }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
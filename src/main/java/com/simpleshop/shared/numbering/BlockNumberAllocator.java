@@ -0,0 +1,131 @@
+package com.simpleshop.shared.numbering;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out numbers such as {@code ORD-2026-00042} from blocks reserved in a shared counter,
+ * so only one call in {@code blockSize} reaches the {@link NumberBlockSource}. Threads draw
+ * from the current block with one atomic increment; the thread that finds it exhausted
+ * reserves the next block while the others wait for it.
+ *
+ * The counter never restarts and the year is only a prefix, read from the clock when a
+ * number is handed out. A block reserved in December and used up in January therefore
+ * carries on with the new year and stays unique. Numbers are increasing per node but not
+ * across nodes, and a block left unfinished when a node stops leaves a gap.
+ */
+public final class BlockNumberAllocator {
+
+    private static final int MIN_DIGITS = 5;
+
+    private final NumberBlockSource source;
+    private final String counter;
+    private final String prefix;
+    private final int blockSize;
+    private final Clock clock;
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private volatile Block block = Block.EXHAUSTED;
+    private volatile YearWindow year = YearWindow.NONE;
+
+    public BlockNumberAllocator(NumberBlockSource source, String counter, String prefix, int blockSize, Clock clock) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.source = source;
+        this.counter = counter;
+        this.prefix = prefix;
+        this.blockSize = blockSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Fails fast when the counter is missing, instead of on the first number handed out.
+     */
+    public void requireCounter() {
+        source.requireCounter(counter, blockSize);
+    }
+
+    public String next() {
+        long number = nextNumber();
+        return format(prefix, currentYear(), number);
+    }
+
+    long nextNumber() {
+        while (true) {
+            Block current = block;
+            long number = current.cursor.getAndIncrement();
+            if (number < current.end) {
+                return number;
+            }
+            refill(current);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // Another thread may have refilled while this one waited for the lock.
+            if (block == exhausted) {
+                long first = source.reserve(counter, blockSize);
+                block = new Block(first, first + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private String currentYear() {
+        long now = clock.millis();
+        YearWindow window = year;
+        if (now < window.startsAt || now >= window.endsAt) {
+            window = YearWindow.containing(now, clock.getZone());
+            year = window;
+        }
+        return window.text;
+    }
+
+    static String format(String prefix, String year, long number) {
+        String digits = Long.toString(number);
+        StringBuilder formatted = new StringBuilder(prefix.length() + year.length() + 2 + Math.max(digits.length(), MIN_DIGITS))
+            .append(prefix)
+            .append('-')
+            .append(year)
+            .append('-');
+        for (int i = digits.length(); i < MIN_DIGITS; i++) {
+            formatted.append('0');
+        }
+        return formatted.append(digits).toString();
+    }
+
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(0, 0);
+
+        final AtomicLong cursor;
+        final long end;
+
+        Block(long first, long end) {
+            this.cursor = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+
+    private record YearWindow(String text, long startsAt, long endsAt) {
+
+        static final YearWindow NONE = new YearWindow("", 0, 0);
+
+        static YearWindow containing(long epochMillis, ZoneId zone) {
+            int year = Instant.ofEpochMilli(epochMillis).atZone(zone).getYear();
+            return new YearWindow(
+                Integer.toString(year),
+                LocalDate.of(year, 1, 1).atStartOfDay(zone).toInstant().toEpochMilli(),
+                LocalDate.of(year + 1, 1, 1).atStartOfDay(zone).toInstant().toEpochMilli()
+            );
+        }
+    }
+}
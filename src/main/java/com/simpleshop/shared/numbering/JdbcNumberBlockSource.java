@@ -0,0 +1,70 @@
+package com.simpleshop.shared.numbering;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps each counter as a Postgres sequence named {@code <counter>_block_seq} whose
+ * increment is the block size, so one {@code nextval} reserves a whole block. {@code nextval}
+ * takes no row lock and is not rolled back, so it runs on the caller's connection inside
+ * its transaction: no second pooled connection is needed, and a block stays reserved when
+ * that transaction rolls back, since its numbers may already be in use.
+ *
+ * The sequences come from the Flyway migrations (V7 carries them on from
+ * {@code number_allocations}); a missing counter, or one whose increment differs from the
+ * configured block size, is an error rather than a fresh start at 1.
+ */
+@Component
+public class JdbcNumberBlockSource implements NumberBlockSource {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcNumberBlockSource.class);
+
+    private static final String INCREMENT_SQL =
+        "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?";
+    private static final String RESERVE_SQL = "SELECT nextval(CAST(? AS regclass))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> checkedBlockSizes = new ConcurrentHashMap<>();
+
+    public JdbcNumberBlockSource(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void requireCounter(String counter, int size) {
+        List<Long> increments = jdbcTemplate.queryForList(INCREMENT_SQL, Long.class, sequenceName(counter));
+        if (increments.isEmpty()) {
+            throw new IllegalStateException("Number counter '" + counter + "' has no sequence " + sequenceName(counter));
+        }
+        long increment = increments.getFirst();
+        if (increment != size) {
+            throw new IllegalStateException("Number counter '" + counter + "' hands out blocks of " + increment
+                + " but the block size is " + size + "; run ALTER SEQUENCE " + sequenceName(counter)
+                + " INCREMENT BY " + size);
+        }
+        checkedBlockSizes.put(counter, size);
+    }
+
+    @Override
+    public long reserve(String counter, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        if (checkedBlockSizes.getOrDefault(counter, 0) != size) {
+            requireCounter(counter, size);
+        }
+        Long first = jdbcTemplate.queryForObject(RESERVE_SQL, Long.class, sequenceName(counter));
+        log.debug("Reserved {} numbers of {} from {}", size, counter, first);
+        return first;
+    }
+
+    static String sequenceName(String counter) {
+        return counter + "_block_seq";
+    }
+}
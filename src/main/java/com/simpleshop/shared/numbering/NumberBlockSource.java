@@ -0,0 +1,21 @@
+package com.simpleshop.shared.numbering;
+
+/**
+ * A named counter shared by every node, handed out in contiguous blocks. Counters are
+ * created by the schema migrations, never on first use.
+ */
+public interface NumberBlockSource {
+
+    /**
+     * @throws IllegalStateException if the counter does not exist or cannot hand out blocks
+     *         of {@code size} numbers
+     */
+    void requireCounter(String counter, int size);
+
+    /**
+     * Reserves {@code size} consecutive numbers of the counter for the caller alone and
+     * returns the first of them. A reservation is permanent even if the caller never uses it,
+     * and every caller of one counter is expected to use the same size.
+     */
+    long reserve(String counter, int size);
+}
@@ -0,0 +1,99 @@
+package com.simpleshop.shared.observability.sql;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Counts JDBC statement executions per use case on the calling thread.
+ *
+ * Scopes nest: a statement counts towards every open scope, so an outer use case reports
+ * the statements of the use cases it calls. The innermost scope's running count is kept
+ * on the current span as {@link #STATEMENT_COUNT}; when a nested scope closes, the span
+ * that is current again receives the enclosing scope's count.
+ */
+public final class SqlStatementCounter {
+
+    public static final AttributeKey<Long> STATEMENT_COUNT = AttributeKey.longKey("db.statement.count");
+
+    private final ThreadLocal<Deque<Scope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public Scope open(String name) {
+        Scope scope = new Scope(name);
+        scopes.get().push(scope);
+        return scope;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    void recordStatement() {
+        Deque<Scope> open = scopes.get();
+        if (open.isEmpty()) {
+            return;
+        }
+        for (Scope scope : open) {
+            scope.statements++;
+        }
+        Span.current().setAttribute(STATEMENT_COUNT, open.peek().statements);
+    }
+
+    private void close(Scope scope) {
+        Deque<Scope> open = scopes.get();
+        // Tolerate scopes closed out of order by discarding anything opened after them.
+        while (!open.isEmpty() && open.peek() != scope) {
+            open.pop();
+        }
+        open.poll();
+        if (open.isEmpty()) {
+            scopes.remove();
+        } else {
+            Span.current().setAttribute(STATEMENT_COUNT, open.peek().statements);
+        }
+        for (Listener listener : listeners) {
+            listener.scopeClosed(scope.name, scope.statements);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void scopeClosed(String name, long statements);
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final String name;
+        private long statements;
+        private boolean closed;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long statements() {
+            return statements;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                SqlStatementCounter.this.close(this);
+            }
+        }
+    }
+}
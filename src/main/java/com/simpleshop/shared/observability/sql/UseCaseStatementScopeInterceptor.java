@@ -0,0 +1,58 @@
+package com.simpleshop.shared.observability.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Opens a {@link SqlStatementCounter} scope around every {@link WithSpan} method and
+ * records the statement count per use case when it returns.
+ */
+class UseCaseStatementScopeInterceptor implements MethodInterceptor {
+
+    private final SqlStatementCounter counter;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    UseCaseStatementScopeInterceptor(SqlStatementCounter counter, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String useCase = useCaseName(invocation);
+        SqlStatementCounter.Scope scope = counter.open(useCase);
+        try {
+            return invocation.proceed();
+        } finally {
+            scope.close();
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                DistributionSummary.builder("simpleshop.sql.statements")
+                    .description("JDBC statements executed per use case invocation")
+                    .tag("use_case", useCase)
+                    .register(registry)
+                    .record(scope.statements());
+            }
+        }
+    }
+
+    private String useCaseName(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+
+        WithSpan span = AnnotatedElementUtils.findMergedAnnotation(method, WithSpan.class);
+        if (span != null && !span.value().isBlank()) {
+            return span.value();
+        }
+        return targetClass.getSimpleName() + "." + method.getName();
+    }
+}
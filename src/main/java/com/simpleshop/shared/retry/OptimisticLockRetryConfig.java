@@ -0,0 +1,37 @@
+package com.simpleshop.shared.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+class OptimisticLockRetryConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor optimisticLockRetryAdvisor(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${retry.optimistic-lock.max-attempts:3}") int maxAttempts,
+        @Value("${retry.optimistic-lock.initial-backoff-ms:20}") long initialBackoffMillis,
+        @Value("${retry.optimistic-lock.max-backoff-ms:200}") long maxBackoffMillis
+    ) {
+        OptimisticLockRetryInterceptor interceptor = new OptimisticLockRetryInterceptor(
+            meterRegistry, maxAttempts, initialBackoffMillis, maxBackoffMillis
+        );
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RetryOnOptimisticLock.class),
+            interceptor
+        );
+        // Run outside the transaction interceptor (LOWEST_PRECEDENCE) so each attempt gets a new transaction.
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
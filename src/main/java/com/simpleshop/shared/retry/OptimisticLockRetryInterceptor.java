@@ -0,0 +1,139 @@
+package com.simpleshop.shared.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.persistence.OptimisticLockException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-executes {@link RetryOnOptimisticLock} methods with bounded, fully jittered
+ * exponential backoff. Must be ordered outside the transaction interceptor so that
+ * every attempt runs in a fresh transaction and persistence context.
+ */
+class OptimisticLockRetryInterceptor implements MethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetryInterceptor.class);
+    private static final String UNKNOWN_AGGREGATE = "unknown";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    OptimisticLockRetryInterceptor(ObjectProvider<MeterRegistry> meterRegistry, int maxAttempts,
+                                   long initialBackoffMillis, long maxBackoffMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Inside an outer transaction the conflict can only be resolved by the caller.
+            return invocation.proceed();
+        }
+
+        String useCase = useCaseName(invocation);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return invocation.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                String aggregate = aggregateName(e);
+                conflictCounter(useCase, aggregate).increment();
+
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter(useCase, aggregate).increment();
+                    log.warn("Optimistic lock conflict on {} in {} not resolved after {} attempts",
+                        aggregate, useCase, attempt);
+                    throw e;
+                }
+
+                retryCounter(useCase, aggregate).increment();
+                long backoff = backoffMillis(attempt);
+                log.debug("Optimistic lock conflict on {} in {}, retrying attempt {} in {} ms",
+                    aggregate, useCase, attempt + 1, backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry optimistic lock conflict", e);
+        }
+    }
+
+    private String useCaseName(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+
+        RetryOnOptimisticLock annotation = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnOptimisticLock.class);
+        if (annotation != null && !annotation.value().isBlank()) {
+            return annotation.value();
+        }
+        WithSpan span = AnnotatedElementUtils.findMergedAnnotation(method, WithSpan.class);
+        if (span != null && !span.value().isBlank()) {
+            return span.value();
+        }
+        return targetClass.getSimpleName() + "." + method.getName();
+    }
+
+    private String aggregateName(Exception e) {
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure
+                && objectFailure.getPersistentClassName() != null) {
+            return simpleName(objectFailure.getPersistentClassName());
+        }
+        if (e instanceof OptimisticLockException lockException && lockException.getEntity() != null) {
+            return lockException.getEntity().getClass().getSimpleName();
+        }
+        return UNKNOWN_AGGREGATE;
+    }
+
+    private String simpleName(String className) {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot >= 0 ? className.substring(lastDot + 1) : className;
+    }
+
+    private Counter conflictCounter(String useCase, String aggregate) {
+        return counter("simpleshop.optimistic.lock.conflicts", useCase, aggregate);
+    }
+
+    private Counter retryCounter(String useCase, String aggregate) {
+        return counter("simpleshop.optimistic.lock.retries", useCase, aggregate);
+    }
+
+    private Counter exhaustedCounter(String useCase, String aggregate) {
+        return counter("simpleshop.optimistic.lock.exhausted", useCase, aggregate);
+    }
+
+    private Counter counter(String name, String useCase, String aggregate) {
+        return Counter.builder(name)
+            .tag("use_case", useCase)
+            .tag("aggregate", aggregate)
+            .register(meterRegistry.getObject());
+    }
+}
@@ -0,0 +1,24 @@
+package com.simpleshop.shared.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an idempotent use case that may be re-executed when its transaction
+ * loses an optimistic-locking race on a versioned aggregate.
+ * Retries only apply when the method opens the outermost transaction.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnOptimisticLock {
+
+    /**
+     * Use case name reported in retry metrics. Defaults to the {@code @WithSpan}
+     * name of the method, or {@code Class.method} when it has none.
+     */
+    String value() default "";
+}
@@ -0,0 +1,33 @@
+package com.simpleshop.shared.threads;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * The shared executor behind {@code @ApplicationModuleListener} and every other
+ * {@code @Async} without a qualifier.
+ *
+ * Spring Boot stops creating its own once the notification executors exist, so it is
+ * declared here under Boot's names instead of forcing Boot's for the whole application.
+ * It is built with Boot's builders, which keeps {@code spring.task.execution.*} and
+ * {@code spring.threads.virtual.enabled} in effect.
+ */
+@Configuration
+class ApplicationTaskExecutorConfig {
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    AsyncTaskExecutor applicationTaskExecutor(
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+        ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+        SimpleAsyncTaskExecutorBuilder virtualThreadBuilder
+    ) {
+        if (virtualThreads) {
+            return virtualThreadBuilder.build();
+        }
+        return threadPoolBuilder.build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.simpleshop.shared.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Guardrails for {@code spring.threads.virtual.enabled=true}, where Spring Boot runs
+ * Tomcat requests, the task executor behind {@code @ApplicationModuleListener} and
+ * scheduled jobs on virtual threads.
+ *
+ * Excess callers queue for a JDBC connection in Hikari itself and fail after its
+ * {@code connection-timeout}; a limit in front of the pool would have to leave room for
+ * the code paths that hold two connections at once and so could never be tighter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+class VirtualThreadGuardrailsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "threads.virtual.pinning-detection.enabled", havingValue = "true", matchIfMissing = true)
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        MeterRegistry meterRegistry,
+        @Value("${threads.virtual.pinning-detection.threshold-ms:20}") long thresholdMs
+    ) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+}
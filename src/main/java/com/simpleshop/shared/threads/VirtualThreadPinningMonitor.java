@@ -0,0 +1,90 @@
+package com.simpleshop.shared.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} JFR event in-process. A virtual
+ * thread that blocks while pinned to its carrier (inside a native frame, for example)
+ * holds that carrier for the whole wait. Each such event longer than the threshold is
+ * counted, timed and logged with the top of its stack, so the code responsible can be
+ * found without attaching a profiler.
+ */
+class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter pinnedEvents;
+    private final Timer pinnedTime;
+    private volatile RecordingStream stream;
+
+    VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedEvents = Counter.builder("simpleshop.threads.virtual.pinned")
+            .description("Virtual threads that blocked while pinned to their carrier longer than the threshold")
+            .register(meterRegistry);
+        this.pinnedTime = Timer.builder("simpleshop.threads.virtual.pinned.duration")
+            .description("How long pinned virtual threads held their carrier")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for longer than {}ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        pinnedTime.record(event.getDuration());
+        log.warn("Virtual thread {} pinned for {}ms at\n{}",
+            event.getThread() != null ? event.getThread().getJavaName() : "?",
+            event.getDuration().toMillis(),
+            topFrames(event.getStackTrace()));
+    }
+
+    private static String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(no stack trace)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber())
+            .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,17 @@
+package com.simpleshop.shared.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller whose views render in the storefront layout, so advice that fills
+ * the layout's model (such as the cart badge) runs for those requests only.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StorefrontView {
+}
@@ -4,7 +4,7 @@ import com.simpleshop.shipping.domain.model.vo.TrackingNumber;
 
 /**
  * Port for generating unique tracking numbers.
- * Implementation should use a persistent sequence to ensure uniqueness across restarts.
+ * Implementation should use a persistent counter to ensure uniqueness across restarts and nodes.
  */
 public interface TrackingNumberGenerator {
     TrackingNumber generate();
@@ -1,5 +1,6 @@
 package com.simpleshop.shipping.application.service;
 
+import com.simpleshop.shared.retry.RetryOnOptimisticLock;
 import com.simpleshop.shipping.application.command.CreateShipmentCommand;
 import com.simpleshop.shipping.application.command.UpdateShipmentStatusCommand;
 import com.simpleshop.shipping.application.port.in.*;
@@ -57,6 +58,7 @@ public class ShippingService implements
     }
     
     @Override
+    @RetryOnOptimisticLock
     @WithSpan("shipping.updateStatus")
     public ShipmentView updateStatus(UpdateShipmentStatusCommand command) {
         Shipment shipment = shipmentRepository.findById(ShipmentId.of(command.shipmentId()))
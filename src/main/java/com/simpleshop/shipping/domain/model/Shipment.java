@@ -1,6 +1,7 @@
 package com.simpleshop.shipping.domain.model;
 
 import com.simpleshop.shared.domain.model.AggregateRoot;
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.vo.Address;
 import com.simpleshop.shipping.domain.event.ShipmentCreated;
 import com.simpleshop.shipping.domain.event.ShipmentDelivered;
@@ -11,6 +12,7 @@ import com.simpleshop.shipping.domain.model.vo.ShipmentId;
 import com.simpleshop.shipping.domain.model.vo.ShipmentStatus;
 import com.simpleshop.shipping.domain.model.vo.TrackingNumber;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -26,6 +28,11 @@ public class Shipment extends AggregateRoot<Shipment> {
     @Id
     private UUID id;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+    
     @Embedded
     @AttributeOverride(name = "value", column = @Column(name = "tracking_number", nullable = false, unique = true))
     private TrackingNumber trackingNumber;
@@ -63,7 +70,7 @@ public class Shipment extends AggregateRoot<Shipment> {
     
     private Shipment(TrackingNumber trackingNumber, UUID orderId, UUID warehouseId,
                      Address destinationAddress, LocalDate estimatedDelivery) {
-        this.id = UUID.randomUUID();
+        this.id = TimeOrderedUuid.generate();
         this.trackingNumber = trackingNumber;
         this.orderId = orderId;
         this.warehouseId = warehouseId;
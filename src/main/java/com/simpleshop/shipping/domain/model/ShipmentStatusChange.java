@@ -1,5 +1,6 @@
 package com.simpleshop.shipping.domain.model;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.UUID;
@@ -33,7 +34,7 @@ public class ShipmentStatusChange {
     public ShipmentStatusChange(Shipment shipment,
                                 com.simpleshop.shipping.domain.model.vo.ShipmentStatus status,
                                 String location, String notes) {
-        this.id = UUID.randomUUID();
+        this.id = TimeOrderedUuid.generate();
         this.shipment = shipment;
         this.status = status;
         this.changedAt = Instant.now();
@@ -1,5 +1,6 @@
 package com.simpleshop.shipping.domain.model.vo;
 
+import com.simpleshop.shared.domain.model.TimeOrderedUuid;
 import com.simpleshop.shared.domain.model.ValueObject;
 import jakarta.persistence.Embeddable;
 import java.util.Objects;
@@ -21,7 +22,7 @@ public final class ShipmentId extends ValueObject {
     }
     
     public static ShipmentId generate() {
-        return new ShipmentId(UUID.randomUUID());
+        return new ShipmentId(TimeOrderedUuid.generate());
     }
     
     public UUID getValue() {
@@ -6,6 +6,7 @@ import com.simpleshop.order.application.port.in.GetOrderUseCase;
 import com.simpleshop.order.application.query.GetOrderQuery;
 import com.simpleshop.shipping.application.port.in.TrackShipmentUseCase;
 import com.simpleshop.shipping.application.query.ShipmentTrackingView;
+import com.simpleshop.shared.web.StorefrontView;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Optional;
 
 @Controller
+@StorefrontView
 @RequestMapping("/shipments")
 public class ShipmentController {
     
@@ -0,0 +1,178 @@
+-- Baseline: the schema the application created with ddl-auto=update before Flyway took
+-- over, plus the number sequences it created on startup. Databases that already have these
+-- tables are baselined at this version (spring.flyway.baseline-on-migrate) and continue
+-- from V2, so every later change to the schema needs a migration of its own.
+
+-- identity
+
+CREATE TABLE users (
+    id              UUID                        NOT NULL,
+    email           VARCHAR(255)                NOT NULL,
+    password_hash   VARCHAR(255)                NOT NULL,
+    first_name      VARCHAR(255),
+    last_name       VARCHAR(255),
+    role            VARCHAR(255)                NOT NULL,
+    status          VARCHAR(255)                NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_login_at   TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- catalog
+
+CREATE TABLE categories (
+    id          UUID                        NOT NULL,
+    name        VARCHAR(100)                NOT NULL,
+    description VARCHAR(500),
+    parent_id   UUID,
+    sort_order  INTEGER                     NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (id)
+);
+
+CREATE TABLE products (
+    id              UUID                        NOT NULL,
+    name            VARCHAR(255)                NOT NULL,
+    description     VARCHAR(2000),
+    sku             VARCHAR(50)                 NOT NULL,
+    price_amount    NUMERIC(38, 2)              NOT NULL,
+    price_currency  VARCHAR(3)                  NOT NULL,
+    category_id     UUID,
+    image_url       VARCHAR(255),
+    active          BOOLEAN                     NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_products PRIMARY KEY (id),
+    CONSTRAINT uk_products_sku UNIQUE (sku)
+);
+
+-- inventory
+
+CREATE TABLE warehouses (
+    id                      UUID                        NOT NULL,
+    name                    VARCHAR(100)                NOT NULL,
+    warehouse_street        VARCHAR(255)                NOT NULL,
+    warehouse_city          VARCHAR(255)                NOT NULL,
+    warehouse_postal_code   VARCHAR(255)                NOT NULL,
+    warehouse_country       VARCHAR(255)                NOT NULL,
+    active                  BOOLEAN                     NOT NULL,
+    created_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_warehouses PRIMARY KEY (id)
+);
+
+CREATE TABLE stocks (
+    id                  UUID                        NOT NULL,
+    product_id          UUID                        NOT NULL,
+    warehouse_id        UUID                        NOT NULL,
+    quantity            INTEGER                     NOT NULL,
+    reserved_quantity   INTEGER                     NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_stocks PRIMARY KEY (id)
+);
+
+-- cart
+
+CREATE TABLE carts (
+    id          UUID                        NOT NULL,
+    session_id  VARCHAR(255),
+    user_id     UUID,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_carts PRIMARY KEY (id)
+);
+
+CREATE TABLE cart_items (
+    id              UUID            NOT NULL,
+    cart_id         UUID            NOT NULL,
+    product_id      UUID            NOT NULL,
+    quantity        INTEGER         NOT NULL,
+    price_amount    NUMERIC(38, 2)  NOT NULL,
+    price_currency  VARCHAR(3)      NOT NULL,
+    CONSTRAINT pk_cart_items PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES carts (id)
+);
+
+-- order
+
+CREATE SEQUENCE order_number_seq START WITH 1 INCREMENT BY 1 NO MINVALUE NO MAXVALUE CACHE 1;
+
+CREATE TABLE orders (
+    id                      UUID                        NOT NULL,
+    order_number            VARCHAR(255)                NOT NULL,
+    user_id                 UUID                        NOT NULL,
+    shipping_street         VARCHAR(255)                NOT NULL,
+    shipping_city           VARCHAR(255)                NOT NULL,
+    shipping_postal_code    VARCHAR(255)                NOT NULL,
+    shipping_country        VARCHAR(255)                NOT NULL,
+    status                  VARCHAR(255)                NOT NULL,
+    total_amount            NUMERIC(38, 2)              NOT NULL,
+    total_currency          VARCHAR(3)                  NOT NULL,
+    created_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    paid_at                 TIMESTAMP(6) WITH TIME ZONE,
+    shipped_at              TIMESTAMP(6) WITH TIME ZONE,
+    delivered_at            TIMESTAMP(6) WITH TIME ZONE,
+    cancelled_at            TIMESTAMP(6) WITH TIME ZONE,
+    cancellation_reason     VARCHAR(255),
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE order_items (
+    id                      UUID            NOT NULL,
+    order_id                UUID            NOT NULL,
+    product_id              UUID            NOT NULL,
+    product_name            VARCHAR(255)    NOT NULL,
+    quantity                INTEGER         NOT NULL,
+    unit_price_amount       NUMERIC(38, 2)  NOT NULL,
+    unit_price_currency     VARCHAR(3)      NOT NULL,
+    warehouse_id            UUID,
+    CONSTRAINT pk_order_items PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+-- shipping
+
+CREATE SEQUENCE tracking_number_seq START WITH 1 INCREMENT BY 1 NO MINVALUE NO MAXVALUE CACHE 1;
+
+CREATE TABLE shipments (
+    id                          UUID                        NOT NULL,
+    tracking_number             VARCHAR(255)                NOT NULL,
+    order_id                    UUID                        NOT NULL,
+    warehouse_id                UUID                        NOT NULL,
+    destination_street          VARCHAR(255)                NOT NULL,
+    destination_city            VARCHAR(255)                NOT NULL,
+    destination_postal_code     VARCHAR(255)                NOT NULL,
+    destination_country         VARCHAR(255)                NOT NULL,
+    status                      VARCHAR(255)                NOT NULL,
+    estimated_delivery          DATE,
+    created_at                  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_shipments PRIMARY KEY (id),
+    CONSTRAINT uk_shipments_tracking_number UNIQUE (tracking_number)
+);
+
+CREATE TABLE shipment_status_history (
+    id          UUID                        NOT NULL,
+    shipment_id UUID                        NOT NULL,
+    status      VARCHAR(255)                NOT NULL,
+    changed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    location    VARCHAR(200),
+    notes       VARCHAR(1000),
+    CONSTRAINT pk_shipment_status_history PRIMARY KEY (id),
+    CONSTRAINT fk_shipment_status_history_shipment FOREIGN KEY (shipment_id) REFERENCES shipments (id)
+);
+
+-- notification
+
+CREATE TABLE notification_logs (
+    id              UUID                        NOT NULL,
+    type            VARCHAR(50)                 NOT NULL,
+    value           VARCHAR(255),
+    subject         VARCHAR(500),
+    status          VARCHAR(20)                 NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE,
+    error_message   TEXT,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_notification_logs PRIMARY KEY (id)
+);
@@ -0,0 +1,10 @@
+-- Optimistic locking for the aggregates that are updated concurrently. Existing rows start at
+-- version 0. IF NOT EXISTS covers databases that ran these builds with ddl-auto=update.
+
+ALTER TABLE stocks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE carts ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,9 @@
+-- One row per stock operation applied for an order, so a redelivered order event does not
+-- reserve, release or commit the same stock twice.
+
+CREATE TABLE IF NOT EXISTS inventory_order_operations (
+    order_id    UUID                        NOT NULL,
+    operation   VARCHAR(20)                 NOT NULL,
+    applied_at  TIMESTAMP WITH TIME ZONE    NOT NULL,
+    CONSTRAINT pk_inventory_order_operations PRIMARY KEY (order_id, operation)
+);
@@ -0,0 +1,9 @@
+-- Notifications are queued with their rendered body and delivered by the dispatcher, which
+-- retries a failed delivery at next_attempt_at. Rows written before the outbox were already
+-- delivered or failed, so they keep a NULL next_attempt_at and are never claimed.
+
+ALTER TABLE notification_logs ADD COLUMN IF NOT EXISTS body TEXT;
+
+ALTER TABLE notification_logs ADD COLUMN IF NOT EXISTS attempts INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE notification_logs ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,81 @@
+-- Indexes for the repository queries. Each one names the queries it serves; INCLUDE columns
+-- let the summary queries answer from the index alone. IF NOT EXISTS keeps this safe on
+-- databases where the adapters or Hibernate had already created some of them.
+--
+-- Every statement builds CONCURRENTLY so existing tables stay writable, which means Flyway
+-- runs this script outside a transaction. A build that fails leaves an INVALID index behind;
+-- drop it before repairing and re-running the migration, or IF NOT EXISTS will skip it.
+
+-- Superseded by idx_orders_status_created_at_id, which also orders ties by id.
+DROP INDEX CONCURRENTLY IF EXISTS idx_orders_status_created_at;
+
+-- catalog
+
+-- CategoryJpaRepository.findByParentIdOrderBySortOrder
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_parent_sort ON categories (parent_id, sort_order);
+
+-- CategoryJpaRepository.findByParentIdIsNullOrderBySortOrder
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_root_sort ON categories (sort_order) WHERE parent_id IS NULL;
+
+-- ProductJpaRepository.findByCategoryId, findByCategoryIdAndActiveTrue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_active ON products (category_id, active);
+
+-- inventory
+
+-- JpaStockRepository.findByProductIdAndWarehouseId, findByProductId(In), findStockLevelsByProductIdIn;
+-- StockRepositoryAdapter.sumTotalsByProductIds and reserved deltas
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_stocks_product_warehouse
+    ON stocks (product_id, warehouse_id) INCLUDE (id, quantity, reserved_quantity);
+
+-- JpaStockRepository.findByWarehouseId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_stocks_warehouse ON stocks (warehouse_id);
+
+-- cart
+
+-- CartJpaRepository.findBySessionIdValue, summarizeBySessionIdValue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carts_session_id ON carts (session_id) WHERE session_id IS NOT NULL;
+
+-- CartJpaRepository.findByUserId, summarizeByUserId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carts_user_id ON carts (user_id) WHERE user_id IS NOT NULL;
+
+-- JdbcAbandonedCartPurger
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_carts_anonymous_updated_at ON carts (updated_at, id) WHERE user_id IS NULL;
+
+-- Every cart fetch join; the summaries read only the included columns
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cart_items_cart
+    ON cart_items (cart_id) INCLUDE (quantity, price_amount, price_currency);
+
+-- order
+
+-- OrderJpaRepository.findByUserIdOrderByCreatedAtDesc, findOrderSummariesByUserId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created_at
+    ON orders (user_id, created_at DESC) INCLUDE (id, order_number, status, total_amount, total_currency);
+
+-- OrderRepositoryAdapter.findAdminOrderSummaries without a status filter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, id);
+
+-- OrderRepositoryAdapter.findAdminOrderSummaries by status, OrderJpaRepository.findOldestCreatedAtByStatus,
+-- pending order expiry
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created_at_id ON orders (status, created_at, id);
+
+-- OrderJpaRepository.findPaidIdsPlacedBetween
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_paid_created_at_id ON orders (created_at, id) WHERE paid_at IS NOT NULL;
+
+-- Every order fetch join and the user summaries; sumItemQuantitiesByOrderIds reads only the
+-- included columns
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order
+    ON order_items (order_id) INCLUDE (product_id, warehouse_id, quantity);
+
+-- shipping
+
+-- ShipmentJpaRepository.findByOrderIdOrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_shipments_order_created_at ON shipments (order_id, created_at DESC);
+
+-- Shipment.statusHistory
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_shipment_status_history_shipment
+    ON shipment_status_history (shipment_id, changed_at DESC);
+
+-- notification
+
+-- JdbcNotificationOutbox claims and backlog count
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notification_logs_due ON notification_logs (next_attempt_at) WHERE status = 'PENDING';
@@ -0,0 +1,17 @@
+-- Order and tracking numbers are allocated in blocks from one counter row each, which
+-- carries on from where the per-number sequences stopped.
+
+CREATE TABLE number_allocations (
+    name        VARCHAR(50) NOT NULL,
+    next_value  BIGINT      NOT NULL,
+    CONSTRAINT pk_number_allocations PRIMARY KEY (name)
+);
+
+INSERT INTO number_allocations (name, next_value)
+SELECT 'order_number', CASE WHEN is_called THEN last_value + 1 ELSE last_value END FROM order_number_seq;
+
+INSERT INTO number_allocations (name, next_value)
+SELECT 'tracking_number', CASE WHEN is_called THEN last_value + 1 ELSE last_value END FROM tracking_number_seq;
+
+DROP SEQUENCE order_number_seq;
+DROP SEQUENCE tracking_number_seq;
@@ -0,0 +1,11 @@
+-- Order and tracking number blocks come from sequences whose increment is the block size,
+-- so one nextval reserves a block on the caller's own connection without a row lock. The
+-- increments must match order.number.block-size and shipping.tracking-number.block-size.
+
+CREATE SEQUENCE order_number_block_seq INCREMENT BY 100 MINVALUE 1;
+CREATE SEQUENCE tracking_number_block_seq INCREMENT BY 100 MINVALUE 1;
+
+SELECT setval('order_number_block_seq', next_value, false) FROM number_allocations WHERE name = 'order_number';
+SELECT setval('tracking_number_block_seq', next_value, false) FROM number_allocations WHERE name = 'tracking_number';
+
+DROP TABLE number_allocations;
@@ -0,0 +1,104 @@
+package com.simpleshop.cart.domain.model;
+
+import com.simpleshop.cart.domain.model.vo.SessionId;
+import com.simpleshop.catalog.domain.model.vo.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart operations on carts of 10-1000 lines: adding to an existing line, merging an
+ * anonymous cart of the same size with half its products overlapping, and reading the
+ * total and item count after a change. Events are cleared after each operation, as
+ * saving the cart would.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.simpleshop.cart.domain.model.CartBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int lines;
+
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<Money> prices = new ArrayList<>();
+    private Cart cart;
+    private Cart anonymousCart;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void createProducts() {
+        Random seed = new Random(42);
+        for (int i = 0; i < lines * 2; i++) {
+            productIds.add(UUID.randomUUID());
+            prices.add(Money.usd(BigDecimal.valueOf(100 + seed.nextInt(10_000), 2)));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void fillCarts() {
+        random = new Random(7);
+        cart = Cart.createForUser(UUID.randomUUID());
+        anonymousCart = Cart.createForSession(SessionId.of("benchmark"));
+        for (int i = 0; i < lines; i++) {
+            cart.addItem(productIds.get(i), prices.get(i), 1 + i % 3);
+            int other = i + lines / 2;
+            anonymousCart.addItem(productIds.get(other), prices.get(other), 1);
+        }
+        cart.clearEvents();
+        anonymousCart.clearEvents();
+    }
+
+    @Benchmark
+    public Cart addToExistingLine() {
+        int line = random.nextInt(lines);
+        cart.addItem(productIds.get(line), prices.get(line), 1);
+        cart.clearEvents();
+        return cart;
+    }
+
+    @Benchmark
+    public Cart merge() {
+        cart.mergeFrom(anonymousCart);
+        cart.clearEvents();
+        return cart;
+    }
+
+    @Benchmark
+    public Money addThenTotal() {
+        int line = random.nextInt(lines);
+        cart.addItem(productIds.get(line), prices.get(line), 1);
+        cart.clearEvents();
+        return cart.getItemCount() > 0 ? cart.getTotal() : null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CartBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -334,4 +334,81 @@ public class CartTest {
 
         assertEquals(cart.getItemCount(), 5);
     }
+
+    @Test
+    public void totals_followEveryChangeAfterBeingRead() {
+        Cart cart = Cart.createForSession(sessionId);
+        UUID other = UUID.randomUUID();
+        cart.addItem(productId, Money.usd(new BigDecimal("10.00")), 2);
+        assertEquals(cart.getTotal(), Money.usd(new BigDecimal("20.00")));
+
+        cart.addItem(other, Money.usd(new BigDecimal("0.99")), 3);
+        cart.addItem(productId, Money.usd(new BigDecimal("10.00")), 1);
+        assertEquals(cart.getItemCount(), 6);
+        assertEquals(cart.getTotal(), Money.usd(new BigDecimal("32.97")));
+
+        cart.updateItemQuantity(other, 1);
+        cart.removeItem(productId);
+        assertEquals(cart.getItemCount(), 1);
+        assertEquals(cart.getTotal(), Money.usd(new BigDecimal("0.99")));
+
+        cart.clear();
+        assertEquals(cart.getItemCount(), 0);
+        assertEquals(cart.getTotal().getAmount(), BigDecimal.ZERO);
+    }
+
+    @Test
+    public void mergeFrom_keepsTotalsOfTargetCart() {
+        Cart userCart = Cart.createForUser(userId);
+        userCart.addItem(productId, Money.usd(new BigDecimal("4.50")), 1);
+        userCart.getTotal();
+        Cart anonymousCart = Cart.createForSession(sessionId);
+        anonymousCart.addItem(productId, Money.usd(new BigDecimal("4.50")), 2);
+        anonymousCart.addItem(UUID.randomUUID(), Money.usd(new BigDecimal("1.25")), 4);
+
+        userCart.mergeFrom(anonymousCart);
+
+        assertEquals(userCart.getItems().size(), 2);
+        assertEquals(userCart.getItemCount(), 7);
+        assertEquals(userCart.getTotal(), Money.usd(new BigDecimal("18.50")));
+    }
+
+    @Test
+    public void getTotal_withPriceFinerThanCurrency_fallsBackToExactSum() {
+        Cart cart = Cart.createForSession(sessionId);
+        cart.addItem(productId, Money.usd(new BigDecimal("0.125")), 4);
+        cart.addItem(UUID.randomUUID(), Money.usd(new BigDecimal("1.00")), 1);
+
+        assertEquals(cart.getTotal().getAmount().compareTo(new BigDecimal("1.500")), 0);
+    }
+
+    @Test
+    public void getTotal_isInTheCurrencyOfTheLines() {
+        Cart cart = Cart.createForSession(sessionId);
+        cart.addItem(productId, Money.of(new BigDecimal("10.50"), "EUR"), 2);
+
+        assertEquals(cart.getTotal(), Money.of(new BigDecimal("21.00"), "EUR"));
+
+        // A price finer than the currency takes the exact path, which agrees on the currency.
+        cart.addItem(UUID.randomUUID(), Money.of(new BigDecimal("0.125"), "EUR"), 4);
+        assertEquals(cart.getTotal().getCurrency(), "EUR");
+        assertEquals(cart.getTotal().getAmount().compareTo(new BigDecimal("21.500")), 0);
+    }
+
+    @Test
+    public void getTotal_keepsTheStoredScaleForCurrenciesWithoutMinorUnits() {
+        Cart cart = Cart.createForSession(sessionId);
+        cart.addItem(productId, Money.of(new BigDecimal("150.00"), "JPY"), 2);
+
+        assertEquals(cart.getTotal(), Money.of(new BigDecimal("300.00"), "JPY"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void getTotal_withMixedCurrencies_throws() {
+        Cart cart = Cart.createForSession(sessionId);
+        cart.addItem(productId, Money.usd(BigDecimal.TEN), 1);
+        cart.addItem(UUID.randomUUID(), Money.of(BigDecimal.TEN, "EUR"), 1);
+
+        cart.getTotal();
+    }
 }
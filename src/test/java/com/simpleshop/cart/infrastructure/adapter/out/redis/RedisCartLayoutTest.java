@@ -0,0 +1,151 @@
+package com.simpleshop.cart.infrastructure.adapter.out.redis;
+
+import com.simpleshop.cart.application.query.CartSummaryView;
+import com.simpleshop.cart.domain.model.Cart;
+import com.simpleshop.cart.domain.model.CartItem;
+import com.simpleshop.cart.domain.model.vo.SessionId;
+import com.simpleshop.catalog.domain.model.vo.Money;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.*;
+
+public class RedisCartLayoutTest {
+
+    private static final SessionId SESSION = SessionId.of("session-1");
+
+    @Test
+    public void changeArguments_forNewEmptyCart_containsOnlyHeader() {
+        Cart cart = Cart.createForSession(SESSION);
+
+        List<String> args = RedisCartLayout.changeArguments(cart);
+
+        assertEquals(args.size(), 3);
+        assertEquals(args.get(0), cart.getId().toString());
+    }
+
+    @Test
+    public void changeArguments_forRepeatedAdd_incrementsOnlyByDelta() {
+        UUID productId = UUID.randomUUID();
+        Cart cart = Cart.createForSession(SESSION);
+        cart.addItem(productId, Money.usd(new BigDecimal("9.50")), 2);
+        cart.clearEvents();
+
+        cart.addItem(productId, Money.usd(new BigDecimal("9.50")), 3);
+        List<String> ops = RedisCartLayout.changeArguments(cart).subList(3, 7);
+
+        CartItem item = cart.findItem(productId).orElseThrow();
+        assertEquals(ops, List.of("incr", productId.toString(), "3", item.getId() + "|9.50|USD"));
+    }
+
+    @Test
+    public void changeArguments_forRemovalAndClear_emitsFieldDeletes() {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        Cart cart = Cart.createForSession(SESSION);
+        cart.addItem(kept, Money.usd(BigDecimal.ONE), 1);
+        cart.addItem(removed, Money.usd(BigDecimal.ONE), 1);
+        cart.clearEvents();
+
+        cart.removeItem(removed);
+        cart.clear();
+        List<String> ops = RedisCartLayout.changeArguments(cart);
+
+        assertEquals(ops.subList(3, ops.size()), List.of("del", removed.toString(), "clear"));
+    }
+
+    @Test
+    public void changeArguments_forItemAddedThenRemoved_deletesInsteadOfIncrementing() {
+        UUID productId = UUID.randomUUID();
+        Cart cart = Cart.createForSession(SESSION);
+        cart.addItem(productId, Money.usd(BigDecimal.ONE), 1);
+        cart.removeItem(productId);
+
+        List<String> ops = RedisCartLayout.changeArguments(cart);
+
+        assertEquals(ops.subList(3, ops.size()), List.of("del", productId.toString(), "del", productId.toString()));
+    }
+
+    @Test
+    public void read_restoresCartWithLinesInAdditionOrder() {
+        UUID cartId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Map<String, String> hash = new HashMap<>();
+        hash.put("id", cartId.toString());
+        hash.put("created", "1700000000000");
+        hash.put("updated", "1700000005000");
+        hash.put("q:" + second, "4");
+        hash.put("p:" + second, "00000000-0000-7000-8000-000000000002|2.25|USD");
+        hash.put("q:" + first, "1");
+        hash.put("p:" + first, "00000000-0000-7000-8000-000000000001|10.00|USD");
+
+        Cart cart = RedisCartLayout.read(SESSION, hash).orElseThrow();
+
+        assertEquals(cart.getId(), cartId);
+        assertEquals(cart.getSessionId(), SESSION);
+        assertNull(cart.getUserId());
+        assertEquals(cart.getItems().get(0).getProductId(), first);
+        assertEquals(cart.getItems().get(1).getProductId(), second);
+        assertEquals(cart.getItemCount(), 5);
+        assertEquals(cart.getTotal(), Money.usd(new BigDecimal("19.00")));
+    }
+
+    @Test
+    public void snapshotFields_readBackAsTheSameCart() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Cart cart = Cart.createForSession(SESSION);
+        cart.addItem(first, Money.usd(new BigDecimal("10.00")), 1);
+        cart.addItem(second, Money.usd(new BigDecimal("2.25")), 4);
+
+        List<String> fields = RedisCartLayout.snapshotFields(cart);
+        Map<String, String> hash = new HashMap<>();
+        for (int i = 0; i < fields.size(); i += 2) {
+            hash.put(fields.get(i), fields.get(i + 1));
+        }
+        Cart restored = RedisCartLayout.read(SESSION, hash).orElseThrow();
+
+        assertEquals(restored.getId(), cart.getId());
+        assertEquals(restored.getCreatedAt().toEpochMilli(), cart.getCreatedAt().toEpochMilli());
+        assertEquals(restored.getItems().get(0).getId(), cart.getItems().get(0).getId());
+        assertEquals(restored.getItems().get(1).getProductId(), second);
+        assertEquals(restored.getItemCount(), 5);
+        assertEquals(restored.getTotal(), cart.getTotal());
+    }
+
+    @Test
+    public void read_withoutHeader_returnsEmpty() {
+        Map<String, String> hash = Map.of("q:" + UUID.randomUUID(), "1");
+
+        assertTrue(RedisCartLayout.read(SESSION, hash).isEmpty());
+    }
+
+    @Test
+    public void summarize_sumsQuantitiesAndSubtotals() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Map<String, String> hash = new HashMap<>();
+        hash.put("id", UUID.randomUUID().toString());
+        hash.put("q:" + first, "2");
+        hash.put("p:" + first, UUID.randomUUID() + "|10.00|USD");
+        hash.put("q:" + second, "3");
+        hash.put("p:" + second, UUID.randomUUID() + "|2.50|USD");
+
+        CartSummaryView summary = RedisCartLayout.summarize(hash);
+
+        assertEquals(summary.itemCount(), 5);
+        assertEquals(summary.total().compareTo(new BigDecimal("27.50")), 0);
+        assertEquals(summary.currency(), "USD");
+    }
+
+    @Test
+    public void summarize_forMissingCart_returnsEmpty() {
+        assertEquals(RedisCartLayout.summarize(Map.of()), CartSummaryView.empty());
+    }
+}
@@ -105,6 +105,19 @@ public class MoneyTest {
         assertNotEquals(m1, m2);
     }
     
+    @Test
+    public void ofMinorUnits_usesTheStoredScale() {
+        assertEquals(Money.ofMinorUnits(1999, "USD"), Money.usd(new BigDecimal("19.99")));
+        assertEquals(Money.ofMinorUnits(300, "JPY"), Money.of(new BigDecimal("300.00"), "JPY"));
+        assertEquals(Money.ofMinorUnits(1234, "BHD").getAmount(), new BigDecimal("1.234"));
+    }
+    
+    @Test
+    public void toMinorUnits_roundTrips() {
+        assertEquals(Money.of(new BigDecimal("300.00"), "JPY").toMinorUnits(), 300);
+        assertEquals(Money.usd(new BigDecimal("19.99")).toMinorUnits(), 1999);
+    }
+    
     @Test
     public void toString_returnsFormattedString() {
         Money money = Money.usd(new BigDecimal("29.99"));
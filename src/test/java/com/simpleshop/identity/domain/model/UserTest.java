@@ -1,7 +1,9 @@
 package com.simpleshop.identity.domain.model;
 
+import com.simpleshop.identity.domain.event.UserActivated;
 import com.simpleshop.identity.domain.event.UserDeactivated;
 import com.simpleshop.identity.domain.event.UserLoggedIn;
+import com.simpleshop.identity.domain.event.UserPasswordRehashed;
 import com.simpleshop.identity.domain.event.UserRegistered;
 import com.simpleshop.identity.domain.model.vo.PersonName;
 import com.simpleshop.identity.domain.model.vo.UserRole;
@@ -101,14 +103,52 @@ public class UserTest {
     }
     
     @Test
-    public void activate_setsStatusToActive() {
+    public void activate_setsStatusToActiveAndPublishesEvent() {
         User user = createTestUser();
         user.deactivate();
+        user.clearEvents();
         
         user.activate();
         
         assertTrue(user.isActive());
         assertEquals(user.getStatus(), UserStatus.ACTIVE);
+        var events = user.getDomainEvents();
+        assertEquals(events.size(), 1);
+        assertTrue(events.iterator().next() instanceof UserActivated);
+    }
+    
+    @Test
+    public void activate_isIdempotent() {
+        User user = createTestUser();
+        user.clearEvents();
+        
+        user.activate();
+        
+        assertTrue(user.isActive());
+        assertTrue(user.getDomainEvents().isEmpty());
+    }
+    
+    @Test
+    public void rehashPassword_replacesMatchingHashAndPublishesEvent() {
+        User user = createTestUser();
+        user.clearEvents();
+        
+        assertTrue(user.rehashPassword("hashedPassword", "rehashedPassword"));
+        
+        assertEquals(user.getPasswordHash(), "rehashedPassword");
+        assertEquals(user.getDomainEvents().size(), 1);
+        assertTrue(user.getDomainEvents().iterator().next() instanceof UserPasswordRehashed);
+    }
+    
+    @Test
+    public void rehashPassword_keepsHashChangedInTheMeantime() {
+        User user = createTestUser();
+        user.clearEvents();
+        
+        assertFalse(user.rehashPassword("staleHash", "rehashedPassword"));
+        
+        assertEquals(user.getPasswordHash(), "hashedPassword");
+        assertTrue(user.getDomainEvents().isEmpty());
     }
     
     private User createTestUser() {
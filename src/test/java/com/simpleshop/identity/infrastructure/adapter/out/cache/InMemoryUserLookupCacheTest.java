@@ -0,0 +1,89 @@
+package com.simpleshop.identity.infrastructure.adapter.out.cache;
+
+import com.simpleshop.identity.application.readmodel.UserView;
+import com.simpleshop.identity.domain.model.vo.UserId;
+import com.simpleshop.identity.domain.model.vo.UserRole;
+import com.simpleshop.identity.domain.model.vo.UserStatus;
+import com.simpleshop.shared.domain.model.vo.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.testng.Assert.*;
+
+public class InMemoryUserLookupCacheTest {
+
+    @Test
+    public void servesPutAccountByIdAndEmail() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryUserLookupCache cache = new InMemoryUserLookupCache(registry, 300, 100);
+        UserView view = view(UUID.randomUUID(), "alice@example.com");
+
+        cache.put(view);
+
+        assertEquals(cache.getById(UserId.of(view.id())).orElseThrow(), view);
+        assertEquals(cache.getByEmail(Email.of("alice@example.com")).orElseThrow(), view);
+        assertEquals(lookups(registry, "id", "hit"), 1.0);
+        assertEquals(lookups(registry, "email", "hit"), 1.0);
+    }
+
+    @Test
+    public void evictRemovesBothKeys() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryUserLookupCache cache = new InMemoryUserLookupCache(registry, 300, 100);
+        UserView view = view(UUID.randomUUID(), "alice@example.com");
+        cache.put(view);
+
+        cache.evict(UserId.of(view.id()));
+
+        assertTrue(cache.getById(UserId.of(view.id())).isEmpty());
+        assertTrue(cache.getByEmail(Email.of("alice@example.com")).isEmpty());
+        assertEquals(registry.get("simpleshop.identity.user-cache.evictions").tag("cause", "invalidated").counter().count(), 1.0);
+        assertEquals(lookups(registry, "email", "miss"), 1.0);
+    }
+
+    @Test
+    public void emailChangeDropsStaleEmailKey() {
+        InMemoryUserLookupCache cache = new InMemoryUserLookupCache(new SimpleMeterRegistry(), 300, 100);
+        UUID id = UUID.randomUUID();
+        cache.put(view(id, "old@example.com"));
+
+        cache.put(view(id, "new@example.com"));
+
+        assertTrue(cache.getByEmail(Email.of("old@example.com")).isEmpty());
+        assertEquals(cache.getByEmail(Email.of("new@example.com")).orElseThrow().view().id(), id);
+    }
+
+    @Test
+    public void staysWithinMaxEntries() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryUserLookupCache cache = new InMemoryUserLookupCache(registry, 300, 10);
+
+        for (int i = 0; i < 50; i++) {
+            cache.put(view(UUID.randomUUID(), "user" + i + "@example.com"));
+        }
+
+        assertTrue(registry.get("simpleshop.identity.user-cache.size").gauge().value() <= 10);
+        assertEquals(registry.get("simpleshop.identity.user-cache.evictions").tag("cause", "size").counter().count(), 40.0);
+    }
+
+    @Test
+    public void zeroTtlDisablesCaching() {
+        InMemoryUserLookupCache cache = new InMemoryUserLookupCache(new SimpleMeterRegistry(), 0, 100);
+        UserView view = view(UUID.randomUUID(), "alice@example.com");
+
+        cache.put(view);
+
+        assertTrue(cache.getById(UserId.of(view.id())).isEmpty());
+    }
+
+    private static double lookups(SimpleMeterRegistry registry, String key, String result) {
+        return registry.get("simpleshop.identity.user-cache.lookups").tag("key", key).tag("result", result).counter().count();
+    }
+
+    private static UserView view(UUID id, String email) {
+        return new UserView(id, email, "Alice", "Smith", UserRole.USER, UserStatus.ACTIVE, Instant.now(), null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.simpleshop.identity.infrastructure.adapter.out.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt latency per cost, hashing on the calling thread versus through the pooled
+ * encoder with 32 concurrent callers (standing in for servlet threads during a
+ * registration spike). Compare the single-threaded scores to pick a cost for the
+ * latency target; compare the 32-thread scores to see what the pool does to the
+ * callers' latency when hashing is oversubscribed.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.simpleshop.identity.infrastructure.adapter.out.security.PasswordHashingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"8", "10", "12"})
+    int cost;
+
+    private BCryptPasswordEncoder direct;
+    private PooledPasswordEncoder pooled;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        direct = new BCryptPasswordEncoder(cost);
+        pooled = new PooledPasswordEncoder(
+            cost,
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            1024,
+            Duration.ofMinutes(1),
+            new SimpleMeterRegistry()
+        );
+        hash = direct.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooled.close();
+    }
+
+    @Benchmark
+    public String encodeDirect() {
+        return direct.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matchesDirect() {
+        return direct.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean matchesDirectConcurrent() {
+        return direct.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean matchesPooledConcurrent() {
+        return pooled.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PasswordHashingBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
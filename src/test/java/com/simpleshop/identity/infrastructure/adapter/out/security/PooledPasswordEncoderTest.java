@@ -0,0 +1,107 @@
+package com.simpleshop.identity.infrastructure.adapter.out.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.testng.Assert.*;
+
+public class PooledPasswordEncoderTest {
+
+    private SimpleMeterRegistry registry;
+    private PooledPasswordEncoder encoder;
+
+    @BeforeMethod
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        encoder = new PooledPasswordEncoder(5, 2, 64, Duration.ofSeconds(10), registry);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    public void encodesWithConfiguredCostAndMatches() {
+        String hash = encoder.encode("s3cret-password");
+
+        assertEquals(PooledPasswordEncoder.costOf(hash), 5);
+        assertTrue(encoder.matches("s3cret-password", hash));
+        assertFalse(encoder.matches("other-password", hash));
+        assertEquals(registry.get("simpleshop.identity.password-hashing").tag("operation", "encode").timer().count(), 1);
+        assertEquals(registry.get("simpleshop.identity.password-hashing").tag("operation", "matches").timer().count(), 2);
+    }
+
+    @Test
+    public void upgradeEncodingOnlyWhenStoredCostIsLower() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("pw")));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    public void parsesCostFromHashPrefix() {
+        assertEquals(PooledPasswordEncoder.costOf("$2a$10$abcdefghijklmnopqrstuv"), 10);
+        assertEquals(PooledPasswordEncoder.costOf("$2y$04$abcdefghijklmnopqrstuv"), 4);
+        assertEquals(PooledPasswordEncoder.costOf("$2a$x0$abc"), -1);
+        assertEquals(PooledPasswordEncoder.costOf("$2a$"), -1);
+    }
+
+    @Test
+    public void concurrentHashesAllComplete() {
+        List<CompletableFuture<String>> hashes = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            hashes.add(encoder.encodeAsync("password-" + i));
+        }
+
+        for (int i = 0; i < hashes.size(); i++) {
+            assertTrue(encoder.matches("password-" + i, hashes.get(i).join()));
+        }
+    }
+
+    @Test
+    public void rejectsWhenQueueIsFull() {
+        PooledPasswordEncoder saturated = new PooledPasswordEncoder(12, 1, 1, Duration.ofSeconds(10), registry);
+        try {
+            saturated.encodeAsync("first");
+            saturated.encodeAsync("second");
+            expectThrows(PasswordHashingUnavailableException.class, () -> {
+                saturated.encodeAsync("third");
+                saturated.encodeAsync("fourth");
+            });
+            assertTrue(registry.get("simpleshop.identity.password-hashing.rejections").counter().count() >= 1);
+        } finally {
+            saturated.close();
+        }
+    }
+
+    @Test
+    public void calibrationStaysWithinBounds() {
+        long oneMillisecond = 1_000_000L;
+
+        assertEquals(BcryptCostCalibrator.costFor(0, oneMillisecond, 8, 14), 8);
+        assertEquals(BcryptCostCalibrator.costFor(Long.MAX_VALUE / 4, oneMillisecond, 8, 14), 14);
+        assertEquals(BcryptCostCalibrator.costFor(8 * oneMillisecond, oneMillisecond, 8, 14), 11);
+        assertEquals(BcryptCostCalibrator.costFor(7 * oneMillisecond, oneMillisecond, 8, 14), 10);
+    }
+
+    @Test
+    public void configuredCostNeverDropsBelowMinimum() {
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        try (PooledPasswordEncoder pinned = config.passwordEncoder(registry, 5, 100, 10, 14, 1, 1, 1000);
+             PooledPasswordEncoder calibrated = config.passwordEncoder(registry, 0, 1, 10, 14, 1, 1, 1000)) {
+            assertEquals(pinned.cost(), 10);
+            assertEquals(calibrated.cost(), 10);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.simpleshop.identity.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.*;
+
+public class InMemoryLoginAttemptStoreTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long T0 = 1_700_000_000_000L;
+    private static final LoginAttemptKey KEY = new LoginAttemptKey("10.0.0.1", "alice@example.com");
+
+    @Test
+    public void blocksWhenLimitIsReachedWithinWindow() {
+        InMemoryLoginAttemptStore store = store(3, 15, 1000);
+
+        store.recordFailure(KEY, T0);
+        store.recordFailure(KEY, T0 + 5 * MINUTE);
+        assertFalse(store.isBlocked(KEY, T0 + 5 * MINUTE));
+
+        store.recordFailure(KEY, T0 + 10 * MINUTE);
+
+        assertTrue(store.isBlocked(KEY, T0 + 10 * MINUTE));
+        assertTrue(store.isBlocked(KEY, T0 + 24 * MINUTE));
+        assertFalse(store.isBlocked(KEY, T0 + 26 * MINUTE));
+    }
+
+    @Test
+    public void failuresOutsideWindowDoNotCount() {
+        InMemoryLoginAttemptStore store = store(3, 15, 1000);
+
+        store.recordFailure(KEY, T0);
+        store.recordFailure(KEY, T0 + MINUTE);
+        store.recordFailure(KEY, T0 + 16 * MINUTE);
+        store.recordFailure(KEY, T0 + 17 * MINUTE);
+
+        assertFalse(store.isBlocked(KEY, T0 + 17 * MINUTE));
+    }
+
+    @Test
+    public void clearForgetsFailuresAndBlock() {
+        InMemoryLoginAttemptStore store = store(1, 15, 1000);
+        store.recordFailure(KEY, T0);
+        assertTrue(store.isBlocked(KEY, T0));
+
+        store.clear(KEY);
+
+        assertFalse(store.isBlocked(KEY, T0));
+    }
+
+    @Test
+    public void purgeExpiredKeepsBlockedAndRecentKeys() {
+        InMemoryLoginAttemptStore store = store(2, 15, 1000);
+        LoginAttemptKey stale = new LoginAttemptKey("10.0.0.2", null);
+        LoginAttemptKey recent = new LoginAttemptKey("10.0.0.3", null);
+        store.recordFailure(stale, T0);
+        store.recordFailure(KEY, T0 + 10 * MINUTE);
+        store.recordFailure(KEY, T0 + 10 * MINUTE);
+        store.recordFailure(recent, T0 + 20 * MINUTE);
+
+        store.purgeExpired(T0 + 20 * MINUTE);
+
+        assertEquals(store.trackedKeys(), 2);
+        assertTrue(store.isBlocked(KEY, T0 + 20 * MINUTE));
+    }
+
+    @Test
+    public void keyCapEvictsLeastRecentlySeenKeys() {
+        InMemoryLoginAttemptStore store = store(5, 15, 100);
+        LoginAttemptKey oldest = new LoginAttemptKey("192.168.0.1", null);
+        store.recordFailure(oldest, T0);
+
+        for (int i = 0; i < 1_000; i++) {
+            store.recordFailure(new LoginAttemptKey("172.16.0." + i, "user" + i), T0 + MINUTE + i);
+        }
+
+        assertTrue(store.trackedKeys() <= 101, "tracked keys: " + store.trackedKeys());
+        store.recordFailure(oldest, T0 + 2 * MINUTE);
+        store.recordFailure(oldest, T0 + 2 * MINUTE);
+        store.recordFailure(oldest, T0 + 2 * MINUTE);
+        store.recordFailure(oldest, T0 + 2 * MINUTE);
+        assertFalse(store.isBlocked(oldest, T0 + 2 * MINUTE), "evicted key should start counting again");
+    }
+
+    @Test
+    public void floodingNewKeysDoesNotLiftABlock() {
+        InMemoryLoginAttemptStore store = store(3, 15, 100);
+        store.recordFailure(KEY, T0);
+        store.recordFailure(KEY, T0);
+        store.recordFailure(KEY, T0);
+        assertTrue(store.isBlocked(KEY, T0));
+
+        for (int i = 0; i < 10_000; i++) {
+            store.recordFailure(new LoginAttemptKey("172.16." + (i / 256) + "." + (i % 256), null), T0 + MINUTE + i);
+        }
+
+        assertTrue(store.trackedKeys() <= 101, "tracked keys: " + store.trackedKeys());
+        assertTrue(store.isBlocked(KEY, T0 + 2 * MINUTE), "the block must survive eviction");
+    }
+
+    @Test
+    public void blocksEndingSoonestAreEvictedWhenOnlyBlockedKeysRemain() {
+        InMemoryLoginAttemptStore store = store(1, 15, 100);
+        LoginAttemptKey latest = new LoginAttemptKey("10.1.0.0", null);
+
+        for (int i = 0; i < 200; i++) {
+            store.recordFailure(new LoginAttemptKey("10.0." + (i / 256) + "." + (i % 256), null), T0 + i);
+        }
+        store.recordFailure(latest, T0 + MINUTE);
+
+        assertTrue(store.trackedKeys() <= 101, "tracked keys: " + store.trackedKeys());
+        assertTrue(store.isBlocked(latest, T0 + MINUTE));
+        assertFalse(store.isBlocked(new LoginAttemptKey("10.0.0.0", null), T0 + MINUTE));
+    }
+
+    @Test
+    public void concurrentFailuresAreAllCounted() throws InterruptedException {
+        int threads = 8;
+        int failuresPerThread = 1_000;
+        InMemoryLoginAttemptStore store = store(threads * failuresPerThread, 15, 1000);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < failuresPerThread; i++) {
+                    store.recordFailure(KEY, T0);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(store.isBlocked(KEY, T0), "exactly the limit was recorded, so the key must be blocked");
+    }
+
+    private static InMemoryLoginAttemptStore store(int maxAttempts, int windowMinutes, int maxKeys) {
+        return new InMemoryLoginAttemptStore(maxAttempts, windowMinutes, maxKeys, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,89 @@
+package com.simpleshop.integration.adapters;
+
+import com.simpleshop.SimpleShopApplication;
+import com.simpleshop.inventory.application.port.out.ProductAvailabilityCache.AvailabilityDelta;
+import com.simpleshop.inventory.application.query.ProductAvailabilityView;
+import com.simpleshop.inventory.infrastructure.adapter.out.cache.RedisProductAvailabilityCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = SimpleShopApplication.class)
+@ActiveProfiles("test")
+class AvailabilityCacheAdapterIT {
+
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine")
+        .withExposedPorts(6379);
+
+    static {
+        redis.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("inventory.availability-cache.enabled", () -> "true");
+    }
+
+    @Autowired
+    private RedisProductAvailabilityCache cache;
+
+    @Test
+    void intP006_shouldDiscardALoadThatRacedACommittedStockChange() {
+        UUID productId = UUID.randomUUID();
+
+        // The load reads the generation, then the database sees 10 available.
+        Map<UUID, Long> generations = cache.generations(List.of(productId));
+        ProductAvailabilityView loaded = new ProductAvailabilityView(productId, 10, 0);
+
+        // A reservation commits before the load stores its snapshot; there is no entry to adjust yet.
+        cache.adjust(List.of(new AvailabilityDelta(productId, -3, 3)));
+        cache.putAll(List.of(loaded), generations);
+
+        assertEquals(Optional.empty(), cache.get(productId));
+
+        // The next load reads after the commit and is kept.
+        Map<UUID, Long> fresh = cache.generations(List.of(productId));
+        cache.putAll(List.of(new ProductAvailabilityView(productId, 7, 3)), fresh);
+
+        ProductAvailabilityView cached = cache.get(productId).orElseThrow();
+        assertEquals(7, cached.totalAvailable());
+        assertEquals(3, cached.totalReserved());
+    }
+
+    @Test
+    void intP006_shouldApplyCommitsThatFollowAStoredLoad() {
+        UUID productId = UUID.randomUUID();
+
+        Map<UUID, Long> generations = cache.generations(List.of(productId));
+        cache.putAll(List.of(new ProductAvailabilityView(productId, 10, 0)), generations);
+        cache.adjust(List.of(new AvailabilityDelta(productId, -4, 4)));
+
+        ProductAvailabilityView cached = cache.get(productId).orElseThrow();
+        assertEquals(6, cached.totalAvailable());
+        assertEquals(4, cached.totalReserved());
+    }
+
+    @Test
+    void intP006_shouldDiscardALoadThatRacedAnEviction() {
+        UUID productId = UUID.randomUUID();
+
+        Map<UUID, Long> generations = cache.generations(List.of(productId));
+        cache.evict(List.of(productId));
+        cache.putAll(List.of(new ProductAvailabilityView(productId, 10, 0)), generations);
+
+        assertEquals(Optional.empty(), cache.get(productId));
+    }
+}
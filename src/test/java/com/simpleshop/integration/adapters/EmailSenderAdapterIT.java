@@ -1,7 +1,10 @@
 package com.simpleshop.integration.adapters;
 
 import com.simpleshop.SimpleShopApplication;
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
 import com.simpleshop.notification.domain.model.vo.NotificationType;
+import com.simpleshop.notification.infrastructure.adapter.out.email.EmailTemplateRenderer;
 import com.simpleshop.notification.infrastructure.adapter.out.email.SpringMailEmailSender;
 import com.simpleshop.order.application.query.OrderItemView;
 import com.simpleshop.order.application.query.OrderView;
@@ -23,7 +26,6 @@ import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.ActiveProfiles;
-import org.thymeleaf.TemplateEngine;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -41,7 +43,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class EmailSenderAdapterIT {
 
     @Autowired
-    private TemplateEngine templateEngine;
+    private EmailTemplateRenderer templateRenderer;
 
     @Test
     void intP106_shouldRenderTemplatesAndComposeMimeEmailsForAllNotificationTypes() throws Exception {
@@ -49,9 +51,8 @@ class EmailSenderAdapterIT {
 
         SpringMailEmailSender emailSender = new SpringMailEmailSender(
             mailSender,
-            templateEngine,
-            "noreply@test.simpleshop.com",
-            "http://localhost:8080"
+            templateRenderer,
+            "noreply@test.simpleshop.com"
         );
 
         Email recipient = Email.of("customer@example.com");
@@ -60,7 +61,9 @@ class EmailSenderAdapterIT {
             String subject = subjectFor(type);
             Map<String, Object> templateData = templateDataFor(type, recipient.getValue());
 
-            emailSender.sendEmail(recipient, subject, type, templateData);
+            OutboxMessage message = new OutboxMessage(NotificationId.generate(), type, recipient, subject,
+                emailSender.render(type, templateData), 1);
+            assertTrue(emailSender.sendRendered(List.of(message)).isEmpty());
 
             MimeMessage sent = mailSender.getLastSentMessage();
             assertNotNull(sent, "Expected a message to be captured for " + type);
@@ -0,0 +1,97 @@
+package com.simpleshop.integration.orchestration;
+
+import com.simpleshop.SimpleShopApplication;
+import com.simpleshop.shared.retry.RetryOnOptimisticLock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = SimpleShopApplication.class)
+@ActiveProfiles("test")
+class OptimisticLockRetryIT {
+
+    @Autowired
+    private ConflictingUseCase useCase;
+
+    @Test
+    void intP002_shouldRunEveryRetryAttemptInAFreshTransaction() {
+        useCase.reset(2);
+
+        assertEquals("done", useCase.update());
+
+        // The bean is a proxy, so its state is read through methods.
+        List<TransactionStatus> statuses = useCase.statuses();
+        assertEquals(3, statuses.size());
+        Set<TransactionStatus> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(statuses);
+        assertEquals(3, distinct.size());
+        assertTrue(statuses.stream().allMatch(TransactionStatus::isNewTransaction));
+        assertEquals(List.of(TransactionSynchronization.STATUS_ROLLED_BACK, TransactionSynchronization.STATUS_ROLLED_BACK,
+            TransactionSynchronization.STATUS_COMMITTED), useCase.completions());
+    }
+
+    @TestConfiguration
+    static class RetryTestConfiguration {
+
+        @Bean
+        ConflictingUseCase conflictingUseCase() {
+            return new ConflictingUseCase();
+        }
+    }
+
+    /** A transactional use case that loses the optimistic-locking race a given number of times. */
+    static class ConflictingUseCase {
+
+        private final List<TransactionStatus> statuses = new ArrayList<>();
+        private final List<Integer> completions = new ArrayList<>();
+        private int conflicts;
+
+        public void reset(int conflicts) {
+            this.conflicts = conflicts;
+            statuses.clear();
+            completions.clear();
+        }
+
+        public List<TransactionStatus> statuses() {
+            return List.copyOf(statuses);
+        }
+
+        public List<Integer> completions() {
+            return List.copyOf(completions);
+        }
+
+        @RetryOnOptimisticLock("test.conflictingUpdate")
+        @Transactional
+        public String update() {
+            statuses.add(TransactionAspectSupport.currentTransactionStatus());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    completions.add(status);
+                }
+            });
+            if (statuses.size() <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(ConflictingUseCase.class, UUID.randomUUID());
+            }
+            return "done";
+        }
+    }
+}
@@ -271,14 +271,16 @@ class OrderOrchestrationIT {
             List<NotificationLog> logs = notificationLogRepository.findAll();
             boolean hasOrderConfirmation = logs.stream().anyMatch(log ->
                 log.getType() == NotificationType.ORDER_CONFIRMATION &&
-                    user.getEmail().getValue().equals(log.getRecipientEmail().getValue())
+                    user.getEmail().getValue().equals(log.getRecipientEmail().getValue()) &&
+                    log.getStatus().isFinal()
             );
             boolean hasInvoice = logs.stream().anyMatch(log ->
                 log.getType() == NotificationType.INVOICE &&
-                    user.getEmail().getValue().equals(log.getRecipientEmail().getValue())
+                    user.getEmail().getValue().equals(log.getRecipientEmail().getValue()) &&
+                    log.getStatus().isFinal()
             );
             return hasOrderConfirmation && hasInvoice;
-        }, "Expected notification logs were not created");
+        }, "Expected notification logs were not dispatched");
 
         List<NotificationLog> relevantLogs = notificationLogRepository.findAll().stream()
             .filter(log -> log.getType() == NotificationType.ORDER_CONFIRMATION || log.getType() == NotificationType.INVOICE)
@@ -1,41 +1,94 @@
 package com.simpleshop.integration.persistence;
 
 import com.simpleshop.SimpleShopApplication;
+import com.simpleshop.cart.application.command.PurgeAbandonedCartsCommand;
+import com.simpleshop.cart.application.port.in.GetCartSummaryUseCase;
+import com.simpleshop.cart.application.port.in.PurgeAbandonedCartsUseCase;
+import com.simpleshop.cart.application.query.AbandonedCartCursor;
+import com.simpleshop.cart.application.query.CartSummaryView;
+import com.simpleshop.cart.application.query.GetCartSummaryQuery;
+import com.simpleshop.cart.application.query.PurgedCartsResult;
 import com.simpleshop.cart.domain.model.Cart;
 import com.simpleshop.cart.domain.model.vo.SessionId;
 import com.simpleshop.cart.infrastructure.adapter.out.persistence.CartJpaRepository;
+import com.simpleshop.catalog.application.port.in.GetCategoryUseCase;
+import com.simpleshop.catalog.application.port.in.GetProductUseCase;
+import com.simpleshop.catalog.application.query.CategoryView;
+import com.simpleshop.catalog.application.query.GetCategoryQuery;
+import com.simpleshop.catalog.application.query.GetProductQuery;
+import com.simpleshop.catalog.application.query.ProductView;
+import com.simpleshop.catalog.domain.model.Category;
 import com.simpleshop.catalog.domain.model.Product;
 import com.simpleshop.catalog.domain.model.vo.Money;
 import com.simpleshop.catalog.domain.model.vo.Sku;
+import com.simpleshop.catalog.infrastructure.adapter.out.persistence.CategoryJpaRepository;
 import com.simpleshop.catalog.infrastructure.adapter.out.persistence.ProductJpaRepository;
+import com.simpleshop.catalog.infrastructure.adapter.out.persistence.ProductRepositoryAdapter;
+import com.simpleshop.integration.support.SqlStatementBudget;
+import com.simpleshop.inventory.application.port.in.CheckStockAvailabilityUseCase;
+import com.simpleshop.inventory.application.port.out.ProductStockTotals;
+import com.simpleshop.inventory.application.port.out.StockQuantityChange;
+import com.simpleshop.inventory.application.port.out.StockReservation;
+import com.simpleshop.inventory.application.query.ProductAvailabilityView;
 import com.simpleshop.inventory.domain.model.Stock;
 import com.simpleshop.inventory.domain.model.Warehouse;
 import com.simpleshop.inventory.infrastructure.adapter.out.persistence.JpaStockRepository;
 import com.simpleshop.inventory.infrastructure.adapter.out.persistence.JpaWarehouseRepository;
+import com.simpleshop.inventory.infrastructure.adapter.out.persistence.StockRepositoryAdapter;
+import com.simpleshop.notification.application.port.out.NotificationOutbox;
+import com.simpleshop.notification.application.port.out.NotificationOutbox.DeliveryRecord;
+import com.simpleshop.notification.application.readmodel.OutboxMessage;
+import com.simpleshop.notification.domain.model.NotificationLog;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
+import com.simpleshop.notification.domain.model.vo.NotificationStatus;
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+import com.simpleshop.notification.infrastructure.adapter.out.persistence.JpaNotificationLogRepository;
+import com.simpleshop.order.application.port.in.ListAdminOrdersUseCase;
+import com.simpleshop.order.application.port.in.ListPaidOrdersUseCase;
+import com.simpleshop.order.application.query.AdminOrderPage;
+import com.simpleshop.order.application.query.AdminOrderSummaryView;
+import com.simpleshop.order.application.query.ListAdminOrdersQuery;
+import com.simpleshop.order.application.query.ListPaidOrdersQuery;
+import com.simpleshop.order.application.query.OrderCursor;
+import com.simpleshop.order.application.query.OrderView;
 import com.simpleshop.order.domain.model.Order;
 import com.simpleshop.order.domain.model.OrderItem;
 import com.simpleshop.order.domain.model.vo.OrderNumber;
+import com.simpleshop.order.domain.model.vo.OrderStatus;
+import com.simpleshop.order.infrastructure.adapter.in.web.OrderAdminController;
 import com.simpleshop.order.infrastructure.adapter.out.persistence.OrderJpaRepository;
 import com.simpleshop.shared.domain.model.vo.Address;
+import com.simpleshop.shared.domain.model.vo.Email;
 import com.simpleshop.shared.domain.model.vo.Quantity;
 import com.simpleshop.shipping.domain.model.Shipment;
 import com.simpleshop.shipping.domain.model.vo.TrackingNumber;
 import com.simpleshop.shipping.infrastructure.adapter.out.persistence.ShipmentJpaRepository;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.ui.ExtendedModelMap;
 import org.junit.jupiter.api.BeforeEach;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,6 +100,21 @@ class PersistenceRepositoryIT {
     @Autowired
     private ProductJpaRepository productJpaRepository;
 
+    @Autowired
+    private ProductRepositoryAdapter productRepositoryAdapter;
+
+    @Autowired
+    private CategoryJpaRepository categoryJpaRepository;
+
+    @Autowired
+    private GetProductUseCase getProductUseCase;
+
+    @Autowired
+    private GetCategoryUseCase getCategoryUseCase;
+
+    @Autowired
+    private OrderAdminController orderAdminController;
+
     @Autowired
     private CartJpaRepository cartJpaRepository;
 
@@ -56,12 +124,39 @@ class PersistenceRepositoryIT {
     @Autowired
     private JpaWarehouseRepository warehouseRepository;
 
+    @Autowired
+    private StockRepositoryAdapter stockRepositoryAdapter;
+
     @Autowired
     private OrderJpaRepository orderJpaRepository;
 
     @Autowired
     private ShipmentJpaRepository shipmentJpaRepository;
 
+    @Autowired
+    private CheckStockAvailabilityUseCase checkStockAvailabilityUseCase;
+
+    @Autowired
+    private GetCartSummaryUseCase getCartSummaryUseCase;
+
+    @Autowired
+    private PurgeAbandonedCartsUseCase purgeAbandonedCartsUseCase;
+
+    @Autowired
+    private ListPaidOrdersUseCase listPaidOrdersUseCase;
+
+    @Autowired
+    private ListAdminOrdersUseCase listAdminOrdersUseCase;
+
+    @Autowired
+    private JpaNotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -97,19 +192,19 @@ class PersistenceRepositoryIT {
 
         PageRequest pageable = PageRequest.of(0, 10, Sort.by("name").ascending());
 
-        Page<Product> activeOnlyAllCategories = productJpaRepository.findAllWithFilters(null, true, pageable);
+        Page<Product> activeOnlyAllCategories = productRepositoryAdapter.findAll(null, true, pageable);
         assertEquals(3, activeOnlyAllCategories.getTotalElements());
         assertTrue(activeOnlyAllCategories.stream().allMatch(Product::isActive));
 
-        Page<Product> activeOnlyCategoryA = productJpaRepository.findAllWithFilters(categoryA, true, pageable);
+        Page<Product> activeOnlyCategoryA = productRepositoryAdapter.findAll(categoryA, true, pageable);
         assertEquals(2, activeOnlyCategoryA.getTotalElements());
         assertTrue(activeOnlyCategoryA.getContent().stream().allMatch(p -> categoryA.equals(p.getCategoryId())));
         assertTrue(activeOnlyCategoryA.stream().allMatch(Product::isActive));
 
-        Page<Product> allCategoryA = productJpaRepository.findAllWithFilters(categoryA, false, pageable);
+        Page<Product> allCategoryA = productRepositoryAdapter.findAll(categoryA, false, pageable);
         assertEquals(3, allCategoryA.getTotalElements());
 
-        Page<Product> stableOrderCheck = productJpaRepository.findAllWithFilters(categoryA, true, pageable);
+        Page<Product> stableOrderCheck = productRepositoryAdapter.findAll(categoryA, true, pageable);
         assertEquals(
             activeOnlyCategoryA.getContent().stream().map(Product::getId).toList(),
             stableOrderCheck.getContent().stream().map(Product::getId).toList()
@@ -177,14 +272,12 @@ class PersistenceRepositoryIT {
         stock2.reserve(Quantity.of(1));
         stockRepository.save(stock2);
 
-        int available = stockRepository.sumAvailableByProductId(productId);
-        int reserved = stockRepository.sumReservedByProductId(productId);
+        entityManager.flush();
 
-        assertEquals(11, available);
-        assertEquals(4, reserved);
+        Map<UUID, ProductStockTotals> totals = stockRepositoryAdapter.sumTotalsByProductIds(List.of(productId, missingProductId));
 
-        assertEquals(0, stockRepository.sumAvailableByProductId(missingProductId));
-        assertEquals(0, stockRepository.sumReservedByProductId(missingProductId));
+        assertEquals(new ProductStockTotals(11, 4), totals.get(productId));
+        assertFalse(totals.containsKey(missingProductId));
     }
 
     @Test
@@ -236,6 +329,489 @@ class PersistenceRepositoryIT {
         assertEquals(List.of(second.getId(), first.getId()), byOrder.map(Shipment::getId).toList());
     }
 
+    @Test
+    void intP013_shouldReserveStockWithGuardedBatchUpdate() {
+        UUID productId = UUID.randomUUID();
+
+        Warehouse warehouse1 = warehouseRepository.save(Warehouse.create(
+            "Warehouse-A", Address.of("Street 1", "New York", "10001", "USA")
+        ));
+        Warehouse warehouse2 = warehouseRepository.save(Warehouse.create(
+            "Warehouse-B", Address.of("Street 2", "Austin", "73301", "USA")
+        ));
+
+        Stock large = stockRepository.save(Stock.create(productId, warehouse1.getId(), Quantity.of(10)));
+        Stock small = stockRepository.save(Stock.create(productId, warehouse2.getId(), Quantity.of(2)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(
+            List.of(large.getId(), small.getId()),
+            stockRepositoryAdapter.findStockLevelsByProductIds(List.of(productId)).stream()
+                .map(level -> level.stockId())
+                .toList()
+        );
+
+        boolean[] reserved = stockRepositoryAdapter.reserveAll(List.of(
+            new StockReservation(large.getId(), 7),
+            new StockReservation(small.getId(), 3),
+            new StockReservation(large.getId(), 4)
+        ));
+
+        assertArrayEquals(new boolean[] {true, false, false}, reserved);
+
+        Stock reloadedLarge = stockRepository.findById(large.getId()).orElseThrow();
+        Stock reloadedSmall = stockRepository.findById(small.getId()).orElseThrow();
+        assertEquals(7, reloadedLarge.getReservedQuantity().getValue());
+        assertEquals(0, reloadedSmall.getReservedQuantity().getValue());
+    }
+
+    @Test
+    void intP014_shouldReleaseReservationsWithSingleSetBasedUpdate() {
+        UUID productA = UUID.randomUUID();
+        UUID productB = UUID.randomUUID();
+
+        Warehouse warehouse = warehouseRepository.save(Warehouse.create(
+            "Warehouse-A", Address.of("Street 1", "New York", "10001", "USA")
+        ));
+
+        Stock stockA = Stock.create(productA, warehouse.getId(), Quantity.of(10));
+        stockA.reserve(Quantity.of(6));
+        stockRepository.save(stockA);
+        Stock stockB = Stock.create(productB, warehouse.getId(), Quantity.of(10));
+        stockB.reserve(Quantity.of(1));
+        stockRepository.save(stockB);
+        entityManager.flush();
+        entityManager.clear();
+
+        StockQuantityChange releaseA = new StockQuantityChange(productA, warehouse.getId(), 4);
+        StockQuantityChange releaseTooMuchB = new StockQuantityChange(productB, warehouse.getId(), 2);
+        StockQuantityChange releaseMissing = new StockQuantityChange(UUID.randomUUID(), warehouse.getId(), 1);
+
+        List<StockQuantityChange> released = stockRepositoryAdapter.releaseAll(
+            List.of(releaseA, releaseTooMuchB, releaseMissing)
+        );
+
+        assertEquals(List.of(releaseA), released);
+        assertEquals(2, stockRepository.findById(stockA.getId()).orElseThrow().getReservedQuantity().getValue());
+        assertEquals(1, stockRepository.findById(stockB.getId()).orElseThrow().getReservedQuantity().getValue());
+    }
+
+    @Test
+    void intP015_shouldConfirmReservationsWithSingleSetBasedUpdate() {
+        UUID productA = UUID.randomUUID();
+        UUID productB = UUID.randomUUID();
+
+        Warehouse warehouse = warehouseRepository.save(Warehouse.create(
+            "Warehouse-A", Address.of("Street 1", "New York", "10001", "USA")
+        ));
+
+        Stock stockA = Stock.create(productA, warehouse.getId(), Quantity.of(10));
+        stockA.reserve(Quantity.of(6));
+        stockRepository.save(stockA);
+        Stock stockB = Stock.create(productB, warehouse.getId(), Quantity.of(10));
+        stockB.reserve(Quantity.of(1));
+        stockRepository.save(stockB);
+        entityManager.flush();
+        entityManager.clear();
+
+        StockQuantityChange confirmA = new StockQuantityChange(productA, warehouse.getId(), 4);
+        StockQuantityChange confirmTooMuchB = new StockQuantityChange(productB, warehouse.getId(), 2);
+
+        List<StockQuantityChange> confirmed = stockRepositoryAdapter.confirmAll(List.of(confirmA, confirmTooMuchB));
+
+        assertEquals(List.of(confirmA), confirmed);
+        Stock reloadedA = stockRepository.findById(stockA.getId()).orElseThrow();
+        assertEquals(6, reloadedA.getQuantity().getValue());
+        assertEquals(2, reloadedA.getReservedQuantity().getValue());
+        Stock reloadedB = stockRepository.findById(stockB.getId()).orElseThrow();
+        assertEquals(10, reloadedB.getQuantity().getValue());
+        assertEquals(1, reloadedB.getReservedQuantity().getValue());
+    }
+
+    @Test
+    void intP016_shouldSumAvailableAndReservedTotalsInOneQuery() {
+        UUID productA = UUID.randomUUID();
+        UUID productB = UUID.randomUUID();
+        UUID missingProduct = UUID.randomUUID();
+
+        Warehouse warehouse1 = warehouseRepository.save(Warehouse.create(
+            "Warehouse-A", Address.of("Street 1", "New York", "10001", "USA")
+        ));
+        Warehouse warehouse2 = warehouseRepository.save(Warehouse.create(
+            "Warehouse-B", Address.of("Street 2", "Austin", "73301", "USA")
+        ));
+
+        Stock stockA1 = Stock.create(productA, warehouse1.getId(), Quantity.of(10));
+        stockA1.reserve(Quantity.of(3));
+        stockRepository.save(stockA1);
+        Stock stockA2 = Stock.create(productA, warehouse2.getId(), Quantity.of(5));
+        stockA2.reserve(Quantity.of(1));
+        stockRepository.save(stockA2);
+        stockRepository.save(Stock.create(productB, warehouse1.getId(), Quantity.of(7)));
+        entityManager.flush();
+
+        Map<UUID, ProductStockTotals> totals = stockRepositoryAdapter.sumTotalsByProductIds(
+            List.of(productA, productB, missingProduct, productA)
+        );
+
+        assertEquals(2, totals.size());
+        assertEquals(new ProductStockTotals(11, 4), totals.get(productA));
+        assertEquals(new ProductStockTotals(7, 0), totals.get(productB));
+        assertFalse(totals.containsKey(missingProduct));
+    }
+
+    @Test
+    void intP017_shouldBatchInsertsOfNewAggregatesWithoutSelects() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        Warehouse warehouse = warehouseRepository.save(Warehouse.create(
+            "Warehouse-A", Address.of("Street 1", "New York", "10001", "USA")
+        ));
+        entityManager.flush();
+        statistics.clear();
+
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            stocks.add(Stock.create(UUID.randomUUID(), warehouse.getId(), Quantity.of(10)));
+        }
+        stockRepository.saveAll(stocks);
+        entityManager.flush();
+
+        assertEquals(30, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(OrderItem.create(
+                UUID.randomUUID(),
+                "Item " + i,
+                1,
+                com.simpleshop.shared.domain.model.vo.Money.usd(new BigDecimal("5.00")),
+                warehouse.getId()
+            ));
+        }
+        orderJpaRepository.save(Order.place(
+            OrderNumber.of("ORD-2026-09001"),
+            UUID.randomUUID(),
+            Address.of("123 Main", "Boston", "02110", "USA"),
+            items
+        ));
+        entityManager.flush();
+
+        assertEquals(21, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @SqlStatementBudget(useCase = "inventory.checkManyStockAvailability", max = 1)
+    void intP018_shouldCheckAvailabilityOfManyProductsWithOneStatement() {
+        Warehouse warehouseA = warehouseRepository.save(Warehouse.create(
+            "Warehouse-A", Address.of("Street 1", "New York", "10001", "USA")
+        ));
+        Warehouse warehouseB = warehouseRepository.save(Warehouse.create(
+            "Warehouse-B", Address.of("Street 2", "Boston", "02110", "USA")
+        ));
+        List<UUID> productIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            UUID productId = UUID.randomUUID();
+            productIds.add(productId);
+            stockRepository.save(Stock.create(productId, warehouseA.getId(), Quantity.of(3)));
+            stockRepository.save(Stock.create(productId, warehouseB.getId(), Quantity.of(4)));
+        }
+        entityManager.flush();
+
+        Map<UUID, ProductAvailabilityView> availability = checkStockAvailabilityUseCase.checkMany(productIds);
+
+        assertEquals(25, availability.size());
+        assertEquals(7, availability.get(productIds.get(0)).totalAvailable());
+    }
+
+    @Test
+    @SqlStatementBudget(useCase = "cart.getCartSummary", max = 1)
+    void intP019_shouldSummarizeCartWithOneQueryAndNeverCreateOne() {
+        Cart sessionCart = Cart.createForSession(SessionId.of("session-summary"));
+        sessionCart.addItem(UUID.randomUUID(), Money.usd(new BigDecimal("10.00")), 2);
+        sessionCart.addItem(UUID.randomUUID(), Money.usd(new BigDecimal("2.50")), 3);
+        cartJpaRepository.save(sessionCart);
+        entityManager.flush();
+
+        CartSummaryView summary = getCartSummaryUseCase.execute(new GetCartSummaryQuery("session-summary", null));
+        CartSummaryView missing = getCartSummaryUseCase.execute(new GetCartSummaryQuery("session-unknown", null));
+        CartSummaryView missingUser = getCartSummaryUseCase.execute(new GetCartSummaryQuery(null, UUID.randomUUID()));
+
+        assertEquals(5, summary.itemCount());
+        assertEquals(0, new BigDecimal("27.50").compareTo(summary.total()));
+        assertEquals("USD", summary.currency());
+        assertEquals(CartSummaryView.empty(), missing);
+        assertEquals(CartSummaryView.empty(), missingUser);
+        entityManager.flush();
+        assertEquals(1, cartJpaRepository.count());
+    }
+
+    @Test
+    void intP020_shouldPurgeIdleAnonymousCartsInKeysetBatches() {
+        Instant longAgo = Instant.now().minus(Duration.ofDays(60));
+        List<UUID> idleAnonymous = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Cart cart = Cart.createForSession(SessionId.of("idle-" + i));
+            cart.addItem(UUID.randomUUID(), Money.usd(new BigDecimal("1.00")), 1);
+            cart.addItem(UUID.randomUUID(), Money.usd(new BigDecimal("2.00")), 1);
+            idleAnonymous.add(cartJpaRepository.save(cart).getId());
+        }
+        Cart fresh = cartJpaRepository.save(Cart.createForSession(SessionId.of("fresh")));
+        Cart idleUserCart = cartJpaRepository.save(Cart.createForUser(UUID.randomUUID()));
+        entityManager.flush();
+        for (int i = 0; i < idleAnonymous.size(); i++) {
+            jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE id = ?",
+                Timestamp.from(longAgo.plusSeconds(i)), idleAnonymous.get(i));
+        }
+        jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE id = ?", Timestamp.from(longAgo), idleUserCart.getId());
+        entityManager.clear();
+        Instant cutoff = Instant.now().minus(Duration.ofDays(30));
+
+        assertEquals(3, purgeAbandonedCartsUseCase.countAbandonedCarts(cutoff, 1000));
+        assertEquals(2, purgeAbandonedCartsUseCase.countAbandonedCarts(cutoff, 2));
+
+        PurgedCartsResult first = purgeAbandonedCartsUseCase.execute(
+            new PurgeAbandonedCartsCommand(cutoff, AbandonedCartCursor.start(), 2)
+        );
+        PurgedCartsResult second = purgeAbandonedCartsUseCase.execute(
+            new PurgeAbandonedCartsCommand(cutoff, first.next(), 2)
+        );
+        PurgedCartsResult third = purgeAbandonedCartsUseCase.execute(
+            new PurgeAbandonedCartsCommand(cutoff, second.next(), 2)
+        );
+
+        assertEquals(2, first.purgedCarts());
+        assertEquals(4, first.purgedItems());
+        assertEquals(idleAnonymous.get(1), first.next().id());
+        assertEquals(1, second.purgedCarts());
+        assertEquals(2, second.purgedItems());
+        assertEquals(0, third.purgedCarts());
+        assertEquals(second.next(), third.next());
+        assertEquals(0, purgeAbandonedCartsUseCase.countAbandonedCarts(cutoff, 1000));
+        assertTrue(cartJpaRepository.findById(fresh.getId()).isPresent());
+        assertTrue(cartJpaRepository.findById(idleUserCart.getId()).isPresent());
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM cart_items i LEFT JOIN carts c ON c.id = i.cart_id WHERE c.id IS NULL", Integer.class
+        ));
+    }
+
+    @Test
+    void intP021_shouldClaimDueOutboxMessagesAndRecordResultsInBulk() {
+        Instant now = Instant.now();
+        NotificationLog first = notificationLogRepository.save(
+            NotificationLog.enqueue(NotificationType.USER_WELCOME, Email.of("a@example.com"), "Welcome", "<p>a</p>"));
+        NotificationLog second = notificationLogRepository.save(
+            NotificationLog.enqueue(NotificationType.INVOICE, Email.of("b@example.com"), "Invoice", "<p>b</p>"));
+        NotificationLog third = notificationLogRepository.save(
+            NotificationLog.enqueue(NotificationType.INVOICE, Email.of("c@example.com"), "Invoice", "<p>c</p>"));
+        NotificationLog legacy = notificationLogRepository.save(
+            NotificationLog.createPending(NotificationType.INVOICE, Email.of("d@example.com"), "Invoice"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<NotificationId> enqueued = Set.of(first.getId(), second.getId(), third.getId());
+        List<OutboxMessage> claimed = notificationOutbox.claimDue(now.plusSeconds(1), 1_000, Duration.ofMinutes(5), 6);
+
+        assertEquals(enqueued, claimed.stream().map(OutboxMessage::id).filter(enqueued::contains).collect(Collectors.toSet()));
+        assertTrue(claimed.stream().filter(message -> enqueued.contains(message.id())).allMatch(message -> message.attempts() == 1));
+        assertTrue(claimed.stream().noneMatch(message -> message.id().equals(legacy.getId())));
+        assertTrue(notificationOutbox.claimDue(now.plusSeconds(1), 1_000, Duration.ofMinutes(5), 6).stream()
+            .noneMatch(message -> enqueued.contains(message.id())));
+
+        Instant retryAt = now.plusSeconds(60);
+        notificationOutbox.recordDeliveries(List.of(
+            DeliveryRecord.sent(first.getId(), now),
+            DeliveryRecord.retryAt(second.getId(), "421 try later", retryAt),
+            DeliveryRecord.failed(third.getId(), "550 no such user")
+        ));
+        entityManager.clear();
+
+        NotificationLog sent = notificationLogRepository.findById(first.getId()).orElseThrow();
+        NotificationLog retrying = notificationLogRepository.findById(second.getId()).orElseThrow();
+        NotificationLog failed = notificationLogRepository.findById(third.getId()).orElseThrow();
+        assertEquals(NotificationStatus.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        assertEquals(NotificationStatus.PENDING, retrying.getStatus());
+        assertEquals("421 try later", retrying.getErrorMessage());
+        assertEquals(1, retrying.getAttempts());
+        assertEquals(NotificationStatus.FAILED, failed.getStatus());
+        assertNull(failed.getNextAttemptAt());
+
+        List<OutboxMessage> retried = notificationOutbox.claimDue(retryAt.plusSeconds(1), 1_000, Duration.ofMinutes(5), 6).stream()
+            .filter(message -> enqueued.contains(message.id()))
+            .toList();
+        assertEquals(1, retried.size());
+        assertEquals(second.getId(), retried.getFirst().id());
+        assertEquals(2, retried.getFirst().attempts());
+    }
+
+    @Test
+    void intP021_shouldFailOutboxMessagesWhoseClaimsKeepLapsing() {
+        Instant now = Instant.now();
+        NotificationLog message = notificationLogRepository.save(
+            NotificationLog.enqueue(NotificationType.USER_WELCOME, Email.of("lapsed@example.com"), "Welcome", "<p>w</p>"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Duration lease = Duration.ofMinutes(5);
+        Instant claimAt = now.plusSeconds(1);
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            assertTrue(notificationOutbox.claimDue(claimAt, 1_000, lease, 2).stream()
+                .anyMatch(claimed -> claimed.id().equals(message.getId())));
+            // The dispatcher never reports back, so the claim runs out.
+            claimAt = claimAt.plus(lease).plusSeconds(1);
+        }
+
+        assertTrue(notificationOutbox.claimDue(claimAt, 1_000, lease, 2).stream()
+            .noneMatch(claimed -> claimed.id().equals(message.getId())));
+        entityManager.clear();
+        NotificationLog failed = notificationLogRepository.findById(message.getId()).orElseThrow();
+        assertEquals(NotificationStatus.FAILED, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertNull(failed.getNextAttemptAt());
+        assertEquals("No delivery outcome after 2 attempts", failed.getErrorMessage());
+    }
+
+    @Test
+    void intP022_shouldWalkPaidOrdersOfAPeriodByKeyset() {
+        Instant from = Instant.now().minusSeconds(60);
+        UUID userId = UUID.randomUUID();
+        List<UUID> paid = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Order order = newOrder("ORD-2026-1000" + i, userId, "Item " + i, i);
+            if (i != 3) {
+                order.confirm();
+                paid.add(order.getId());
+            }
+            orderJpaRepository.save(order);
+            pauseForOrdering();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Instant before = Instant.now().plusSeconds(60);
+
+        List<UUID> walked = new ArrayList<>();
+        OrderCursor cursor = OrderCursor.start();
+        List<OrderView> page;
+        int pages = 0;
+        do {
+            page = listPaidOrdersUseCase.execute(new ListPaidOrdersQuery(from, before, cursor, 2));
+            page.forEach(order -> {
+                walked.add(order.id());
+                assertFalse(order.items().isEmpty());
+                assertNotNull(order.paidAt());
+            });
+            if (!page.isEmpty()) {
+                cursor = OrderCursor.of(page.getLast());
+            }
+            pages++;
+        } while (page.size() == 2);
+
+        assertEquals(paid, walked);
+        assertEquals(3, pages);
+        assertTrue(listPaidOrdersUseCase.execute(new ListPaidOrdersQuery(before, before.plusSeconds(60), OrderCursor.start(), 2)).isEmpty());
+    }
+
+    @Test
+    void intP023_shouldSeekThroughAdminOrderListWithFiltersAndNoCount() {
+        UUID userId = UUID.randomUUID();
+        List<UUID> newestFirst = new ArrayList<>();
+        List<UUID> confirmedNewestFirst = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Order order = newOrder("ORD-2026-2000" + i, userId, "Item " + i, 1);
+            if (i % 2 == 1) {
+                order.confirm();
+                confirmedNewestFirst.addFirst(order.getId());
+            }
+            orderJpaRepository.save(order);
+            newestFirst.addFirst(order.getId());
+            pauseForOrdering();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UUID> walked = new ArrayList<>();
+        AdminOrderPage page = listAdminOrdersUseCase.execute(new ListAdminOrdersQuery(null, null, null, null, 2));
+        int pages = 1;
+        page.orders().forEach(order -> walked.add(order.id()));
+        while (page.hasNext()) {
+            page = listAdminOrdersUseCase.execute(new ListAdminOrdersQuery(null, null, null, page.next(), 2));
+            page.orders().forEach(order -> walked.add(order.id()));
+            pages++;
+        }
+        assertEquals(newestFirst, walked);
+        assertEquals(3, pages);
+        assertTrue(page.estimatedTotal() >= 0);
+
+        AdminOrderPage confirmed = listAdminOrdersUseCase.execute(
+            new ListAdminOrdersQuery(OrderStatus.CONFIRMED, Instant.now().minusSeconds(60), Instant.now().plusSeconds(60), null, 10));
+        assertEquals(confirmedNewestFirst, confirmed.orders().stream().map(AdminOrderSummaryView::id).toList());
+        assertFalse(confirmed.hasNext());
+        assertNull(confirmed.estimatedTotal());
+        assertTrue(confirmed.orders().stream().allMatch(order -> "CONFIRMED".equals(order.status()) && userId.equals(order.userId())));
+
+        AdminOrderPage outOfRange = listAdminOrdersUseCase.execute(
+            new ListAdminOrdersQuery(null, Instant.now().plusSeconds(60), null, null, 10));
+        assertTrue(outOfRange.isEmpty());
+    }
+
+    @Test
+    @SqlStatementBudget(useCase = "catalog.getProduct", max = 2)
+    void intP010_shouldReadProductWithItsCategoryNameInTwoStatements() {
+        Category category = categoryJpaRepository.save(Category.create("Networking", "Routers and switches", null, 0));
+        Product product = productJpaRepository.save(Product.create(
+            "Switch",
+            "8-port switch",
+            Sku.of("sku-budget-switch"),
+            Money.usd(new BigDecimal("49.00")),
+            category.getId(),
+            null
+        ));
+        entityManager.flush();
+        entityManager.clear();
+
+        ProductView view = getProductUseCase.get(new GetProductQuery(product.getId())).orElseThrow();
+
+        assertEquals("Networking", view.categoryName());
+    }
+
+    @Test
+    @SqlStatementBudget(useCase = "catalog.getCategory", max = 2)
+    void intP010_shouldReadCategoryWithItsParentNameInTwoStatements() {
+        Category parent = categoryJpaRepository.save(Category.create("Electronics", "All electronics", null, 0));
+        Category child = categoryJpaRepository.save(Category.create("Audio", "Speakers and headphones", parent.getId(), 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        CategoryView view = getCategoryUseCase.get(new GetCategoryQuery(child.getId())).orElseThrow();
+
+        assertEquals("Electronics", view.parentName());
+    }
+
+    @Test
+    @SqlStatementBudget(useCase = "OrderAdminController.listOrders", max = 3)
+    void intP010_shouldListAdminOrdersWithoutAQueryPerOrder() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 1; i <= 12; i++) {
+            orderJpaRepository.save(newOrder("ORD-2026-3%04d".formatted(i), userId, "Item " + i, i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ExtendedModelMap model = new ExtendedModelMap();
+        String view = orderAdminController.listOrders(null, null, null, null, null, 10, model);
+
+        assertEquals("admin/orders/list", view);
+        AdminOrderPage page = (AdminOrderPage) model.getAttribute("orders");
+        assertEquals(10, page.orders().size());
+        assertTrue(page.hasNext());
+    }
+
     private Order newOrder(String orderNumber, UUID userId, String itemName, int quantity) {
         OrderItem item = OrderItem.create(
             UUID.randomUUID(),
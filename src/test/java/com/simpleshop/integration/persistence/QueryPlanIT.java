@@ -0,0 +1,363 @@
+package com.simpleshop.integration.persistence;
+
+import com.simpleshop.SimpleShopApplication;
+import com.simpleshop.cart.infrastructure.adapter.out.persistence.CartJpaRepository;
+import com.simpleshop.catalog.infrastructure.adapter.out.persistence.CategoryJpaRepository;
+import com.simpleshop.catalog.infrastructure.adapter.out.persistence.ProductJpaRepository;
+import com.simpleshop.identity.infrastructure.adapter.out.persistence.JpaUserRepository;
+import com.simpleshop.integration.support.RecordingStatementInspector;
+import com.simpleshop.inventory.infrastructure.adapter.out.persistence.JpaStockRepository;
+import com.simpleshop.notification.domain.model.vo.NotificationId;
+import com.simpleshop.notification.infrastructure.adapter.out.persistence.JpaNotificationLogRepository;
+import com.simpleshop.order.domain.model.vo.OrderStatus;
+import com.simpleshop.order.infrastructure.adapter.out.persistence.OrderJpaRepository;
+import com.simpleshop.shipping.infrastructure.adapter.out.persistence.ShipmentJpaRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every JPA repository query against a schema built by the Flyway migrations (with
+ * {@code ddl-auto=validate}, so the migrations must also match the entity mappings) and
+ * fails when a query plans a sequential scan over one of the seeded tables.
+ *
+ * The statements are captured as Hibernate sends them and explained as generic plans, the
+ * plan Postgres falls back to for any parameter values.
+ */
+@SpringBootTest(classes = SimpleShopApplication.class, properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:16-alpine:///simpleshop_query_plans",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.simpleshop.integration.support.RecordingStatementInspector"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIT {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    /** Tables seeded with enough rows that a sequential scan is a real cost. */
+    private static final Set<String> SEEDED_TABLES = Set.of(
+        "users", "categories", "products", "stocks", "carts", "cart_items",
+        "orders", "order_items", "shipments", "shipment_status_history", "notification_logs"
+    );
+
+    /** Queries that read a whole table by design: the unfiltered catalogue listings. */
+    private static final Set<String> WHOLE_TABLE_READS = Set.of(
+        "ProductJpaRepository.findAll(Pageable)",
+        "ProductJpaRepository.findByActiveTrue",
+        "CategoryJpaRepository.findAll"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private CategoryJpaRepository categoryRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private JpaStockRepository stockRepository;
+
+    @Autowired
+    private CartJpaRepository cartRepository;
+
+    @Autowired
+    private OrderJpaRepository orderRepository;
+
+    @Autowired
+    private ShipmentJpaRepository shipmentRepository;
+
+    @Autowired
+    private JpaNotificationLogRepository notificationLogRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("""
+            INSERT INTO users (id, email, password_hash, first_name, last_name, role, status, created_at)
+            SELECT md5('user' || g)::uuid, 'user' || g || '@example.com', 'hash', 'First', 'Last', 'USER', 'ACTIVE', now()
+            FROM generate_series(1, 2000) g
+            """);
+        // Fifty top-level categories, each followed by its nineteen subcategories.
+        jdbcTemplate.execute("""
+            INSERT INTO categories (id, name, parent_id, sort_order, created_at)
+            SELECT md5('category' || g)::uuid, 'Category ' || g,
+                   CASE WHEN g <= 50 THEN NULL ELSE md5('category' || ((g - 51) / 19 + 1))::uuid END, g, now()
+            FROM generate_series(1, 1000) g
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO products (id, name, sku, price_amount, price_currency, category_id, active, created_at, updated_at)
+            SELECT md5('product' || g)::uuid, 'Product ' || g, 'SKU-' || g, 10.00, 'USD',
+                   md5('category' || (g % 1000 + 1))::uuid, g % 10 <> 0, now(), now()
+            FROM generate_series(1, 10000) g
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO warehouses (id, name, warehouse_street, warehouse_city, warehouse_postal_code,
+                                    warehouse_country, active, created_at)
+            SELECT md5('warehouse' || w)::uuid, 'Warehouse ' || w, 'Street', 'City', '00000', 'USA', true, now()
+            FROM generate_series(1, 50) w
+            """);
+        // Stock is loaded warehouse by warehouse, each carrying a fifth of the catalogue.
+        jdbcTemplate.execute("""
+            INSERT INTO stocks (id, product_id, warehouse_id, quantity, reserved_quantity, created_at, updated_at)
+            SELECT gen_random_uuid(), md5('product' || p)::uuid, md5('warehouse' || w)::uuid, 100, 0, now(), now()
+            FROM generate_series(1, 50) w
+            CROSS JOIN generate_series(1, 10000) p
+            WHERE p % 5 = w % 5
+            ORDER BY w, p
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO carts (id, session_id, user_id, created_at, updated_at)
+            SELECT md5('cart' || g)::uuid,
+                   CASE WHEN g % 2 = 0 THEN 'session-' || g END,
+                   CASE WHEN g % 2 = 1 THEN md5('user' || g)::uuid END,
+                   now(), now()
+            FROM generate_series(1, 4000) g
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO cart_items (id, cart_id, product_id, quantity, price_amount, price_currency)
+            SELECT gen_random_uuid(), md5('cart' || g)::uuid, md5('product' || (g * i))::uuid, i, 10.00, 'USD'
+            FROM generate_series(1, 4000) g
+            CROSS JOIN generate_series(1, 2) i
+            """);
+        // No PENDING orders or notifications, so the expiry and outbox schedulers leave the data alone.
+        jdbcTemplate.execute("""
+            INSERT INTO orders (id, order_number, user_id, shipping_street, shipping_city, shipping_postal_code,
+                                shipping_country, status, total_amount, total_currency, created_at, paid_at)
+            SELECT md5('order' || g)::uuid, 'ORD-SEED-' || g, md5('user' || (g % 2000 + 1))::uuid,
+                   'Street', 'City', '00000', 'USA',
+                   (ARRAY['CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED'])[g % 5 + 1],
+                   20.00, 'USD', now() - g * interval '1 minute',
+                   CASE WHEN g % 5 <> 4 THEN now() - g * interval '1 minute' END
+            FROM generate_series(1, 20000) g
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO order_items (id, order_id, product_id, product_name, quantity, unit_price_amount,
+                                     unit_price_currency, warehouse_id)
+            SELECT gen_random_uuid(), md5('order' || g)::uuid, md5('product' || (g % 10000 + 1))::uuid,
+                   'Product', 1, 10.00, 'USD', md5('warehouse' || (g % 50 + 1))::uuid
+            FROM generate_series(1, 20000) g
+            CROSS JOIN generate_series(1, 2) i
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO shipments (id, tracking_number, order_id, warehouse_id, destination_street, destination_city,
+                                   destination_postal_code, destination_country, status, created_at)
+            SELECT md5('shipment' || g)::uuid, 'SHIP-SEED-' || g, md5('order' || g)::uuid,
+                   md5('warehouse' || (g % 50 + 1))::uuid, 'Street', 'City', '00000', 'USA', 'SHIPPED', now()
+            FROM generate_series(1, 8000) g
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO shipment_status_history (id, shipment_id, status, changed_at)
+            SELECT gen_random_uuid(), md5('shipment' || g)::uuid,
+                   (ARRAY['CREATED', 'SHIPPED'])[i], now() - (3 - i) * interval '1 hour'
+            FROM generate_series(1, 8000) g
+            CROSS JOIN generate_series(1, 2) i
+            """);
+        jdbcTemplate.execute("""
+            INSERT INTO notification_logs (id, type, value, subject, status, sent_at, created_at, attempts)
+            SELECT gen_random_uuid(), 'ORDER_CONFIRMATION', 'user' || g || '@example.com', 'Subject', 'SENT',
+                   now(), now(), 1
+            FROM generate_series(1, 10000) g
+            """);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @Test
+    void intP024_shouldPlanEveryRepositoryQueryWithoutSequentialScans() {
+        UUID userId = seededId("user", 7);
+        UUID categoryId = seededId("category", 7);
+        UUID productId = seededId("product", 7);
+        UUID warehouseId = seededId("warehouse", 7);
+        UUID orderId = seededId("order", 7);
+        UUID shipmentId = seededId("shipment", 7);
+        List<UUID> productIds = List.of(productId, seededId("product", 8), seededId("product", 9));
+        List<UUID> orderIds = List.of(orderId, seededId("order", 8), seededId("order", 9));
+        Pageable page = PageRequest.of(1, 20);
+        Instant now = Instant.now();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("JpaUserRepository.findById", () -> userRepository.findById(userId));
+        queries.put("JpaUserRepository.findByEmailValue", () -> userRepository.findByEmailValue("user7@example.com"));
+        queries.put("JpaUserRepository.existsByEmailValue", () -> userRepository.existsByEmailValue("user7@example.com"));
+
+        queries.put("CategoryJpaRepository.findById", () -> categoryRepository.findById(categoryId));
+        queries.put("CategoryJpaRepository.findAllById", () -> categoryRepository.findAllById(List.of(categoryId)));
+        queries.put("CategoryJpaRepository.findByParentIdOrderBySortOrder",
+            () -> categoryRepository.findByParentIdOrderBySortOrder(seededId("category", 3)));
+        queries.put("CategoryJpaRepository.findByParentIdIsNullOrderBySortOrder",
+            () -> categoryRepository.findByParentIdIsNullOrderBySortOrder());
+        queries.put("CategoryJpaRepository.findAll", () -> categoryRepository.findAll());
+
+        queries.put("ProductJpaRepository.findById", () -> productRepository.findById(productId));
+        queries.put("ProductJpaRepository.findAllById", () -> productRepository.findAllById(productIds));
+        queries.put("ProductJpaRepository.findBySkuValue", () -> productRepository.findBySkuValue("SKU-7"));
+        queries.put("ProductJpaRepository.existsBySkuValue", () -> productRepository.existsBySkuValue("SKU-7"));
+        queries.put("ProductJpaRepository.findByCategoryId", () -> productRepository.findByCategoryId(categoryId, page));
+        queries.put("ProductJpaRepository.findByCategoryIdAndActiveTrue",
+            () -> productRepository.findByCategoryIdAndActiveTrue(categoryId, page));
+        queries.put("ProductJpaRepository.findByActiveTrue", () -> productRepository.findByActiveTrue(page));
+        queries.put("ProductJpaRepository.findAll(Pageable)", () -> productRepository.findAll(page));
+
+        queries.put("JpaStockRepository.findByProductIdAndWarehouseId",
+            () -> stockRepository.findByProductIdAndWarehouseId(productId, warehouseId));
+        queries.put("JpaStockRepository.findByProductId", () -> stockRepository.findByProductId(productId));
+        queries.put("JpaStockRepository.findByProductIdIn", () -> stockRepository.findByProductIdIn(productIds));
+        queries.put("JpaStockRepository.findByWarehouseId", () -> stockRepository.findByWarehouseId(warehouseId, page));
+        queries.put("JpaStockRepository.findStockLevelsByProductIdIn",
+            () -> stockRepository.findStockLevelsByProductIdIn(productIds));
+
+        queries.put("CartJpaRepository.findBySessionIdValue", () -> cartRepository.findBySessionIdValue("session-8"));
+        queries.put("CartJpaRepository.findByUserId", () -> cartRepository.findByUserId(userId));
+        queries.put("CartJpaRepository.findByIdWithItems", () -> cartRepository.findByIdWithItems(seededId("cart", 8)));
+        queries.put("CartJpaRepository.summarizeBySessionIdValue",
+            () -> cartRepository.summarizeBySessionIdValue("session-8"));
+        queries.put("CartJpaRepository.summarizeByUserId", () -> cartRepository.summarizeByUserId(userId));
+
+        queries.put("OrderJpaRepository.findById + items",
+            () -> orderRepository.findById(orderId).orElseThrow().getItems().size());
+        queries.put("OrderJpaRepository.findByOrderNumberValue", () -> orderRepository.findByOrderNumberValue("ORD-SEED-7"));
+        queries.put("OrderJpaRepository.findByUserIdOrderByCreatedAtDesc",
+            () -> orderRepository.findByUserIdOrderByCreatedAtDesc(userId, page));
+        queries.put("OrderJpaRepository.findOrderSummariesByUserId",
+            () -> orderRepository.findOrderSummariesByUserId(userId, page));
+        queries.put("OrderJpaRepository.sumItemQuantitiesByOrderIds",
+            () -> orderRepository.sumItemQuantitiesByOrderIds(orderIds));
+        queries.put("OrderJpaRepository.findPaidIdsPlacedBetween",
+            () -> orderRepository.findPaidIdsPlacedBetween(now.minus(Duration.ofDays(1)), now,
+                now.minus(Duration.ofDays(1)), new UUID(0, 0), Limit.of(100)));
+        queries.put("OrderJpaRepository.findAllWithItemsByIdIn", () -> orderRepository.findAllWithItemsByIdIn(orderIds));
+        queries.put("OrderJpaRepository.findOldestCreatedAtByStatus",
+            () -> orderRepository.findOldestCreatedAtByStatus(OrderStatus.PENDING));
+
+        queries.put("ShipmentJpaRepository.findById + status history",
+            () -> shipmentRepository.findById(shipmentId).orElseThrow().getStatusHistory().size());
+        queries.put("ShipmentJpaRepository.findByTrackingNumberValue",
+            () -> shipmentRepository.findByTrackingNumberValue("SHIP-SEED-7"));
+        queries.put("ShipmentJpaRepository.findByOrderIdOrderByCreatedAtDesc",
+            () -> shipmentRepository.findByOrderIdOrderByCreatedAtDesc(orderId, page));
+
+        queries.put("JpaNotificationLogRepository.findById",
+            () -> notificationLogRepository.findById(NotificationId.of(UUID.randomUUID())));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            RecordingStatementInspector.start();
+            List<String> statements;
+            try {
+                transaction.executeWithoutResult(status -> query.getValue().run());
+            } finally {
+                statements = RecordingStatementInspector.stop();
+            }
+            assertFalse(statements.isEmpty(), query.getKey() + " ran no SQL");
+
+            for (String sql : statements) {
+                String plan = explainGeneric(sql);
+                Set<String> scanned = sequentiallyScanned(plan);
+                scanned.retainAll(SEEDED_TABLES);
+                if (!scanned.isEmpty() && !WHOLE_TABLE_READS.contains(query.getKey())) {
+                    violations.add(query.getKey() + " scans " + scanned + "\n" + sql + "\n" + plan);
+                }
+            }
+        }
+
+        assertTrue(violations.isEmpty(), "Sequential scans over seeded tables:\n\n" + String.join("\n\n", violations));
+    }
+
+    /**
+     * Prepares the statement and explains the plan Postgres would cache for it regardless of
+     * the parameter values, which stand in as NULLs.
+     */
+    private String explainGeneric(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE plan_check AS " + numberParameters(sql));
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE plan_check" + nullArguments(sql))) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static String nullArguments(String sql) {
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        if (parameters == 0) {
+            return "";
+        }
+        return IntStream.range(0, (int) parameters)
+            .mapToObj(i -> "NULL")
+            .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private static Set<String> sequentiallyScanned(String plan) {
+        Set<String> tables = new HashSet<>();
+        Matcher matcher = SEQ_SCAN.matcher(plan);
+        while (matcher.find()) {
+            tables.add(matcher.group(1));
+        }
+        return tables;
+    }
+
+    private UUID seededId(String kind, int n) {
+        return jdbcTemplate.queryForObject("SELECT md5(? || ?)::uuid", UUID.class, kind, String.valueOf(n));
+    }
+}
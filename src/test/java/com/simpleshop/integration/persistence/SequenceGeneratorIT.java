@@ -2,13 +2,28 @@ package com.simpleshop.integration.persistence;
 
 import com.simpleshop.SimpleShopApplication;
 import com.simpleshop.order.infrastructure.adapter.out.persistence.DatabaseOrderNumberGenerator;
+import com.simpleshop.shared.numbering.BlockNumberAllocator;
+import com.simpleshop.shared.numbering.JdbcNumberBlockSource;
 import com.simpleshop.shipping.infrastructure.adapter.out.persistence.DatabaseTrackingNumberGenerator;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,11 +41,17 @@ class SequenceGeneratorIT {
     @Autowired
     private DatabaseTrackingNumberGenerator trackingNumberGenerator;
 
+    @Autowired
+    private JdbcNumberBlockSource numberBlockSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     void intP006_shouldGenerateUniqueMonotonicOrderAndTrackingNumbers() {
-        orderNumberGenerator.ensureSequenceExists();
-        trackingNumberGenerator.ensureSequenceExists();
-
         List<String> orderNumbers = List.of(
             orderNumberGenerator.generate().getValue(),
             orderNumberGenerator.generate().getValue(),
@@ -56,6 +77,76 @@ class SequenceGeneratorIT {
         assertTrue(extractNumericSuffix(trackingNumbers.get(1)) < extractNumericSuffix(trackingNumbers.get(2)));
     }
 
+    @Test
+    void intP025_shouldAllocateUniqueNumbersFromSharedBlocksAcrossNodes() throws Exception {
+        // A counter of its own, so numbers handed out by other tests do not interfere.
+        String counter = "stress_" + UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.execute("CREATE SEQUENCE " + counter + "_block_seq INCREMENT BY 25 MINVALUE 1");
+        List<BlockNumberAllocator> nodes = List.of(
+            new BlockNumberAllocator(numberBlockSource, counter, "ORD", 25, Clock.systemDefaultZone()),
+            new BlockNumberAllocator(numberBlockSource, counter, "ORD", 25, Clock.systemDefaultZone()),
+            new BlockNumberAllocator(numberBlockSource, counter, "ORD", 25, Clock.systemDefaultZone())
+        );
+        int threadsPerNode = 4;
+        int numbersPerThread = 500;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size() * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> workers = new ArrayList<>();
+        try {
+            for (BlockNumberAllocator node : nodes) {
+                for (int t = 0; t < threadsPerNode; t++) {
+                    workers.add(executor.submit(() -> {
+                        start.await();
+                        int duplicates = 0;
+                        for (int i = 0; i < numbersPerThread; i++) {
+                            if (!issued.add(node.next())) {
+                                duplicates++;
+                            }
+                        }
+                        return duplicates;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Integer> worker : workers) {
+                assertEquals(0, worker.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(nodes.size() * threadsPerNode * numbersPerThread, issued.size());
+        assertTrue(issued.stream().allMatch(value -> ORDER_NUMBER_PATTERN.matcher(value).matches()));
+    }
+
+    @Test
+    void intP025_shouldRejectACounterTheMigrationsDidNotCreate() {
+        String counter = "missing_" + UUID.randomUUID().toString().replace("-", "");
+
+        assertThrows(IllegalStateException.class, () -> numberBlockSource.requireCounter(counter, 10));
+        assertThrows(IllegalStateException.class, () -> numberBlockSource.reserve(counter, 10));
+    }
+
+    @Test
+    void intP025_shouldRejectABlockSizeTheSequenceDoesNotHandOut() {
+        assertThrows(IllegalStateException.class, () -> numberBlockSource.requireCounter("order_number", 50));
+        assertDoesNotThrow(() -> numberBlockSource.requireCounter("order_number", 100));
+    }
+
+    @Test
+    void intP025_shouldReserveBlocksOnTheCallersConnection() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long first = numberBlockSource.reserve("order_number", 100);
+            // currval is per session, so it only sees the reservation on the same connection.
+            assertEquals(first, jdbcTemplate.queryForObject("SELECT currval('order_number_block_seq')", Long.class));
+
+            long next = numberBlockSource.reserve("order_number", 100);
+            assertTrue(next >= first + 100);
+        });
+    }
+
     private int extractNumericSuffix(String value) {
         String[] parts = value.split("-");
         assertEquals(3, parts.length);
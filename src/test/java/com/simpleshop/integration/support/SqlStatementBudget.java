@@ -0,0 +1,25 @@
+package com.simpleshop.integration.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a Spring integration test when it executes more SQL statements than allowed.
+ *
+ * Without {@link #useCase()} the budget covers every statement run by the test method
+ * itself, excluding {@code @BeforeEach} set-up. With a use case name (the {@code @WithSpan}
+ * value) the budget applies to each invocation of that use case, which must run at least once.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface SqlStatementBudget {
+
+    int max();
+
+    String useCase() default "";
+}
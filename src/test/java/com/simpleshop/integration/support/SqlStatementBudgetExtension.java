@@ -0,0 +1,82 @@
+package com.simpleshop.integration.support;
+
+import com.simpleshop.shared.observability.sql.SqlStatementCounter;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SqlStatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+        ExtensionContext.Namespace.create(SqlStatementBudgetExtension.class);
+    private static final String TEST_SCOPE = "test";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementBudget budget = budgetOf(context);
+        SqlStatementCounter counter = SpringExtension.getApplicationContext(context).getBean(SqlStatementCounter.class);
+        Recording recording = new Recording(counter, budget);
+        counter.addListener(recording);
+        if (budget.useCase().isEmpty()) {
+            recording.testScope = counter.open(TEST_SCOPE);
+        }
+        context.getStore(NAMESPACE).put(context.getUniqueId(), recording);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Recording recording = context.getStore(NAMESPACE).remove(context.getUniqueId(), Recording.class);
+        if (recording == null) {
+            return;
+        }
+        if (recording.testScope != null) {
+            recording.testScope.close();
+        }
+        recording.counter.removeListener(recording);
+        if (context.getExecutionException().isEmpty()) {
+            recording.verify(context.getDisplayName());
+        }
+    }
+
+    private static SqlStatementBudget budgetOf(ExtensionContext context) {
+        return context.getRequiredTestMethod().getAnnotation(SqlStatementBudget.class);
+    }
+
+    private static final class Recording implements SqlStatementCounter.Listener {
+
+        private final SqlStatementCounter counter;
+        private final SqlStatementBudget budget;
+        private final List<Long> invocations = new ArrayList<>();
+        private SqlStatementCounter.Scope testScope;
+
+        private Recording(SqlStatementCounter counter, SqlStatementBudget budget) {
+            this.counter = counter;
+            this.budget = budget;
+        }
+
+        @Override
+        public synchronized void scopeClosed(String name, long statements) {
+            String expected = budget.useCase().isEmpty() ? TEST_SCOPE : budget.useCase();
+            if (expected.equals(name)) {
+                invocations.add(statements);
+            }
+        }
+
+        private synchronized void verify(String test) {
+            if (invocations.isEmpty()) {
+                throw new AssertionError(test + ": use case '" + budget.useCase() + "' was never invoked");
+            }
+            for (long statements : invocations) {
+                if (statements > budget.max()) {
+                    String subject = budget.useCase().isEmpty() ? test : "use case '" + budget.useCase() + "'";
+                    throw new AssertionError(subject + " executed " + statements
+                        + " SQL statements, budget is " + budget.max() + " (all invocations: " + invocations + ")");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.simpleshop.inventory.application.allocation;
+
+import com.simpleshop.shared.domain.model.vo.Address;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning cost of each allocation strategy for carts of 1-200 lines over 1-50 warehouses.
+ * Every warehouse stocks every product generously, so no strategy fails and the numbers
+ * compare the search itself rather than the error path.
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.simpleshop.inventory.application.allocation.AllocationStrategyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationStrategyBenchmark {
+
+    @Param({"1", "20", "200"})
+    int lines;
+
+    @Param({"1", "10", "50"})
+    int warehouses;
+
+    @Param({
+        MaxAvailableAllocationStrategy.NAME,
+        SplitLineAllocationStrategy.NAME,
+        FewestShipmentsAllocationStrategy.NAME,
+        NearestWarehouseAllocationStrategy.NAME
+    })
+    String strategyName;
+
+    private AllocationStrategy strategy;
+    private AllocationProblem problem;
+
+    @Setup
+    public void setUp() {
+        strategy = new AllocationStrategies(List.of(
+            new MaxAvailableAllocationStrategy(),
+            new SplitLineAllocationStrategy(),
+            new FewestShipmentsAllocationStrategy(),
+            new NearestWarehouseAllocationStrategy()
+        ), strategyName).defaultStrategy();
+
+        Random random = new Random(42);
+        List<UUID> warehouseIds = new ArrayList<>(warehouses);
+        Map<UUID, Address> addresses = new HashMap<>();
+        for (int w = 0; w < warehouses; w++) {
+            UUID warehouseId = UUID.randomUUID();
+            warehouseIds.add(warehouseId);
+            addresses.put(warehouseId, Address.of("Street " + w, "City " + w, String.format("%05d", random.nextInt(100_000)), "USA"));
+        }
+
+        List<AllocationProblem.Line> problemLines = new ArrayList<>(lines);
+        Map<UUID, List<AllocationProblem.WarehouseStock>> stock = new HashMap<>();
+        for (int l = 0; l < lines; l++) {
+            UUID productId = UUID.randomUUID();
+            problemLines.add(new AllocationProblem.Line(l, productId, 1 + random.nextInt(5)));
+            List<AllocationProblem.WarehouseStock> rows = new ArrayList<>(warehouses);
+            for (UUID warehouseId : warehouseIds) {
+                rows.add(new AllocationProblem.WarehouseStock(UUID.randomUUID(), warehouseId, 5 + random.nextInt(100)));
+            }
+            stock.put(productId, rows);
+        }
+
+        problem = new AllocationProblem(
+            problemLines,
+            stock,
+            Address.of("1 Destination", "Boston", "02110", "USA"),
+            addresses
+        );
+    }
+
+    @Benchmark
+    public List<AllocationPick> allocate() {
+        return strategy.allocate(problem);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AllocationStrategyBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
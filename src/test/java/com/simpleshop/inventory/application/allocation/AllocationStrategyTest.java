@@ -0,0 +1,147 @@
+package com.simpleshop.inventory.application.allocation;
+
+import com.simpleshop.inventory.domain.exception.InsufficientStockException;
+import com.simpleshop.shared.domain.model.vo.Address;
+import org.testng.annotations.Test;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import static org.testng.Assert.*;
+
+public class AllocationStrategyTest {
+
+    private final UUID productA = UUID.randomUUID();
+    private final UUID productB = UUID.randomUUID();
+    private final UUID warehouse1 = UUID.randomUUID();
+    private final UUID warehouse2 = UUID.randomUUID();
+    private final UUID warehouse3 = UUID.randomUUID();
+
+    @Test
+    public void maxAvailableShouldPickLargestWarehousePerLine() {
+        AllocationProblem problem = problem(
+            List.of(line(0, productA, 4)),
+            Map.of(productA, List.of(stock(warehouse1, 5), stock(warehouse2, 9)))
+        );
+
+        List<AllocationPick> picks = new MaxAvailableAllocationStrategy().allocate(problem);
+
+        assertEquals(picks.size(), 1);
+        assertEquals(picks.getFirst().warehouseId(), warehouse2);
+        assertEquals(picks.getFirst().quantity(), 4);
+    }
+
+    @Test(expectedExceptions = InsufficientStockException.class)
+    public void maxAvailableShouldRejectLineLargerThanAnySingleWarehouse() {
+        AllocationProblem problem = problem(
+            List.of(line(0, productA, 8)),
+            Map.of(productA, List.of(stock(warehouse1, 5), stock(warehouse2, 5)))
+        );
+
+        new MaxAvailableAllocationStrategy().allocate(problem);
+    }
+
+    @Test
+    public void splitLineShouldCoverLineAcrossWarehouses() {
+        AllocationProblem problem = problem(
+            List.of(line(0, productA, 8)),
+            Map.of(productA, List.of(stock(warehouse1, 5), stock(warehouse2, 6)))
+        );
+
+        List<AllocationPick> picks = new SplitLineAllocationStrategy().allocate(problem);
+
+        assertEquals(picks.size(), 2);
+        assertEquals(picks.get(0).warehouseId(), warehouse2);
+        assertEquals(picks.get(0).quantity(), 6);
+        assertEquals(picks.get(1).warehouseId(), warehouse1);
+        assertEquals(picks.get(1).quantity(), 2);
+    }
+
+    @Test(expectedExceptions = InsufficientStockException.class)
+    public void splitLineShouldRejectWhenTotalStockIsInsufficient() {
+        AllocationProblem problem = problem(
+            List.of(line(0, productA, 12)),
+            Map.of(productA, List.of(stock(warehouse1, 5), stock(warehouse2, 6)))
+        );
+
+        new SplitLineAllocationStrategy().allocate(problem);
+    }
+
+    @Test
+    public void fewestShipmentsShouldServeWholeCartFromOneWarehouseWhenPossible() {
+        // Max-available would ship A from warehouse1 and B from warehouse2.
+        AllocationProblem problem = problem(
+            List.of(line(0, productA, 2), line(1, productB, 2)),
+            Map.of(
+                productA, List.of(stock(warehouse1, 10), stock(warehouse3, 3)),
+                productB, List.of(stock(warehouse2, 10), stock(warehouse3, 3))
+            )
+        );
+
+        List<AllocationPick> picks = new FewestShipmentsAllocationStrategy().allocate(problem);
+
+        assertEquals(warehouses(picks), Set.of(warehouse3));
+    }
+
+    @Test
+    public void fewestShipmentsShouldAccountForLinesSharingAProduct() {
+        AllocationProblem problem = problem(
+            List.of(line(0, productA, 3), line(1, productA, 3)),
+            Map.of(productA, List.of(stock(warehouse1, 4), stock(warehouse2, 3)))
+        );
+
+        List<AllocationPick> picks = new FewestShipmentsAllocationStrategy().allocate(problem);
+
+        assertEquals(picks.stream().mapToInt(AllocationPick::quantity).sum(), 6);
+        assertEquals(warehouses(picks), Set.of(warehouse1, warehouse2));
+    }
+
+    @Test
+    public void nearestShouldPreferWarehouseInDestinationRegion() {
+        Map<UUID, Address> addresses = new LinkedHashMap<>();
+        addresses.put(warehouse1, Address.of("1 Main", "Boston", "02110", "USA"));
+        addresses.put(warehouse2, Address.of("2 Main", "Austin", "73301", "USA"));
+        AllocationProblem problem = new AllocationProblem(
+            List.of(line(0, productA, 2)),
+            Map.of(productA, List.of(stock(warehouse1, 5), stock(warehouse2, 50))),
+            Address.of("9 Elm", "Cambridge", "02139", "USA"),
+            addresses
+        );
+
+        List<AllocationPick> picks = new NearestWarehouseAllocationStrategy().allocate(problem);
+
+        assertEquals(picks.size(), 1);
+        assertEquals(picks.getFirst().warehouseId(), warehouse1);
+    }
+
+    @Test
+    public void proximityShouldRankCountryAbovePostalPrefix() {
+        Address destination = Address.of("9 Elm", "Cambridge", "02139", "USA");
+
+        int sameRegion = NearestWarehouseAllocationStrategy.proximity(destination, Address.of("1 Main", "Boston", "02110", "USA"));
+        int sameCountry = NearestWarehouseAllocationStrategy.proximity(destination, Address.of("2 Main", "Austin", "73301", "USA"));
+        int abroad = NearestWarehouseAllocationStrategy.proximity(destination, Address.of("3 Rue", "Paris", "02139", "France"));
+
+        assertTrue(sameRegion > sameCountry);
+        assertTrue(sameCountry > abroad);
+    }
+
+    private AllocationProblem problem(List<AllocationProblem.Line> lines,
+                                      Map<UUID, List<AllocationProblem.WarehouseStock>> stock) {
+        return new AllocationProblem(lines, stock, null, Map.of());
+    }
+
+    private AllocationProblem.Line line(int index, UUID productId, int quantity) {
+        return new AllocationProblem.Line(index, productId, quantity);
+    }
+
+    private AllocationProblem.WarehouseStock stock(UUID warehouseId, int available) {
+        return new AllocationProblem.WarehouseStock(UUID.randomUUID(), warehouseId, available);
+    }
+
+    private Set<UUID> warehouses(List<AllocationPick> picks) {
+        return picks.stream().map(AllocationPick::warehouseId).collect(Collectors.toSet());
+    }
+}
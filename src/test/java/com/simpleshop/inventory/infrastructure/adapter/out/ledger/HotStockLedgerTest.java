@@ -0,0 +1,119 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.ledger;
+
+import com.simpleshop.inventory.application.port.out.StockLevelProjection;
+import org.testng.annotations.Test;
+import java.util.Map;
+import java.util.UUID;
+import static org.testng.Assert.*;
+
+public class HotStockLedgerTest {
+
+    private final UUID stockId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID warehouseId = UUID.randomUUID();
+
+    @Test
+    public void shouldReserveUntilAvailableIsExhausted() {
+        HotStockLedger ledger = trackedLedger(10);
+
+        assertTrue(ledger.tryReserve(stockId, 6));
+        assertFalse(ledger.tryReserve(stockId, 5));
+        assertTrue(ledger.tryReserve(stockId, 4));
+
+        HotStockLedger.Snapshot snapshot = ledger.snapshot(stockId).orElseThrow();
+        assertEquals(snapshot.available(), 0);
+        assertEquals(snapshot.held(), 10);
+        assertEquals(snapshot.pending(), 0);
+    }
+
+    @Test
+    public void shouldNotDrainReservationsBeforeTheirTransactionCommits() {
+        HotStockLedger ledger = trackedLedger(10);
+        ledger.tryReserve(stockId, 3);
+
+        assertTrue(ledger.drainPending().isEmpty());
+        assertTrue(ledger.hasUnflushedChanges());
+
+        ledger.commit(stockId, 3);
+
+        HotStockLedger.Snapshot snapshot = ledger.snapshot(stockId).orElseThrow();
+        assertEquals(snapshot.held(), 0);
+        assertEquals(snapshot.pending(), 3);
+        assertEquals(ledger.drainPending(), Map.of(stockId, 3));
+    }
+
+    @Test
+    public void shouldDrainOnlyMatchingRows() {
+        UUID otherStockId = UUID.randomUUID();
+        HotStockLedger ledger = trackedLedger(10);
+        ledger.track(new StockLevelProjection(otherStockId, productId, UUID.randomUUID(), 10));
+        ledger.tryReserve(stockId, 2);
+        ledger.commit(stockId, 2);
+        ledger.tryReserve(otherStockId, 4);
+        ledger.commit(otherStockId, 4);
+
+        assertEquals(ledger.drainPending(snapshot -> snapshot.stockId().equals(otherStockId)), Map.of(otherStockId, 4));
+        assertEquals(ledger.snapshot(stockId).orElseThrow().pending(), 2);
+    }
+
+    @Test
+    public void shouldMovePendingToInflightAndBackOnFailedFlush() {
+        HotStockLedger ledger = trackedLedger(10);
+        ledger.tryReserve(stockId, 3);
+        ledger.commit(stockId, 3);
+
+        Map<UUID, Integer> deltas = ledger.drainPending();
+        assertEquals(deltas, Map.of(stockId, 3));
+        assertEquals(ledger.snapshot(stockId).orElseThrow().inflight(), 3);
+
+        ledger.abortFlush(deltas);
+
+        HotStockLedger.Snapshot snapshot = ledger.snapshot(stockId).orElseThrow();
+        assertEquals(snapshot.pending(), 3);
+        assertEquals(snapshot.inflight(), 0);
+        assertTrue(ledger.hasUnflushedChanges());
+    }
+
+    @Test
+    public void shouldRestoreAvailabilityWhenReservationIsCompensated() {
+        HotStockLedger ledger = trackedLedger(10);
+        ledger.tryReserve(stockId, 4);
+
+        ledger.compensate(stockId, 4);
+
+        HotStockLedger.Snapshot snapshot = ledger.snapshot(stockId).orElseThrow();
+        assertEquals(snapshot.available(), 10);
+        assertEquals(snapshot.held(), 0);
+        assertFalse(ledger.hasUnflushedChanges());
+    }
+
+    @Test
+    public void shouldSubtractUnflushedDeltasWhenResyncingFromDatabase() {
+        HotStockLedger ledger = trackedLedger(10);
+        ledger.tryReserve(stockId, 2);
+        ledger.commit(stockId, 2);
+        ledger.completeFlush(ledger.drainPending());
+        ledger.tryReserve(stockId, 3);
+
+        ledger.resync(stockId, 20);
+
+        assertEquals(ledger.snapshot(stockId).orElseThrow().available(), 17);
+    }
+
+    @Test
+    public void shouldIgnoreStalePeriodicResync() {
+        HotStockLedger ledger = trackedLedger(10);
+        long revision = ledger.snapshot(stockId).orElseThrow().revision();
+
+        ledger.resync(stockId, 15);
+        ledger.resyncIfUnchanged(stockId, 10, revision);
+
+        assertEquals(ledger.snapshot(stockId).orElseThrow().available(), 15);
+    }
+
+    private HotStockLedger trackedLedger(int available) {
+        HotStockLedger ledger = new HotStockLedger();
+        ledger.track(new StockLevelProjection(stockId, productId, warehouseId, available));
+        return ledger;
+    }
+}
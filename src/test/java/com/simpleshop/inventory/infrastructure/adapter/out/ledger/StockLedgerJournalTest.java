@@ -0,0 +1,65 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.ledger;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import static org.testng.Assert.*;
+
+public class StockLedgerJournalTest {
+
+    private final UUID stockId = UUID.randomUUID();
+    private Path path;
+    private StockLedgerJournal journal;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        path = Files.createTempFile("stock-ledger", ".journal");
+        journal = new StockLedgerJournal(path);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void shouldReplayReservationsThatWereNeverFlushed() {
+        journal.append(StockLedgerJournal.RESERVED, Map.of(stockId, 5));
+        journal.append(StockLedgerJournal.FLUSHED, Map.of(stockId, 2));
+
+        assertEquals(journal.replayUnflushed(), Map.of(stockId, 3));
+    }
+
+    @Test
+    public void shouldNetOutCompensatedReservations() {
+        journal.append(StockLedgerJournal.RESERVED, Map.of(stockId, 4));
+        journal.append(StockLedgerJournal.COMPENSATED, Map.of(stockId, 4));
+
+        assertTrue(journal.replayUnflushed().isEmpty());
+    }
+
+    @Test
+    public void shouldSkipTornTrailingLine() throws IOException {
+        journal.append(StockLedgerJournal.RESERVED, Map.of(stockId, 1));
+        Files.writeString(path, "R," + stockId, StandardOpenOption.APPEND);
+
+        assertEquals(journal.replayUnflushed(), Map.of(stockId, 1));
+    }
+
+    @Test
+    public void shouldNotCompactWhileReservationsAreUnflushed() {
+        journal.append(StockLedgerJournal.RESERVED, Map.of(stockId, 1));
+
+        assertFalse(journal.compactIf(() -> false));
+        assertTrue(journal.size() > 0);
+        assertTrue(journal.compactIf(() -> true));
+        assertEquals(journal.size(), 0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.simpleshop.inventory.infrastructure.adapter.out.persistence;
+
+import org.testng.annotations.Test;
+
+import java.sql.Statement;
+
+import static org.testng.Assert.*;
+
+public class StockRepositoryAdapterTest {
+
+    @Test
+    public void batchResultsWithoutARowCountCountAsApplied() {
+        assertTrue(StockRepositoryAdapter.applied(1));
+        assertTrue(StockRepositoryAdapter.applied(Statement.SUCCESS_NO_INFO));
+    }
+
+    @Test
+    public void rejectedOrFailedStatementsAreNotApplied() {
+        assertFalse(StockRepositoryAdapter.applied(0));
+        assertFalse(StockRepositoryAdapter.applied(Statement.EXECUTE_FAILED));
+    }
+}
@@ -0,0 +1,44 @@
+package com.simpleshop.notification.application.service;
+
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.testng.Assert.*;
+
+public class DeliveryBackoffTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    public void delayDoublesPerAttemptUpToMax() {
+        DeliveryBackoff backoff = new DeliveryBackoff(10, Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        assertEquals(backoff.delayMillis(1), 30_000);
+        assertEquals(backoff.delayMillis(2), 60_000);
+        assertEquals(backoff.delayMillis(3), 120_000);
+        assertEquals(backoff.delayMillis(4), 240_000);
+        assertEquals(backoff.delayMillis(5), 300_000);
+        assertEquals(backoff.delayMillis(60), 300_000);
+    }
+
+    @Test
+    public void nextAttemptIsJitteredBelowTheDelay() {
+        DeliveryBackoff backoff = new DeliveryBackoff(10, Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        for (int i = 0; i < 100; i++) {
+            Instant next = backoff.nextAttempt(2, NOW).orElseThrow();
+            assertFalse(next.isAfter(NOW.plusSeconds(60)));
+            assertFalse(next.isBefore(NOW.plusSeconds(48)));
+        }
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() {
+        DeliveryBackoff backoff = new DeliveryBackoff(3, Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        assertTrue(backoff.nextAttempt(2, NOW).isPresent());
+        assertTrue(backoff.nextAttempt(3, NOW).isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+package com.simpleshop.notification.application.service;
+
+import com.simpleshop.notification.application.port.out.InvoiceGenerator;
+import com.simpleshop.notification.application.port.out.OrderQueryPort;
+import com.simpleshop.notification.application.readmodel.InvoiceExportResult;
+import com.simpleshop.notification.infrastructure.adapter.out.invoice.FileSystemInvoiceStore;
+import com.simpleshop.order.application.query.OrderCursor;
+import com.simpleshop.order.application.query.OrderView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.testng.Assert.*;
+
+public class InvoiceExportServiceTest {
+
+    private static final Instant FROM = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant BEFORE = Instant.parse("2026-02-01T00:00:00Z");
+
+    private Path storeDir;
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
+    private List<OrderView> orders;
+    private int pageRequests;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        storeDir = Files.createTempDirectory("invoice-export");
+        executor = Executors.newFixedThreadPool(2);
+        registry = new SimpleMeterRegistry();
+        orders = new ArrayList<>();
+        pageRequests = 0;
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (Stream<Path> paths = Files.walk(storeDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void streamsEveryInvoiceOfThePeriodInOrder() throws IOException {
+        for (int i = 0; i < 7; i++) {
+            orders.add(order("ORD-2026-0000" + i, FROM.plusSeconds(i)));
+        }
+        InvoiceExportService service = exportService((order, output) -> write(output, "%PDF " + order.orderNumber()));
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        InvoiceExportResult result = service.exportInvoices(FROM, BEFORE, archive);
+
+        assertEquals(result.exported(), 7);
+        assertEquals(result.failed(), 0);
+        assertEquals(pageRequests, 3);
+        List<String> entries = entries(archive.toByteArray());
+        assertEquals(entries, orders.stream().map(order -> order.orderNumber() + ".pdf:%PDF " + order.orderNumber()).toList());
+        assertEquals(registry.get("simpleshop.notifications.invoice.export.invoices").counter().count(), 7.0);
+        assertEquals(registry.get("simpleshop.notifications.invoice.export.active").gauge().value(), 0.0);
+    }
+
+    @Test
+    public void listsInvoicesThatCouldNotBeRenderedInsteadOfAborting() throws IOException {
+        orders.add(order("ORD-2026-00001", FROM.plusSeconds(1)));
+        orders.add(order("ORD-2026-00002", FROM.plusSeconds(2)));
+        InvoiceExportService service = exportService((order, output) -> {
+            if (order.orderNumber().endsWith("1")) {
+                throw new IllegalStateException("broken layout");
+            }
+            write(output, "%PDF");
+        });
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        InvoiceExportResult result = service.exportInvoices(FROM, BEFORE, archive);
+
+        assertEquals(result.exported(), 1);
+        assertEquals(result.failed(), 1);
+        List<String> entries = entries(archive.toByteArray());
+        assertEquals(entries.get(0), "ORD-2026-00002.pdf:%PDF");
+        assertTrue(entries.get(1).startsWith("FAILED.txt:ORD-2026-00001: broken layout"));
+    }
+
+    private InvoiceExportService exportService(InvoiceGenerator generator) {
+        OrderQueryPort orderQueryPort = new OrderQueryPort() {
+            @Override
+            public Optional<OrderView> getOrderById(UUID orderId) {
+                return orders.stream().filter(order -> order.id().equals(orderId)).findFirst();
+            }
+
+            @Override
+            public List<OrderView> getPaidOrdersPlacedBetween(Instant from, Instant before, OrderCursor after, int limit) {
+                pageRequests++;
+                return orders.stream()
+                    .filter(order -> order.createdAt().isAfter(after.createdAt()))
+                    .limit(limit)
+                    .toList();
+            }
+        };
+        InvoiceService invoiceService = new InvoiceService(generator, new FileSystemInvoiceStore(storeDir),
+            orderQueryPort, executor, registry, 5_000);
+        return new InvoiceExportService(orderQueryPort, invoiceService, registry, 3, 2);
+    }
+
+    private static List<String> entries(byte[] archive) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName() + ":" + new String(zip.readAllBytes(), StandardCharsets.UTF_8).trim());
+            }
+        }
+        return entries;
+    }
+
+    private static void write(OutputStream output, String content) {
+        try {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static OrderView order(String orderNumber, Instant createdAt) {
+        return new OrderView(UUID.randomUUID(), orderNumber, UUID.randomUUID(), List.of(),
+            "100 Main St", "Seattle", "98101", "USA", "CONFIRMED", BigDecimal.TEN, "USD", 0,
+            createdAt, createdAt, null, null, null, null);
+    }
+}
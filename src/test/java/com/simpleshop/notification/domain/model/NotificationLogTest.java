@@ -119,4 +119,33 @@ public class NotificationLogTest {
         assertEquals(invoice.getType(), NotificationType.INVOICE);
         assertEquals(welcome.getType(), NotificationType.USER_WELCOME);
     }
+
+    @Test
+    public void enqueue_createsPendingMessageDueNow() {
+        NotificationLog log = NotificationLog.enqueue(
+            NotificationType.USER_WELCOME,
+            Email.of("test@example.com"),
+            "Welcome",
+            "<p>Hello</p>"
+        );
+        
+        assertEquals(log.getStatus(), NotificationStatus.PENDING);
+        assertEquals(log.getBody(), "<p>Hello</p>");
+        assertEquals(log.getAttempts(), 0);
+        assertEquals(log.getNextAttemptAt(), log.getCreatedAt());
+    }
+    
+    @Test
+    public void markAsFailed_takesMessageOutOfTheOutbox() {
+        NotificationLog log = NotificationLog.enqueue(
+            NotificationType.USER_WELCOME,
+            Email.of("test@example.com"),
+            "Welcome",
+            "<p>Hello</p>"
+        );
+        
+        log.markAsFailed("Template error");
+        
+        assertNull(log.getNextAttemptAt());
+    }
 }
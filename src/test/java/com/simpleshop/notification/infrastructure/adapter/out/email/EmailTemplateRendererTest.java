@@ -0,0 +1,67 @@
+package com.simpleshop.notification.infrastructure.adapter.out.email;
+
+import com.simpleshop.notification.domain.model.vo.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class EmailTemplateRendererTest {
+
+    private SimpleMeterRegistry registry;
+    private EmailTemplateRenderer renderer;
+
+    @BeforeClass
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        renderer = new EmailTemplateRenderer(registry, "https://shop.example.com");
+    }
+
+    @Test
+    public void rendersStaticHeadAndPerRecipientBody() {
+        String html = renderer.render(NotificationType.USER_WELCOME,
+            Map.of("firstName", "Taylor", "recipientEmail", "taylor@example.com"));
+
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertTrue(html.contains("<style>"));
+        assertTrue(html.contains("Taylor"));
+        assertTrue(html.contains("taylor@example.com"));
+        assertTrue(html.contains("https://shop.example.com/products"));
+        assertFalse(html.contains("th:"));
+        assertTrue(html.trim().endsWith("</html>"));
+    }
+
+    @Test
+    public void rendersBatchWithoutLeakingVariablesBetweenRecipients() {
+        List<String> rendered = renderer.renderAll(NotificationType.USER_WELCOME, List.of(
+            Map.of("firstName", "Alex", "recipientEmail", "alex@example.com"),
+            Map.of("recipientEmail", "sam@example.com")
+        ));
+
+        assertEquals(rendered.size(), 2);
+        assertTrue(rendered.get(0).contains("Alex"));
+        assertTrue(rendered.get(1).contains("sam@example.com"));
+        assertFalse(rendered.get(1).contains("Alex"));
+        assertFalse(rendered.get(1).contains("alex@example.com"));
+    }
+
+    @Test
+    public void recordsRenderLatencyPerNotificationType() {
+        long before = registry.get("simpleshop.notifications.render").tag("type", "USER_WELCOME").timer().count();
+
+        renderer.renderAll(NotificationType.USER_WELCOME, List.of(
+            Map.of("recipientEmail", "a@example.com"),
+            Map.of("recipientEmail", "b@example.com"),
+            Map.of("recipientEmail", "c@example.com")
+        ));
+
+        assertEquals(registry.get("simpleshop.notifications.render").tag("type", "USER_WELCOME").timer().count(), before + 3);
+        for (NotificationType type : NotificationType.values()) {
+            assertNotNull(registry.find("simpleshop.notifications.render").tag("type", type.name()).timer());
+        }
+    }
+}
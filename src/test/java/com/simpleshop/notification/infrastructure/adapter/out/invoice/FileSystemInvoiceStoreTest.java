@@ -0,0 +1,129 @@
+package com.simpleshop.notification.infrastructure.adapter.out.invoice;
+
+import com.simpleshop.notification.application.readmodel.StoredInvoice;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class FileSystemInvoiceStoreTest {
+
+    private Path root;
+    private FileSystemInvoiceStore store;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("invoice-store");
+        store = new FileSystemInvoiceStore(root);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void storesDocumentAndFindsItByOrderAndStatus() throws IOException {
+        UUID orderId = UUID.randomUUID();
+        assertTrue(store.find(orderId, "CONFIRMED").isEmpty());
+
+        StoredInvoice stored = store.store(orderId, "CONFIRMED", write("%PDF-1.4 confirmed"));
+        Optional<StoredInvoice> found = store.find(orderId, "CONFIRMED");
+
+        assertTrue(found.isPresent());
+        assertEquals(found.get().key(), stored.key());
+        assertEquals(found.get().sizeBytes(), 18);
+        assertEquals(Files.readString(found.get().path()), "%PDF-1.4 confirmed");
+        assertTrue(found.get().path().startsWith(root));
+    }
+
+    @Test
+    public void keysDependOnOrderAndStatusOnly() {
+        UUID orderId = UUID.randomUUID();
+
+        assertEquals(FileSystemInvoiceStore.key(orderId, "CONFIRMED"), FileSystemInvoiceStore.key(orderId, "CONFIRMED"));
+        assertNotEquals(FileSystemInvoiceStore.key(orderId, "CONFIRMED"), FileSystemInvoiceStore.key(orderId, "SHIPPED"));
+        assertNotEquals(FileSystemInvoiceStore.key(orderId, "CONFIRMED"), FileSystemInvoiceStore.key(UUID.randomUUID(), "CONFIRMED"));
+        assertEquals(FileSystemInvoiceStore.key(orderId, "CONFIRMED").length(), 64);
+    }
+
+    @Test
+    public void restoringReplacesTheDocument() throws IOException {
+        UUID orderId = UUID.randomUUID();
+        store.store(orderId, "CONFIRMED", write("first"));
+
+        StoredInvoice replaced = store.store(orderId, "CONFIRMED", write("second"));
+
+        assertEquals(Files.readString(replaced.path()), "second");
+    }
+
+    @Test
+    public void storingANewStatusDeletesTheSupersededDocument() throws IOException {
+        UUID orderId = UUID.randomUUID();
+        StoredInvoice confirmed = store.store(orderId, "CONFIRMED", write("confirmed"));
+
+        StoredInvoice shipped = store.store(orderId, "SHIPPED", write("shipped"));
+
+        assertFalse(Files.exists(confirmed.path()));
+        assertTrue(store.find(orderId, "CONFIRMED").isEmpty());
+        assertEquals(Files.readString(shipped.path()), "shipped");
+    }
+
+    @Test
+    public void storingLeavesOtherOrdersAlone() throws IOException {
+        StoredInvoice other = store.store(UUID.randomUUID(), "CONFIRMED", write("other"));
+
+        store.store(UUID.randomUUID(), "SHIPPED", write("shipped"));
+
+        assertTrue(Files.exists(other.path()));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void rejectsAnUnsetStoreDirectory() {
+        new FileSystemInvoiceStore(Path.of(""));
+    }
+
+    @Test
+    public void failedWriteLeavesNothingBehind() throws IOException {
+        UUID orderId = UUID.randomUUID();
+
+        assertThrows(UncheckedIOException.class, () -> store.store(orderId, "CONFIRMED", output -> {
+            try {
+                output.write("%PDF-1.4 partial".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            throw new UncheckedIOException(new IOException("disk full"));
+        }));
+
+        assertTrue(store.find(orderId, "CONFIRMED").isEmpty());
+        try (Stream<Path> files = Files.walk(root)) {
+            assertTrue(files.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    private static Consumer<OutputStream> write(String content) {
+        return output -> {
+            try {
+                output.write(content.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.simpleshop.notification.infrastructure.adapter.out.invoice;
+
+import com.simpleshop.notification.application.readmodel.StoredInvoice;
+import com.simpleshop.order.application.query.OrderItemView;
+import com.simpleshop.order.application.query.OrderView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Invoice cost per order size: laying the PDF out into memory (what every confirmation
+ * used to do), streaming it into the on-disk store (a cache miss), and serving an invoice
+ * that is already stored (a re-send or download).
+ *
+ * Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.simpleshop.notification.infrastructure.adapter.out.invoice.InvoiceRenderingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class InvoiceRenderingBenchmark {
+
+    @Param({"1", "10", "100", "500"})
+    int lines;
+
+    private SimpleInvoiceGenerator generator;
+    private FileSystemInvoiceStore store;
+    private Path storeDir;
+    private OrderView order;
+
+    @Setup
+    public void setUp() throws IOException {
+        generator = new SimpleInvoiceGenerator();
+        storeDir = Files.createTempDirectory("invoice-benchmark");
+        store = new FileSystemInvoiceStore(storeDir);
+        order = order(lines);
+        store.store(order.id(), order.status(), output -> generator.writeInvoice(order, output));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(storeDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public byte[] renderInMemory() {
+        return generator.generateInvoice(order);
+    }
+
+    @Benchmark
+    public void renderStreamingToNowhere() {
+        generator.writeInvoice(order, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public StoredInvoice renderIntoStore() {
+        return store.store(order.id(), "BENCHMARK", output -> generator.writeInvoice(order, output));
+    }
+
+    @Benchmark
+    public Optional<StoredInvoice> findStored() {
+        return store.find(order.id(), order.status());
+    }
+
+    private static OrderView order(int lines) {
+        List<OrderItemView> items = new ArrayList<>(lines);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(1_000 + i, 2);
+            BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(2));
+            items.add(new OrderItemView(UUID.randomUUID(), UUID.randomUUID(), "Product " + i, 2,
+                unitPrice, "USD", subtotal, UUID.randomUUID()));
+            total = total.add(subtotal);
+        }
+        Instant now = Instant.now();
+        return new OrderView(UUID.randomUUID(), "ORD-2026-00001", UUID.randomUUID(), items,
+            "100 Main St", "Seattle", "98101", "USA", "CONFIRMED", total, "USD", lines * 2,
+            now, now, null, null, null, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(InvoiceRenderingBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.simpleshop.shared.domain.model;
+
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.testng.Assert.*;
+
+public class TimeOrderedUuidTest {
+
+    @Test
+    public void shouldGenerateVersion7WithRfcVariant() {
+        UUID uuid = TimeOrderedUuid.generate();
+
+        assertEquals(uuid.version(), 7);
+        assertEquals(uuid.variant(), 2);
+    }
+
+    @Test
+    public void shouldEmbedTheClockMillis() {
+        long now = 1_750_000_000_000L;
+        TimeOrderedUuid generator = new TimeOrderedUuid(() -> now);
+
+        assertEquals(timestampOf(generator.next()), now);
+        assertEquals(timestampOf(generator.next()), now);
+    }
+
+    @Test
+    public void shouldBorrowTheNextMillisecondWhenTheCounterRunsOut() {
+        long now = 1_750_000_000_000L;
+        TimeOrderedUuid generator = new TimeOrderedUuid(() -> now);
+
+        UUID last = null;
+        for (int i = 0; i < 4096; i++) {
+            last = generator.next();
+        }
+        assertEquals(timestampOf(last), now);
+        assertEquals(timestampOf(generator.next()), now + 1);
+    }
+
+    @Test
+    public void shouldKeepIncreasingWhenTheClockStepsBackwards() {
+        AtomicLong now = new AtomicLong(1_750_000_000_000L);
+        TimeOrderedUuid generator = new TimeOrderedUuid(now::get);
+
+        UUID before = generator.next();
+        now.addAndGet(-5_000);
+        UUID after = generator.next();
+
+        assertTrue(before.toString().compareTo(after.toString()) < 0, before + " >= " + after);
+        assertEquals(timestampOf(after), timestampOf(before));
+    }
+
+    @Test
+    public void shouldBeStrictlyIncreasingInStringAndBinaryOrder() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(TimeOrderedUuid.generate());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            UUID previous = uuids.get(i - 1);
+            UUID current = uuids.get(i);
+            assertTrue(previous.toString().compareTo(current.toString()) < 0, previous + " >= " + current);
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), current.getMostSignificantBits()) < 0);
+        }
+    }
+
+    private static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,163 @@
+package com.simpleshop.shared.numbering;
+
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+public class BlockNumberAllocatorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    public void shouldReserveOncePerBlock() {
+        SharedCounter counter = new SharedCounter();
+        BlockNumberAllocator allocator = new BlockNumberAllocator(counter, "order_number", "ORD", 100, CLOCK);
+
+        List<Long> numbers = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            numbers.add(allocator.nextNumber());
+        }
+
+        assertEquals(counter.reservations.get(), 3);
+        assertEquals(numbers.getFirst(), Long.valueOf(1));
+        assertEquals(numbers.getLast(), Long.valueOf(250));
+        for (int i = 1; i < numbers.size(); i++) {
+            assertTrue(numbers.get(i) > numbers.get(i - 1));
+        }
+    }
+
+    @Test
+    public void shouldFormatWithoutLosingDigits() {
+        assertEquals(BlockNumberAllocator.format("ORD", "2026", 42), "ORD-2026-00042");
+        assertEquals(BlockNumberAllocator.format("SHIP", "2026", 99_999), "SHIP-2026-99999");
+        assertEquals(BlockNumberAllocator.format("ORD", "2026", 1_234_567), "ORD-2026-1234567");
+
+        BlockNumberAllocator allocator = new BlockNumberAllocator(new SharedCounter(), "order_number", "ORD", 10, CLOCK);
+        assertEquals(allocator.next(), "ORD-2026-00001");
+    }
+
+    @Test
+    public void shouldTakeTheYearFromTheClockWhenTheNumberIsHandedOut() {
+        SharedCounter counter = new SharedCounter();
+        MutableClock clock = new MutableClock(Instant.parse("2026-12-31T23:59:59Z"));
+        BlockNumberAllocator allocator = new BlockNumberAllocator(counter, "tracking_number", "SHIP", 100, clock);
+
+        assertEquals(allocator.next(), "SHIP-2026-00001");
+        clock.now = Instant.parse("2027-01-01T00:00:01Z");
+        assertEquals(allocator.next(), "SHIP-2027-00002");
+        clock.now = Instant.parse("2027-06-01T00:00:00Z");
+        assertEquals(allocator.next(), "SHIP-2027-00003");
+
+        // The block reserved in 2026 carries on into 2027.
+        assertEquals(counter.reservations.get(), 1);
+    }
+
+    @Test
+    public void shouldHandOutUniqueNumbersAcrossThreadsAndNodes() throws Exception {
+        SharedCounter counter = new SharedCounter();
+        // Nodes may run with different block sizes during a configuration change.
+        List<BlockNumberAllocator> nodes = List.of(
+            new BlockNumberAllocator(counter, "order_number", "ORD", 1, CLOCK),
+            new BlockNumberAllocator(counter, "order_number", "ORD", 7, CLOCK),
+            new BlockNumberAllocator(counter, "order_number", "ORD", 64, CLOCK),
+            new BlockNumberAllocator(counter, "order_number", "ORD", 100, CLOCK)
+        );
+        int threadsPerNode = 8;
+        int numbersPerThread = 5_000;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size() * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (BlockNumberAllocator node : nodes) {
+                for (int t = 0; t < threadsPerNode; t++) {
+                    workers.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < numbersPerThread; i++) {
+                            if (!issued.add(node.next())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = nodes.size() * threadsPerNode * numbersPerThread;
+        assertEquals(duplicates.get(), 0);
+        assertEquals(issued.size(), total);
+        // Every node leaves at most one block partly used, so almost nothing is skipped.
+        assertTrue(counter.next.get() - 1 <= total + 1 + 7 + 64 + 100);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectEmptyBlocks() {
+        new BlockNumberAllocator(new SharedCounter(), "order_number", "ORD", 0, CLOCK);
+    }
+
+    /** Stands in for the counter row every node reserves from. */
+    private static final class SharedCounter implements NumberBlockSource {
+
+        final AtomicLong next = new AtomicLong(1);
+        final AtomicInteger reservations = new AtomicInteger();
+
+        @Override
+        public void requireCounter(String counter, int size) {
+        }
+
+        @Override
+        public long reserve(String counter, int size) {
+            reservations.incrementAndGet();
+            return next.getAndAdd(size);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.simpleshop.shared.observability.sql;
+
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.*;
+
+public class SqlStatementCounterTest {
+
+    @Test
+    public void shouldIgnoreStatementsOutsideAnyScope() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        counter.recordStatement();
+
+        try (SqlStatementCounter.Scope scope = counter.open("order.placeOrder")) {
+            assertEquals(scope.statements(), 0);
+        }
+    }
+
+    @Test
+    public void shouldCountNestedStatementsTowardsEveryOpenScope() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        List<String> closed = new ArrayList<>();
+        counter.addListener((name, statements) -> closed.add(name + "=" + statements));
+
+        SqlStatementCounter.Scope outer = counter.open("order.placeOrder");
+        counter.recordStatement();
+        SqlStatementCounter.Scope inner = counter.open("inventory.allocateStock");
+        counter.recordStatement();
+        counter.recordStatement();
+        inner.close();
+        counter.recordStatement();
+        outer.close();
+
+        assertEquals(inner.statements(), 2);
+        assertEquals(outer.statements(), 4);
+        assertEquals(closed, List.of("inventory.allocateStock=2", "order.placeOrder=4"));
+    }
+
+    @Test
+    public void shouldDiscardScopesLeftOpenWhenOuterScopeCloses() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        SqlStatementCounter.Scope outer = counter.open("outer");
+        SqlStatementCounter.Scope leaked = counter.open("leaked");
+        outer.close();
+
+        counter.recordStatement();
+        leaked.close();
+
+        assertEquals(outer.statements(), 0);
+        assertEquals(leaked.statements(), 0);
+    }
+
+    @Test
+    public void shouldKeepScopesPerThread() throws InterruptedException {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        try (SqlStatementCounter.Scope scope = counter.open("main")) {
+            Thread other = new Thread(() -> {
+                try (SqlStatementCounter.Scope own = counter.open("worker")) {
+                    counter.recordStatement();
+                }
+            });
+            other.start();
+            other.join();
+
+            assertEquals(scope.statements(), 0);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.simpleshop.shared.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.UUID;
+
+import static org.testng.Assert.*;
+
+public class OptimisticLockRetryInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeMethod
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void retriesUntilTheCallSucceeds() {
+        ConflictingService target = new ConflictingService(2);
+        ConflictingService service = proxy(target, 3);
+
+        assertEquals(service.update(), "done");
+
+        assertEquals(target.calls, 3);
+        assertEquals(count("simpleshop.optimistic.lock.conflicts"), 2.0);
+        assertEquals(count("simpleshop.optimistic.lock.retries"), 2.0);
+        assertEquals(count("simpleshop.optimistic.lock.exhausted"), 0.0);
+    }
+
+    @Test
+    public void rethrowsOnceMaxAttemptsAreUsedUp() {
+        ConflictingService target = new ConflictingService(Integer.MAX_VALUE);
+        ConflictingService service = proxy(target, 3);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, service::update);
+
+        assertEquals(target.calls, 3);
+        assertEquals(count("simpleshop.optimistic.lock.conflicts"), 3.0);
+        assertEquals(count("simpleshop.optimistic.lock.retries"), 2.0);
+        assertEquals(count("simpleshop.optimistic.lock.exhausted"), 1.0);
+    }
+
+    @Test
+    public void passesThroughWithoutRetryingInsideAnActiveTransaction() {
+        ConflictingService target = new ConflictingService(1);
+        ConflictingService service = proxy(target, 3);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, service::update);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(target.calls, 1);
+        assertTrue(registry.find("simpleshop.optimistic.lock.conflicts").counters().isEmpty());
+    }
+
+    @Test
+    public void backoffStaysWithinTheCappedExponentialCeiling() {
+        OptimisticLockRetryInterceptor interceptor = new OptimisticLockRetryInterceptor(meterRegistry(), 10, 20, 200);
+
+        for (int attempt = 1; attempt <= 8; attempt++) {
+            long ceiling = Math.min(200, 20L << (attempt - 1));
+            for (int sample = 0; sample < 1_000; sample++) {
+                long backoff = interceptor.backoffMillis(attempt);
+                assertTrue(backoff >= 0 && backoff <= ceiling, "attempt " + attempt + ": " + backoff + " > " + ceiling);
+            }
+        }
+    }
+
+    private double count(String name) {
+        var counter = registry.find(name).tag("use_case", "test.update").tag("aggregate", "Basket").counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+
+    private ConflictingService proxy(ConflictingService target, int maxAttempts) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new OptimisticLockRetryInterceptor(meterRegistry(), maxAttempts, 1, 2));
+        return (ConflictingService) factory.getProxy();
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistry() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        return beans.getBeanProvider(MeterRegistry.class);
+    }
+
+    static class Basket {
+    }
+
+    /** Loses the optimistic-locking race the given number of times, then succeeds. */
+    public static class ConflictingService {
+
+        private final int conflicts;
+        int calls;
+
+        ConflictingService(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @RetryOnOptimisticLock("test.update")
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Basket.class, UUID.randomUUID());
+            }
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,13 @@
+-- Tables the test profile needs beyond the JPA entities, which Hibernate creates there
+-- instead of Flyway. Mirrors the migrations; it runs once per application context against
+-- a shared container, hence IF NOT EXISTS.
+
+CREATE SEQUENCE IF NOT EXISTS order_number_block_seq INCREMENT BY 100 MINVALUE 1;
+CREATE SEQUENCE IF NOT EXISTS tracking_number_block_seq INCREMENT BY 100 MINVALUE 1;
+
+CREATE TABLE IF NOT EXISTS inventory_order_operations (
+    order_id    UUID                        NOT NULL,
+    operation   VARCHAR(20)                 NOT NULL,
+    applied_at  TIMESTAMP WITH TIME ZONE    NOT NULL,
+    CONSTRAINT pk_inventory_order_operations PRIMARY KEY (order_id, operation)
+);